@@ -1,14 +1,17 @@
 package pw.mihou.velen;
 
+import pw.mihou.velen.executor.VelenExecutor;
 import pw.mihou.velen.impl.VelenImpl;
 import pw.mihou.velen.interfaces.Velen;
 import pw.mihou.velen.interfaces.messages.types.VelenPermissionMessage;
 import pw.mihou.velen.interfaces.messages.types.VelenRatelimitMessage;
 import pw.mihou.velen.interfaces.messages.types.VelenRoleMessage;
 import pw.mihou.velen.internals.VelenBlacklist;
+import pw.mihou.velen.internals.mirror.VelenParseCache;
 import pw.mihou.velen.prefix.VelenPrefixManager;
 import pw.mihou.velen.ratelimiter.VelenRatelimiter;
 
+import java.io.File;
 import java.time.Duration;
 import java.util.stream.Collectors;
 
@@ -30,6 +33,8 @@ public class VelenBuilder {
     private VelenPrefixManager prefixManager = new VelenPrefixManager("v.");
     private VelenBlacklist blacklist;
     private boolean allowMentionPrefix = true;
+    private VelenExecutor executor = VelenExecutor.ofDefaults();
+    private VelenParseCache parseCache;
 
     /**
      * Sets the default prefix to use, this is by default, <b>v.</b>
@@ -136,6 +141,34 @@ public class VelenBuilder {
         return this;
     }
 
+    /**
+     * Sets the executor that is used by {@link Velen} to execute commands, afterwares and
+     * rate-limiter interceptors. This is by default, an unbounded thread pool which creates a thread
+     * for every in-flight command, you can use {@link VelenExecutor#ofBounded(int, int, pw.mihou.velen.executor.entities.ExecutorRejectionPolicy)},
+     * {@link VelenExecutor#ofStriped(int, int, pw.mihou.velen.executor.entities.ExecutorRejectionPolicy)} or
+     * {@link VelenExecutor#ofVirtualThreads()} to limit the amount of threads created.
+     *
+     * @param executor The executor to use.
+     * @return VelenBuilder for chain calling methods.
+     */
+    public VelenBuilder setExecutor(VelenExecutor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the file where {@link Velen#loadFrom(File)} remembers the statements of the Velen files that it
+     * has read, files whose size and last modified time haven't changed since they were last read are taken
+     * from this file (and from memory once they were parsed) instead of being read again. This is disabled by default.
+     *
+     * @param file The file to store the statements in.
+     * @return VelenBuilder for chain calling methods.
+     */
+    public VelenBuilder setParseCache(File file) {
+        this.parseCache = new VelenParseCache(file);
+        return this;
+    }
+
     /**
      * Builds the Velen component which you can then use
      * to add commands, etc.
@@ -143,7 +176,9 @@ public class VelenBuilder {
      * @return the Velen component.
      */
     public Velen build() {
-        return new VelenImpl(ratelimiter, prefixManager, ratelimitMessage, noPermissionMessage, noRoleMessage, blacklist, allowMentionPrefix);
+        ratelimiter.setExecutor(executor);
+        return new VelenImpl(ratelimiter, prefixManager, ratelimitMessage, noPermissionMessage, noRoleMessage, blacklist,
+                allowMentionPrefix, executor, parseCache);
     }
 
 }
@@ -0,0 +1,34 @@
+package pw.mihou.velen.annotations;
+
+import pw.mihou.velen.interfaces.afterware.VelenAfterware;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the afterwares of a command that is declared with {@link VelenCommandDef}, the afterwares are either
+ * the names that they were stored with through {@link pw.mihou.velen.interfaces.Velen#storeAfterware(String, VelenAfterware)}
+ * or their classes, which are created directly by the generated registry and need a public constructor without parameters.
+ * The named afterwares run before the afterwares that are declared through their classes.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Afterware {
+
+    /**
+     * The names of the afterwares.
+     *
+     * @return The names of the afterwares.
+     */
+    String[] value() default {};
+
+    /**
+     * The classes of the afterwares.
+     *
+     * @return The classes of the afterwares.
+     */
+    Class<? extends VelenAfterware>[] types() default {};
+
+}
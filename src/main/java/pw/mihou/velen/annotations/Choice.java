@@ -0,0 +1,28 @@
+package pw.mihou.velen.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a choice of an {@link Option}.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface Choice {
+
+    /**
+     * The name of the choice.
+     *
+     * @return The name of the choice.
+     */
+    String name();
+
+    /**
+     * The value of the choice.
+     *
+     * @return The value of the choice.
+     */
+    String value();
+
+}
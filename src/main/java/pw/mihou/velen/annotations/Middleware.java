@@ -0,0 +1,34 @@
+package pw.mihou.velen.annotations;
+
+import pw.mihou.velen.interfaces.middleware.VelenMiddleware;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the middlewares of a command that is declared with {@link VelenCommandDef}, the middlewares are either
+ * the names that they were stored with through {@link pw.mihou.velen.interfaces.Velen#storeMiddleware(String, VelenMiddleware)}
+ * or their classes, which are created directly by the generated registry and need a public constructor without parameters.
+ * The named middlewares run before the middlewares that are declared through their classes.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Middleware {
+
+    /**
+     * The names of the middlewares.
+     *
+     * @return The names of the middlewares.
+     */
+    String[] value() default {};
+
+    /**
+     * The classes of the middlewares.
+     *
+     * @return The classes of the middlewares.
+     */
+    Class<? extends VelenMiddleware>[] types() default {};
+
+}
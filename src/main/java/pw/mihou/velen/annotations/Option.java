@@ -0,0 +1,64 @@
+package pw.mihou.velen.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares an option of a command that is declared with {@link VelenCommandDef}, the options
+ * are added in the order that they are written.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(Options.class)
+public @interface Option {
+
+    /**
+     * The name of the option.
+     *
+     * @return The name of the option.
+     */
+    String name();
+
+    /**
+     * The type of the option which follows the same types as the Velen files, for example:
+     * <b>string</b>, <b>user</b>, <b>channel</b>, <b>role</b>, <b>numeric</b> or <b>boolean</b>.
+     *
+     * @return The type of the option.
+     */
+    String type() default "string";
+
+    /**
+     * The description of the option.
+     *
+     * @return The description of the option.
+     */
+    String description() default "No description";
+
+    /**
+     * Whether the option is required.
+     *
+     * @return Is the option required?
+     */
+    boolean required() default false;
+
+    /**
+     * Whether the option takes the rest of the message for message commands.
+     *
+     * @return Does the option have many words?
+     */
+    boolean hasMany() default false;
+
+    /**
+     * The pattern that the option must match for message commands.
+     *
+     * @return The pattern of the option.
+     */
+    String regex() default "";
+
+    /**
+     * The choices of the option.
+     *
+     * @return The choices of the option.
+     */
+    Choice[] choices() default {};
+
+}
@@ -0,0 +1,22 @@
+package pw.mihou.velen.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The container of {@link Option} which allows the annotation to be repeated.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Options {
+
+    /**
+     * The options of the command.
+     *
+     * @return The options of the command.
+     */
+    Option[] value();
+
+}
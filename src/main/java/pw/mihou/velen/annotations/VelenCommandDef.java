@@ -0,0 +1,116 @@
+package pw.mihou.velen.annotations;
+
+import org.javacord.api.entity.permission.PermissionType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a command on its handler, the handler must be a public class with a public constructor without
+ * parameters that implements {@link pw.mihou.velen.interfaces.VelenHybridHandler}, {@link pw.mihou.velen.interfaces.VelenSlashEvent}
+ * or {@link pw.mihou.velen.interfaces.VelenEvent} which decides whether the command is a hybrid, slash or message command.
+ * <br><br>
+ * These annotations are read by {@link pw.mihou.velen.processor.VelenProcessor} while compiling, the processor generates
+ * a registry that creates every command with {@link pw.mihou.velen.builders.VelenCommandBuilder} without reading any file.
+ * The options of the command are declared with {@link Option}, the middlewares and afterwares with {@link Middleware}
+ * and {@link Afterware}.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface VelenCommandDef {
+
+    /**
+     * The name of the command.
+     *
+     * @return The name of the command.
+     */
+    String name();
+
+    /**
+     * The description of the command.
+     *
+     * @return The description of the command.
+     */
+    String description() default "No description";
+
+    /**
+     * The usages of the command, for example: <b>ping [pong|ping]</b>
+     *
+     * @return The usages of the command.
+     */
+    String[] usages() default {};
+
+    /**
+     * The shortcuts of the command.
+     *
+     * @return The shortcuts of the command.
+     */
+    String[] shortcuts() default {};
+
+    /**
+     * The formats of the command in addition to the formats that are created from the options.
+     *
+     * @return The additional formats of the command.
+     */
+    String[] formats() default {};
+
+    /**
+     * The category of the command.
+     *
+     * @return The category of the command.
+     */
+    String category() default "";
+
+    /**
+     * The cooldown of the command in milliseconds, the default cooldown of the
+     * rate-limiter is used when this is negative.
+     *
+     * @return The cooldown of the command in milliseconds.
+     */
+    long cooldown() default -1;
+
+    /**
+     * Whether the command can only be used in servers.
+     *
+     * @return Is the command server-only?
+     */
+    boolean serverOnly() default false;
+
+    /**
+     * The server that the slash command belongs to, zero for global slash commands.
+     *
+     * @return The id of the server of the slash command.
+     */
+    long server() default 0;
+
+    /**
+     * Whether the command can only be used in private channels.
+     *
+     * @return Is the command private channel only?
+     */
+    boolean privateOnly() default false;
+
+    /**
+     * Whether the slash command is enabled for everyone by default.
+     *
+     * @return Is the default permission of the slash command enabled?
+     */
+    boolean defaultPermission() default true;
+
+    /**
+     * The permissions that a user needs to use the command.
+     *
+     * @return The required permissions.
+     */
+    PermissionType[] permissions() default {};
+
+    /**
+     * The roles that a user needs to have any of to use the command.
+     *
+     * @return The ids of the required roles.
+     */
+    long[] roles() default {};
+
+}
@@ -0,0 +1,111 @@
+package pw.mihou.velen.builders;
+
+import pw.mihou.velen.internals.VelenBlacklist;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public class VelenBlacklistBuilder {
+
+    private Function<Long, Boolean> loader;
+    private Function<Long, CompletableFuture<Boolean>> asyncLoader;
+    private Duration positiveTtl;
+    private Duration negativeTtl = VelenBlacklist.DEFAULT_NEGATIVE_TTL;
+    private int maximumSize = VelenBlacklist.DEFAULT_MAXIMUM_SIZE;
+    private final List<Long> users = new ArrayList<>();
+
+    /**
+     * Sets the loader that is used to check whether a user is blacklisted, this
+     * is called on the thread that checks the user.
+     *
+     * @param loader The loader to use <b>(true = blacklisted; false = not blacklisted)</b>.
+     * @return {@link VelenBlacklistBuilder} for chain-calling methods.
+     */
+    public VelenBlacklistBuilder setLoader(Function<Long, Boolean> loader) {
+        this.loader = loader;
+        return this;
+    }
+
+    /**
+     * Sets the asynchronous loader that is used to check whether a user is blacklisted, this
+     * is preferred over {@link VelenBlacklistBuilder#setLoader(Function)} since Velen doesn't
+     * wait for the loader while dispatching commands.
+     *
+     * @param asyncLoader The loader to use <b>(true = blacklisted; false = not blacklisted)</b>.
+     * @return {@link VelenBlacklistBuilder} for chain-calling methods.
+     */
+    public VelenBlacklistBuilder setAsyncLoader(Function<Long, CompletableFuture<Boolean>> asyncLoader) {
+        this.asyncLoader = asyncLoader;
+        return this;
+    }
+
+    /**
+     * Sets how long blacklisted users from the loader are remembered, by default
+     * they are remembered until they are removed or refreshed.
+     *
+     * @param positiveTtl How long blacklisted users are remembered, null to remember them forever.
+     * @return {@link VelenBlacklistBuilder} for chain-calling methods.
+     */
+    public VelenBlacklistBuilder setPositiveTtl(Duration positiveTtl) {
+        this.positiveTtl = positiveTtl;
+        return this;
+    }
+
+    /**
+     * Sets how long users that aren't blacklisted are remembered before the
+     * loader is asked again, by default this is {@link VelenBlacklist#DEFAULT_NEGATIVE_TTL}.
+     *
+     * @param negativeTtl How long users that aren't blacklisted are remembered, null to remember them forever.
+     * @return {@link VelenBlacklistBuilder} for chain-calling methods.
+     */
+    public VelenBlacklistBuilder setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of users from the loader that are remembered, users that
+     * are added by hand don't count towards this limit.
+     *
+     * @param maximumSize The maximum amount of users, zero or less for no limit.
+     * @return {@link VelenBlacklistBuilder} for chain-calling methods.
+     */
+    public VelenBlacklistBuilder setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * Adds one or more users that are always blacklisted.
+     *
+     * @param users The users to blacklist.
+     * @return {@link VelenBlacklistBuilder} for chain-calling methods.
+     */
+    public VelenBlacklistBuilder addUsers(Long... users) {
+        this.users.addAll(Arrays.asList(users));
+        return this;
+    }
+
+    /**
+     * Creates a new blacklist using the specified details written
+     * in the following {@link VelenBlacklistBuilder} instance.
+     *
+     * @return A new {@link VelenBlacklist} instance.
+     */
+    public VelenBlacklist build() {
+        if (negativeTtl != null && negativeTtl.isNegative())
+            throw new IllegalArgumentException("The negative TTL of the blacklist cannot be negative.");
+
+        if (positiveTtl != null && positiveTtl.isNegative())
+            throw new IllegalArgumentException("The positive TTL of the blacklist cannot be negative.");
+
+        VelenBlacklist blacklist = new VelenBlacklist(loader, asyncLoader, positiveTtl, negativeTtl, maximumSize);
+        users.forEach(blacklist::add);
+        return blacklist;
+    }
+
+}
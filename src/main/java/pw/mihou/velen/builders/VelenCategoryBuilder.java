@@ -3,6 +3,7 @@ package pw.mihou.velen.builders;
 import pw.mihou.velen.impl.VelenCategoryImpl;
 import pw.mihou.velen.interfaces.Velen;
 import pw.mihou.velen.interfaces.VelenCategory;
+import pw.mihou.velen.ratelimiter.policies.VelenRatelimitPolicy;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -14,6 +15,7 @@ public class VelenCategoryBuilder {
     private String description;
     private List<String> middlewares = new ArrayList<>();
     private List<String> afterwares = new ArrayList<>();
+    private List<VelenRatelimitPolicy> policies = new ArrayList<>();
 
     public VelenCategoryBuilder setName(String name) {
         this.name = name;
@@ -49,6 +51,19 @@ public class VelenCategoryBuilder {
         return this;
     }
 
+    /**
+     * Adds one or more rate-limit policies to the category, the policies are shared
+     * between every command of the category which means a token bucket of 5 uses allows 5 uses
+     * of any command in the category.
+     *
+     * @param policies The policies to attach.
+     * @return {@link VelenCategoryBuilder} for chain-calling methods.
+     */
+    public VelenCategoryBuilder addPolicy(VelenRatelimitPolicy... policies) {
+        this.policies.addAll(Arrays.asList(policies));
+        return this;
+    }
+
     /**
      * Creates a new category instance using the specified details written
      * in the following {@link VelenCategoryBuilder} instance.
@@ -63,7 +78,7 @@ public class VelenCategoryBuilder {
         if (velen == null)
             throw new IllegalArgumentException("You cannot create a category without a Velen instance.");
 
-        return new VelenCategoryImpl(name, description, middlewares, afterwares, velen);
+        return new VelenCategoryImpl(name, description, middlewares, afterwares, policies, velen);
     }
 
 }
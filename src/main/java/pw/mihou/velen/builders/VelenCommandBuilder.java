@@ -7,7 +7,12 @@ import org.javacord.api.interaction.SlashCommandOption;
 import org.javacord.api.interaction.SlashCommandOptionBuilder;
 import pw.mihou.velen.impl.VelenCommandImpl;
 import pw.mihou.velen.interfaces.*;
+import pw.mihou.velen.interfaces.afterware.VelenAfterware;
+import pw.mihou.velen.interfaces.middleware.VelenMiddleware;
 import pw.mihou.velen.interfaces.messages.types.VelenConditionalMessage;
+import pw.mihou.velen.internals.routing.compiled.VelenFormatCompiler;
+import pw.mihou.velen.internals.routing.compiled.VelenFormatMatcher;
+import pw.mihou.velen.ratelimiter.policies.VelenRatelimitPolicy;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -25,6 +30,7 @@ public class VelenCommandBuilder {
     private final List<Function<SlashCommandCreateEvent, Boolean>> conditionsSlash = new ArrayList<>();
     private final List<SlashCommandOption> options = new ArrayList<>();
     private final List<String> formats = new ArrayList<>();
+    private VelenFormatMatcher matcher;
     private VelenConditionalMessage conditionalMessage;
     private long serverId = 0L;
     private String category;
@@ -37,8 +43,9 @@ public class VelenCommandBuilder {
     private Duration cooldown;
     private boolean serverOnly = false;
     private boolean privateOnly = false;
-    private final List<String> middlewares = new ArrayList<>();
-    private final List<String> afterwares = new ArrayList<>();
+    private final List<Function<Velen, VelenMiddleware>> middlewares = new ArrayList<>();
+    private final List<Function<Velen, VelenAfterware>> afterwares = new ArrayList<>();
+    private final List<VelenRatelimitPolicy> policies = new ArrayList<>();
     private VelenEvent velenEvent;
     private Velen velen;
 
@@ -112,6 +119,19 @@ public class VelenCommandBuilder {
         return this;
     }
 
+    /**
+     * Sets the already compiled formats of the command, the formats that are added through
+     * {@link VelenCommandBuilder#addFormats(String...)} are then kept as they are without being compiled again.
+     * This is used by the registry of {@link pw.mihou.velen.processor.VelenProcessor} which compiles the formats while compiling.
+     *
+     * @param matcher The compiled formats of the command.
+     * @return {@link VelenCommandBuilder} for chain-calling methods.
+     */
+    public VelenCommandBuilder setFormatMatcher(VelenFormatMatcher matcher) {
+        this.matcher = matcher;
+        return this;
+    }
+
     /**
      * Sets the description of the command.
      *
@@ -398,7 +418,26 @@ public class VelenCommandBuilder {
      * @return {@link VelenCommandBuilder} for chain-calling methods.
      */
     public VelenCommandBuilder addMiddlewares(String... middlewares) {
-        this.middlewares.addAll(Arrays.asList(middlewares));
+        for (String middleware : middlewares) {
+            this.middlewares.add(velen -> velen.getMiddleware(middleware)
+                    .orElseThrow(() -> new IllegalStateException("The middleware " + middleware + " couldn't be found.")));
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds one or more middlewares to the list of middlewares to be used, these middlewares
+     * don't have to be stored in the {@link pw.mihou.velen.interfaces.Velen} instance.
+     *
+     * @param middlewares The middlewares to attach.
+     * @return {@link VelenCommandBuilder} for chain-calling methods.
+     */
+    public VelenCommandBuilder addMiddlewares(VelenMiddleware... middlewares) {
+        for (VelenMiddleware middleware : middlewares) {
+            this.middlewares.add(velen -> middleware);
+        }
+
         return this;
     }
 
@@ -410,7 +449,39 @@ public class VelenCommandBuilder {
      * @return {@link VelenCommandBuilder} for chain-calling methods.
      */
     public VelenCommandBuilder addAfterwares(String... afterwares) {
-        this.afterwares.addAll(Arrays.asList(afterwares));
+        for (String afterware : afterwares) {
+            this.afterwares.add(velen -> velen.getAfterware(afterware)
+                    .orElseThrow(() -> new IllegalStateException("The afterware " + afterware + " couldn't be found.")));
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds one or more afterwares to the list of afterwares to be used, these afterwares
+     * don't have to be stored in the {@link pw.mihou.velen.interfaces.Velen} instance.
+     *
+     * @param afterwares The afterwares to attach.
+     * @return {@link VelenCommandBuilder} for chain-calling methods.
+     */
+    public VelenCommandBuilder addAfterwares(VelenAfterware... afterwares) {
+        for (VelenAfterware afterware : afterwares) {
+            this.afterwares.add(velen -> afterware);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds one or more rate-limit policies to the command, these are evaluated in order
+     * after the cooldown of the command and before any middlewares. For example, to allow 5 uses
+     * every 30 seconds per user: <b>VelenRatelimitPolicy.ofTokenBucket(5, Duration.ofSeconds(30), RatelimitScope.USER)</b>
+     *
+     * @param policies The policies to attach.
+     * @return {@link VelenCommandBuilder} for chain-calling methods.
+     */
+    public VelenCommandBuilder addPolicies(VelenRatelimitPolicy... policies) {
+        this.policies.addAll(Arrays.asList(policies));
         return this;
     }
 
@@ -502,18 +573,16 @@ public class VelenCommandBuilder {
                 .ConditionalCollective(conditions, conditionsSlash, conditionalMessage);
 
         VelenCommandImpl.Settings settings = new VelenCommandImpl
-                .Settings(serverOnly, privateOnly, serverId, formats, options);
+                .Settings(serverOnly, privateOnly, serverId, formats,
+                        matcher != null ? matcher : VelenFormatCompiler.compile(formats), options);
 
         VelenCommandImpl.Handlers handlers = new VelenCommandImpl
                 .Handlers(velenEvent, velenSlashEvent, velenHybridHandler);
 
         VelenCommandImpl.Warehouse warehouse = new VelenCommandImpl.Warehouse(
-                middlewares.stream().map(s -> velen.getMiddleware(s)
-                                .orElseThrow(() -> new IllegalStateException("The middleware " + s + " couldn't be found.")))
-                        .collect(Collectors.toList()),
-                afterwares.stream().map(s -> velen.getAfterware(s)
-                                .orElseThrow(() -> new IllegalStateException("The afterware " + s + " couldn't be found.")))
-                        .collect(Collectors.toList())
+                middlewares.stream().map(middleware -> middleware.apply(velen)).collect(Collectors.toList()),
+                afterwares.stream().map(afterware -> afterware.apply(velen)).collect(Collectors.toList()),
+                new ArrayList<>(policies)
         );
 
         return new VelenCommandImpl(general, requires, conditional, settings, handlers, warehouse, velen);
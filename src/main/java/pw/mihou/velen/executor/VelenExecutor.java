@@ -0,0 +1,102 @@
+package pw.mihou.velen.executor;
+
+import pw.mihou.velen.executor.entities.ExecutorRejectionPolicy;
+import pw.mihou.velen.executor.types.VelenPooledExecutor;
+import pw.mihou.velen.executor.types.VelenStripedExecutor;
+import pw.mihou.velen.executor.types.VelenVirtualExecutor;
+import pw.mihou.velen.utils.VelenThreadPool;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The executor that is used by Velen to run commands, afterwares and rate-limiter
+ * interceptors. You can provide your own through {@link pw.mihou.velen.VelenBuilder#setExecutor(VelenExecutor)}
+ * or use one of the built-in strategies from the static methods below.
+ */
+public interface VelenExecutor {
+
+    /**
+     * Creates an executor that uses the unbounded thread pool of {@link VelenThreadPool}, this
+     * is the default executor of Velen and creates a new thread for every in-flight command.
+     *
+     * @return The default executor of Velen.
+     */
+    static VelenExecutor ofDefaults() {
+        return of(VelenThreadPool.executorService);
+    }
+
+    /**
+     * Creates an executor that delegates all its tasks to the specified
+     * executor service.
+     *
+     * @param executorService The executor service to use.
+     * @return A new executor that uses the executor service.
+     */
+    static VelenExecutor of(ExecutorService executorService) {
+        return new VelenPooledExecutor(executorService);
+    }
+
+    /**
+     * Creates a bounded executor with a fixed amount of threads and a queue, any tasks
+     * that cannot be placed into the queue will be handled by the rejection policy.
+     *
+     * @param threads The amount of threads to use.
+     * @param queueSize The maximum amount of tasks that can wait in the queue.
+     * @param policy The policy to use when the queue is full.
+     * @return A new bounded executor.
+     */
+    static VelenExecutor ofBounded(int threads, int queueSize, ExecutorRejectionPolicy policy) {
+        return new VelenPooledExecutor(threads, queueSize, policy);
+    }
+
+    /**
+     * Creates a striped executor that always runs tasks of the same key (e.g. a server)
+     * on the same stripe, this prevents a single server from starving every other server
+     * during a traffic spike.
+     *
+     * @param stripes The amount of stripes (threads) to use.
+     * @param queueSize The maximum amount of tasks that can wait in each stripe.
+     * @param policy The policy to use when a stripe's queue is full.
+     * @return A new striped executor.
+     */
+    static VelenExecutor ofStriped(int stripes, int queueSize, ExecutorRejectionPolicy policy) {
+        return new VelenStripedExecutor(stripes, queueSize, policy);
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for every task, this
+     * requires the application to run on Java 21 or above.
+     *
+     * @return A new virtual thread executor.
+     * @throws UnsupportedOperationException If the runtime does not support virtual threads.
+     */
+    static VelenExecutor ofVirtualThreads() {
+        return new VelenVirtualExecutor();
+    }
+
+    /**
+     * Submits a task to be executed.
+     *
+     * @param task The task to execute.
+     */
+    void submit(Runnable task);
+
+    /**
+     * Submits a task to be executed with a key that identifies where the task
+     * originated from, this is usually the server id or the user id for private channels.
+     * Executors that do not care about the origin will simply use {@link VelenExecutor#submit(Runnable)}.
+     *
+     * @param key The key of the task.
+     * @param task The task to execute.
+     */
+    default void submit(long key, Runnable task) {
+        submit(task);
+    }
+
+    /**
+     * Shuts down this executor, any tasks that are already submitted
+     * will still be executed.
+     */
+    void shutdown();
+
+}
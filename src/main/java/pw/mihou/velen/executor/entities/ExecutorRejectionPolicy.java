@@ -0,0 +1,56 @@
+package pw.mihou.velen.executor.entities;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+public enum ExecutorRejectionPolicy {
+
+    /**
+     * This is used when you want the thread that submitted the task
+     * to execute the task itself once the queue is full, this slows down the
+     * gateway thread which acts as a natural back-pressure against traffic spikes.
+     */
+    CALLER_RUNS(new ThreadPoolExecutor.CallerRunsPolicy()),
+
+    /**
+     * This is used when you want to silently drop any tasks that
+     * cannot be queued anymore, this is useful for keeping the bot responsive
+     * during raids at the cost of ignoring some commands.
+     */
+    DISCARD(new ThreadPoolExecutor.DiscardPolicy()),
+
+    /**
+     * This is used when you want to drop the oldest task in the queue
+     * to give room for the newer task.
+     */
+    DISCARD_OLDEST(new ThreadPoolExecutor.DiscardOldestPolicy()),
+
+    /**
+     * This is used when you want an exception to be thrown whenever a task
+     * cannot be queued anymore.
+     */
+    ABORT(new ThreadPoolExecutor.AbortPolicy());
+
+    private final RejectedExecutionHandler handler;
+
+    /**
+     * Creates a new rejection policy that is backed by the
+     * specified handler.
+     *
+     * @param handler The handler to use for rejected tasks.
+     */
+    ExecutorRejectionPolicy(RejectedExecutionHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Retrieves the handler that is used by the thread pools
+     * whenever a task is rejected.
+     *
+     * @return The rejected execution handler.
+     */
+    public RejectedExecutionHandler getHandler() {
+        return handler;
+    }
+
+}
@@ -0,0 +1,66 @@
+package pw.mihou.velen.executor.types;
+
+import pw.mihou.velen.executor.VelenExecutor;
+import pw.mihou.velen.executor.entities.ExecutorRejectionPolicy;
+import pw.mihou.velen.utils.ThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class VelenPooledExecutor implements VelenExecutor {
+
+    private final ExecutorService executorService;
+
+    /**
+     * Creates a new pooled executor that delegates to the
+     * specified executor service.
+     *
+     * @param executorService The executor service to delegate to.
+     */
+    public VelenPooledExecutor(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Creates a new bounded pooled executor with a fixed amount of threads
+     * and a bounded queue.
+     *
+     * @param threads The amount of threads to use.
+     * @param queueSize The maximum amount of tasks that can wait in the queue.
+     * @param policy The policy to use when the queue is full.
+     */
+    public VelenPooledExecutor(int threads, int queueSize, ExecutorRejectionPolicy policy) {
+        if (threads < 1 || queueSize < 1)
+            throw new IllegalArgumentException("The amount of threads and the queue size must be at least one.");
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 120, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), new ThreadFactory("Velen - Bounded Executor - %d", false),
+                policy.getHandler());
+        executor.allowCoreThreadTimeOut(true);
+
+        this.executorService = executor;
+    }
+
+    @Override
+    public void submit(Runnable task) {
+        executorService.execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    /**
+     * Retrieves the executor service that is being used by
+     * this executor.
+     *
+     * @return The executor service being used.
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+}
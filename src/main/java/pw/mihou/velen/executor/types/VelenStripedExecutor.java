@@ -0,0 +1,61 @@
+package pw.mihou.velen.executor.types;
+
+import pw.mihou.velen.executor.VelenExecutor;
+import pw.mihou.velen.executor.entities.ExecutorRejectionPolicy;
+import pw.mihou.velen.utils.ThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class VelenStripedExecutor implements VelenExecutor {
+
+    private final ThreadPoolExecutor[] stripes;
+
+    /**
+     * Creates a new striped executor where every stripe is a single thread
+     * with its own bounded queue.
+     *
+     * @param stripes The amount of stripes to use.
+     * @param queueSize The maximum amount of tasks that can wait in each stripe.
+     * @param policy The policy to use when a stripe's queue is full.
+     */
+    public VelenStripedExecutor(int stripes, int queueSize, ExecutorRejectionPolicy policy) {
+        if (stripes < 1 || queueSize < 1)
+            throw new IllegalArgumentException("The amount of stripes and the queue size must be at least one.");
+
+        this.stripes = new ThreadPoolExecutor[stripes];
+        for (int i = 0; i < stripes; i++) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 120, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize), new ThreadFactory("Velen - Stripe " + i + " - %d", false),
+                    policy.getHandler());
+            executor.allowCoreThreadTimeOut(true);
+
+            this.stripes[i] = executor;
+        }
+    }
+
+    @Override
+    public void submit(Runnable task) {
+        stripes[ThreadLocalRandom.current().nextInt(stripes.length)].execute(task);
+    }
+
+    @Override
+    public void submit(long key, Runnable task) {
+        // Snowflakes carry their timestamp in the upper bits, we mix the whole value
+        // so that servers created around the same time don't share the same stripe.
+        long hash = key ^ (key >>> 32);
+        hash ^= (hash >>> 16);
+
+        stripes[(int) Math.floorMod(hash, (long) stripes.length)].execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package pw.mihou.velen.executor.types;
+
+import pw.mihou.velen.executor.VelenExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class VelenVirtualExecutor implements VelenExecutor {
+
+    private final ExecutorService executorService;
+
+    /**
+     * Creates a new executor that starts a virtual thread for every task, this
+     * looks up the executor reflectively since Velen is still compiled against Java 8.
+     *
+     * @throws UnsupportedOperationException If the runtime does not support virtual threads.
+     */
+    public VelenVirtualExecutor() {
+        try {
+            this.executorService = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not supported on this runtime (" +
+                    System.getProperty("java.version") + "), please use Java 21 or above.", e);
+        }
+    }
+
+    /**
+     * Checks whether the current runtime supports virtual threads.
+     *
+     * @return Does this runtime support virtual threads?
+     */
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void submit(Runnable task) {
+        executorService.execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+}
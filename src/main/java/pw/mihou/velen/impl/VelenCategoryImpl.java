@@ -5,6 +5,7 @@ import pw.mihou.velen.interfaces.VelenCategory;
 import pw.mihou.velen.interfaces.VelenCommand;
 import pw.mihou.velen.interfaces.afterware.VelenAfterware;
 import pw.mihou.velen.interfaces.middleware.VelenMiddleware;
+import pw.mihou.velen.ratelimiter.policies.VelenRatelimitPolicy;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,6 +16,7 @@ public class VelenCategoryImpl implements VelenCategory {
     private final String description;
     private final List<VelenMiddleware> middlewares;
     private final List<VelenAfterware> afterwares;
+    private final List<VelenRatelimitPolicy> policies;
     private final Velen velen;
 
     /**
@@ -26,8 +28,10 @@ public class VelenCategoryImpl implements VelenCategory {
      * @param velen The velen instance to attach to.
      * @param middlewares The list of middlewares to use.
      * @param afterwares The list of afterwares to use.
+     * @param policies The list of rate-limit policies to use.
      */
-    public VelenCategoryImpl(String name, String description, List<String> middlewares, List<String> afterwares, Velen velen) {
+    public VelenCategoryImpl(String name, String description, List<String> middlewares, List<String> afterwares,
+                             List<VelenRatelimitPolicy> policies, Velen velen) {
         this.name = name;
         this.description = description;
         this.middlewares = middlewares.stream()
@@ -38,6 +42,7 @@ public class VelenCategoryImpl implements VelenCategory {
                 .map(s -> velen.getAfterware(s)
                         .orElseThrow(() -> new IllegalStateException("The afterware " + s + " is not found in the Velen instance.")))
                 .collect(Collectors.toList());
+        this.policies = policies;
         this.velen = velen;
     }
 
@@ -52,6 +57,11 @@ public class VelenCategoryImpl implements VelenCategory {
         return afterwares;
     }
 
+    @Override
+    public List<VelenRatelimitPolicy> getPolicies() {
+        return policies;
+    }
+
     @Override
     public List<VelenCommand> getCommands() {
         return velen.getCategoryIgnoreCasing(getName());
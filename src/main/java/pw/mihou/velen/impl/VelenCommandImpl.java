@@ -4,12 +4,16 @@ import org.javacord.api.entity.permission.PermissionType;
 import org.javacord.api.event.interaction.SlashCommandCreateEvent;
 import org.javacord.api.event.message.MessageCreateEvent;
 import org.javacord.api.interaction.*;
+import pw.mihou.velen.impl.commands.VelenCommandChain;
 import pw.mihou.velen.impl.commands.children.BaseInteractionCommand;
 import pw.mihou.velen.impl.commands.children.BaseMessageCommand;
 import pw.mihou.velen.interfaces.*;
 import pw.mihou.velen.interfaces.afterware.VelenAfterware;
 import pw.mihou.velen.interfaces.messages.types.VelenConditionalMessage;
 import pw.mihou.velen.interfaces.middleware.VelenMiddleware;
+import pw.mihou.velen.internals.routing.compiled.VelenFormatMatcher;
+import pw.mihou.velen.utils.VelenTokens;
+import pw.mihou.velen.ratelimiter.policies.VelenRatelimitPolicy;
 
 import java.time.Duration;
 import java.util.*;
@@ -28,6 +32,7 @@ public class VelenCommandImpl implements VelenCommand {
 
     private final BaseMessageCommand baseMessageCommand = new BaseMessageCommand(this);
     private final BaseInteractionCommand baseInteractionCommand = new BaseInteractionCommand(this);
+    private volatile VelenCommandChain chain;
 
     public VelenCommandImpl(GeneralCollective general, RequireCollective requires, ConditionalCollective conditional,
                             Settings settings, Handlers handlers, Warehouse warehouse, Velen velen) {
@@ -45,10 +50,10 @@ public class VelenCommandImpl implements VelenCommand {
      * and handles the to-do tasks such as authentication and so forth.
      *
      * @param event The message event received.
-     * @param args The arguments received from the event.
+     * @param tokens The tokens of the message, starting from the command.
      */
-    public void onReceive(MessageCreateEvent event, String[] args) {
-        baseMessageCommand.onReceive(event, args);
+    public void onReceive(MessageCreateEvent event, VelenTokens tokens) {
+        baseMessageCommand.onReceive(event, tokens);
     }
     
     /**
@@ -75,6 +80,15 @@ public class VelenCommandImpl implements VelenCommand {
         return settings.commandFormats;
     }
 
+    /**
+     * Retrieves the compiled matcher of the formats of this command.
+     *
+     * @return The compiled matcher of the formats.
+     */
+    public VelenFormatMatcher getMatcher() {
+        return settings.matcher;
+    }
+
     @Override
     public boolean isSlashCommandOnly() {
         return handlers.velenEvent == null && handlers.hybridHandler == null && handlers.velenSlashEvent != null;
@@ -160,6 +174,37 @@ public class VelenCommandImpl implements VelenCommand {
         return general.category;
     }
 
+    /**
+     * Retrieves the resolved chain of middlewares, afterwares and rate-limit policies of this
+     * command, the chain is only resolved again after Velen was modified.
+     *
+     * @return The resolved chain of this command.
+     */
+    public VelenCommandChain getChain() {
+        VelenCommandChain current = chain;
+        long revision = velen instanceof VelenImpl ? ((VelenImpl) velen).getRevision() : 0;
+
+        if (current == null || current.getRevision() != revision)
+            return reloadChain();
+
+        return current;
+    }
+
+    /**
+     * Resolves the chain of middlewares, afterwares and rate-limit policies
+     * of this command again.
+     *
+     * @return The newly resolved chain of this command.
+     */
+    public VelenCommandChain reloadChain() {
+        long revision = velen instanceof VelenImpl ? ((VelenImpl) velen).getRevision() : 0;
+        VelenCommandChain current = VelenCommandChain.of(this,
+                getCategory() == null ? null : velen.findCategory(getCategory()), revision);
+
+        this.chain = current;
+        return current;
+    }
+
     @Override
     public List<VelenMiddleware> getMiddlewares() {
         return warehouse.getMiddlewares();
@@ -170,6 +215,11 @@ public class VelenCommandImpl implements VelenCommand {
         return warehouse.getAfterwares();
     }
 
+    @Override
+    public List<VelenRatelimitPolicy> getPolicies() {
+        return warehouse.getPolicies();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -275,17 +325,21 @@ public class VelenCommandImpl implements VelenCommand {
     public static class Warehouse {
         private final List<VelenMiddleware> middlewares;
         private final List<VelenAfterware> afterwares;
+        private final List<VelenRatelimitPolicy> policies;
 
         /**
          * Creates a brand new warehouse that can store
-         * middlewares and afterwares.
+         * middlewares, afterwares and rate-limit policies.
          *
          * @param middlewares The middlewares to store.
          * @param afterwares The afterwares to store.
+         * @param policies The rate-limit policies to store.
          */
-        public Warehouse(List<VelenMiddleware> middlewares, List<VelenAfterware> afterwares) {
+        public Warehouse(List<VelenMiddleware> middlewares, List<VelenAfterware> afterwares,
+                         List<VelenRatelimitPolicy> policies) {
             this.middlewares = middlewares;
             this.afterwares = afterwares;
+            this.policies = policies;
         }
 
         /**
@@ -306,6 +360,15 @@ public class VelenCommandImpl implements VelenCommand {
             return afterwares;
         }
 
+        /**
+         * Retrieves all the rate-limit policies of this command.
+         *
+         * @return All the rate-limit policies being used in this command.
+         */
+        public List<VelenRatelimitPolicy> getPolicies() {
+            return policies;
+        }
+
     }
 
     public static class RequireCollective {
@@ -391,6 +454,7 @@ public class VelenCommandImpl implements VelenCommand {
 
         public final long serverId;
         public final List<String> commandFormats;
+        public final VelenFormatMatcher matcher;
 
         public final List<SlashCommandOption> options;
 
@@ -401,14 +465,16 @@ public class VelenCommandImpl implements VelenCommand {
          * @param privateOnly Is this command for private channels only?
          * @param serverId The server ID to limit this command towards.
          * @param commandFormats The message formats to use for this command.
+         * @param matcher The compiled matcher of the message formats.
          * @param options The slash commands options for this command.
          */
         public Settings(boolean serverOnly, boolean privateOnly, long serverId, List<String> commandFormats,
-                        List<SlashCommandOption> options) {
+                        VelenFormatMatcher matcher, List<SlashCommandOption> options) {
             this.serverOnly = serverOnly;
             this.privateOnly = privateOnly;
             this.serverId = serverId;
             this.commandFormats = commandFormats;
+            this.matcher = matcher;
             this.options = options;
         }
     }
@@ -5,28 +5,42 @@ import org.javacord.api.entity.server.Server;
 import org.javacord.api.event.interaction.SlashCommandCreateEvent;
 import org.javacord.api.event.message.MessageCreateEvent;
 import org.javacord.api.interaction.SlashCommand;
+import org.javacord.api.interaction.SlashCommandInteraction;
 import org.javacord.api.interaction.SlashCommandUpdater;
+import org.javacord.api.util.logging.ExceptionLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pw.mihou.velen.executor.VelenExecutor;
 import pw.mihou.velen.interfaces.*;
 import pw.mihou.velen.interfaces.afterware.VelenAfterware;
 import pw.mihou.velen.interfaces.extensions.VelenCompany;
+import pw.mihou.velen.interfaces.extensions.VelenIndexListener;
 import pw.mihou.velen.interfaces.messages.types.VelenPermissionMessage;
 import pw.mihou.velen.interfaces.messages.types.VelenRatelimitMessage;
 import pw.mihou.velen.interfaces.messages.types.VelenRoleMessage;
 import pw.mihou.velen.interfaces.middleware.VelenMiddleware;
 import pw.mihou.velen.internals.VelenBlacklist;
 import pw.mihou.velen.internals.mirror.VelenCategorizer;
+import pw.mihou.velen.internals.mirror.VelenLoader;
 import pw.mihou.velen.internals.mirror.VelenMirror;
+import pw.mihou.velen.internals.mirror.VelenParseCache;
+import pw.mihou.velen.internals.mirror.entities.VelenDocument;
+import pw.mihou.velen.internals.observer.VelenFingerprint;
+import pw.mihou.velen.internals.routing.VelenSlashRoutingTable;
 import pw.mihou.velen.prefix.VelenPrefixManager;
+import pw.mihou.velen.prefix.VelenPrefixTrie;
 import pw.mihou.velen.ratelimiter.VelenRatelimiter;
 import pw.mihou.velen.utils.Pair;
-import pw.mihou.velen.utils.VelenThreadPool;
-import pw.mihou.velen.utils.VelenUtils;
+import pw.mihou.velen.utils.VelenLimiter;
+import pw.mihou.velen.utils.VelenTokens;
 
 import java.io.File;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class VelenImpl implements Velen {
@@ -34,29 +48,41 @@ public class VelenImpl implements Velen {
     private final VelenRatelimitMessage ratelimitedMessage;
     private final VelenRatelimiter ratelimiter;
     private final Company company = new Company(this);
-    private final HashMap<String, VelenCategory> categories;
+    private final Map<String, VelenCategory> categories;
+    private final AtomicLong revision = new AtomicLong();
+    private volatile MentionForms mentionForms;
+
+    private static final byte NOT_A_COMMAND = 0;
+    private static final byte PREFIX_COMMAND = 1;
+    private static final byte MENTION_COMMAND = 2;
     private final VelenPrefixManager prefixManager;
     private final VelenPermissionMessage noPermissionMessage;
     private final VelenRoleMessage noRoleMessage;
     private final Warehouse warehouse = new Warehouse();
     private final VelenBlacklist blacklist;
     private final boolean allowMentionPrefix;
+    private final VelenExecutor executor;
     private static final Logger commandInterceptorLogger = LoggerFactory.getLogger("Velen - Command Interceptor");
     private final HandlerStorage handlerStorage = new HandlerStorage();
     private final VelenMirror mirror = new VelenMirror(this);
     private final VelenCategorizer categorizer = new VelenCategorizer(this);
+    private final VelenLoader loader;
+    private final List<File> directories = new CopyOnWriteArrayList<>();
+    private final Map<String, Definitions> definitions = new ConcurrentHashMap<>();
 
     public VelenImpl(VelenRatelimiter ratelimiter, VelenPrefixManager prefixManager, VelenRatelimitMessage ratelimitedMessage,
                      VelenPermissionMessage noPermissionMessage, VelenRoleMessage noRoleMessage,
-                     VelenBlacklist blacklist, boolean allowMentionPrefix) {
+                     VelenBlacklist blacklist, boolean allowMentionPrefix, VelenExecutor executor, VelenParseCache parseCache) {
         this.ratelimiter = ratelimiter;
         this.ratelimitedMessage = ratelimitedMessage;
-        this.categories = new HashMap<>();
+        this.categories = new ConcurrentHashMap<>();
         this.prefixManager = prefixManager;
         this.noPermissionMessage = noPermissionMessage;
         this.noRoleMessage = noRoleMessage;
         this.blacklist = blacklist;
         this.allowMentionPrefix = allowMentionPrefix;
+        this.executor = executor;
+        this.loader = new VelenLoader(parseCache);
     }
 
 
@@ -72,7 +98,9 @@ public class VelenImpl implements Velen {
 
     @Override
     public Velen addCommand(VelenCommand command) {
-        return company.addCommand(command);
+        company.addCommand(command);
+        revise();
+        return this;
     }
 
     @Override
@@ -85,6 +113,11 @@ public class VelenImpl implements Velen {
         return company.index(allowServerIndexes, shards);
     }
 
+    @Override
+    public CompletableFuture<Void> index(boolean allowServerIndexes, int concurrency, VelenIndexListener listener, DiscordApi... shards) {
+        return company.index(allowServerIndexes, concurrency, listener, shards);
+    }
+
     @Override
     public Velen loadFrom(String directory) {
         loadFrom(new File(directory));
@@ -94,6 +127,7 @@ public class VelenImpl implements Velen {
     @Override
     public Velen loadFrom(File directory) {
         if (directory.isDirectory()) {
+            directories.add(directory);
             load(Objects.requireNonNull(directory.listFiles((dir, name) -> dir.isDirectory() || name.endsWith(".velen"))));
             return this;
         }
@@ -104,14 +138,140 @@ public class VelenImpl implements Velen {
 
     @Override
     public Velen load(File... files) {
+        List<VelenDocument> documents = loader.load(files).getDocuments();
+
+        // The categories are created before any of the commands since commands can belong to them.
+        Map<String, List<VelenCategory>> categories = new HashMap<>();
+        for (VelenDocument document : documents) {
+            List<VelenCategory> created = categorizer.create(document);
+            created.forEach(this::addCategory);
+            categories.put(document.getFile().getAbsolutePath(), created);
+        }
 
-        for (File file : files) {
-            iterateAndLoad(file);
+        for (VelenDocument document : documents) {
+            String path = document.getFile().getAbsolutePath();
+            List<VelenCommand> created = mirror.create(document);
+            created.forEach(this::addCommand);
+            definitions.put(path, new Definitions(categories.get(path), created));
         }
 
         return this;
     }
 
+    /**
+     * Retrieves the directories that were loaded through {@link Velen#loadFrom(File)}.
+     *
+     * @return The loaded directories.
+     */
+    public List<File> getDirectories() {
+        return Collections.unmodifiableList(directories);
+    }
+
+    /**
+     * Retrieves the files whose commands and categories are currently loaded.
+     *
+     * @return The loaded files.
+     */
+    public List<File> getFiles() {
+        List<File> files = new ArrayList<>();
+        definitions.keySet().forEach(path -> files.add(new File(path)));
+        return files;
+    }
+
+    /**
+     * Reads the files again and swaps the commands and categories that were created from them with the new
+     * ones, deleted files have their commands and categories removed. Every file is read and every command is created
+     * before anything is swapped which means nothing is swapped if any of the files is invalid.
+     * <br><br>
+     * Commands that are being executed are allowed to finish with their old definitions and commands
+     * can be found by their names throughout the swap.
+     *
+     * @param files The files that were created or changed.
+     * @param deleted The files that were deleted.
+     * @return The scopes ({@link VelenSlashRoutingTable#GLOBAL} or the id of the server) whose slash commands have changed.
+     */
+    public synchronized Set<Long> reload(Collection<File> files, Collection<File> deleted) {
+        List<VelenDocument> documents = files.isEmpty() ? Collections.emptyList()
+                : loader.load(files.toArray(new File[0])).getDocuments();
+
+        Map<String, Definitions> replacements = new LinkedHashMap<>();
+        for (VelenDocument document : documents) {
+            replacements.put(document.getFile().getAbsolutePath(), new Definitions(categorizer.create(document), new ArrayList<>()));
+        }
+
+        // The categories are added before the commands are created since commands can belong to them.
+        List<VelenCategory> previousCategories = new ArrayList<>();
+        replacements.keySet().forEach(path -> Optional.ofNullable(definitions.get(path)).ifPresent(d -> previousCategories.addAll(d.categories)));
+        deleted.forEach(file -> Optional.ofNullable(definitions.get(file.getAbsolutePath())).ifPresent(d -> previousCategories.addAll(d.categories)));
+
+        replacements.values().forEach(d -> d.categories.forEach(category -> categories.put(category.getName().toLowerCase(), category)));
+
+        try {
+            for (VelenDocument document : documents) {
+                replacements.get(document.getFile().getAbsolutePath()).commands.addAll(mirror.create(document));
+            }
+        } catch (RuntimeException exception) {
+            // The previous categories are put back since nothing else was swapped.
+            replacements.values().forEach(d -> d.categories.forEach(category -> categories.remove(category.getName().toLowerCase(), category)));
+            previousCategories.forEach(category -> categories.put(category.getName().toLowerCase(), category));
+            throw exception;
+        }
+
+        List<VelenCommand> removed = new ArrayList<>();
+        List<VelenCommand> added = new ArrayList<>();
+
+        for (File file : deleted) {
+            Definitions previous = definitions.remove(file.getAbsolutePath());
+            if (previous != null)
+                removed.addAll(previous.commands);
+        }
+
+        replacements.forEach((path, replacement) -> {
+            Definitions previous = definitions.put(path, replacement);
+            if (previous != null)
+                removed.addAll(previous.commands);
+
+            added.addAll(replacement.commands);
+        });
+
+        // Categories that are no longer declared by their files are removed, unless another file has replaced them.
+        Set<String> declared = new HashSet<>();
+        replacements.values().forEach(d -> d.categories.forEach(category -> declared.add(category.getName().toLowerCase())));
+        previousCategories.stream()
+                .filter(category -> !declared.contains(category.getName().toLowerCase()))
+                .forEach(category -> categories.remove(category.getName().toLowerCase(), category));
+
+        company.replace(removed, added);
+        revise();
+
+        return changedScopes(removed, added);
+    }
+
+    private static Set<Long> changedScopes(List<VelenCommand> removed, List<VelenCommand> added) {
+        Map<String, String> before = fingerprints(removed);
+        Map<String, String> after = fingerprints(added);
+
+        Set<Long> scopes = new HashSet<>();
+        Set<String> keys = new HashSet<>(before.keySet());
+        keys.addAll(after.keySet());
+
+        for (String key : keys) {
+            if (!Objects.equals(before.get(key), after.get(key)))
+                scopes.add(Long.parseLong(key.substring(0, key.indexOf('/'))));
+        }
+
+        return scopes;
+    }
+
+    private static Map<String, String> fingerprints(List<VelenCommand> commands) {
+        Map<String, String> fingerprints = new HashMap<>();
+        commands.stream()
+                .filter(VelenCommand::supportsSlashCommand)
+                .forEach(command -> fingerprints.put((command.isServerOnly() ? command.getServerId() : VelenSlashRoutingTable.GLOBAL)
+                        + "/" + command.getName().toLowerCase(), VelenFingerprint.of(command)));
+        return fingerprints;
+    }
+
     @Override
     public Optional<VelenAfterware> getAfterware(String name) {
         return Optional.ofNullable(warehouse.getAfterware(name));
@@ -120,6 +280,7 @@ public class VelenImpl implements Velen {
     @Override
     public Velen storeAfterware(String name, VelenAfterware afterware) {
         warehouse.addAfterware(name, afterware);
+        revise();
         return this;
     }
 
@@ -131,21 +292,10 @@ public class VelenImpl implements Velen {
     @Override
     public Velen storeMiddleware(String name, VelenMiddleware middleware) {
         warehouse.addMiddleware(name, middleware);
+        revise();
         return this;
     }
 
-    private void iterateAndLoad(File file) {
-        if (file.isDirectory()) {
-            for (File f : Objects.requireNonNull(file.listFiles((dir, name) -> dir.isDirectory() || name.endsWith(".velen") || name.endsWith(".vecomp")))) {
-                iterateAndLoad(f);
-            }
-        } else if (file.getName().endsWith(".velen")){
-            mirror.comprehend(file);
-        } else if (file.getName().endsWith(".vecomp")) {
-            categorizer.comprehend(file);
-        }
-    }
-
     @Override
     public Velen addHandler(String name, VelenEvent handler) {
         handlerStorage.addHandler(name, handler);
@@ -189,11 +339,35 @@ public class VelenImpl implements Velen {
         return ratelimiter;
     }
 
+    @Override
+    public VelenExecutor getExecutor() {
+        return executor;
+    }
+
     @Override
     public List<VelenCommand> getCommands() {
         return company.getCommands();
     }
 
+    /**
+     * Retrieves the revision of this Velen instance, this changes whenever a category,
+     * middleware, afterware or command is added or removed and is used by commands to know
+     * when their resolved chain of middlewares and afterwares has to be resolved again.
+     *
+     * @return The current revision.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    /**
+     * Marks every resolved command chain as outdated, this should be called
+     * after modifying the categories through {@link VelenImpl#findCategories()}.
+     */
+    public void revise() {
+        revision.incrementAndGet();
+    }
+
     @Override
     public Map<String, VelenCategory> findCategories() {
         return categories;
@@ -202,6 +376,7 @@ public class VelenImpl implements Velen {
     @Override
     public Velen addCategory(VelenCategory category) {
         categories.put(category.getName().toLowerCase(), category);
+        revise();
         return this;
     }
 
@@ -222,7 +397,9 @@ public class VelenImpl implements Velen {
 
     @Override
     public Velen removeCommand(VelenCommand command) {
-        return company.removeCommand(command);
+        company.removeCommand(command);
+        revise();
+        return this;
     }
 
     @Override
@@ -253,116 +430,220 @@ public class VelenImpl implements Velen {
 
     @Override
     public void onMessageCreate(MessageCreateEvent event) {
-        dispatch(event, event.getMessageContent().split("\\s+"), event.isServerMessage() && event.getServer().isPresent() ?
-                prefixManager.getPrefix(event.getServer().get().getId()) : prefixManager.getDefaultPrefix());
-    }
-
-    private void dispatch(MessageCreateEvent event, String[] args, String prefix) {
         if(!event.getMessageAuthor().isRegularUser())
             return;
 
-        if (supportsBlacklist() && blacklist.isBlacklisted(event.getMessageAuthor().getId()))
+        if (!event.isServerMessage() || !event.getServer().isPresent()) {
+            onMessageCreate(event, prefixManager.getDefaultTrie());
+            return;
+        }
+
+        // The prefixes are usually in memory, otherwise the message waits for the loader off this thread.
+        CompletableFuture<VelenPrefixTrie> prefixes = prefixManager.getTrieAsync(event.getServer().get().getId());
+        if (prefixes.isDone()) {
+            onMessageCreate(event, prefixes.join());
+            return;
+        }
+
+        prefixes.thenAccept(trie -> onMessageCreate(event, trie)).exceptionally(ExceptionLogger.get());
+    }
+
+    private void onMessageCreate(MessageCreateEvent event, VelenPrefixTrie prefixes) {
+        String content = event.getMessageContent();
+
+        // Most messages are not commands, these are rejected before the message is tokenized.
+        byte candidate = prefilter(content, prefixes, event.getApi().getYourself().getId());
+        if (candidate == NOT_A_COMMAND)
             return;
 
-        boolean isUsingMention = allowMentionPrefix && VelenUtils
-                .startsWithMention(event.getMessageContent(), event.getApi().getYourself().getIdAsString());
+        dispatch(event, VelenTokens.of(content), prefixes, candidate == MENTION_COMMAND);
+    }
+
+    /**
+     * Checks whether the message could be a command by only looking at the leading characters
+     * of the message, this doesn't allocate anything.
+     *
+     * @param content The content of the message.
+     * @param prefixes The prefixes of the server.
+     * @param self The id of the bot.
+     * @return {@link VelenImpl#NOT_A_COMMAND}, {@link VelenImpl#PREFIX_COMMAND} or {@link VelenImpl#MENTION_COMMAND}.
+     */
+    private byte prefilter(String content, VelenPrefixTrie prefixes, long self) {
+        int length = content.length();
+        if (length == 0)
+            return NOT_A_COMMAND;
+
+        if (allowMentionPrefix && content.charAt(0) == '<' && mentions(self).matches(content))
+            return MENTION_COMMAND;
+
+        int start = 0;
+        while (start < length && Character.isWhitespace(content.charAt(start))) {
+            start++;
+        }
+
+        if (start == length)
+            return NOT_A_COMMAND;
+
+        // Quotes and escapes are resolved by the tokenizer, we let these through to be safe.
+        char first = content.charAt(start);
+        if (first == '"' || first == '\\' || prefixManager.match(prefixes, content, start) > 0)
+            return PREFIX_COMMAND;
 
+        return NOT_A_COMMAND;
+    }
+
+    private MentionForms mentions(long self) {
+        MentionForms forms = mentionForms;
+        if (forms == null || forms.self != self) {
+            forms = new MentionForms(self);
+            mentionForms = forms;
+        }
+
+        return forms;
+    }
+
+    private void dispatch(MessageCreateEvent event, VelenTokens tokens, VelenPrefixTrie prefixes, boolean isUsingMention) {
         // This exists to prevent an issue where cmd returns over index exception.
         if(isUsingMention) {
-            if(args.length < 2)
+            if(tokens.size() < 2)
                 return;
         } else {
-            if(!args[0].startsWith(prefix))
+            if(tokens.isEmpty())
                 return;
         }
 
-        // kArgs will erase the mention if
-        String kArgs = event.getMessageContent();
+        // The mention is dropped from the tokens so the command is always the first token.
+        VelenTokens kArgs = isUsingMention ? tokens.from(1) : tokens;
+        long key = event.getServer().map(Server::getId).orElse(event.getMessageAuthor().getId());
 
-        String cmd = isUsingMention ? args[1] : args[0].substring(prefix.length());
+        String cmd = kArgs.get(0);
+        if (!isUsingMention) {
+            // The longest prefix wins, "!!ping" is "ping" when both "!" and "!!" are prefixes.
+            int prefixLength = prefixManager.match(prefixes, cmd, 0);
+            if (prefixLength <= 0 || prefixLength == cmd.length())
+                return;
+
+            cmd = cmd.substring(prefixLength);
+        }
 
         Optional<VelenCommand> optional = getCommand(cmd);
         if(optional.isPresent()) {
             VelenCommand command = optional.get();
             if(!command.isSlashCommandOnly()) {
-                commandInterceptorLogger.debug("Intercepted trigger for command ({}) with packet (message={}, args={}, user={}).",
-                        command.getName(), event.getMessageContent(),
-                        Arrays.toString(VelenUtils.splitContent(kArgs)),
-                        event.getMessageAuthor().getId());
+                if (commandInterceptorLogger.isDebugEnabled())
+                    commandInterceptorLogger.debug("Intercepted trigger for command ({}) with packet (message={}, args={}, user={}).",
+                            command.getName(), event.getMessageContent(), kArgs.from(1),
+                            event.getMessageAuthor().getId());
 
-                VelenThreadPool.executorService.submit(() -> ((VelenCommandImpl) command).onReceive(event,
-                        VelenUtils.splitContent(kArgs)));
+                whenAllowed(event.getMessageAuthor().getId(),
+                        () -> executor.submit(key, () -> ((VelenCommandImpl) command).onReceive(event, kArgs)));
             }
         } else {
-            getCommands().stream()
-                    .filter(velenCommand -> !velenCommand.isSlashCommandOnly())
-                    .filter(velenCommand -> Arrays.stream(velenCommand.getShortcuts()).anyMatch(cmd::equalsIgnoreCase))
-                    .forEachOrdered(command -> {
-                        commandInterceptorLogger.debug("Intercepted trigger for command ({}) with packet (message={}, args={}, user={}).",
-                                command.getName(), event.getMessageContent(),
-                                Arrays.toString(VelenUtils.splitContent(kArgs)),
-                                event.getMessageAuthor().getId());
-
-                        VelenThreadPool.executorService.submit(() -> ((VelenCommandImpl) command).onReceive(event,
-                                VelenUtils.splitContent(kArgs)));
-                    });
+            // Every command that shares the shortcut is executed, in the order that they were added.
+            company.getCommandsByShortcut(cmd).forEach(command -> {
+                if (commandInterceptorLogger.isDebugEnabled())
+                    commandInterceptorLogger.debug("Intercepted trigger for command ({}) with packet (message={}, args={}, user={}).",
+                            command.getName(), event.getMessageContent(), kArgs.from(1),
+                            event.getMessageAuthor().getId());
+
+                whenAllowed(event.getMessageAuthor().getId(),
+                        () -> executor.submit(key, () -> ((VelenCommandImpl) command).onReceive(event, kArgs)));
+            });
         }
     }
 
     @Override
     public void onSlashCommandCreate(SlashCommandCreateEvent event) {
-        if (supportsBlacklist() && blacklist.isBlacklisted(event.getSlashCommandInteraction()
-                .getUser().getId())) return;
+        whenAllowed(event.getSlashCommandInteraction().getUser().getId(), () -> dispatch(event));
+    }
 
-        // We'll search by index first.
-        Optional<VelenCommand> indexed = getCommand(event.getSlashCommandInteraction().getCommandId());
+    /**
+     * Runs the task once the user is known to not be blacklisted, this runs the task in place
+     * when the blacklist already knows the user and otherwise once the loader of the blacklist has responded.
+     *
+     * @param user The user to check.
+     * @param task The task to run if the user is not blacklisted.
+     */
+    private void whenAllowed(long user, Runnable task) {
+        if (!supportsBlacklist()) {
+            task.run();
+            return;
+        }
 
-        if (indexed.isPresent()) {
-            VelenCommand command = indexed.get();
+        CompletableFuture<Boolean> blacklisted = blacklist.isBlacklistedAsync(user);
+        if (blacklisted.isDone()) {
+            if (!blacklisted.join())
+                task.run();
 
-            commandInterceptorLogger.debug("Intercepted trigger for command ({}) with packet (type=interaction, user={}).",
-                    command.getName(), event.getInteraction().getUser().getId());
+            return;
+        }
 
-            VelenThreadPool.executorService.submit(() -> ((VelenCommandImpl) command).onReceive(event));
-        } else {
+        blacklisted.thenAccept(isBlacklisted -> {
+            if (!isBlacklisted)
+                task.run();
+        }).exceptionally(ExceptionLogger.get());
+    }
 
-            List<VelenCommand> commands;
-            if (company.hasIndex(event.getSlashCommandInteraction().getCommandName().toLowerCase()) && event.getInteraction().getServer().isPresent()) {
-                // If a global command does have an index and it isn't this command, then that means
-                // we are dealing with a server-specific slash command.
-                commands = getCommands()
-                        .stream()
-                        .filter(VelenCommand::supportsSlashCommand)
-                        .filter(cmd -> cmd.getName().equalsIgnoreCase(event.getSlashCommandInteraction().getCommandName()))
-                        .filter(cmd -> cmd.isServerOnly() && cmd.getServerId() == event.getInteraction().getServer().orElseThrow(AssertionError::new).getId())
-                        .collect(Collectors.toList());
-            } else {
-                // If there is no index for any global commands with the same name.
-                // then that means there is just no indexes, then we can just continue on with O(N) lookup.
-                commands = getCommands()
-                        .stream()
-                        .filter(VelenCommand::supportsSlashCommand)
-                        .filter(cmd -> cmd.getName().equalsIgnoreCase(event.getSlashCommandInteraction().getCommandName()))
-                        .collect(Collectors.toList());
-            }
+    private void dispatch(SlashCommandCreateEvent event) {
+        long key = event.getInteraction().getServer().map(Server::getId)
+                .orElse(event.getInteraction().getUser().getId());
+
+        // The command is found by its index first, then by its name in the server and lastly by its global name.
+        SlashCommandInteraction interaction = event.getSlashCommandInteraction();
+        VelenCommand command = company.route(interaction.getCommandId(), interaction.getCommandName(),
+                interaction.getServer().map(Server::getId).orElse(VelenSlashRoutingTable.GLOBAL));
+
+        if (command == null)
+            return;
+
+        commandInterceptorLogger.debug("Intercepted trigger for command ({}) with packet (type=interaction, user={}).",
+                command.getName(), event.getInteraction().getUser().getId());
+
+        executor.submit(key, () -> ((VelenCommandImpl) command).onReceive(event));
+    }
+
+    /**
+     * The mention forms of the bot, these are created once per bot instead of
+     * being formatted for every message.
+     */
+    private static final class MentionForms {
+
+        private final long self;
+        private final String mention;
+        private final String nicknameMention;
+
+        private MentionForms(long self) {
+            this.self = self;
+            this.mention = "<@" + self + ">";
+            this.nicknameMention = "<@!" + self + ">";
+        }
 
-            VelenThreadPool.executorService.submit(() -> commands.forEach(command -> {
-                commandInterceptorLogger.debug("Intercepted trigger for command ({}) with packet (type=interaction, user={}).", command.getName(),
-                        event.getInteraction().getUser().getId());
-                ((VelenCommandImpl) command).onReceive(event);
-            }));
+        private boolean matches(String content) {
+            return content.startsWith(mention) || content.startsWith(nicknameMention);
         }
+
     }
 
     public static class Company implements VelenCompany {
 
-        public final List<VelenCommand> commands = new ArrayList<>();
-        public final Map<Long, VelenCommand> indexes = new HashMap<>();
+        public final List<VelenCommand> commands = new CopyOnWriteArrayList<>();
+        private final VelenSlashRoutingTable routes = new VelenSlashRoutingTable();
+        public final Map<Long, VelenCommand> indexes = routes.getIndexes();
+
+        // These are case-folded lookup tables that are kept in sync with the command list
+        // by addCommand and removeCommand, they allow the message path to find commands without scanning.
+        private final Map<String, VelenCommand> names = new ConcurrentHashMap<>();
+        private final Map<String, CopyOnWriteArrayList<VelenCommand>> shortcuts = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, VelenCommand>> servers = new ConcurrentHashMap<>();
 
-        private Map<String, Long> indexMap;
         private final Velen velen;
         private static final Logger logger = LoggerFactory.getLogger("Velen - Company");
 
+        /**
+         * The default maximum amount of requests that are sent at the same time while indexing.
+         */
+        public static final int DEFAULT_INDEX_CONCURRENCY = 8;
+
         public Company(Velen velen) {
             this.velen = velen;
         }
@@ -374,8 +655,30 @@ public class VelenImpl implements Velen {
 
         @Override
         public Optional<VelenCommand> getCommand(String command) {
-            return commands.stream().filter(velenCommand -> velenCommand.getName().equalsIgnoreCase(command))
-                    .findFirst();
+            return Optional.ofNullable(names.get(command.toLowerCase()));
+        }
+
+        /**
+         * Finds the message command that has the specified shortcut, this
+         * ignores any commands that are slash command only.
+         *
+         * @param shortcut The shortcut to search for.
+         * @return The first command that has the shortcut specified.
+         */
+        public Optional<VelenCommand> getCommandByShortcut(String shortcut) {
+            return getCommandsByShortcut(shortcut).stream().findFirst();
+        }
+
+        /**
+         * Finds all the message commands that have the specified shortcut in the order
+         * that they were added, this ignores any commands that are slash command only.
+         *
+         * @param shortcut The shortcut to search for.
+         * @return The commands that have the shortcut specified.
+         */
+        public List<VelenCommand> getCommandsByShortcut(String shortcut) {
+            List<VelenCommand> matches = shortcuts.get(shortcut.toLowerCase());
+            return matches != null ? matches : Collections.emptyList();
         }
 
         /**
@@ -385,38 +688,100 @@ public class VelenImpl implements Velen {
          * @return Does this command have an index?
          */
         public boolean hasIndex(String command) {
-            return indexMap != null && indexMap.containsKey(command);
+            return routes.hasGlobalIndex(command);
+        }
+
+        /**
+         * Finds the command that should handle a slash command.
+         *
+         * @param id The id of the slash command.
+         * @param name The name of the slash command.
+         * @param server The server where the slash command was used, {@link VelenSlashRoutingTable#GLOBAL} outside servers.
+         * @return The command that should handle the slash command, or null.
+         */
+        public VelenCommand route(long id, String name, long server) {
+            return routes.route(id, name, server);
         }
 
         @Override
         public Optional<VelenCommand> getCommand(long id) {
-            return indexes.containsKey(id) ? Optional.of(indexes.get(id)) : Optional.empty();
+            return Optional.ofNullable(routes.get(id));
         }
 
         @Override
         public Optional<VelenCommand> getCommand(String command, long server) {
-            return commands.stream()
-                    .filter(cmd -> cmd.getName().equalsIgnoreCase(command) && cmd.isServerOnly() &&cmd.getServerId() == server)
-                    .findFirst();
+            Map<String, VelenCommand> serverCommands = servers.get(server);
+
+            if (serverCommands == null)
+                return Optional.empty();
+
+            return Optional.ofNullable(serverCommands.get(command.toLowerCase()));
         }
 
         @Override
-        public Velen removeCommand(VelenCommand command) {
-            commands.remove(command);
+        public synchronized Velen removeCommand(VelenCommand command) {
+            if (!commands.remove(command))
+                return velen;
+
+            String name = command.getName().toLowerCase();
+            if (names.remove(name, command)) {
+                commands.stream().filter(c -> c.getName().equalsIgnoreCase(name))
+                        .findFirst()
+                        .ifPresent(c -> names.put(name, c));
+            }
+
+            for (String shortcut : command.getShortcuts()) {
+                shortcuts.computeIfPresent(shortcut.toLowerCase(), (key, list) -> {
+                    list.remove(command);
+                    return list.isEmpty() ? null : list;
+                });
+            }
+
+            if (command.isServerOnly()) {
+                Map<String, VelenCommand> serverCommands = servers.get(command.getServerId());
+                if (serverCommands != null && serverCommands.remove(name, command)) {
+                    commands.stream().filter(c -> c.isServerOnly() && c.getServerId() == command.getServerId())
+                            .filter(c -> c.getName().equalsIgnoreCase(name))
+                            .findFirst()
+                            .ifPresent(c -> serverCommands.put(name, c));
+                }
+            }
+
+            routes.unregister(command, commands);
             return velen;
         }
 
+        /**
+         * Swaps commands for other commands, the new commands are added before the old commands
+         * are removed which means that the commands can be found by their names throughout the swap.
+         *
+         * @param removed The commands to remove.
+         * @param added The commands to add.
+         */
+        public synchronized void replace(Collection<VelenCommand> removed, Collection<VelenCommand> added) {
+            added.forEach(this::addCommand);
+            removed.forEach(this::removeCommand);
+        }
+
         @Override
-        public Velen addCommand(VelenCommand command) {
+        public synchronized Velen addCommand(VelenCommand command) {
             commands.add(command);
 
-            if (indexMap == null || command.isServerOnly() || !command.supportsSlashCommand())
-                return velen;
+            String name = command.getName().toLowerCase();
+            names.putIfAbsent(name, command);
 
-            if (!indexMap.containsKey(command.getName().toLowerCase()))
-                return velen;
+            if (!command.isSlashCommandOnly()) {
+                for (String shortcut : command.getShortcuts()) {
+                    shortcuts.computeIfAbsent(shortcut.toLowerCase(), key -> new CopyOnWriteArrayList<>()).addIfAbsent(command);
+                }
+            }
+
+            if (command.isServerOnly()) {
+                servers.computeIfAbsent(command.getServerId(), id -> new ConcurrentHashMap<>())
+                        .putIfAbsent(name, command);
+            }
 
-            indexes.put(indexMap.get(command.getName().toLowerCase()), command);
+            routes.register(command);
             return velen;
         }
 
@@ -427,54 +792,113 @@ public class VelenImpl implements Velen {
 
         @Override
         public CompletableFuture<Void> index(boolean allowServerIndexes, DiscordApi... shards) {
+            return index(allowServerIndexes, DEFAULT_INDEX_CONCURRENCY, null, shards);
+        }
+
+        @Override
+        public CompletableFuture<Void> index(boolean allowServerIndexes, int concurrency, VelenIndexListener listener, DiscordApi... shards) {
             logger.info("Attempting to index all commands...");
             long start = System.currentTimeMillis();
 
-            return shards[0].getGlobalSlashCommands().thenAcceptAsync(slashCommands -> {
-                Map<String, Long> newIndexes = new HashMap<>();
+            List<Long> serverIds = allowServerIndexes ? commands.stream()
+                    .filter(VelenCommand::supportsSlashCommand)
+                    .filter(VelenCommand::isServerOnly)
+                    .map(VelenCommand::getServerId)
+                    .distinct()
+                    .collect(Collectors.toList()) : Collections.emptyList();
+
+            int total = serverIds.size() + 1;
+            AtomicInteger completed = new AtomicInteger();
+            Runnable progress = () -> {
+                int count = completed.incrementAndGet();
+                if (listener != null)
+                    listener.onProgress(count, total);
+            };
+
+            // The global commands and the commands of every server are indexed as soon as they are fetched.
+            CompletableFuture<Void> global = shards[0].getGlobalSlashCommands().handle((slashCommands, throwable) -> {
+                if (throwable != null) {
+                    logger.error("Failed to fetch the global slash commands, these will be indexed once they are used.", throwable);
+                } else {
+                    Map<String, Long> newIndexes = new HashMap<>();
+                    slashCommands.forEach(slashCommand -> newIndexes.put(slashCommand.getName().toLowerCase(),
+                            slashCommand.getId()));
+
+                    routes.publish(newIndexes);
+                }
+
+                progress.run();
+                return null;
+            });
 
-                slashCommands.forEach(slashCommand -> newIndexes.put(slashCommand.getName().toLowerCase(),
-                        slashCommand.getId()));
+            if (commands.isEmpty())
+                logger.warn("No command was found in the registry, only the global slash commands will be indexed.");
 
-                // store for any future slash commands that will try to use.
-                indexMap = newIndexes;
+            Map<Integer, DiscordApi> shardMap = new HashMap<>();
+            for (DiscordApi shard : shards) {
+                shardMap.put(shard.getCurrentShard(), shard);
+            }
 
-                if (commands.isEmpty()) {
-                    logger.warn("No command was found in the registry, indexing couldn't continue.");
-                    return;
+            CompletableFuture<Void> perServer = VelenLimiter.all(serverIds, concurrency, id -> {
+                Optional<Server> server = findServer(id, shardMap, shards);
+                if (!server.isPresent()) {
+                    logger.warn("The server {} was not found in any of the shards, its commands will be indexed once they are used.", id);
+                    progress.run();
+                    return CompletableFuture.completedFuture(null);
                 }
 
-                // start indexing.
-                commands.stream()
-                        .filter(VelenCommand::supportsSlashCommand)
-                        .filter(command -> !command.isServerOnly())
-                        .forEach(velenCommand -> indexes.put(newIndexes.get(velenCommand.getName().toLowerCase()), velenCommand));
-
-                if (allowServerIndexes) {
-                    Map<Long, Map<String, Long>> serverIndexes = new HashMap<>();
-                    for (VelenCommand command : commands.stream().filter(VelenCommand::isServerOnly).collect(Collectors.toList())) {
-                        long id = command.getServerId();
-
-                        if (!serverIndexes.containsKey(id)) {
-                            Server server = Arrays.stream(shards)
-                                    .filter(shard -> shard.getServerById(id).isPresent())
-                                    .findFirst()
-                                    .flatMap(shard -> shard.getServerById(id))
-                                    .orElseThrow(AssertionError::new);
-                            serverIndexes.put(server.getId(), new HashMap<>());
-
-                            for (SlashCommand slashCommand : server.getSlashCommands().join()) {
-                                serverIndexes.get(server.getId()).put(slashCommand.getName().toLowerCase(), slashCommand.getId());
-                            }
+                return server.get().getSlashCommands().handle((slashCommands, throwable) -> {
+                    if (throwable != null) {
+                        logger.error("Failed to fetch the slash commands of the server " + id + ", these will be indexed once they are used.", throwable);
+                    } else {
+                        Map<String, Long> serverIndexes = new HashMap<>();
+                        for (SlashCommand slashCommand : slashCommands) {
+                            serverIndexes.put(slashCommand.getName().toLowerCase(), slashCommand.getId());
                         }
 
-                        // This command is now indexed.
-                        indexes.put(serverIndexes.get(id).get(command.getName().toLowerCase()), command);
+                        commands.stream()
+                                .filter(VelenCommand::supportsSlashCommand)
+                                .filter(command -> command.isServerOnly() && command.getServerId() == id)
+                                .forEach(command -> {
+                                    Long index = serverIndexes.get(command.getName().toLowerCase());
+                                    if (index != null)
+                                        routes.index(index, command);
+                                });
                     }
-                }
 
-                logger.info("All commands are now indexed. It took {} milliseconds.", System.currentTimeMillis() - start);
+                    progress.run();
+                    return null;
+                });
             });
+
+            return CompletableFuture.allOf(global, perServer).thenRun(() ->
+                    logger.info("All commands are now indexed. It took {} milliseconds.", System.currentTimeMillis() - start));
+        }
+
+        /**
+         * Finds the server through the shard that it belongs to, the shard is calculated
+         * from the id of the server and every shard is searched if the shard isn't available.
+         *
+         * @param id The id of the server.
+         * @param shardMap The shards by their shard number.
+         * @param shards All the shards.
+         * @return The server, if found.
+         */
+        private static Optional<Server> findServer(long id, Map<Integer, DiscordApi> shardMap, DiscordApi[] shards) {
+            int total = shards[0].getTotalShards();
+            DiscordApi shard = shardMap.get((int) ((id >> 22) % Math.max(1, total)));
+
+            if (shard != null) {
+                Optional<Server> server = shard.getServerById(id);
+                if (server.isPresent())
+                    return server;
+            }
+
+            return Arrays.stream(shards)
+                    .map(api -> api.getServerById(id))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst();
         }
 
     }
@@ -592,4 +1016,19 @@ public class VelenImpl implements Velen {
                     "The handler does not extend any of the handler types (VelenSlashEvent, VelenHybridHandler and VelenEvent).");
         }
     }
+    /**
+     * The categories and commands that were created from a single file.
+     */
+    private static class Definitions {
+
+        private final List<VelenCategory> categories;
+        private final List<VelenCommand> commands;
+
+        private Definitions(List<VelenCategory> categories, List<VelenCommand> commands) {
+            this.categories = categories;
+            this.commands = commands;
+        }
+
+    }
+
 }
@@ -6,6 +6,9 @@ import org.javacord.api.entity.server.Server;
 import org.javacord.api.entity.user.User;
 import org.javacord.api.event.interaction.SlashCommandCreateEvent;
 import org.javacord.api.event.message.MessageCreateEvent;
+import org.javacord.api.util.logging.ExceptionLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pw.mihou.velen.impl.VelenCommandImpl;
 import pw.mihou.velen.interfaces.VelenArguments;
 import pw.mihou.velen.interfaces.afterware.types.VelenHybridAfterware;
@@ -14,21 +17,32 @@ import pw.mihou.velen.interfaces.afterware.types.VelenSlashAfterware;
 import pw.mihou.velen.interfaces.hybrid.event.VelenGeneralEvent;
 import pw.mihou.velen.interfaces.hybrid.event.internal.VelenGeneralEventImpl;
 import pw.mihou.velen.interfaces.middleware.VelenGate;
+import pw.mihou.velen.interfaces.middleware.types.VelenAsyncHybridMiddleware;
+import pw.mihou.velen.interfaces.middleware.types.VelenAsyncMessageMiddleware;
+import pw.mihou.velen.interfaces.middleware.types.VelenAsyncSlashMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenHybridMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenMessageMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenSlashMiddleware;
 import pw.mihou.velen.interfaces.routed.VelenRoutedOptions;
+import pw.mihou.velen.internals.middleware.VelenGatePipeline;
+import pw.mihou.velen.ratelimiter.VelenRatelimiter;
 import pw.mihou.velen.ratelimiter.entities.RatelimitEntity;
+import pw.mihou.velen.ratelimiter.policies.VelenRatelimitPolicy;
 import pw.mihou.velen.utils.Pair;
-import pw.mihou.velen.utils.VelenThreadPool;
+import pw.mihou.velen.utils.VelenTokens;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class BaseCommandImplementation {
 
+    private static final Logger logger = LoggerFactory.getLogger("Velen - Middlewares");
     public final VelenCommandImpl instance;
 
     /**
@@ -64,7 +78,89 @@ public class BaseCommandImplementation {
      */
     public void applyRatelimiter(long user, long server, Consumer<Long> onLimited, Consumer<RatelimitEntity> onSuccess) {
         instance.getVelen().getRatelimiter()
-                .ratelimit(user, server, instance.toString(), onLimited, onSuccess);
+                .ratelimit(user, server, instance.toString(), instance.getCooldown().toMillis(), onLimited, onSuccess);
+    }
+
+    /**
+     * Applies the cooldown of the command and all the rate-limit policies of the command
+     * and its category, in that order. Policies that allowed the command are given back
+     * their use if a later policy denies the command, or if the middlewares deny or fail, and are
+     * told once the command has finished.
+     *
+     * @param user The user to rate-limit.
+     * @param server The server where the command was executed.
+     * @param onLimited If the user is rate-limited, this receives the remaining seconds
+     *                  and is only called once until the user can try again.
+     * @param onSuccess If the command can be executed, this dispatches the command and returns the future
+     *                  of the whole execution which completes with whether the handler was executed.
+     */
+    public void applyRatelimits(long user, long server, Consumer<Long> onLimited, Supplier<CompletableFuture<Boolean>> onSuccess) {
+        if (instance.getCooldown() == null || instance.getCooldown().isZero() || instance.getCooldown().isNegative()) {
+            applyPolicies(user, server, false, onLimited, onSuccess);
+            return;
+        }
+
+        applyRatelimiter(user, server, onLimited, entity -> applyPolicies(user, server, true, onLimited, onSuccess));
+    }
+
+    private void applyPolicies(long user, long server, boolean cooldown, Consumer<Long> onLimited,
+                               Supplier<CompletableFuture<Boolean>> onSuccess) {
+        VelenRatelimitPolicy[] policies = instance.getChain().policies;
+        if (policies.length == 0) {
+            onSuccess.get();
+            return;
+        }
+
+        for (int i = 0; i < policies.length; i++) {
+            long retryAfter = policies[i].acquire(user, server);
+            if (retryAfter <= 0)
+                continue;
+
+            for (int j = 0; j < i; j++) {
+                policies[j].cancel(user, server);
+            }
+
+            VelenRatelimiter ratelimiter = instance.getVelen().getRatelimiter();
+            if (cooldown)
+                ratelimiter.release(user, server, instance.toString());
+
+            if (ratelimiter.shouldNotify(user, server, instance.toString(), retryAfter))
+                onLimited.accept(TimeUnit.MILLISECONDS.toSeconds(retryAfter + 999));
+
+            return;
+        }
+
+        CompletableFuture<Boolean> execution;
+        try {
+            execution = onSuccess.get();
+        } catch (RuntimeException e) {
+            for (VelenRatelimitPolicy policy : policies) {
+                policy.complete(user, server);
+            }
+
+            throw e;
+        }
+
+        // The policies are only told once the middlewares and the handler have finished, a command
+        // that was denied by its middlewares (or whose middlewares failed) never ran and gets its use back.
+        execution.whenComplete((executed, throwable) -> {
+            for (VelenRatelimitPolicy policy : policies) {
+                if (throwable == null && executed)
+                    policy.complete(user, server);
+                else
+                    policy.cancel(user, server);
+            }
+        });
+    }
+
+    /**
+     * Gets all the rate-limit policies of this command, the
+     * policies of the category are evaluated first.
+     *
+     * @return All the rate-limit policies for this command.
+     */
+    public List<VelenRatelimitPolicy> getPolicies() {
+        return instance.getChain().getPolicies();
     }
 
     /**
@@ -152,6 +248,10 @@ public class BaseCommandImplementation {
      * @return Is this accepted by the gate?
      */
     public Pair<Boolean, String> applyHybridMiddlewares(List<VelenHybridMiddleware> middlewares, VelenGeneralEvent event) {
+        return applyHybridMiddlewares(middlewares.toArray(new VelenHybridMiddleware[0]), event);
+    }
+
+    private Pair<Boolean, String> applyHybridMiddlewares(VelenHybridMiddleware[] middlewares, VelenGeneralEvent event) {
         for (VelenHybridMiddleware middleware : middlewares) {
             Pair<Boolean, String> gate = middleware.onEvent(event, event.getArguments(), event.getCommand(), new VelenGate());
 
@@ -170,6 +270,10 @@ public class BaseCommandImplementation {
      * @return Is this accepted by the gate?
      */
     public Pair<Boolean, String> applySlashMiddlewares(List<VelenSlashMiddleware> middlewares, SlashCommandCreateEvent event) {
+        return applySlashMiddlewares(middlewares.toArray(new VelenSlashMiddleware[0]), event);
+    }
+
+    private Pair<Boolean, String> applySlashMiddlewares(VelenSlashMiddleware[] middlewares, SlashCommandCreateEvent event) {
         for (VelenSlashMiddleware middleware : middlewares) {
             Pair<Boolean, String> gate = middleware.onEvent(event, instance, new VelenGate());
 
@@ -189,6 +293,10 @@ public class BaseCommandImplementation {
      * @return Is this accepted by the gate?
      */
     public Pair<Boolean, String> applyMessageMiddlewares(List<VelenMessageMiddleware> middlewares, MessageCreateEvent event, VelenRoutedOptions options) {
+        return applyMessageMiddlewares(middlewares.toArray(new VelenMessageMiddleware[0]), event, options);
+    }
+
+    private Pair<Boolean, String> applyMessageMiddlewares(VelenMessageMiddleware[] middlewares, MessageCreateEvent event, VelenRoutedOptions options) {
         for (VelenMessageMiddleware middleware : middlewares) {
             Pair<Boolean, String> gate = middleware.onEvent(event, instance, options, new VelenGate());
 
@@ -200,6 +308,50 @@ public class BaseCommandImplementation {
     }
 
 
+    /**
+     * Applies all the middleware restraints for a hybrid command without blocking, asynchronous
+     * middlewares are awaited one after another and the chain stops at the first denial.
+     *
+     * @param middlewares The middlewares to use.
+     * @param event The event to use.
+     * @return The future of whether this is accepted by the gate.
+     */
+    public CompletableFuture<Pair<Boolean, String>> applyHybridMiddlewaresAsync(VelenHybridMiddleware[] middlewares, VelenGeneralEvent event) {
+        return VelenGatePipeline.sequence(middlewares, middleware -> middleware instanceof VelenAsyncHybridMiddleware ?
+                ((VelenAsyncHybridMiddleware) middleware).onEventAsync(event, event.getArguments(), event.getCommand(), new VelenGate()) :
+                CompletableFuture.completedFuture(middleware.onEvent(event, event.getArguments(), event.getCommand(), new VelenGate())));
+    }
+
+    /**
+     * Applies all the middleware restraints for a slash command without blocking, asynchronous
+     * middlewares are awaited one after another and the chain stops at the first denial.
+     *
+     * @param middlewares The middlewares to use.
+     * @param event The event to use.
+     * @return The future of whether this is accepted by the gate.
+     */
+    public CompletableFuture<Pair<Boolean, String>> applySlashMiddlewaresAsync(VelenSlashMiddleware[] middlewares, SlashCommandCreateEvent event) {
+        return VelenGatePipeline.sequence(middlewares, middleware -> middleware instanceof VelenAsyncSlashMiddleware ?
+                ((VelenAsyncSlashMiddleware) middleware).onEventAsync(event, instance, new VelenGate()) :
+                CompletableFuture.completedFuture(middleware.onEvent(event, instance, new VelenGate())));
+    }
+
+    /**
+     * Applies all the middleware restraints for a message command without blocking, asynchronous
+     * middlewares are awaited one after another and the chain stops at the first denial.
+     *
+     * @param middlewares The middlewares to use.
+     * @param event The event to use.
+     * @param options The options to send.
+     * @return The future of whether this is accepted by the gate.
+     */
+    public CompletableFuture<Pair<Boolean, String>> applyMessageMiddlewaresAsync(VelenMessageMiddleware[] middlewares, MessageCreateEvent event,
+                                                                                 VelenRoutedOptions options) {
+        return VelenGatePipeline.sequence(middlewares, middleware -> middleware instanceof VelenAsyncMessageMiddleware ?
+                ((VelenAsyncMessageMiddleware) middleware).onEventAsync(event, instance, options, new VelenGate()) :
+                CompletableFuture.completedFuture(middleware.onEvent(event, instance, options, new VelenGate())));
+    }
+
     /**
      * Applies all the restraint requirements for the command.
      *
@@ -217,14 +369,7 @@ public class BaseCommandImplementation {
      * @return All the hybrid middlewares for this command.
      */
     public List<VelenHybridMiddleware> getHybridMiddlewares() {
-        List<VelenHybridMiddleware> middlewares = new ArrayList<>();
-
-        if (instance.getVelen().findCategory(instance.getCategory()) != null) {
-            middlewares.addAll(instance.getVelen().findCategory(instance.getCategory()).getHybridMiddlewares());
-        }
-
-        middlewares.addAll(instance.getHybridMiddlewares());
-        return middlewares;
+        return instance.getChain().getHybridMiddlewares();
     }
 
     /**
@@ -233,14 +378,7 @@ public class BaseCommandImplementation {
      * @return All the message middlewares for this command.
      */
     public List<VelenMessageMiddleware> getMessageMiddlewares() {
-        List<VelenMessageMiddleware> middlewares = new ArrayList<>();
-
-        if (instance.getVelen().findCategory(instance.getCategory()) != null) {
-            middlewares.addAll(instance.getVelen().findCategory(instance.getCategory()).getMessageMiddlewares());
-        }
-
-        middlewares.addAll(instance.getMessageMiddlewares());
-        return middlewares;
+        return instance.getChain().getMessageMiddlewares();
     }
 
 
@@ -250,14 +388,7 @@ public class BaseCommandImplementation {
      * @return All the slash middlewares for this command.
      */
     public List<VelenSlashMiddleware> getSlashMiddlewares() {
-        List<VelenSlashMiddleware> middlewares = new ArrayList<>();
-
-        if (instance.getVelen().findCategory(instance.getCategory()) != null) {
-            middlewares.addAll(instance.getVelen().findCategory(instance.getCategory()).getSlashMiddlewares());
-        }
-
-        middlewares.addAll(instance.getSlashMiddlewares());
-        return middlewares;
+        return instance.getChain().getSlashMiddlewares();
     }
 
     /**
@@ -266,14 +397,7 @@ public class BaseCommandImplementation {
      * @return All the slash afterwares for this command.
      */
     public List<VelenSlashAfterware> getSlashAfterwares() {
-        List<VelenSlashAfterware> afterwares = new ArrayList<>();
-
-        if (instance.getVelen().findCategory(instance.getCategory()) != null) {
-            afterwares.addAll(instance.getVelen().findCategory(instance.getCategory()).getSlashAfterwares());
-        }
-
-        afterwares.addAll(instance.getSlashAfterwares());
-        return afterwares;
+        return instance.getChain().getSlashAfterwares();
     }
 
     /**
@@ -282,14 +406,7 @@ public class BaseCommandImplementation {
      * @return All the message afterwares for this command.
      */
     public List<VelenMessageAfterware> getMessageAfterwares() {
-        List<VelenMessageAfterware> afterwares = new ArrayList<>();
-
-        if (instance.getVelen().findCategory(instance.getCategory()) != null) {
-            afterwares.addAll(instance.getVelen().findCategory(instance.getCategory()).getMessageAfterwares());
-        }
-
-        afterwares.addAll(instance.getMessageAfterwares());
-        return afterwares;
+        return instance.getChain().getMessageAfterwares();
     }
 
     /**
@@ -298,134 +415,196 @@ public class BaseCommandImplementation {
      * @return All the hybrid afterwares for this command.
      */
     public List<VelenHybridAfterware> getHybridAfterwares() {
-        List<VelenHybridAfterware> afterwares = new ArrayList<>();
-
-        if (instance.getVelen().findCategory(instance.getCategory()) != null) {
-            afterwares.addAll(instance.getVelen().findCategory(instance.getCategory()).getHybridAfterwares());
-        }
-
-        afterwares.addAll(instance.getHybridAfterwares());
-        return afterwares;
+        return instance.getChain().getHybridAfterwares();
     }
 
     /**
      * Dispatches an event for slash commands.
      *
      * @param event The event to dispatch.
+     * @return The future of the execution, this completes with whether the handler was executed
+     * once the middlewares and the handler have finished.
      */
-    public void dispatch(SlashCommandCreateEvent event) {
+    public CompletableFuture<Boolean> dispatch(SlashCommandCreateEvent event) {
         if (instance.getHybridHandler() == null && instance.getInteractionHandler() == null)
             throw new IllegalStateException("There is no slash handler found for the command " +
                     instance.getName() + ".");
 
+        VelenCommandChain chain = instance.getChain();
         if (instance.getHybridHandler() == null) {
-            Pair<Boolean, String> middlewareResponse = applySlashMiddlewares(
-                    getSlashMiddlewares(),
-                    event
-            );
-
-            if (!middlewareResponse.getLeft()) {
-                if (middlewareResponse.getRight() != null) {
-                    event.getSlashCommandInteraction()
-                            .createImmediateResponder()
-                            .setContent(middlewareResponse.getRight())
-                            .setFlags(MessageFlag.EPHEMERAL)
-                            .respond();
-                }
-                return;
+            if (chain.asyncSlash)
+                return await(applySlashMiddlewaresAsync(chain.slashMiddlewares, event), response -> proceed(chain, event, response));
+
+            return CompletableFuture.completedFuture(proceed(chain, event, applySlashMiddlewares(chain.slashMiddlewares, event)));
+        }
+
+        VelenGeneralEventImpl e = new VelenGeneralEventImpl(instance.getName(), event, null, null, instance);
+
+        if (chain.asyncHybrid)
+            return await(applyHybridMiddlewaresAsync(chain.hybridMiddlewares, e), response -> proceed(chain, event, e, response));
+
+        return CompletableFuture.completedFuture(proceed(chain, event, e, applyHybridMiddlewares(chain.hybridMiddlewares, e)));
+    }
+
+    private boolean proceed(VelenCommandChain chain, SlashCommandCreateEvent event, Pair<Boolean, String> middlewareResponse) {
+        if (!middlewareResponse.getLeft()) {
+            if (middlewareResponse.getRight() != null) {
+                event.getSlashCommandInteraction()
+                        .createImmediateResponder()
+                        .setContent(middlewareResponse.getRight())
+                        .setFlags(MessageFlag.EPHEMERAL)
+                        .respond()
+                        .exceptionally(ExceptionLogger.get());
             }
+            return false;
+        }
 
-            instance.getInteractionHandler()
-                    .onEvent(event,
-                            event.getSlashCommandInteraction(),
-                            event.getSlashCommandInteraction().getUser(),
-                            new VelenArguments(event.getSlashCommandInteraction().getOptions()),
-                            event.getSlashCommandInteraction().getOptions(),
-                            event.getSlashCommandInteraction().createImmediateResponder());
-            // Execute the afterwares.
-            getSlashAfterwares().forEach(afterware -> VelenThreadPool.executorService
-                    .submit(() -> afterware.afterEvent(event, instance)));
-        } else {
-            VelenGeneralEvent e = new VelenGeneralEventImpl(instance.getName(), event, null, null, instance);
-
-            Pair<Boolean, String> middlewareResponse = applyHybridMiddlewares(
-                    getHybridMiddlewares(),
-                    e
-            );
-
-            if (!middlewareResponse.getLeft()) {
-                if (middlewareResponse.getRight() != null) {
-                    e.createResponder()
-                            .setContent(middlewareResponse.getRight())
-                            .setFlags(MessageFlag.EPHEMERAL)
-                            .respond();
-                }
-                return;
+        instance.getInteractionHandler()
+                .onEvent(event,
+                        event.getSlashCommandInteraction(),
+                        event.getSlashCommandInteraction().getUser(),
+                        new VelenArguments(event.getSlashCommandInteraction().getOptions()),
+                        event.getSlashCommandInteraction().getOptions(),
+                        event.getSlashCommandInteraction().createImmediateResponder());
+        // Execute the afterwares.
+        for (VelenSlashAfterware afterware : chain.slashAfterwares) {
+            instance.getVelen().getExecutor().submit(() -> afterware.afterEvent(event, instance));
+        }
+
+        return true;
+    }
+
+    private boolean proceed(VelenCommandChain chain, SlashCommandCreateEvent event, VelenGeneralEventImpl e,
+                            Pair<Boolean, String> middlewareResponse) {
+        if (!middlewareResponse.getLeft()) {
+            if (middlewareResponse.getRight() != null) {
+                e.createResponder()
+                        .setContent(middlewareResponse.getRight())
+                        .respond()
+                        .exceptionally(ExceptionLogger.get());
             }
+            return false;
+        }
 
-            instance.getHybridHandler().onEvent(e, e.createResponder(), e.getUser(), e.getArguments());
-            // Execute the afterwares.
-            getHybridAfterwares().forEach(afterware -> VelenThreadPool.executorService
-                    .submit(() -> afterware.afterEvent(e, e.getArguments(), instance)));
+        instance.getHybridHandler().onEvent(e, e.createResponder(), e.getUser(), e.getArguments());
+        // Execute the afterwares.
+        for (VelenHybridAfterware afterware : chain.hybridAfterwares) {
+            instance.getVelen().getExecutor().submit(() -> afterware.afterEvent(e, e.getArguments(), instance));
         }
+
+        return true;
     }
 
     /**
      * Dispatches an event for message commands.
      *
      * @param event The event to dispatch.
-     * @param args The arguments provided from the initial dispatch.
+     * @param tokens The tokens of the message, starting from the command.
+     * @return The future of the execution, this completes with whether the handler was executed
+     * once the middlewares and the handler have finished.
      */
-    public void dispatch(MessageCreateEvent event, String[] args) {
-        event.getMessageAuthor().asUser().ifPresent(u -> {
-            if (instance.getHybridHandler() == null && instance.getMessageHandler() == null)
-                throw new IllegalStateException("There is no message handler found for the command " +
-                        instance.getName() + ".");
-
-            if (instance.getHybridHandler() == null) {
-
-                VelenRoutedOptions options = new VelenRoutedOptions(instance, event);
-                Pair<Boolean, String> middlewareResponse = applyMessageMiddlewares(
-                        getMessageMiddlewares(),
-                        event,
-                        options
-                );
+    public CompletableFuture<Boolean> dispatch(MessageCreateEvent event, VelenTokens tokens) {
+        Optional<User> author = event.getMessageAuthor().asUser();
+        if (!author.isPresent())
+            return CompletableFuture.completedFuture(false);
 
-                if (!middlewareResponse.getLeft()) {
-                    if (middlewareResponse.getRight() != null) {
-                        event.getMessage().reply(middlewareResponse.getRight());
-                    }
-                    return;
-                }
+        if (instance.getHybridHandler() == null && instance.getMessageHandler() == null)
+            throw new IllegalStateException("There is no message handler found for the command " +
+                    instance.getName() + ".");
 
-                instance.getMessageHandler().onEvent(event, event.getMessage(), u, args, options);
-                // Execute the afterwares.
-                getMessageAfterwares().forEach(afterware -> VelenThreadPool.executorService
-                        .submit(() -> afterware.afterEvent(event, instance, options)));
-            } else {
-                VelenGeneralEvent e = new VelenGeneralEventImpl(instance.getName(), null, event, args, instance);
+        User u = author.get();
+        VelenCommandChain chain = instance.getChain();
+        if (instance.getHybridHandler() == null) {
+            VelenRoutedOptions options = new VelenRoutedOptions(instance, event, tokens);
 
-                Pair<Boolean, String> middlewareResponse = applyHybridMiddlewares(
-                        getHybridMiddlewares(),
-                        e
-                );
+            if (chain.asyncMessage)
+                return await(applyMessageMiddlewaresAsync(chain.messageMiddlewares, event, options),
+                        response -> proceed(chain, event, u, tokens, options, response));
 
-                if (!middlewareResponse.getLeft()) {
-                    if (middlewareResponse.getRight() != null) {
-                        e.createResponder()
-                                .setContent(middlewareResponse.getRight())
-                                .setFlags(MessageFlag.EPHEMERAL)
-                                .respond();
-                    }
-                    return;
-                }
+            return CompletableFuture.completedFuture(proceed(chain, event, u, tokens, options,
+                    applyMessageMiddlewares(chain.messageMiddlewares, event, options)));
+        }
+
+        VelenGeneralEvent e = new VelenGeneralEventImpl(instance.getName(), event, tokens, instance);
+
+        if (chain.asyncHybrid)
+            return await(applyHybridMiddlewaresAsync(chain.hybridMiddlewares, e), response -> proceed(chain, e, response));
+
+        return CompletableFuture.completedFuture(proceed(chain, e, applyHybridMiddlewares(chain.hybridMiddlewares, e)));
+    }
+
+    private boolean proceed(VelenCommandChain chain, MessageCreateEvent event, User user, VelenTokens tokens,
+                            VelenRoutedOptions options, Pair<Boolean, String> middlewareResponse) {
+        if (!middlewareResponse.getLeft()) {
+            if (middlewareResponse.getRight() != null) {
+                event.getMessage().reply(middlewareResponse.getRight());
+            }
+            return false;
+        }
+
+        instance.getMessageHandler().onEvent(event, event.getMessage(), user, tokens.from(1).toArray(), options);
+        // Execute the afterwares.
+        for (VelenMessageAfterware afterware : chain.messageAfterwares) {
+            instance.getVelen().getExecutor().submit(() -> afterware.afterEvent(event, instance, options));
+        }
+
+        return true;
+    }
 
-                instance.getHybridHandler().onEvent(e, e.createResponder(), e.getUser(), e.getArguments());
-                // Execute the afterwares.
-                getHybridAfterwares().forEach(afterware -> VelenThreadPool.executorService
-                        .submit(() -> afterware.afterEvent(e, e.getArguments(), instance)));
+    private boolean proceed(VelenCommandChain chain, VelenGeneralEvent e, Pair<Boolean, String> middlewareResponse) {
+        if (!middlewareResponse.getLeft()) {
+            if (middlewareResponse.getRight() != null) {
+                e.createResponder()
+                        .setContent(middlewareResponse.getRight())
+                        .setFlags(MessageFlag.EPHEMERAL)
+                        .respond();
             }
+            return false;
+        }
+
+        instance.getHybridHandler().onEvent(e, e.createResponder(), e.getUser(), e.getArguments());
+        // Execute the afterwares.
+        for (VelenHybridAfterware afterware : chain.hybridAfterwares) {
+            instance.getVelen().getExecutor().submit(() -> afterware.afterEvent(e, e.getArguments(), instance));
+        }
+
+        return true;
+    }
+
+    /**
+     * Waits for the response of asynchronous middlewares without blocking, the command continues
+     * on the executor of Velen once the middlewares have responded. A middleware that fails denies
+     * the command without any reason.
+     *
+     * @param response The future of the middleware response.
+     * @param then What to do with the middleware response, this returns whether the handler was executed.
+     * @return The future of the execution, this completes exceptionally if a middleware failed.
+     */
+    private CompletableFuture<Boolean> await(CompletableFuture<Pair<Boolean, String>> response,
+                                             Function<Pair<Boolean, String>, Boolean> then) {
+        if (response.isDone() && !response.isCompletedExceptionally())
+            return CompletableFuture.completedFuture(then.apply(response.join()));
+
+        CompletableFuture<Boolean> execution = new CompletableFuture<>();
+        response.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                logger.error("A middleware of the command " + instance.getName() + " failed, the command was denied.", throwable);
+                execution.completeExceptionally(throwable);
+                return;
+            }
+
+            instance.getVelen().getExecutor().submit(() -> {
+                try {
+                    execution.complete(then.apply(result));
+                } catch (RuntimeException e) {
+                    // The handler was executed even though it failed, the exception is left to the executor.
+                    execution.complete(true);
+                    throw e;
+                }
+            });
         });
+
+        return execution;
     }
 
     /**
@@ -0,0 +1,162 @@
+package pw.mihou.velen.impl.commands;
+
+import pw.mihou.velen.interfaces.VelenCategory;
+import pw.mihou.velen.interfaces.VelenCommand;
+import pw.mihou.velen.interfaces.afterware.types.VelenHybridAfterware;
+import pw.mihou.velen.interfaces.afterware.types.VelenMessageAfterware;
+import pw.mihou.velen.interfaces.afterware.types.VelenSlashAfterware;
+import pw.mihou.velen.interfaces.middleware.types.VelenAsyncHybridMiddleware;
+import pw.mihou.velen.interfaces.middleware.types.VelenAsyncMessageMiddleware;
+import pw.mihou.velen.interfaces.middleware.types.VelenAsyncSlashMiddleware;
+import pw.mihou.velen.interfaces.middleware.types.VelenHybridMiddleware;
+import pw.mihou.velen.interfaces.middleware.types.VelenMessageMiddleware;
+import pw.mihou.velen.interfaces.middleware.types.VelenSlashMiddleware;
+import pw.mihou.velen.ratelimiter.policies.VelenRatelimitPolicy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A frozen snapshot of the middlewares, afterwares and rate-limit policies of a command
+ * with the ones of its category placed first. The snapshot is resolved once and kept by the
+ * command until Velen is modified (a category, middleware, afterware or command is added or removed),
+ * which means that dispatching a command only iterates over the arrays of this snapshot.
+ * <br><br>
+ * The chain also remembers whether it has any asynchronous middlewares, chains without them
+ * are ran in place without creating any futures.
+ */
+public final class VelenCommandChain {
+
+    private final long revision;
+    final VelenHybridMiddleware[] hybridMiddlewares;
+    final VelenMessageMiddleware[] messageMiddlewares;
+    final VelenSlashMiddleware[] slashMiddlewares;
+    final VelenHybridAfterware[] hybridAfterwares;
+    final VelenMessageAfterware[] messageAfterwares;
+    final VelenSlashAfterware[] slashAfterwares;
+    final VelenRatelimitPolicy[] policies;
+    final boolean asyncHybrid;
+    final boolean asyncMessage;
+    final boolean asyncSlash;
+
+    private VelenCommandChain(long revision, VelenCategory category, VelenCommand command) {
+        this.revision = revision;
+        this.hybridMiddlewares = merge(category == null ? null : category.getHybridMiddlewares(),
+                command.getHybridMiddlewares(), new VelenHybridMiddleware[0]);
+        this.messageMiddlewares = merge(category == null ? null : category.getMessageMiddlewares(),
+                command.getMessageMiddlewares(), new VelenMessageMiddleware[0]);
+        this.slashMiddlewares = merge(category == null ? null : category.getSlashMiddlewares(),
+                command.getSlashMiddlewares(), new VelenSlashMiddleware[0]);
+        this.hybridAfterwares = merge(category == null ? null : category.getHybridAfterwares(),
+                command.getHybridAfterwares(), new VelenHybridAfterware[0]);
+        this.messageAfterwares = merge(category == null ? null : category.getMessageAfterwares(),
+                command.getMessageAfterwares(), new VelenMessageAfterware[0]);
+        this.slashAfterwares = merge(category == null ? null : category.getSlashAfterwares(),
+                command.getSlashAfterwares(), new VelenSlashAfterware[0]);
+        this.policies = merge(category == null ? null : category.getPolicies(),
+                command.getPolicies(), new VelenRatelimitPolicy[0]);
+        this.asyncHybrid = Arrays.stream(hybridMiddlewares).anyMatch(middleware -> middleware instanceof VelenAsyncHybridMiddleware);
+        this.asyncMessage = Arrays.stream(messageMiddlewares).anyMatch(middleware -> middleware instanceof VelenAsyncMessageMiddleware);
+        this.asyncSlash = Arrays.stream(slashMiddlewares).anyMatch(middleware -> middleware instanceof VelenAsyncSlashMiddleware);
+    }
+
+    /**
+     * Resolves the chain of the command.
+     *
+     * @param command The command to resolve.
+     * @param category The category of the command, nullable.
+     * @param revision The revision of Velen that this chain was resolved from.
+     * @return The resolved chain of the command.
+     */
+    public static VelenCommandChain of(VelenCommand command, VelenCategory category, long revision) {
+        return new VelenCommandChain(revision, category, command);
+    }
+
+    private static <T> T[] merge(List<T> first, List<T> second, T[] type) {
+        List<T> merged = new ArrayList<>();
+
+        if (first != null)
+            merged.addAll(first);
+
+        if (second != null)
+            merged.addAll(second);
+
+        return merged.toArray(type);
+    }
+
+    /**
+     * Retrieves the revision of Velen that this chain was resolved from, the
+     * chain is resolved again once the revision of Velen changes.
+     *
+     * @return The revision of this chain.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Retrieves the hybrid middlewares of this chain.
+     *
+     * @return The hybrid middlewares, in order of execution.
+     */
+    public List<VelenHybridMiddleware> getHybridMiddlewares() {
+        return Collections.unmodifiableList(Arrays.asList(hybridMiddlewares));
+    }
+
+    /**
+     * Retrieves the message middlewares of this chain.
+     *
+     * @return The message middlewares, in order of execution.
+     */
+    public List<VelenMessageMiddleware> getMessageMiddlewares() {
+        return Collections.unmodifiableList(Arrays.asList(messageMiddlewares));
+    }
+
+    /**
+     * Retrieves the slash middlewares of this chain.
+     *
+     * @return The slash middlewares, in order of execution.
+     */
+    public List<VelenSlashMiddleware> getSlashMiddlewares() {
+        return Collections.unmodifiableList(Arrays.asList(slashMiddlewares));
+    }
+
+    /**
+     * Retrieves the hybrid afterwares of this chain.
+     *
+     * @return The hybrid afterwares, in order of execution.
+     */
+    public List<VelenHybridAfterware> getHybridAfterwares() {
+        return Collections.unmodifiableList(Arrays.asList(hybridAfterwares));
+    }
+
+    /**
+     * Retrieves the message afterwares of this chain.
+     *
+     * @return The message afterwares, in order of execution.
+     */
+    public List<VelenMessageAfterware> getMessageAfterwares() {
+        return Collections.unmodifiableList(Arrays.asList(messageAfterwares));
+    }
+
+    /**
+     * Retrieves the slash afterwares of this chain.
+     *
+     * @return The slash afterwares, in order of execution.
+     */
+    public List<VelenSlashAfterware> getSlashAfterwares() {
+        return Collections.unmodifiableList(Arrays.asList(slashAfterwares));
+    }
+
+    /**
+     * Retrieves the rate-limit policies of this chain.
+     *
+     * @return The rate-limit policies, in order of evaluation.
+     */
+    public List<VelenRatelimitPolicy> getPolicies() {
+        return Collections.unmodifiableList(Arrays.asList(policies));
+    }
+
+}
@@ -18,10 +18,8 @@ import pw.mihou.velen.interfaces.messages.surface.text.VelenConditionalOrdinaryM
 import pw.mihou.velen.interfaces.messages.surface.text.VelenPermissionOrdinaryMessage;
 import pw.mihou.velen.interfaces.messages.surface.text.VelenRatelimitOrdinaryMessage;
 import pw.mihou.velen.interfaces.messages.surface.text.VelenRoleOrdinaryMessage;
-import pw.mihou.velen.utils.VelenThreadPool;
 import pw.mihou.velen.utils.VelenUtils;
 
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class BaseInteractionCommand extends BaseCommandImplementation {
@@ -98,41 +96,27 @@ public class BaseInteractionCommand extends BaseCommandImplementation {
             return;
         }
 
-        if (instance.getCooldown() != null && !(instance.getCooldown().isZero() || instance.getCooldown().isNegative())) {
-            long lock = event.getInteraction().getServer().map(Server::getId).orElse(user.getId());
-            applyRatelimiter(user.getId(), lock,
-                    remaining -> {
-                        if (remaining > 0) {
-                            if (instance.getVelen().getRatelimitedMessage() instanceof VelenOrdinaryMessage) {
-                                builder.setContent(((VelenRatelimitOrdinaryMessage) instance.getVelen().getRatelimitedMessage()).load(
-                                        remaining,
-                                        user,
-                                        channel,
-                                        instance.getName())
-                                );
-                            } else {
-                                builder.addEmbed(((VelenRatelimitEmbedMessage) instance.getVelen().getRatelimitedMessage()).load(
-                                        remaining,
-                                        user,
-                                        channel,
-                                        instance.getName())
-                                );
-                            }
-
-                            builder.respond().thenAccept(message ->
-                                    VelenThreadPool.schedule(() ->
-                                                    instance.getVelen().getRatelimiter().release(user.getId(), lock, instance.toString()),
-                                            remaining, TimeUnit.SECONDS)
-                            ).exceptionally(ExceptionLogger.get());
-
-                        } else {
-                            instance.getVelen().getRatelimiter().release(user.getId(), lock, toString());
-                            dispatch(event);
-                        }
-                    }, unused -> dispatch(event));
-        } else {
-            dispatch(event);
-        }
+        long lock = event.getInteraction().getServer().map(Server::getId).orElse(user.getId());
+        applyRatelimits(user.getId(), lock,
+                remaining -> {
+                    if (instance.getVelen().getRatelimitedMessage() instanceof VelenOrdinaryMessage) {
+                        builder.setContent(((VelenRatelimitOrdinaryMessage) instance.getVelen().getRatelimitedMessage()).load(
+                                remaining,
+                                user,
+                                channel,
+                                instance.getName())
+                        );
+                    } else {
+                        builder.addEmbed(((VelenRatelimitEmbedMessage) instance.getVelen().getRatelimitedMessage()).load(
+                                remaining,
+                                user,
+                                channel,
+                                instance.getName())
+                        );
+                    }
+
+                    builder.respond().exceptionally(ExceptionLogger.get());
+                }, () -> dispatch(event));
     }
 
 }
@@ -17,6 +17,7 @@ import pw.mihou.velen.interfaces.messages.surface.text.VelenPermissionOrdinaryMe
 import pw.mihou.velen.interfaces.messages.surface.text.VelenRatelimitOrdinaryMessage;
 import pw.mihou.velen.interfaces.messages.surface.text.VelenRoleOrdinaryMessage;
 import pw.mihou.velen.utils.VelenThreadPool;
+import pw.mihou.velen.utils.VelenTokens;
 import pw.mihou.velen.utils.VelenUtils;
 
 import java.util.concurrent.TimeUnit;
@@ -39,9 +40,9 @@ public class BaseMessageCommand extends BaseCommandImplementation {
      * and handles the to-do tasks such as authentication and so forth.
      *
      * @param event The message event received.
-     * @param args The arguments received from the event.
+     * @param tokens The tokens of the message, starting from the command.
      */
-    public void onReceive(MessageCreateEvent event, String[] args) {
+    public void onReceive(MessageCreateEvent event, VelenTokens tokens) {
         if (!event.getMessageAuthor().asUser().isPresent())
             return;
 
@@ -103,45 +104,33 @@ public class BaseMessageCommand extends BaseCommandImplementation {
             return;
         }
 
-        if (instance.getCooldown() != null && !(instance.getCooldown().isZero() || instance.getCooldown().isNegative())) {
-            long lock = event.getServer().map(Server::getId).orElse(user.getId());
-            applyRatelimiter(user.getId(), lock,
-                    remaining -> {
-                        if (remaining > 0) {
-                            MessageBuilder builder = new MessageBuilder().replyTo(event.getMessage());
-
-                            if (instance.getVelen().getRatelimitedMessage() instanceof VelenOrdinaryMessage) {
-                                builder.setContent(((VelenRatelimitOrdinaryMessage) instance.getVelen().getRatelimitedMessage()).load(
-                                        remaining,
-                                        user,
-                                        event.getChannel(),
-                                        instance.getName())
-                                );
-                            } else {
-                                builder.addEmbed(((VelenRatelimitEmbedMessage) instance.getVelen().getRatelimitedMessage()).load(
-                                        remaining,
-                                        user,
-                                        event.getChannel(),
-                                        instance.getName())
-                                );
-                            }
-
-                            builder.send(event.getChannel()).thenAccept(message ->
-                                    VelenThreadPool.schedule(() -> {
-                                        instance.getVelen().getRatelimiter().release(user.getId(), lock, instance.toString());
-                                        message.delete().thenAccept(unused -> event.getMessage().delete());
-                                    }, remaining, TimeUnit.SECONDS)
-                            ).exceptionally(ExceptionLogger.get());
-
-                        } else {
-                            instance.getVelen().getRatelimiter().release(user.getId(), lock, toString());
-                            dispatch(event, args);
-                        }
-                    }, unused -> dispatch(event, args));
-        } else {
-            dispatch(event, args);
-        }
-
+        long lock = event.getServer().map(Server::getId).orElse(user.getId());
+        applyRatelimits(user.getId(), lock,
+                remaining -> {
+                    MessageBuilder builder = new MessageBuilder().replyTo(event.getMessage());
+
+                    if (instance.getVelen().getRatelimitedMessage() instanceof VelenOrdinaryMessage) {
+                        builder.setContent(((VelenRatelimitOrdinaryMessage) instance.getVelen().getRatelimitedMessage()).load(
+                                remaining,
+                                user,
+                                event.getChannel(),
+                                instance.getName())
+                        );
+                    } else {
+                        builder.addEmbed(((VelenRatelimitEmbedMessage) instance.getVelen().getRatelimitedMessage()).load(
+                                remaining,
+                                user,
+                                event.getChannel(),
+                                instance.getName())
+                        );
+                    }
+
+                    // The rate-limits expire on their own, we only need to clean up the messages.
+                    builder.send(event.getChannel()).thenAccept(message ->
+                            VelenThreadPool.schedule(() -> message.delete().thenAccept(unused -> event.getMessage().delete()),
+                                    remaining, TimeUnit.SECONDS)
+                    ).exceptionally(ExceptionLogger.get());
+                }, () -> dispatch(event, tokens));
     }
 
 }
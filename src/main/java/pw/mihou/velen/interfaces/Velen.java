@@ -8,6 +8,7 @@ import org.javacord.api.listener.interaction.SlashCommandCreateListener;
 import org.javacord.api.listener.message.MessageCreateListener;
 import org.javacord.api.util.logging.ExceptionLogger;
 import pw.mihou.velen.VelenBuilder;
+import pw.mihou.velen.executor.VelenExecutor;
 import pw.mihou.velen.builders.VelenCategoryBuilder;
 import pw.mihou.velen.interfaces.afterware.VelenAfterware;
 import pw.mihou.velen.interfaces.afterware.types.VelenHybridAfterware;
@@ -22,6 +23,8 @@ import pw.mihou.velen.interfaces.middleware.types.VelenHybridMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenMessageMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenSlashMiddleware;
 import pw.mihou.velen.internals.VelenBlacklist;
+import pw.mihou.velen.internals.observer.VelenObserver;
+import pw.mihou.velen.internals.observer.modes.ObserverMode;
 import pw.mihou.velen.prefix.VelenPrefixManager;
 import pw.mihou.velen.ratelimiter.VelenRatelimiter;
 import pw.mihou.velen.utils.Pair;
@@ -251,6 +254,14 @@ public interface Velen extends MessageCreateListener, SlashCommandCreateListener
      */
     VelenRatelimiter getRatelimiter();
 
+    /**
+     * Gets the executor that is used by Velen to execute commands, afterwares
+     * and rate-limiter interceptors.
+     *
+     * @return The executor being used.
+     */
+    VelenExecutor getExecutor();
+
     /**
      * Gets all the commands registered with the specified category on the Velen.
      *
@@ -340,7 +351,8 @@ public interface Velen extends MessageCreateListener, SlashCommandCreateListener
      * inside the commands (like the name of the command, etc).
      *
      * <br><br><b>We recommend using {@link pw.mihou.velen.internals.observer.VelenObserver} to
-     * automate registration and updating of slash commands.</b>
+     * automate registration and updating of slash commands.</b> This sends one request per command, you
+     * can use {@link Velen#synchronizeAllSlashCommands(DiscordApi)} to send one request per server instead.
      * @param api The Discord API to register the commands to.
      * @return A CompletableFuture to mark its completion.
      */
@@ -363,6 +375,21 @@ public interface Velen extends MessageCreateListener, SlashCommandCreateListener
                 }).toArray(CompletableFuture[]::new)).exceptionally(ExceptionLogger.get());
     }
 
+    /**
+     * Synchronizes all the slash commands registered under Velen with Discord, the global commands and
+     * the commands of every server are replaced in a single request per scope and only if anything differs.
+     * This <b>deletes</b> any slash commands that aren't registered in Velen, the commands are created and
+     * updated one by one instead if they couldn't be replaced in bulk.
+     *
+     * @param api The Discord API to synchronize the commands with.
+     * @return A CompletableFuture to mark its completion.
+     * @see ObserverMode#OVERWRITE
+     */
+    default CompletableFuture<Void> synchronizeAllSlashCommands(DiscordApi api) {
+        VelenObserver observer = new VelenObserver(api, ObserverMode.OVERWRITE);
+        return CompletableFuture.allOf(observer.observe(this), observer.observeServer(this, api));
+    }
+
     /**
      * Registers a specific slash command that is being utilized by
      * Velen, this is opposed to {@link Velen#registerAllSlashCommands(DiscordApi)} which
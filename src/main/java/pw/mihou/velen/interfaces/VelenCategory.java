@@ -8,6 +8,7 @@ import pw.mihou.velen.interfaces.middleware.VelenMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenHybridMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenMessageMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenSlashMiddleware;
+import pw.mihou.velen.ratelimiter.policies.VelenRatelimitPolicy;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -114,6 +115,14 @@ public interface VelenCategory {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves all the rate-limit policies that are attached to this category, these
+     * are shared between every command in this category.
+     *
+     * @return The rate-limit policies used in this category.
+     */
+    List<VelenRatelimitPolicy> getPolicies();
+
     /**
      * Retrieves all the commands that are under this category.
      *
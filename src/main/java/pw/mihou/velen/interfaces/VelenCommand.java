@@ -11,6 +11,7 @@ import pw.mihou.velen.interfaces.middleware.VelenMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenHybridMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenMessageMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenSlashMiddleware;
+import pw.mihou.velen.ratelimiter.policies.VelenRatelimitPolicy;
 import pw.mihou.velen.utils.Pair;
 
 import java.time.Duration;
@@ -358,6 +359,14 @@ public interface VelenCommand {
      */
     List<VelenAfterware> getAfterwares();
 
+    /**
+     * Retrieves all the rate-limit policies that are attached to this command, these
+     * are evaluated after the cooldown of the command.
+     *
+     * @return The rate-limit policies used in this command.
+     */
+    List<VelenRatelimitPolicy> getPolicies();
+
     /**
      * Retrieves the hybrid command afterwares that are globally attached
      * to every command in this command.
@@ -62,6 +62,9 @@ public interface VelenCompany {
     /**
      * Performs a slash command indexing, this indexes any {@link VelenCommand} that
      * supports slash commands and isn't a server-specific command with their global id.
+     * <br><br>
+     * This is optional since Velen learns the ids of the slash commands from the first interaction
+     * of every command, indexing ahead only saves the name lookup of these first interactions.
      *
      * @param shards The {@link DiscordApi} to use to collect the indexes.
      * @return A future that indicates completion or progress.
@@ -78,4 +81,18 @@ public interface VelenCompany {
      */
     CompletableFuture<Void> index(boolean allowServerIndexes, DiscordApi... shards);
 
+    /**
+     * Performs a slash command indexing, this indexes any {@link VelenCommand} that supports slash commands
+     * including server-specific commands if specified. The slash commands of the servers are fetched in parallel
+     * with at most the specified amount of requests at the same time, and the commands of every server are
+     * indexed as soon as the slash commands of that server are fetched.
+     *
+     * @param allowServerIndexes Should server-commands be indexed as well?
+     * @param concurrency The maximum amount of requests that are sent at the same time.
+     * @param listener The listener that receives the progress of the indexing, nullable.
+     * @param shards The {@link DiscordApi} to use to collect the indexes.
+     * @return A future that indicates completion or progress.
+     */
+    CompletableFuture<Void> index(boolean allowServerIndexes, int concurrency, VelenIndexListener listener, DiscordApi... shards);
+
 }
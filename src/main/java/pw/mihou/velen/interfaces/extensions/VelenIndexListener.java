@@ -0,0 +1,18 @@
+package pw.mihou.velen.interfaces.extensions;
+
+/**
+ * Receives the progress of {@link VelenCompany#index(boolean, int, VelenIndexListener, org.javacord.api.DiscordApi...)},
+ * this is called once the global slash commands and once the slash commands of every server were indexed.
+ */
+@FunctionalInterface
+public interface VelenIndexListener {
+
+    /**
+     * Called whenever a fetch of slash commands has finished, including fetches that failed.
+     *
+     * @param completed The amount of fetches that have finished.
+     * @param total The total amount of fetches.
+     */
+    void onProgress(int completed, int total);
+
+}
@@ -18,6 +18,7 @@ import pw.mihou.velen.interfaces.hybrid.responder.VelenGeneralResponder;
 import java.net.URL;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface VelenGeneralEvent {
 
@@ -44,21 +45,32 @@ public interface VelenGeneralEvent {
     Optional<SlashCommandCreateEvent> asSlashEvent();
 
     /**
-     * Retrieves the original response updater that is being utilized by this event, please note that by
-     * the time that the event is received, this updater is already counting down.
+     * Retrieves the original response updater that is being utilized by this event, this waits
+     * for Discord to acknowledge the deferred response, you should prefer
+     * {@link VelenGeneralEvent#getUpdaterFuture()} which doesn't block.
      *
      * @return The interaction original response updater that is being utilized.
      */
     Optional<InteractionOriginalResponseUpdater> getUpdater();
 
+    /**
+     * Retrieves the future of the original response updater of this event, the response of slash commands
+     * is deferred as soon as the event is created and the future completes once Discord has acknowledged it.
+     *
+     * @return The future of the interaction original response updater, this is empty for message commands.
+     */
+    default Optional<CompletableFuture<InteractionOriginalResponseUpdater>> getUpdaterFuture() {
+        return getUpdater().map(CompletableFuture::completedFuture);
+    }
+
     /**
      * Creates a Velen General Responder which you should use to respond to the
-     * user.
+     * user, this doesn't wait for the deferred response of slash commands to be acknowledged.
      *
      * @return The {@link VelenGeneralResponder} for this event.
      */
     default VelenGeneralResponder createResponder() {
-        return new VelenGeneralResponder(asMessageEvent().orElse(null), getUpdater().orElse(null));
+        return new VelenGeneralResponder(asMessageEvent().orElse(null), getUpdaterFuture().orElse(null));
     }
 
     /**
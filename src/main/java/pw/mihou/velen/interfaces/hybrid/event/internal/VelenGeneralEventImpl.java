@@ -8,17 +8,15 @@ import pw.mihou.velen.interfaces.VelenCommand;
 import pw.mihou.velen.interfaces.hybrid.event.VelenGeneralEvent;
 import pw.mihou.velen.interfaces.hybrid.objects.VelenHybridArguments;
 import pw.mihou.velen.internals.routing.VelenRoutedArgument;
-import pw.mihou.velen.internals.routing.VelenUnderscoreParser;
-import pw.mihou.velen.utils.VelenUtils;
+import pw.mihou.velen.utils.VelenTokens;
 
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
 
 public class VelenGeneralEventImpl implements VelenGeneralEvent {
 
-    private final InteractionOriginalResponseUpdater updater;
+    private final CompletableFuture<InteractionOriginalResponseUpdater> updater;
     private final SlashCommandCreateEvent slashEvent;
     private final MessageCreateEvent event;
     private final String command;
@@ -26,35 +24,41 @@ public class VelenGeneralEventImpl implements VelenGeneralEvent {
     private final VelenCommand vl;
 
     public VelenGeneralEventImpl(String command, SlashCommandCreateEvent slashEvent, MessageCreateEvent event, String[] args, VelenCommand vl) {
+        this(command, slashEvent, event, args == null || event == null ? null : VelenTokens.of(event.getMessageContent()),
+                args != null && args.length == 0, vl);
+    }
+
+    /**
+     * Creates a new general event for a message command from the tokens of the message,
+     * this avoids tokenizing the message again.
+     *
+     * @param command The name of the command.
+     * @param event The message event.
+     * @param tokens The tokens of the message, starting from the command.
+     * @param vl The command that was executed.
+     */
+    public VelenGeneralEventImpl(String command, MessageCreateEvent event, VelenTokens tokens, VelenCommand vl) {
+        this(command, null, event, tokens, tokens.size() < 2, vl);
+    }
+
+    private VelenGeneralEventImpl(String command, SlashCommandCreateEvent slashEvent, MessageCreateEvent event,
+                                  VelenTokens tokens, boolean noArguments, VelenCommand vl) {
         this.command = command;
         this.vl = vl;
         VelenHybridArguments a = null;
 
         this.slashEvent = slashEvent;
-        if(slashEvent != null)
-            this.updater = slashEvent.getSlashCommandInteraction().respondLater().join();
-        else
-            this.updater = null;
-
         this.event = event;
 
-        if(args != null && event != null) {
-            String[] commandIndexes = Stream.concat(Arrays.stream(
-                    new String[]{event.getMessageContent().split(" ")[0]}),
-                            Arrays.stream(VelenUtils.splitContent(event.getMessageContent()))
-                            .filter(s -> !s.equals(event.getMessageContent().split(" ")[0])))
-                    .toArray(String[]::new);
-            VelenRoutedArgument[] vArgs = VelenUnderscoreParser.route(event.getMessageContent(), ((VelenCommandImpl)vl).getFormats())
-                    .entrySet()
-                    .stream()
-                    .map(entry -> new VelenRoutedArgument(entry.getKey(), entry.getValue().getLeft(),
-                            entry.getValue().getRight() == null ? commandIndexes[entry.getKey()] :  entry.getValue().getRight()))
-                    .toArray(VelenRoutedArgument[]::new);
-
-            if (args.length == 0)
+        // The response is deferred right away without waiting for it so that Discord is acknowledged
+        // within its deadline even when the middlewares or the handler take a while.
+        this.updater = slashEvent != null ? slashEvent.getSlashCommandInteraction().respondLater() : null;
+
+        if(tokens != null && event != null) {
+            if (noArguments)
                 a = new VelenHybridArguments(new VelenRoutedArgument[0], event.getApi(), vl);
             else
-                a = new VelenHybridArguments(vArgs, event.getApi(), vl);
+                a = new VelenHybridArguments(((VelenCommandImpl) vl).getMatcher().route(tokens), event.getApi(), vl);
         }
 
         if(slashEvent != null)
@@ -80,6 +84,11 @@ public class VelenGeneralEventImpl implements VelenGeneralEvent {
 
     @Override
     public Optional<InteractionOriginalResponseUpdater> getUpdater() {
+        return getUpdaterFuture().map(CompletableFuture::join);
+    }
+
+    @Override
+    public Optional<CompletableFuture<InteractionOriginalResponseUpdater>> getUpdaterFuture() {
         return Optional.ofNullable(updater);
     }
 
@@ -20,23 +20,40 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralResponder> {
 
-    private final InteractionOriginalResponseUpdater updater;
+    private final CompletableFuture<InteractionOriginalResponseUpdater> updater;
+    private final List<Consumer<InteractionOriginalResponseUpdater>> changes;
     private final MessageCreateEvent event;
     private TextChannel channel;
     private final MessageBuilder builder;
 
     public VelenGeneralResponder(MessageCreateEvent event, InteractionOriginalResponseUpdater updater) {
+        this(event, updater != null ? CompletableFuture.completedFuture(updater) : null);
+    }
+
+    /**
+     * Creates a new responder for a slash command whose response may still be deferred, the changes
+     * are kept until {@link VelenGeneralResponder#respond()} and are applied once Discord has
+     * acknowledged the interaction which means that building the response never blocks.
+     *
+     * @param event The message event, this should be null for slash commands.
+     * @param updater The future of the updater of the deferred response.
+     */
+    public VelenGeneralResponder(MessageCreateEvent event, CompletableFuture<InteractionOriginalResponseUpdater> updater) {
         this.updater = updater;
         this.event = event;
 
         // We only want the message builder to be there if the event is there.
         this.builder = event != null ? new MessageBuilder() : null;
+        this.changes = event != null ? null : new ArrayList<>();
     }
 
     @Override
@@ -44,15 +61,36 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
         return Optional.ofNullable(builder);
     }
 
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * This waits for Discord to acknowledge the deferred response if it hasn't yet, you should prefer
+     * {@link VelenGeneralResponder#getInteractionOriginalResponseUpdaterFuture()} which doesn't block. Any
+     * changes made through this responder are only applied to the updater on {@link VelenGeneralResponder#respond()}.
+     */
     @Override
     public Optional<InteractionOriginalResponseUpdater> getInteractionOriginalResponseUpdater() {
+        return getInteractionOriginalResponseUpdaterFuture().map(CompletableFuture::join);
+    }
+
+    /**
+     * Gets the future of the Interaction Original Response Updater that is being utilized by this
+     * responder, this completes once Discord has acknowledged the deferred response.
+     *
+     * @return The future of the updater, this is empty if the event is from a message command.
+     */
+    public Optional<CompletableFuture<InteractionOriginalResponseUpdater>> getInteractionOriginalResponseUpdaterFuture() {
         return Optional.ofNullable(updater);
     }
 
+    private void update(Consumer<InteractionOriginalResponseUpdater> change) {
+        changes.add(change);
+    }
+
     @Override
     public VelenGeneralResponder addComponents(HighLevelComponent... components) {
         if(builder == null)
-            updater.addComponents(components);
+            update(u -> u.addComponents(components));
         else
             builder.addComponents(components);
 
@@ -62,7 +100,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addActionRow(LowLevelComponent... components) {
         if(builder == null)
-            updater.addComponents(ActionRow.of(components));
+            update(u -> u.addComponents(ActionRow.of(components)));
         else
             builder.addActionRow(components);
 
@@ -72,7 +110,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder appendCode(String language, String code) {
         if(builder == null)
-            updater.appendCode(language, code);
+            update(u -> u.appendCode(language, code));
         else
             builder.appendCode(language, code);
 
@@ -82,7 +120,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder append(String message, MessageDecoration... decorations) {
         if(builder == null)
-            updater.append(message, decorations);
+            update(u -> u.append(message, decorations));
         else
             builder.append(message, decorations);
 
@@ -92,7 +130,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder append(Mentionable entity) {
         if(builder == null)
-            updater.append(entity);
+            update(u -> u.append(entity));
         else
             builder.append(entity);
 
@@ -102,7 +140,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder append(Object object) {
         if(builder == null)
-            updater.append(object);
+            update(u -> u.append(object));
         else
             builder.append(object);
 
@@ -112,7 +150,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder appendNewLine() {
         if(builder == null)
-            updater.appendNewLine();
+            update(u -> u.appendNewLine());
         else
             builder.appendNewLine();
         return this;
@@ -121,7 +159,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder setContent(String content) {
         if(builder == null)
-            updater.setContent(content);
+            update(u -> u.setContent(content));
         else
             builder.setContent(content);
         return this;
@@ -130,7 +168,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder removeContent() {
         if(builder == null)
-            updater.setContent("");
+            update(u -> u.setContent(""));
         else
             builder.removeContent();
         return this;
@@ -139,7 +177,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder setEmbed(EmbedBuilder embed) {
         if(builder == null)
-            updater.removeAllEmbeds().addEmbed(embed);
+            update(u -> u.removeAllEmbeds().addEmbed(embed));
         else
             builder.setEmbed(embed);
         return this;
@@ -148,7 +186,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder setEmbeds(EmbedBuilder... embeds) {
         if(builder == null)
-            updater.removeAllEmbeds().addEmbeds(embeds);
+            update(u -> u.removeAllEmbeds().addEmbeds(embeds));
         else
             builder.setEmbeds(embeds);
         return this;
@@ -157,7 +195,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addEmbed(EmbedBuilder embed) {
         if(builder == null)
-            updater.addEmbed(embed);
+            update(u -> u.addEmbed(embed));
         else
             builder.addEmbed(embed);
         return this;
@@ -166,7 +204,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFile(BufferedImage image, String fileName) {
         if(builder == null)
-            updater.addAttachment(image, fileName);
+            update(u -> u.addAttachment(image, fileName));
         else
             builder.addAttachment(image, fileName);
         return this;
@@ -175,7 +213,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFile(File file) {
         if(builder == null)
-            updater.addAttachment(file);
+            update(u -> u.addAttachment(file));
         else
             builder.addAttachment(file);
         return this;
@@ -184,7 +222,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFile(Icon icon) {
         if(builder == null)
-            updater.addAttachment(icon);
+            update(u -> u.addAttachment(icon));
         else
             builder.addAttachment(icon);
         return this;
@@ -193,7 +231,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFile(URL url) {
         if(builder == null)
-            updater.addAttachment(url);
+            update(u -> u.addAttachment(url));
         else
             builder.addAttachment(url);
         return this;
@@ -202,7 +240,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFile(byte[] bytes, String fileName) {
         if(builder == null)
-            updater.addAttachment(bytes, fileName);
+            update(u -> u.addAttachment(bytes, fileName));
         else
             builder.addAttachment(bytes, fileName);
         return this;
@@ -211,7 +249,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFile(InputStream stream, String fileName) {
         if(builder == null)
-            updater.addAttachment(stream, fileName);
+            update(u -> u.addAttachment(stream, fileName));
         else
             builder.addAttachment(stream, fileName);
         return this;
@@ -220,7 +258,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFileAsSpoiler(BufferedImage image, String fileName) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(image, fileName);
+            update(u -> u.addAttachmentAsSpoiler(image, fileName));
         else
             builder.addAttachmentAsSpoiler(image, fileName);
         return this;
@@ -229,7 +267,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFileAsSpoiler(File file) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(file);
+            update(u -> u.addAttachmentAsSpoiler(file));
         else
             builder.addAttachmentAsSpoiler(file);
         return this;
@@ -238,7 +276,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFileAsSpoiler(Icon icon) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(icon);
+            update(u -> u.addAttachmentAsSpoiler(icon));
         else
             builder.addAttachmentAsSpoiler(icon);
         return this;
@@ -247,7 +285,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFileAsSpoiler(URL url) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(url);
+            update(u -> u.addAttachmentAsSpoiler(url));
         else
             builder.addAttachmentAsSpoiler(url);
         return this;
@@ -256,7 +294,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFileAsSpoiler(byte[] bytes, String fileName) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(bytes, fileName);
+            update(u -> u.addAttachmentAsSpoiler(bytes, fileName));
         else
             builder.addAttachmentAsSpoiler(bytes, fileName);
         return this;
@@ -265,7 +303,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addFileAsSpoiler(InputStream stream, String fileName) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(stream, fileName);
+            update(u -> u.addAttachmentAsSpoiler(stream, fileName));
         else
             builder.addAttachmentAsSpoiler(stream, fileName);
         return this;
@@ -274,7 +312,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachment(BufferedImage image, String fileName) {
         if(builder == null)
-            updater.addAttachment(image, fileName);
+            update(u -> u.addAttachment(image, fileName));
         else
             builder.addAttachment(image, fileName);
         return this;
@@ -283,7 +321,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachment(File file) {
         if(builder == null)
-            updater.addAttachment(file);
+            update(u -> u.addAttachment(file));
         else
             builder.addAttachment(file);
         return this;
@@ -292,7 +330,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachment(Icon icon) {
         if(builder == null)
-            updater.addAttachment(icon);
+            update(u -> u.addAttachment(icon));
         else
             builder.addAttachment(icon);
         return this;
@@ -301,7 +339,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachment(URL url) {
         if(builder == null)
-            updater.addAttachment(url);
+            update(u -> u.addAttachment(url));
         else
             builder.addAttachment(url);
         return this;
@@ -310,7 +348,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachment(byte[] bytes, String fileName) {
         if(builder == null)
-            updater.addAttachment(bytes, fileName);
+            update(u -> u.addAttachment(bytes, fileName));
         else
             builder.addAttachment(bytes, fileName);
         return this;
@@ -319,7 +357,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachment(InputStream stream, String fileName) {
         if(builder == null)
-            updater.addAttachment(stream, fileName);
+            update(u -> u.addAttachment(stream, fileName));
         else
             builder.addAttachment(stream, fileName);
         return this;
@@ -328,7 +366,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachmentAsSpoiler(BufferedImage image, String fileName) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(image, fileName);
+            update(u -> u.addAttachmentAsSpoiler(image, fileName));
         else
             builder.addAttachmentAsSpoiler(image, fileName);
         return this;
@@ -337,7 +375,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachmentAsSpoiler(File file) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(file);
+            update(u -> u.addAttachmentAsSpoiler(file));
         else
             builder.addAttachmentAsSpoiler(file);
         return this;
@@ -346,7 +384,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachmentAsSpoiler(Icon icon) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(icon);
+            update(u -> u.addAttachmentAsSpoiler(icon));
         else
             builder.addAttachmentAsSpoiler(icon);
         return this;
@@ -355,7 +393,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachmentAsSpoiler(URL url) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(url);
+            update(u -> u.addAttachmentAsSpoiler(url));
         else
             builder.addAttachmentAsSpoiler(url);
         return this;
@@ -364,7 +402,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachmentAsSpoiler(byte[] bytes, String fileName) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(bytes, fileName);
+            update(u -> u.addAttachmentAsSpoiler(bytes, fileName));
         else
             builder.addAttachmentAsSpoiler(bytes, fileName);
         return this;
@@ -373,7 +411,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addAttachmentAsSpoiler(InputStream stream, String fileName) {
         if(builder == null)
-            updater.addAttachmentAsSpoiler(stream, fileName);
+            update(u -> u.addAttachmentAsSpoiler(stream, fileName));
         else
             builder.addAttachmentAsSpoiler(stream, fileName);
         return this;
@@ -382,7 +420,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder setAllowedMentions(AllowedMentions allowedMentions) {
         if(builder == null)
-            updater.setAllowedMentions(allowedMentions);
+            update(u -> u.setAllowedMentions(allowedMentions));
         else
             builder.setAllowedMentions(allowedMentions);
         return this;
@@ -391,7 +429,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder removeAllComponents() {
         if(builder == null)
-            updater.removeAllComponents();
+            update(u -> u.removeAllComponents());
         else
             builder.removeAllComponents();
         return this;
@@ -400,7 +438,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder addEmbeds(EmbedBuilder... embeds) {
         if(builder == null)
-            updater.addEmbeds(embeds);
+            update(u -> u.addEmbeds(embeds));
         else
             builder.addEmbeds(embeds);
         return this;
@@ -409,7 +447,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder removeEmbed(EmbedBuilder embed) {
         if(builder == null)
-            updater.removeEmbed(embed);
+            update(u -> u.removeEmbed(embed));
         else
             builder.removeEmbed(embed);
         return this;
@@ -418,7 +456,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder removeEmbeds(EmbedBuilder... embeds) {
         if(builder == null)
-            updater.removeEmbeds(embeds);
+            update(u -> u.removeEmbeds(embeds));
         else
             builder.removeEmbeds(embeds);
         return this;
@@ -427,7 +465,7 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
     @Override
     public VelenGeneralResponder removeAllEmbeds() {
         if(builder == null)
-            updater.removeAllEmbeds();
+            update(u -> u.removeAllEmbeds());
         else
             builder.removeAllEmbeds();
         return this;
@@ -449,16 +487,16 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
 
     @Override
     public VelenGeneralResponder setFlags(EnumSet<MessageFlag> messageFlags) {
-        if(updater != null)
-            updater.setFlags(messageFlags);
+        if(builder == null)
+            update(u -> u.setFlags(messageFlags));
 
         return this;
     }
 
     @Override
     public VelenGeneralResponder setFlags(MessageFlag... messageFlags) {
-        if(updater != null)
-            updater.setFlags(messageFlags);
+        if(builder == null)
+            update(u -> u.setFlags(messageFlags));
 
         return this;
     }
@@ -478,12 +516,19 @@ public class VelenGeneralResponder implements VelenGeneralRespond<VelenGeneralRe
 
     @Override
     public CompletableFuture<Message> respond() {
-        if(builder == null)
-            return updater.update();
+        if(builder == null) {
+            List<Consumer<InteractionOriginalResponseUpdater>> pending = new ArrayList<>(changes);
+            changes.clear();
+
+            return updater.thenCompose(u -> {
+                pending.forEach(change -> change.accept(u));
+                return u.update();
+            });
+        }
+
+        if(channel != null)
+            return builder.send(channel);
         else
-            if(channel != null)
-                return builder.send(channel);
-            else
-                return builder.send(event.getChannel());
+            return builder.send(event.getChannel());
     }
 }
@@ -1,5 +1,8 @@
 package pw.mihou.velen.interfaces.middleware;
 
+import pw.mihou.velen.interfaces.middleware.types.VelenAsyncHybridMiddleware;
+import pw.mihou.velen.interfaces.middleware.types.VelenAsyncMessageMiddleware;
+import pw.mihou.velen.interfaces.middleware.types.VelenAsyncSlashMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenHybridMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenMessageMiddleware;
 import pw.mihou.velen.interfaces.middleware.types.VelenSlashMiddleware;
@@ -41,5 +44,34 @@ public interface VelenMiddleware {
         return middleware;
     }
 
+    /**
+     * Creates a new asynchronous middleware used for hybrid commands.
+     *
+     * @param middleware The middleware to use for hybrid commands.
+     * @return A new asynchronous hybrid command middleware.
+     */
+    static VelenAsyncHybridMiddleware ofAsyncHybrid(VelenAsyncHybridMiddleware middleware) {
+        return middleware;
+    }
+
+    /**
+     * Creates a new asynchronous middleware used for message commands.
+     *
+     * @param middleware The middleware to use for message commands.
+     * @return A new asynchronous message command middleware.
+     */
+    static VelenAsyncMessageMiddleware ofAsyncMessage(VelenAsyncMessageMiddleware middleware) {
+        return middleware;
+    }
+
+    /**
+     * Creates a new asynchronous middleware used for slash commands.
+     *
+     * @param middleware The middleware to use for slash commands.
+     * @return A new asynchronous slash command middleware.
+     */
+    static VelenAsyncSlashMiddleware ofAsyncSlash(VelenAsyncSlashMiddleware middleware) {
+        return middleware;
+    }
 
 }
@@ -0,0 +1,67 @@
+package pw.mihou.velen.interfaces.middleware.types;
+
+import pw.mihou.velen.interfaces.VelenCommand;
+import pw.mihou.velen.interfaces.hybrid.event.VelenGeneralEvent;
+import pw.mihou.velen.interfaces.hybrid.objects.VelenHybridArguments;
+import pw.mihou.velen.interfaces.middleware.VelenGate;
+import pw.mihou.velen.internals.middleware.VelenGatePipeline;
+import pw.mihou.velen.utils.Pair;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An asynchronous middleware for hybrid commands, this should be used for middlewares that have to wait
+ * for something (a database or another service) before allowing or denying a command. Velen runs the
+ * middlewares as a chain of futures which stops at the first denial without blocking the dispatching thread.
+ */
+@FunctionalInterface
+public interface VelenAsyncHybridMiddleware extends VelenHybridMiddleware {
+
+    /**
+     * This is ran before the command is executed, it is up to you here whether
+     * to accept or reject the response. You can use the methods {@link VelenGate#deny()} or
+     * {@link VelenGate#allow()} to create the response that the future should complete with.
+     *
+     * @param event The event to hand over to the user.
+     * @param arguments The arguments involved in this command.
+     * @param command The command instance.
+     * @param gate The gate that is responsible for creating whether the command can execute further or not.
+     * @return The future of the response whether to allow or reject the user.
+     */
+    CompletionStage<Pair<Boolean, String>> onEventAsync(VelenGeneralEvent event, VelenHybridArguments arguments, VelenCommand command, VelenGate gate);
+
+    /**
+     * Waits for {@link VelenAsyncHybridMiddleware#onEventAsync}, Velen never calls this
+     * method itself and it is only kept for code that runs middlewares on its own.
+     */
+    @Override
+    default Pair<Boolean, String> onEvent(VelenGeneralEvent event, VelenHybridArguments arguments, VelenCommand command, VelenGate gate) {
+        return onEventAsync(event, arguments, command, gate).toCompletableFuture().join();
+    }
+
+    /**
+     * Creates a middleware that gives up on this middleware after the timeout and
+     * denies the command with the reason instead.
+     *
+     * @param timeout The maximum time to wait for this middleware.
+     * @param reason The reason to deny the command with, nullable.
+     * @return A middleware that can't take longer than the timeout.
+     */
+    default VelenAsyncHybridMiddleware withTimeout(Duration timeout, String reason) {
+        return (event, arguments, command, gate) -> VelenGatePipeline.timeout(onEventAsync(event, arguments, command, gate), timeout, gate.deny(reason));
+    }
+
+    /**
+     * Creates a middleware that runs all the middlewares at the same time, this should only be used for
+     * middlewares that don't depend on each other. The command is denied as soon as any of them denies it.
+     *
+     * @param middlewares The middlewares to run at the same time.
+     * @return A middleware that runs all the middlewares at the same time.
+     */
+    static VelenAsyncHybridMiddleware parallel(VelenAsyncHybridMiddleware... middlewares) {
+        return (event, arguments, command, gate) -> VelenGatePipeline.parallel(middlewares,
+                middleware -> middleware.onEventAsync(event, arguments, command, gate));
+    }
+
+}
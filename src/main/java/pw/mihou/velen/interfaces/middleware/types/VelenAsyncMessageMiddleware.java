@@ -0,0 +1,67 @@
+package pw.mihou.velen.interfaces.middleware.types;
+
+import org.javacord.api.event.message.MessageCreateEvent;
+import pw.mihou.velen.interfaces.VelenCommand;
+import pw.mihou.velen.interfaces.middleware.VelenGate;
+import pw.mihou.velen.interfaces.routed.VelenRoutedOptions;
+import pw.mihou.velen.internals.middleware.VelenGatePipeline;
+import pw.mihou.velen.utils.Pair;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An asynchronous middleware for message commands, this should be used for middlewares that have to wait
+ * for something (a database or another service) before allowing or denying a command. Velen runs the
+ * middlewares as a chain of futures which stops at the first denial without blocking the dispatching thread.
+ */
+@FunctionalInterface
+public interface VelenAsyncMessageMiddleware extends VelenMessageMiddleware {
+
+    /**
+     * This is ran before the command is executed, it is up to you here whether
+     * to accept or reject the response. You can use the methods {@link VelenGate#deny()} or
+     * {@link VelenGate#allow()} to create the response that the future should complete with.
+     *
+     * @param event The event to hand over to the user.
+     * @param command The command instance.
+     * @param options The options that are included in this command.
+     * @param gate The gate that is responsible for creating whether the command can execute further or not.
+     * @return The future of the response whether to allow or reject the user.
+     */
+    CompletionStage<Pair<Boolean, String>> onEventAsync(MessageCreateEvent event, VelenCommand command, VelenRoutedOptions options, VelenGate gate);
+
+    /**
+     * Waits for {@link VelenAsyncMessageMiddleware#onEventAsync}, Velen never calls this
+     * method itself and it is only kept for code that runs middlewares on its own.
+     */
+    @Override
+    default Pair<Boolean, String> onEvent(MessageCreateEvent event, VelenCommand command, VelenRoutedOptions options, VelenGate gate) {
+        return onEventAsync(event, command, options, gate).toCompletableFuture().join();
+    }
+
+    /**
+     * Creates a middleware that gives up on this middleware after the timeout and
+     * denies the command with the reason instead.
+     *
+     * @param timeout The maximum time to wait for this middleware.
+     * @param reason The reason to deny the command with, nullable.
+     * @return A middleware that can't take longer than the timeout.
+     */
+    default VelenAsyncMessageMiddleware withTimeout(Duration timeout, String reason) {
+        return (event, command, options, gate) -> VelenGatePipeline.timeout(onEventAsync(event, command, options, gate), timeout, gate.deny(reason));
+    }
+
+    /**
+     * Creates a middleware that runs all the middlewares at the same time, this should only be used for
+     * middlewares that don't depend on each other. The command is denied as soon as any of them denies it.
+     *
+     * @param middlewares The middlewares to run at the same time.
+     * @return A middleware that runs all the middlewares at the same time.
+     */
+    static VelenAsyncMessageMiddleware parallel(VelenAsyncMessageMiddleware... middlewares) {
+        return (event, command, options, gate) -> VelenGatePipeline.parallel(middlewares,
+                middleware -> middleware.onEventAsync(event, command, options, gate));
+    }
+
+}
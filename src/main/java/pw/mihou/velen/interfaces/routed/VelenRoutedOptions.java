@@ -9,7 +9,7 @@ import org.javacord.api.event.message.MessageCreateEvent;
 import pw.mihou.velen.impl.VelenCommandImpl;
 import pw.mihou.velen.interfaces.VelenCommand;
 import pw.mihou.velen.internals.routing.VelenRoutedArgument;
-import pw.mihou.velen.internals.routing.VelenUnderscoreParser;
+import pw.mihou.velen.utils.VelenTokens;
 
 import java.util.Arrays;
 import java.util.Optional;
@@ -22,16 +22,21 @@ public class VelenRoutedOptions {
     private final MessageCreateEvent event;
 
     public VelenRoutedOptions(VelenCommand command, MessageCreateEvent event) {
-        this.event = event;
+        this(command, event, VelenTokens.of(event.getMessageContent()));
+    }
 
-        String[] commandIndexes = event.getMessageContent().split("\\s+");
+    /**
+     * Creates a new routed options from the tokens of the message, this avoids
+     * tokenizing the message again.
+     *
+     * @param command The command that was executed.
+     * @param event The event of the message.
+     * @param tokens The tokens of the message, starting from the command.
+     */
+    public VelenRoutedOptions(VelenCommand command, MessageCreateEvent event, VelenTokens tokens) {
+        this.event = event;
 
-        arguments = VelenUnderscoreParser.route(event.getMessageContent(), ((VelenCommandImpl)command).getFormats())
-                .entrySet()
-                .stream()
-                .map(entry -> new VelenRoutedArgument(entry.getKey(), entry.getValue().getLeft(),
-                        entry.getValue().getRight() == null ? commandIndexes[entry.getKey()] :  entry.getValue().getRight()))
-                .toArray(VelenRoutedArgument[]::new);
+        arguments = ((VelenCommandImpl) command).getMatcher().route(tokens);
     }
 
     /**
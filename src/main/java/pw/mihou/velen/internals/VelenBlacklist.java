@@ -1,31 +1,66 @@
 package pw.mihou.velen.internals;
 
-import java.util.ArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.mihou.velen.internals.blacklist.VelenBlacklistTable;
+
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 public class VelenBlacklist {
 
-    private final List<Long> blacklist;
-    private Function<Long, Boolean> loader;
+    private static final Logger logger = LoggerFactory.getLogger("Velen - Blacklist");
+    private static final CompletableFuture<Boolean> BLACKLISTED = CompletableFuture.completedFuture(true);
+    private static final CompletableFuture<Boolean> NOT_BLACKLISTED = CompletableFuture.completedFuture(false);
+
+    /**
+     * The default amount of time that a user who isn't blacklisted is remembered
+     * before the loader is asked again.
+     */
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(1);
+
+    /**
+     * The default maximum amount of users that are remembered from the loader.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    private final VelenBlacklistTable table;
+    private final Function<Long, Boolean> loader;
+    private final Function<Long, CompletableFuture<Boolean>> asyncLoader;
+    private final long positiveTtl;
+    private final long negativeTtl;
+    private final ConcurrentHashMap<Long, CompletableFuture<Boolean>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
 
     /**
      * This creates an empty, ordinary {@link VelenBlacklist} that
      * is not persistent.
      */
     public VelenBlacklist() {
-        this.blacklist = new ArrayList<>();
+        this(null, null, null, DEFAULT_NEGATIVE_TTL, DEFAULT_MAXIMUM_SIZE);
     }
 
     /**
      * This creates an {@link VelenBlacklist} that takes
      * in the data from the blacklist parameter to utilize
-     * as a list of blacklisted users.
+     * as a list of blacklisted users. The users are copied into the blacklist, changes
+     * to the list afterwards are not seen by the blacklist, use {@link VelenBlacklist#add(long)}
+     * and {@link VelenBlacklist#remove(long)} instead.
      *
      * @param blacklist The blacklisted users.
      */
     public VelenBlacklist(List<Long> blacklist) {
-        this.blacklist = blacklist;
+        this();
+        blacklist.forEach(this::add);
     }
 
     /**
@@ -38,59 +73,174 @@ public class VelenBlacklist {
      *               <p>
      *               The method requires you to return a boolean because the library will check if
      *               the user is blacklisted through the state of the boolean <b>(true = blacklisted; false = not blacklisted)</b>.
+     *               Users that are not blacklisted are remembered for {@link VelenBlacklist#DEFAULT_NEGATIVE_TTL}.
      */
     public VelenBlacklist(Function<Long, Boolean> loader) {
+        this(loader, null, null, DEFAULT_NEGATIVE_TTL, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates an {@link VelenBlacklist} with all the options, you should use
+     * {@link pw.mihou.velen.builders.VelenBlacklistBuilder} instead.
+     *
+     * @param loader The synchronous loader, nullable.
+     * @param asyncLoader The asynchronous loader, this is preferred over the synchronous loader, nullable.
+     * @param positiveTtl How long blacklisted users from the loader are remembered, null to remember them forever.
+     * @param negativeTtl How long users that aren't blacklisted are remembered, null to remember them forever.
+     * @param maximumSize The maximum amount of users that are remembered from the loader, zero or less for no limit.
+     */
+    public VelenBlacklist(Function<Long, Boolean> loader, Function<Long, CompletableFuture<Boolean>> asyncLoader,
+                          Duration positiveTtl, Duration negativeTtl, int maximumSize) {
         this.loader = loader;
-        this.blacklist = new ArrayList<>();
+        this.asyncLoader = asyncLoader;
+        this.positiveTtl = positiveTtl == null ? -1 : positiveTtl.toMillis();
+        this.negativeTtl = negativeTtl == null ? -1 : negativeTtl.toMillis();
+        this.table = new VelenBlacklistTable(maximumSize);
     }
 
     /**
      * Checks if a user is blacklisted from using
-     * any commands of the bot.
+     * any commands of the bot, this waits for the loader if the
+     * user isn't known yet.
      *
      * @param user The user to check.
      * @return is this user blacklisted?
      */
     public boolean isBlacklisted(long user) {
-        if (blacklist.contains(user))
-            return true;
+        return isBlacklistedAsync(user).join();
+    }
 
-        if (loader != null) {
-            boolean t = loader.apply(user);
-            if (t)
-                blacklist.add(user);
+    /**
+     * Checks if a user is blacklisted from using any commands of the bot, the future is already
+     * completed when the user is known and otherwise completes once the loader has responded.
+     * Concurrent checks for the same user share a single call to the loader.
+     *
+     * @param user The user to check.
+     * @return is this user blacklisted?
+     */
+    public CompletableFuture<Boolean> isBlacklistedAsync(long user) {
+        byte state = table.lookup(user, System.currentTimeMillis());
+        if (state != VelenBlacklistTable.UNKNOWN || !hasLoader()) {
+            hits.increment();
+            return state == VelenBlacklistTable.BLACKLISTED ? BLACKLISTED : NOT_BLACKLISTED;
+        }
 
-            return t;
+        misses.increment();
+        return load(user);
+    }
+
+    private boolean hasLoader() {
+        return loader != null || asyncLoader != null;
+    }
+
+    private CompletableFuture<Boolean> load(long user) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = loading.putIfAbsent(user, future);
+        if (existing != null)
+            return existing;
+
+        loads.increment();
+
+        CompletableFuture<Boolean> result;
+        try {
+            result = asyncLoader != null ? asyncLoader.apply(user) : CompletableFuture.completedFuture(loader.apply(user));
+        } catch (Throwable throwable) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(throwable);
         }
 
-        return false;
+        result.whenComplete((blacklisted, throwable) -> {
+            // A failed load is not remembered and the user is allowed.
+            if (throwable != null) {
+                failures.increment();
+                logger.error("Failed to load the blacklist state of the user " + user + ", the user is allowed for now.", throwable);
+                loading.remove(user, future);
+                future.complete(false);
+                return;
+            }
+
+            // A load that was detached by a manual change (remove, refresh or clear) is older
+            // than that change and its result is not remembered.
+            boolean isBlacklisted = blacklisted != null && blacklisted;
+            if (loading.remove(user, future))
+                cache(user, isBlacklisted);
+
+            future.complete(isBlacklisted);
+        });
+
+        return future;
+    }
+
+    private void cache(long user, boolean blacklisted) {
+        long now = System.currentTimeMillis();
+        long ttl = blacklisted ? positiveTtl : negativeTtl;
+
+        table.cache(user, blacklisted, now, ttl < 0 ? Long.MAX_VALUE : now + ttl);
     }
 
     /**
      * Refreshes the blacklist to check if the user
      * is still blacklisted or not, if the user was blacklisted
      * previously and is no longer blacklisted, then it will remove
-     * from the list, otherwise, it will add.
+     * from the list, otherwise, it will add. This waits for the loader, use
+     * {@link VelenBlacklist#refreshAsync(long)} to refresh without waiting.
      *
      * @param user The user to refresh.
      */
     public void refresh(long user) {
-        if (loader != null) {
-            if (loader.apply(user))
-                blacklist.add(user);
-            else
-                blacklist.remove(user);
+        refreshAsync(user).join();
+    }
+
+    /**
+     * Refreshes the blacklist to check if the user is still blacklisted or not
+     * without waiting for the loader, a load of the user that is already running is not remembered.
+     *
+     * @param user The user to refresh.
+     * @return The future of whether the user is blacklisted, this is already completed without a loader.
+     */
+    public CompletableFuture<Boolean> refreshAsync(long user) {
+        if (!hasLoader())
+            return table.lookup(user, System.currentTimeMillis()) == VelenBlacklistTable.BLACKLISTED ? BLACKLISTED : NOT_BLACKLISTED;
+
+        loading.remove(user);
+        table.remove(user);
+        return load(user);
+    }
+
+    /**
+     * Remembers the state of many users at once, this can be used to load the
+     * blacklisted users from a database in a single query during startup. The users are
+     * remembered like results of the loader which means they expire with the same duration.
+     *
+     * @param users The users to remember.
+     * @param blacklisted Are the users blacklisted?
+     */
+    public void preload(Collection<Long> users, boolean blacklisted) {
+        for (Long user : users) {
+            cache(user, blacklisted);
         }
     }
 
+    /**
+     * Remembers many users as blacklisted at once, this can be used to load the
+     * blacklisted users from a database in a single query during startup.
+     *
+     * @param users The blacklisted users.
+     */
+    public void preload(Collection<Long> users) {
+        preload(users, true);
+    }
+
     /**
      * Removes the user from the internal blacklist if
-     * they are listed on it.
+     * they are listed on it, a load of the user that is already running
+     * is not remembered.
      *
      * @param user The user to remove.
      */
     public void remove(long user) {
-        blacklist.remove(user);
+        loading.remove(user);
+        table.remove(user);
     }
 
     /**
@@ -100,7 +250,75 @@ public class VelenBlacklist {
      * @param user The user to add.
      */
     public void add(long user) {
-        blacklist.add(user);
+        table.pin(user);
+    }
+
+    /**
+     * Forgets every user that was remembered, including the ones
+     * that were added by hand.
+     */
+    public void clear() {
+        loading.clear();
+        table.clear();
+    }
+
+    /**
+     * Counts the amount of users that are remembered, this includes both
+     * blacklisted users and users that aren't blacklisted.
+     *
+     * @return The amount of users that are remembered.
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Retrieves the amount of checks that were answered without the loader.
+     *
+     * @return The amount of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the amount of checks that needed the loader, this includes
+     * checks that shared a load with another check.
+     *
+     * @return The amount of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the amount of times the loader was called.
+     *
+     * @return The amount of loads.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * Retrieves the amount of times the loader failed.
+     *
+     * @return The amount of failed loads.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Retrieves the ratio of checks that were answered without the loader.
+     *
+     * @return The hit ratio between 0 and 1.
+     */
+    public double getHitRatio() {
+        long hit = getHits();
+        long total = hit + getMisses();
+
+        return total == 0 ? 1.0 : (double) hit / total;
     }
 
 }
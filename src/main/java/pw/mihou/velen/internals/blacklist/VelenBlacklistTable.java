@@ -0,0 +1,332 @@
+package pw.mihou.velen.internals.blacklist;
+
+import java.util.Arrays;
+
+/**
+ * A primitive table of users that is used by {@link pw.mihou.velen.internals.VelenBlacklist}, the table
+ * is split into segments of open-addressing arrays to keep contention low. Users are either pinned (added by hand,
+ * these never expire) or cached (a result of the loader with an expiry), only cached users count towards the
+ * maximum size of the table and the cached users that expire the soonest are evicted once a segment is full.
+ */
+public class VelenBlacklistTable {
+
+    /**
+     * Returned by {@link VelenBlacklistTable#lookup(long, long)} when the table knows nothing about the user.
+     */
+    public static final byte UNKNOWN = 0;
+
+    /**
+     * Returned by {@link VelenBlacklistTable#lookup(long, long)} when the user is blacklisted.
+     */
+    public static final byte BLACKLISTED = 1;
+
+    /**
+     * Returned by {@link VelenBlacklistTable#lookup(long, long)} when the user is not blacklisted.
+     */
+    public static final byte ALLOWED = 2;
+
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * Creates a new table.
+     *
+     * @param maximumSize The maximum amount of cached users, zero or less for no limit.
+     */
+    public VelenBlacklistTable(int maximumSize) {
+        int limit = maximumSize <= 0 ? Integer.MAX_VALUE : Math.max(1, maximumSize / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(limit);
+        }
+    }
+
+    /**
+     * Looks up the user.
+     *
+     * @param user The user to look up.
+     * @param now The current time in milliseconds.
+     * @return {@link VelenBlacklistTable#BLACKLISTED}, {@link VelenBlacklistTable#ALLOWED} or
+     * {@link VelenBlacklistTable#UNKNOWN} if the user isn't stored or has expired.
+     */
+    public byte lookup(long user, long now) {
+        long hash = hash(user);
+        return segmentFor(hash).lookup(hash, user, now);
+    }
+
+    /**
+     * Adds the user as blacklisted without an expiry.
+     *
+     * @param user The user to add.
+     */
+    public void pin(long user) {
+        long hash = hash(user);
+        segmentFor(hash).put(hash, user, true, NEVER, true, 0L);
+    }
+
+    /**
+     * Caches the result of the loader for the user.
+     *
+     * @param user The user to cache.
+     * @param blacklisted Is the user blacklisted?
+     * @param now The current time in milliseconds.
+     * @param expiresAt The time in milliseconds when the result expires, {@link Long#MAX_VALUE} to never expire.
+     */
+    public void cache(long user, boolean blacklisted, long now, long expiresAt) {
+        long hash = hash(user);
+        segmentFor(hash).put(hash, user, blacklisted, expiresAt, false, now);
+    }
+
+    /**
+     * Removes the user from the table.
+     *
+     * @param user The user to remove.
+     * @return Was the user stored?
+     */
+    public boolean remove(long user) {
+        long hash = hash(user);
+        return segmentFor(hash).remove(hash, user);
+    }
+
+    /**
+     * Removes every user from the table.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Counts the amount of users that are stored, this includes users
+     * whose results have expired but are not yet purged.
+     *
+     * @return The amount of stored users.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 58)];
+    }
+
+    private static long hash(long user) {
+        long h = user * 0x9E3779B97F4A7C15L;
+        h ^= (h >>> 31);
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 29);
+    }
+
+    private static final class Segment {
+
+        private static final byte EMPTY = 0;
+        private static final byte USED = 1;
+        private static final byte DELETED = 2;
+
+        private final int limit;
+
+        private byte[] states;
+        private long[] users;
+        private long[] expiry;
+        private boolean[] blacklisted;
+        private boolean[] pinned;
+
+        // The amount of slots that are not empty, this includes deleted slots.
+        private int occupied;
+        private int size;
+        private int cached;
+
+        private Segment(int limit) {
+            this.limit = limit;
+            allocate(INITIAL_CAPACITY);
+        }
+
+        private void allocate(int capacity) {
+            states = new byte[capacity];
+            users = new long[capacity];
+            expiry = new long[capacity];
+            blacklisted = new boolean[capacity];
+            pinned = new boolean[capacity];
+            occupied = 0;
+            size = 0;
+            cached = 0;
+        }
+
+        private int find(long hash, long user) {
+            int mask = states.length - 1;
+            int slot = (int) hash & mask;
+
+            while (states[slot] != EMPTY) {
+                if (states[slot] == USED && users[slot] == user)
+                    return slot;
+
+                slot = (slot + 1) & mask;
+            }
+
+            return -1;
+        }
+
+        synchronized byte lookup(long hash, long user, long now) {
+            int slot = find(hash, user);
+            if (slot == -1 || expiry[slot] <= now)
+                return UNKNOWN;
+
+            return blacklisted[slot] ? BLACKLISTED : ALLOWED;
+        }
+
+        synchronized void put(long hash, long user, boolean isBlacklisted, long expiresAt, boolean isPinned, long now) {
+            int slot = find(hash, user);
+            if (slot != -1) {
+                // A result of the loader can arrive after the user was added by hand, it must never replace the pinned user.
+                if (pinned[slot] && !isPinned)
+                    return;
+
+                if (pinned[slot] != isPinned)
+                    cached += isPinned ? -1 : 1;
+
+                expiry[slot] = expiresAt;
+                blacklisted[slot] = isBlacklisted;
+                pinned[slot] = isPinned;
+                return;
+            }
+
+            if (!isPinned && cached >= limit) {
+                rebuild(now, true);
+            } else if (occupied + 1 > (states.length >> 1) + (states.length >> 2)) {
+                rebuild(now, false);
+            }
+
+            insert(hash, user, isBlacklisted, expiresAt, isPinned);
+        }
+
+        private void insert(long hash, long user, boolean isBlacklisted, long expiresAt, boolean isPinned) {
+            int mask = states.length - 1;
+            int slot = (int) hash & mask;
+
+            while (states[slot] == USED) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (states[slot] == EMPTY)
+                occupied++;
+
+            states[slot] = USED;
+            users[slot] = user;
+            expiry[slot] = expiresAt;
+            blacklisted[slot] = isBlacklisted;
+            pinned[slot] = isPinned;
+            size++;
+
+            if (!isPinned)
+                cached++;
+        }
+
+        synchronized boolean remove(long hash, long user) {
+            int slot = find(hash, user);
+            if (slot == -1)
+                return false;
+
+            states[slot] = DELETED;
+            size--;
+
+            if (!pinned[slot])
+                cached--;
+
+            return true;
+        }
+
+        synchronized void clear() {
+            allocate(INITIAL_CAPACITY);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Rebuilds the segment without any expired or deleted entries, when the segment is
+         * over its limit of cached users, the cached users that expire the soonest are also evicted until
+         * there is room for one more.
+         *
+         * @param now The current time in milliseconds.
+         * @param evict Should cached users be evicted if the segment is still full?
+         */
+        private void rebuild(long now, boolean evict) {
+            byte[] oldStates = states;
+            long[] oldUsers = users;
+            long[] oldExpiry = expiry;
+            boolean[] oldBlacklisted = blacklisted;
+            boolean[] oldPinned = pinned;
+
+            int live = 0;
+            int liveCached = 0;
+            for (int i = 0; i < oldStates.length; i++) {
+                if (oldStates[i] == USED && oldExpiry[i] > now) {
+                    live++;
+
+                    if (!oldPinned[i])
+                        liveCached++;
+                }
+            }
+
+            // Every cached user is kept unless the segment is still full, otherwise only enough of the
+            // cached users that expire the soonest are evicted to make room for one more.
+            long threshold = Long.MIN_VALUE;
+            int excess = evict ? liveCached - limit + 1 : 0;
+            int evictAtThreshold = 0;
+
+            if (excess > 0) {
+                long[] expiries = new long[liveCached];
+                int index = 0;
+                for (int i = 0; i < oldStates.length; i++) {
+                    if (oldStates[i] == USED && oldExpiry[i] > now && !oldPinned[i])
+                        expiries[index++] = oldExpiry[i];
+                }
+
+                Arrays.sort(expiries);
+                threshold = expiries[excess - 1];
+
+                // Users that expire at the threshold are only evicted until the excess is gone.
+                evictAtThreshold = excess;
+                for (int i = 0; i < excess && expiries[i] < threshold; i++) {
+                    evictAtThreshold--;
+                }
+
+                live -= excess;
+            }
+
+            int capacity = INITIAL_CAPACITY;
+            while (capacity < (live + 1) * 2) {
+                capacity <<= 1;
+            }
+
+            allocate(capacity);
+            for (int i = 0; i < oldStates.length; i++) {
+                if (oldStates[i] != USED || oldExpiry[i] <= now)
+                    continue;
+
+                if (!oldPinned[i] && oldExpiry[i] <= threshold) {
+                    if (oldExpiry[i] < threshold)
+                        continue;
+
+                    if (evictAtThreshold > 0) {
+                        evictAtThreshold--;
+                        continue;
+                    }
+                }
+
+                insert(hash(oldUsers[i]), oldUsers[i], oldBlacklisted[i], oldExpiry[i], oldPinned[i]);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+package pw.mihou.velen.internals.middleware;
+
+import pw.mihou.velen.utils.Pair;
+import pw.mihou.velen.utils.VelenThreadPool;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The internal pipeline that runs middlewares as a chain of futures, this is used by
+ * Velen to run asynchronous middlewares without blocking the dispatching thread.
+ */
+public class VelenGatePipeline {
+
+    private static final Pair<Boolean, String> ALLOWED = Pair.of(true, null);
+
+    /**
+     * Runs the middlewares one after another, the chain stops at the first
+     * middleware that denies the command. Middlewares that complete immediately are
+     * checked in place which means a chain of synchronous middlewares never composes any future.
+     *
+     * @param middlewares The middlewares to run, in order.
+     * @param gate The function that runs a middleware.
+     * @param <M> The type of middleware.
+     * @return The future of the first denial or an acceptance if every middleware allowed the command.
+     */
+    public static <M> CompletableFuture<Pair<Boolean, String>> sequence(M[] middlewares,
+                                                                        Function<M, CompletionStage<Pair<Boolean, String>>> gate) {
+        return sequence(middlewares, 0, gate);
+    }
+
+    private static <M> CompletableFuture<Pair<Boolean, String>> sequence(M[] middlewares, int from,
+                                                                         Function<M, CompletionStage<Pair<Boolean, String>>> gate) {
+        for (int i = from; i < middlewares.length; i++) {
+            CompletableFuture<Pair<Boolean, String>> future = gate.apply(middlewares[i]).toCompletableFuture();
+
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                if (!future.join().getLeft())
+                    return future;
+
+                continue;
+            }
+
+            int next = i + 1;
+            return future.thenCompose(response -> response.getLeft() ? sequence(middlewares, next, gate)
+                    : CompletableFuture.completedFuture(response));
+        }
+
+        return CompletableFuture.completedFuture(ALLOWED);
+    }
+
+    /**
+     * Runs all the middlewares at the same time, the future completes with the first denial
+     * as soon as it arrives or with an acceptance once every middleware allowed the command.
+     *
+     * @param middlewares The middlewares to run.
+     * @param gate The function that runs a middleware.
+     * @param <M> The type of middleware.
+     * @return The future of the first denial or an acceptance if every middleware allowed the command.
+     */
+    public static <M> CompletableFuture<Pair<Boolean, String>> parallel(M[] middlewares,
+                                                                        Function<M, CompletionStage<Pair<Boolean, String>>> gate) {
+        if (middlewares.length == 0)
+            return CompletableFuture.completedFuture(ALLOWED);
+
+        CompletableFuture<Pair<Boolean, String>> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(middlewares.length);
+
+        for (M middleware : middlewares) {
+            CompletionStage<Pair<Boolean, String>> stage;
+            try {
+                stage = gate.apply(middleware);
+            } catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+                return result;
+            }
+
+            stage.whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                    return;
+                }
+
+                if (!response.getLeft()) {
+                    result.complete(response);
+                    return;
+                }
+
+                if (pending.decrementAndGet() == 0)
+                    result.complete(ALLOWED);
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * Completes with the response of the middleware or with the fallback response if
+     * the middleware didn't respond in time.
+     *
+     * @param stage The response of the middleware.
+     * @param timeout The maximum time to wait for the middleware.
+     * @param onTimeout The response to use when the middleware takes too long.
+     * @return The future of the response.
+     */
+    public static CompletableFuture<Pair<Boolean, String>> timeout(CompletionStage<Pair<Boolean, String>> stage,
+                                                                   Duration timeout, Pair<Boolean, String> onTimeout) {
+        CompletableFuture<Pair<Boolean, String>> future = stage.toCompletableFuture();
+        if (future.isDone())
+            return future;
+
+        CompletableFuture<Pair<Boolean, String>> result = new CompletableFuture<>();
+        ScheduledFuture<?> task = VelenThreadPool.schedule(() -> result.complete(onTimeout),
+                timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        future.whenComplete((response, throwable) -> {
+            task.cancel(false);
+
+            if (throwable != null)
+                result.completeExceptionally(throwable);
+            else
+                result.complete(response);
+        });
+
+        return result;
+    }
+
+}
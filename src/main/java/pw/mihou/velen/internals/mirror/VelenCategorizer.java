@@ -3,15 +3,15 @@ package pw.mihou.velen.internals.mirror;
 import pw.mihou.velen.builders.VelenCategoryBuilder;
 import pw.mihou.velen.impl.VelenImpl;
 import pw.mihou.velen.interfaces.Velen;
+import pw.mihou.velen.interfaces.VelenCategory;
+import pw.mihou.velen.internals.mirror.entities.VelenCategoryNode;
+import pw.mihou.velen.internals.mirror.entities.VelenDocument;
+import pw.mihou.velen.internals.mirror.entities.VelenStatement;
 import pw.mihou.velen.internals.mirror.extensions.VelenBaseParser;
-import pw.mihou.velen.internals.routing.VelenUnderscoreParser;
-import pw.mihou.velen.utils.Pair;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.ArrayList;
+import java.util.List;
 
 public class VelenCategorizer extends VelenBaseParser {
 
@@ -30,55 +30,58 @@ public class VelenCategorizer extends VelenBaseParser {
     }
 
     public void comprehend(File file) {
-        try (BufferedReader reader = Files.newBufferedReader(file.toPath())) {
-            AtomicReference<VelenCategoryBuilder> builder = new AtomicReference<>(new VelenCategoryBuilder());
-
-            reader.lines().forEach(s -> {
-                s = s.trim();
+        comprehend(VelenParser.parse(file));
+    }
 
-                if (s.startsWith("&[") && s.contains("]: ")) {
-                    Pair<Integer, Integer> positions = VelenUnderscoreParser.find("&[", ']', s);
-                    String innerName = s.substring(positions.getLeft() + 2, positions.getRight()).trim();
-                    String type = s.substring(positions.getRight()+2).trim();
+    /**
+     * Creates the categories of a document and adds them to Velen.
+     *
+     * @param document The document to create the categories of.
+     */
+    public void comprehend(VelenDocument document) {
+        create(document).forEach(velen::addCategory);
+    }
 
-                    if (type.endsWith("{"))
-                        type = type.substring(0, type.length() - 1).trim();
+    /**
+     * Creates the categories of a document without adding them to Velen.
+     *
+     * @param document The document to create the categories of.
+     * @return The categories of the document.
+     */
+    public List<VelenCategory> create(VelenDocument document) {
+        List<VelenCategory> categories = new ArrayList<>();
 
-                    if (type.equalsIgnoreCase("category")) {
-                        builder.get().setName(innerName);
-                    }
-                }
+        for (VelenCategoryNode category : document.getCategories()) {
+            VelenCategoryBuilder builder = new VelenCategoryBuilder().setName(category.getName());
 
-                if (!s.startsWith("&[") && s.split("\\s+")[0].endsWith(":")) {
-                    String innerName = s.split("\\s+")[0].replaceFirst(":", "").replaceFirst("\\{", "").trim();
-                    String value = s.split("\\s+", 2)[1];
-                    switch (innerName.toLowerCase()) {
-                        case "middleware":
-                            builder.get().addMiddleware(value);
-                            break;
-                        case "middlewares":
-                            builder.get().addMiddleware(array(value));
-                            break;
-                        case "desc":
-                            builder.get().setDescription(value);
-                            break;
-                        case "afterware":
-                            builder.get().addAfterware(value);
-                            break;
-                        case "afterwares":
-                            builder.get().addAfterware(array(value));
-                            break;
-                    }
+            for (VelenStatement field : category.getFields()) {
+                String value = field.getValue();
+                switch (field.getKey().toLowerCase()) {
+                    case "middleware":
+                        builder.addMiddleware(value);
+                        break;
+                    case "middlewares":
+                        builder.addMiddleware(array(value));
+                        break;
+                    case "desc":
+                        builder.setDescription(value);
+                        break;
+                    case "afterware":
+                        builder.addAfterware(value);
+                        break;
+                    case "afterwares":
+                        builder.addAfterware(array(value));
+                        break;
+                    case "ratelimit":
+                        builder.addPolicy(policy(document.getFile(), field, category.getName()));
+                        break;
                 }
+            }
 
-                if (s.trim().equalsIgnoreCase("}")) {
-                    builder.get().create(velen);
-                    builder.set(new VelenCategoryBuilder());
-                }
-            });
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to read the following file: ["+file.getPath()+"].");
+            categories.add(builder.create(velen));
         }
+
+        return categories;
     }
 
 }
@@ -0,0 +1,128 @@
+package pw.mihou.velen.internals.mirror;
+
+import pw.mihou.velen.internals.mirror.entities.VelenStatement;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the statements out of Velen files (.velen and .vecomp) in a single pass over the characters
+ * of the file, lines that aren't headers, fields or closures (e.g. comments) are ignored.
+ * <ul>
+ *     <li>Headers: <b>&[name]: type</b>, optionally followed by an opening brace.</li>
+ *     <li>Fields: <b>key: value</b></li>
+ *     <li>Closures: <b>}</b></li>
+ * </ul>
+ */
+public class VelenLexer {
+
+    /**
+     * Reads the statements out of a file.
+     *
+     * @param file The file to read.
+     * @return The statements of the file.
+     */
+    public static List<VelenStatement> read(File file) {
+        try {
+            return read(file, Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the following file: ["+file.getPath()+"].");
+        }
+    }
+
+    /**
+     * Reads the statements out of the contents of a file.
+     *
+     * @param file The file that the contents belong to.
+     * @param contents The contents of the file.
+     * @return The statements of the file.
+     */
+    public static List<VelenStatement> read(File file, byte[] contents) {
+        String source = new String(contents, StandardCharsets.UTF_8);
+        List<VelenStatement> statements = new ArrayList<>();
+
+        int line = 0;
+        int position = 0;
+        int length = source.length();
+
+        while (position <= length) {
+            line++;
+
+            int end = source.indexOf('\n', position);
+            if (end == -1)
+                end = length;
+
+            int next = end + 1;
+
+            // Trim the line in place instead of creating a new string for it.
+            int start = position;
+            while (start < end && source.charAt(start) <= ' ')
+                start++;
+            while (end > start && source.charAt(end - 1) <= ' ')
+                end--;
+
+            if (start < end) {
+                VelenStatement statement = statement(file, source, start, end, line, start - position + 1);
+                if (statement != null)
+                    statements.add(statement);
+            }
+
+            position = next;
+        }
+
+        return statements;
+    }
+
+    private static VelenStatement statement(File file, String source, int start, int end, int line, int column) {
+        if (source.startsWith("&[", start)) {
+            int closure = source.indexOf(']', start + 2);
+
+            // Headers need to be in the form of &[name]: type, anything else is ignored like before.
+            if (closure == -1 || closure + 2 >= end || source.charAt(closure + 1) != ':' || source.charAt(closure + 2) != ' ')
+                return null;
+
+            String name = source.substring(start + 2, closure).trim();
+            String type = source.substring(closure + 2, end).trim();
+            boolean opening = type.endsWith("{");
+
+            if (opening)
+                type = type.substring(0, type.length() - 1).trim();
+
+            if (name.isEmpty())
+                throw new VelenSyntaxException(file, line, column, "The header has no name");
+
+            return new VelenStatement(VelenStatement.Type.HEADER, line, column, name, type, opening);
+        }
+
+        if (end - start == 1 && source.charAt(start) == '}')
+            return new VelenStatement(VelenStatement.Type.CLOSURE, line, column, "", "", false);
+
+        int separator = start;
+        while (separator < end && source.charAt(separator) > ' ')
+            separator++;
+
+        if (source.charAt(separator - 1) != ':')
+            return null;
+
+        int value = separator;
+        while (value < end && source.charAt(value) <= ' ')
+            value++;
+
+        if (value >= end)
+            throw new VelenSyntaxException(file, line, column, "The field [" + source.substring(start, separator) + "] has no value");
+
+        // The key is the first word without its colon and opening brace.
+        String key = removeFirst(removeFirst(source.substring(start, separator), ':'), '{').trim();
+        return new VelenStatement(VelenStatement.Type.FIELD, line, column, key, source.substring(value, end), false);
+    }
+
+    private static String removeFirst(String value, char character) {
+        int index = value.indexOf(character);
+        return index == -1 ? value : value.substring(0, index) + value.substring(index + 1);
+    }
+
+}
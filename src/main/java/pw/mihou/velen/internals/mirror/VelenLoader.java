@@ -0,0 +1,127 @@
+package pw.mihou.velen.internals.mirror;
+
+import pw.mihou.velen.internals.mirror.entities.VelenDocument;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reads Velen files and directories into documents in parallel, the directories are walked through
+ * with fork-join and every file is read and parsed on its own task. The results keep the order in which the files
+ * are listed with the category files (.vecomp) before the command files (.velen).
+ */
+public class VelenLoader {
+
+    private final VelenParseCache cache;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param cache The cache to read the files through, this can be null to always read the files.
+     */
+    public VelenLoader(VelenParseCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Reads all the Velen files within the files and directories.
+     *
+     * @param files The files and directories to read.
+     * @return The documents of every file that was read.
+     */
+    public Result load(File... files) {
+        Result result = ForkJoinPool.commonPool().invoke(new Task(files));
+
+        if (cache != null) {
+            List<File> sources = new ArrayList<>();
+            result.getDocuments().forEach(document -> sources.add(document.getFile()));
+
+            cache.retain(Arrays.asList(files), sources);
+            cache.save();
+        }
+
+        return result;
+    }
+
+    private VelenDocument read(File file) {
+        return cache != null ? cache.read(file) : VelenParser.parse(file);
+    }
+
+    private class Task extends RecursiveTask<Result> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final File[] files;
+
+        private Task(File... files) {
+            this.files = files;
+        }
+
+        @Override
+        protected Result compute() {
+            Result result = new Result();
+
+            // A single file is read on this task, everything else is split into a task per file or directory.
+            if (files.length == 1 && !files[0].isDirectory()) {
+                File file = files[0];
+
+                if (file.getName().endsWith(".velen")) {
+                    result.commands.add(read(file));
+                } else if (file.getName().endsWith(".vecomp")) {
+                    result.categories.add(read(file));
+                }
+
+                return result;
+            }
+
+            List<Task> tasks = new ArrayList<>();
+            for (File file : files) {
+                File[] children = file.isDirectory() ? Objects.requireNonNull(file.listFiles((dir, name) -> new File(dir, name).isDirectory()
+                        || name.endsWith(".velen") || name.endsWith(".vecomp"))) : new File[]{file};
+
+                for (File child : children) {
+                    tasks.add(new Task(child));
+                }
+            }
+
+            invokeAll(tasks);
+            tasks.forEach(task -> result.merge(task.join()));
+            return result;
+        }
+
+    }
+
+    /**
+     * The documents of the files that were read by the loader.
+     */
+    public static class Result {
+
+        private final List<VelenDocument> categories = new ArrayList<>();
+        private final List<VelenDocument> commands = new ArrayList<>();
+
+        private void merge(Result result) {
+            categories.addAll(result.categories);
+            commands.addAll(result.commands);
+        }
+
+        /**
+         * Retrieves the documents of every file, the category files (.vecomp)
+         * come before the command files (.velen).
+         *
+         * @return The documents of every file.
+         */
+        public List<VelenDocument> getDocuments() {
+            List<VelenDocument> documents = new ArrayList<>(categories.size() + commands.size());
+            documents.addAll(categories);
+            documents.addAll(commands);
+            return documents;
+        }
+
+    }
+
+}
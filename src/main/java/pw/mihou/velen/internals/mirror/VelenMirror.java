@@ -6,18 +6,15 @@ import org.javacord.api.interaction.SlashCommandOptionType;
 import pw.mihou.velen.builders.VelenCommandBuilder;
 import pw.mihou.velen.impl.VelenImpl;
 import pw.mihou.velen.interfaces.*;
+import pw.mihou.velen.internals.mirror.entities.*;
 import pw.mihou.velen.internals.mirror.extensions.VelenBaseParser;
-import pw.mihou.velen.internals.routing.VelenUnderscoreParser;
 import pw.mihou.velen.utils.Pair;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
 public class VelenMirror extends VelenBaseParser {
 
     private final VelenImpl velen;
@@ -33,338 +30,274 @@ public class VelenMirror extends VelenBaseParser {
     }
 
     public void comprehend(File file) {
-        try (BufferedReader reader = Files.newBufferedReader(file.toPath())) {
-            AtomicReference<VelenCommandBuilder> builder = new AtomicReference<>(new VelenCommandBuilder());
-            AtomicReference<String> commandType = new AtomicReference<>("inferred");
-            AtomicReference<String> commandName = new AtomicReference<>("Unidentified");
-            AtomicInteger line = new AtomicInteger(0);
-            Map<String, SlashCommandOptionBuilder> optionBuilders = new HashMap<>();
-            Map<String, StringBuilder> formats = new HashMap<>();
-            AtomicReference<STATE> state = new AtomicReference<>(STATE.DEFAULT);
-            AtomicReference<String> currentSubcommand = new AtomicReference<>("none");
-            AtomicReference<String> currentOption = new AtomicReference<>("none");
-            AtomicReference<String> currentSubcommandGroup = new AtomicReference<>("none");
-            Map<String, List<String>> choices = new HashMap<>();
-
-            reader.lines().forEach(s -> {
-                s = s.trim();
-
-                line.incrementAndGet();
-
-                // -------------
-                // CATEGORY MANAGEMENT
-                // This is where we handle all the possible categories of an entity.
-                // -------------
-
-                if (s.startsWith("&[") && s.contains("]: ")) {
-                    Pair<Integer, Integer> positions = VelenUnderscoreParser.find("&[", ']', s);
-                    String innerName = s.substring(positions.getLeft() + 2, positions.getRight()).trim();
-                    String type = s.substring(positions.getRight()+2).trim();
-
-                    if (type.endsWith("{"))
-                        type = type.substring(0, type.length() - 1).trim();
-
-                    if (type.equalsIgnoreCase("category")) {
-                        builder.get().setCategory(innerName);
-                    }
+        comprehend(VelenParser.parse(file));
+    }
 
-                    if (type.equalsIgnoreCase("message") || type.equalsIgnoreCase("slash")
-                            || type.equalsIgnoreCase("hybrid")) {
-                        // Store these for access later.
-                        commandType.set(type);
-                        commandName.set(innerName);
+    /**
+     * Creates the commands of a document and adds them to Velen.
+     *
+     * @param document The document to create the commands of.
+     */
+    public void comprehend(VelenDocument document) {
+        create(document).forEach(velen::addCommand);
+    }
 
-                        builder.get().setName(innerName);
-                    }
+    /**
+     * Creates the commands of a document without adding them to Velen.
+     *
+     * @param document The document to create the commands of.
+     * @return The commands of the document.
+     */
+    public List<VelenCommand> create(VelenDocument document) {
+        List<VelenCommand> commands = new ArrayList<>();
+        for (VelenCommandNode command : document.getCommands()) {
+            commands.add(create(document.getFile(), command));
+        }
 
-                    if (type.equalsIgnoreCase("subcommand")) {
-                        state.set(STATE.SUBCOMMAND);
-                        currentSubcommand.set(innerName);
+        return commands;
+    }
 
-                        // We only need the inner name for subcommands
-                        // since it will just be appended to the group or the command
-                        // if there isn't any group.
-                        formats.put("subcommand."+innerName, new StringBuilder(innerName));
-                        optionBuilders.put("subcommand."+innerName, new SlashCommandOptionBuilder()
-                                .setName(innerName).setType(SlashCommandOptionType.SUB_COMMAND));
+    private VelenCommand create(File file, VelenCommandNode command) {
+        VelenCommandBuilder builder = new VelenCommandBuilder().setName(command.getName());
+        String commandName = command.getName();
+        command.getCategory().ifPresent(builder::setCategory);
+
+        // -------------
+        // COMMAND FIELD MANAGEMENT
+        // This is where we handle all the fields of a command.
+        // -------------
+
+        for (VelenStatement field : command.getFields()) {
+            String value = field.getValue();
+
+            switch (field.getKey().toLowerCase()) {
+                case "usage":
+                    builder.addUsage(value);
+                    break;
+                case "has_format":
+                    builder.addFormats(value);
+                    break;
+                case "default_permission":
+                    builder.setDefaultPermission(Boolean.parseBoolean(value));
+                    break;
+                case "desc":
+                    builder.setDescription(value);
+                    break;
+                case "middleware":
+                    builder.addMiddlewares(value);
+                    break;
+                case "middlewares":
+                    builder.addMiddlewares(array(value));
+                    break;
+                case "afterware":
+                    builder.addAfterwares(value);
+                    break;
+                case "afterwares":
+                    builder.addAfterwares(array(value));
+                    break;
+                case "shortcut":
+                    builder.addShortcut(value);
+                    break;
+                case "handler":
+                    handler(file, command, field, builder);
+                    break;
+                case "server_only": {
+                    Pair<String, String> val = arrayOfTwo(value);
+
+                    if (val.getRight() == null) {
+                        builder.setServerOnly(Boolean.parseBoolean(val.getLeft()));
+                    } else {
+                        builder.setServerOnly(Boolean.parseBoolean(val.getLeft()), Long.parseLong(val.getRight()));
                     }
 
-                    if (type.equalsIgnoreCase("subcommand_group")) {
-                        state.set(STATE.SUBCOMMAND_GROUP);
-                        currentSubcommandGroup.set(innerName);
+                    break;
+                }
+                case "dms_only":
+                    builder.setPrivateChannelOnly(Boolean.parseBoolean(value));
+                    break;
+                case "permissions":
+                    builder.requirePermissions(Arrays.stream(array(value)).map(perms -> Arrays.stream(PermissionType.values())
+                                    .filter(p -> p.name().equalsIgnoreCase(perms))
+                                    .findFirst()
+                                    .orElseThrow(() -> error(file, field, commandName, "There are no Permission Type with name of ["+perms+"]")))
+                            .toArray(PermissionType[]::new));
+                    break;
+                case "roles":
+                    Arrays.stream(array(value)).map(Long::parseLong).forEach(builder::requireRole);
+                    break;
+                case "cooldown":
+                    builder.setCooldown(Duration.ofMillis(Long.parseLong(value)));
+                    break;
+                case "ratelimit":
+                    builder.addPolicies(policy(file, field, commandName));
+                    break;
+                case "category":
+                    builder.setCategory(value);
+                    break;
+            }
+        }
 
-                        // Same for subcommand group, but it will just be appended to command.
-                        optionBuilders.put("group."+innerName, new SlashCommandOptionBuilder()
-                                .setName(innerName).setType(SlashCommandOptionType.SUB_COMMAND_GROUP));
-                    }
+        // -------------
+        // COMMAND OPTION MANAGEMENT
+        // This is where we handle the options, subcommands and subcommand groups, every one of them
+        // also leaves a format behind for the message router.
+        // -------------
 
-                    if (type.equalsIgnoreCase("option")) {
-                        state.set(STATE.OPTION);
-                        currentOption.set(innerName);
-                        formats.put("option."+innerName, new StringBuilder(":["+innerName));
-                        optionBuilders.put("option."+innerName, new SlashCommandOptionBuilder()
-                                .setName(innerName));
-                        choices.put(innerName, new ArrayList<>());
-                    }
-                }
+        List<String> formats = new ArrayList<>();
 
-                if (!s.startsWith("&[") && s.split("\\s+")[0].endsWith(":")) {
-                    String innerName = s.split("\\s+")[0].replaceFirst(":", "").replaceFirst("\\{", "").trim();
-                    String value = s.split("\\s+", 2)[1];
+        for (VelenOptionNode option : command.getOptions()) {
+            builder.addOption(option(option));
+            formats.add(format(option));
+        }
 
-                    if (state.get().equals(STATE.SUBCOMMAND) || state.get().equals(STATE.SUBCOMMAND_GROUP)) {
-                        String token = state.get().equals(STATE.SUBCOMMAND) ? "subcommand." : "group.";
+        for (VelenSubcommandNode subcommand : command.getSubcommands()) {
+            builder.addOption(subcommand(subcommand));
+            formats.add(format(subcommand));
+        }
 
-                        // -------------
-                        // COMMAND SUBCOMMAND OR SUBCOMMAND GROUP MANAGEMENT
-                        // This is where we handle all the fields of an subcommand or subcommand group.
-                        // -------------
+        for (VelenSubcommandGroupNode group : command.getGroups()) {
+            SlashCommandOptionBuilder groupBuilder = new SlashCommandOptionBuilder()
+                    .setName(group.getName()).setType(SlashCommandOptionType.SUB_COMMAND_GROUP);
+            group.getField("desc").ifPresent(desc -> groupBuilder.setDescription(desc.getValue()));
 
-                        if (innerName.equalsIgnoreCase("desc")) {
-                            optionBuilders.get(token + (state.get().equals(STATE.SUBCOMMAND) ? currentSubcommand.get() : currentSubcommandGroup.get())).setDescription(value);
-                        }
-                    }
+            for (VelenSubcommandNode subcommand : group.getSubcommands()) {
+                groupBuilder.addOption(subcommand(subcommand).build());
+                formats.add(group.getName() + " " + format(subcommand));
+            }
 
-                    if (state.get().equals(STATE.OPTION)) {
-                        SlashCommandOptionBuilder o = optionBuilders.get("option."+currentOption.get());
-
-                        // -------------
-                        // COMMAND OPTION MANAGEMENT
-                        // This is where we handle all the fields of an option.
-                        // -------------
-
-                        switch(innerName.toLowerCase()) {
-                            case "type": {
-                                o.setType(inferFrom(value));
-                                formats.get("option." + currentOption.get()).append(":of(").append(value).append(")");
-                                break;
-                            }
-                            case "required": {
-                                o.setRequired(Boolean.parseBoolean(value));
-                                if (Boolean.parseBoolean(value)) {
-                                    formats.get("option." + currentOption.get()).append(":required()");
-                                }
-                                break;
-                            }
-                            case "desc":
-                                o.setDescription(value);
-                                break;
-                            case "regex":
-                                formats.get("option." + currentOption.get()).append(":{").append(value).append("}");
-                                break;
-                            case "has_many": {
-                                if (Boolean.parseBoolean(value)) {
-                                    formats.get("option." + currentOption.get()).append(":hasMany()");
-                                }
-                                break;
-                            }
-                            case "choice": {
-                                Pair<String, String> details = arrayOfTwo(value);
-                                choices.get(currentOption.get()).add(details.getLeft());
-                                o.addChoice(details.getLeft(), details.getRight());
-                                break;
-                            }
-                        }
-                    }
+            builder.addOption(groupBuilder);
+        }
 
-                    if (state.get().equals(STATE.DEFAULT)) {
-                        // -------------
-                        // COMMAND FIELD MANAGEMENT
-                        // This is where we handle all the fields of a command.
-                        // -------------
-
-                        switch (innerName.toLowerCase()) {
-                            case "usage":
-                                builder.get().addUsage(value);
-                                break;
-                            case "has_format":
-                                builder.get().addFormats(value);
-                                break;
-                            case "default_permission": {
-                                if (!(value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false"))) {
-                                    throw new IllegalStateException("The value for default permission in " + commandName.get() + " is invalid, it must be of boolean type.");
-                                }
-
-                                builder.get().setDefaultPermission(Boolean.parseBoolean(value));
-                                break;
-                            }
-                            case "desc":
-                                builder.get().setDescription(value);
-                                break;
-                            case "middleware":
-                                builder.get().addMiddlewares(value);
-                                break;
-                            case "middlewares":
-                                builder.get().addMiddlewares(array(value));
-                                break;
-                            case "afterware":
-                                builder.get().addAfterwares(value);
-                                break;
-                            case "afterwares":
-                                builder.get().addAfterwares(array(value));
-                                break;
-                            case "shortcut":
-                                builder.get().addShortcut(value);
-                                break;
-                            case "handler": {
-                                if (!velen.getHandlerStorage().contains(value)) {
-                                    throw new IllegalStateException("Failed to create command from the following file: ["+file.getPath()+"] with name " +
-                                            "["+commandName.get()+"]: There is no handler with name of ["+value+"], please read the wiki for more information.");
-                                }
-
-                                switch (commandType.get().toLowerCase()) {
-                                    case "slash": {
-                                        Optional<VelenSlashEvent> event = velen.getHandlerStorage().findSlashHandlers(value.toLowerCase());
-                                        if (!event.isPresent()) {
-                                            throw error(file, commandName.get(), "There are no slash command handlers available with name of ["+value+"]");
-                                        }
-
-                                        builder.get().setSlashEvent(event.get());
-                                        break;
-                                    }
-                                    case "message": {
-                                        Optional<VelenEvent> event = velen.getHandlerStorage().findMessageHandler(value.toLowerCase());
-                                        if (!event.isPresent()) {
-                                            throw error(file, commandName.get(), "There are no message command handlers available with name of ["+value+"]");
-                                        }
-
-                                        builder.get().doEventOnInvocation(event.get());
-                                        break;
-                                    }
-                                    case "hybrid":
-                                    case "inferred": {
-                                        Optional<VelenHybridHandler> hybridHandler = velen.getHandlerStorage().findHybridHandlers(value.toLowerCase());
-                                        Optional<VelenEvent> messageHandler = velen.getHandlerStorage().findMessageHandler(value.toLowerCase());
-                                        Optional<VelenSlashEvent> slashHandler = velen.getHandlerStorage().findSlashHandlers(value.toLowerCase());
-                                        if (!hybridHandler.isPresent() && !messageHandler.isPresent() && !slashHandler.isPresent()) {
-                                            throw error(file, commandName.get(), "There are no command handlers available with name of ["+value+"]");
-                                        }
-
-                                        hybridHandler.ifPresent(h -> builder.get().setHybridHandler(h));
-                                        messageHandler.ifPresent(m -> builder.get().doEventOnInvocation(m));
-                                        slashHandler.ifPresent(r -> builder.get().setSlashEvent(r));
-                                        break;
-                                    }
-                                }
-                                break;
-                            }
-                            case "server_only": {
-                                Pair<String, String> val = arrayOfTwo(value);
-
-                                if (val.getRight() == null) {
-                                    builder.get().setServerOnly(Boolean.parseBoolean(val.getLeft()));
-                                } else {
-                                    builder.get().setServerOnly(Boolean.parseBoolean(val.getLeft()), Long.parseLong(val.getRight()));
-                                }
-
-                                break;
-                            }
-                            case "dms_only":
-                                builder.get().setPrivateChannelOnly(Boolean.parseBoolean(value));
-                                break;
-                            case "permissions":
-                                builder.get().requirePermissions(Arrays.stream(array(value)).map(perms -> Arrays.stream(PermissionType.values())
-                                                .filter(p -> p.name().equalsIgnoreCase(perms))
-                                                .findFirst()
-                                                .orElseThrow(() -> error(file, commandName.get(), "There are no Permission Type with name of ["+perms+"]")))
-                                        .toArray(PermissionType[]::new));
-                                break;
-                            case "roles":
-                                Arrays.stream(array(value)).map(Long::parseLong).forEach(builder.get()::requireRole);
-                                break;
-                            case "cooldown":
-                                builder.get().setCooldown(Duration.ofMillis(Long.parseLong(value)));
-                                break;
-                            case "category":
-                                builder.get().setCategory(value);
-                                break;
-                        }
-                    }
+        formats.forEach(format -> builder.addFormats(commandName + " " + format));
+
+        // If there are no optiosn that are required, then we need to have Velen know that.
+        if (formats.stream().noneMatch(format -> format.contains("::required()"))) {
+            builder.addFormats(commandName);
+        }
+
+        return builder.setVelen(velen).build();
+    }
+
+    private void handler(File file, VelenCommandNode command, VelenStatement field, VelenCommandBuilder builder) {
+        String value = field.getValue();
+
+        if (!velen.getHandlerStorage().contains(value)) {
+            throw error(file, field, command.getName(), "There is no handler with name of ["+value+"]");
+        }
+
+        switch (command.getType()) {
+            case "slash": {
+                Optional<VelenSlashEvent> event = velen.getHandlerStorage().findSlashHandlers(value.toLowerCase());
+                if (!event.isPresent()) {
+                    throw error(file, field, command.getName(), "There are no slash command handlers available with name of ["+value+"]");
                 }
 
-                // -------------
-                // CLOSURE MANAGEMENT
-                // This is where we handle the closures for each state.
-                // -------------
-
-                if (s.equals("}")) {
-                    if (state.get().equals(STATE.SUBCOMMAND)) {
-                        if (!currentSubcommandGroup.get().equalsIgnoreCase("none")) {
-                            optionBuilders.get("group."+currentSubcommandGroup.get())
-                                    .addOption(optionBuilders.get("subcommand."+currentSubcommand.get()).build());
-
-                            // Append the format for this subcommand then erase.
-                            formats.put("group."+currentSubcommandGroup.get()+"."+currentSubcommand.get(), new StringBuilder()
-                                    .append(currentSubcommandGroup.get()).append(" ").append(formats.get("subcommand."+currentSubcommand.get())
-                                            .toString()));
-                            formats.remove("subcommand."+currentSubcommand.get());
-
-                            optionBuilders.remove("subcommand."+currentSubcommand.get());
-                            state.set(STATE.SUBCOMMAND_GROUP);
-                        } else {
-                            state.set(STATE.DEFAULT);
-                        }
-
-                        // Make sure to remove them so it doesn't get caught up in the finishing blow.
-                        currentSubcommand.set("none");
-                    } else if(state.get().equals(STATE.OPTION)) {
-                        if (!choices.get(currentOption.get()).isEmpty()) {
-                            formats.get("option." + currentOption.get()).append("::(")
-                                    .append(String.join(",", choices.get(currentOption.get())))
-                                    .append(")");
-                            choices.remove(currentOption.get());
-                        }
-
-                        if (!currentSubcommand.get().equalsIgnoreCase("none")) {
-                            optionBuilders.get("subcommand."+currentSubcommand.get())
-                                    .addOption(optionBuilders.get("option."+currentOption.get()).build());
-
-                            // And this option is done.
-                            formats.get("subcommand."+currentSubcommand.get()).append(" ")
-                                    .append(formats.get("option."+currentOption.get()).append("]"));
-                            formats.remove("option."+currentOption.get());
-
-                            // Make sure to remove them, so it doesn't get caught up in the finishing blow.
-                            optionBuilders.remove("option."+currentOption.get());
-                            state.set(STATE.SUBCOMMAND);
-                        } else {
-                            formats.get("option."+currentOption.get()).append("]");
-                            state.set(STATE.DEFAULT);
-                        }
-
-                        currentOption.set("none");
-                    } else if (state.get().equals(STATE.SUBCOMMAND_GROUP)) {
-                        state.set(STATE.DEFAULT);
-                        currentSubcommandGroup.set("none");
-                    } else if (state.get().equals(STATE.DEFAULT)) {
-                        formats.forEach((s1, stringBuilder) -> builder.get().addFormats(commandName.get() + " " + stringBuilder.toString()));
-
-                        // If there are no optiosn that are required, then we need to have Velen know that.
-                        if (formats.values().stream().noneMatch(b -> b.toString().contains("::required()"))) {
-                            builder.get().addFormats(commandName.get());
-                        }
-
-                        optionBuilders.values().forEach(builder.get()::addOption);
-                        builder.get().setVelen(velen).attach();
-
-                        // Let me introduce to you...
-                        // the wiper.
-
-                        builder.set(new VelenCommandBuilder());
-                        commandType.set("inferred");
-                        commandName.set("Unidentified");
-                        optionBuilders.clear();
-                        formats.clear();
-                        currentSubcommand.set("none");
-                        currentOption.set("none");
-                        currentSubcommandGroup.set("none");
-                        choices.clear();
-                    }
+                builder.setSlashEvent(event.get());
+                break;
+            }
+            case "message": {
+                Optional<VelenEvent> event = velen.getHandlerStorage().findMessageHandler(value.toLowerCase());
+                if (!event.isPresent()) {
+                    throw error(file, field, command.getName(), "There are no message command handlers available with name of ["+value+"]");
+                }
+
+                builder.doEventOnInvocation(event.get());
+                break;
+            }
+            case "hybrid": {
+                Optional<VelenHybridHandler> hybridHandler = velen.getHandlerStorage().findHybridHandlers(value.toLowerCase());
+                Optional<VelenEvent> messageHandler = velen.getHandlerStorage().findMessageHandler(value.toLowerCase());
+                Optional<VelenSlashEvent> slashHandler = velen.getHandlerStorage().findSlashHandlers(value.toLowerCase());
+                if (!hybridHandler.isPresent() && !messageHandler.isPresent() && !slashHandler.isPresent()) {
+                    throw error(file, field, command.getName(), "There are no command handlers available with name of ["+value+"]");
                 }
-            });
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to read the following file: ["+file.getPath()+"].");
+
+                hybridHandler.ifPresent(builder::setHybridHandler);
+                messageHandler.ifPresent(builder::doEventOnInvocation);
+                slashHandler.ifPresent(builder::setSlashEvent);
+                break;
+            }
+        }
+    }
+
+    private SlashCommandOptionBuilder subcommand(VelenSubcommandNode subcommand) {
+        SlashCommandOptionBuilder builder = new SlashCommandOptionBuilder()
+                .setName(subcommand.getName()).setType(SlashCommandOptionType.SUB_COMMAND);
+        subcommand.getField("desc").ifPresent(desc -> builder.setDescription(desc.getValue()));
+
+        for (VelenOptionNode option : subcommand.getOptions()) {
+            builder.addOption(option(option).build());
+        }
+
+        return builder;
+    }
+
+    private SlashCommandOptionBuilder option(VelenOptionNode option) {
+        SlashCommandOptionBuilder builder = new SlashCommandOptionBuilder().setName(option.getName());
+
+        for (VelenStatement field : option.getFields()) {
+            switch (field.getKey().toLowerCase()) {
+                case "type":
+                    builder.setType(inferFrom(field.getValue()));
+                    break;
+                case "required":
+                    builder.setRequired(Boolean.parseBoolean(field.getValue()));
+                    break;
+                case "desc":
+                    builder.setDescription(field.getValue());
+                    break;
+            }
+        }
+
+        option.getChoices().forEach(choice -> builder.addChoice(choice.getName(), choice.getValue()));
+        return builder;
+    }
+
+    /**
+     * Creates the format of a subcommand, for example: <b>add :[user:of(user)]</b>
+     */
+    private String format(VelenSubcommandNode subcommand) {
+        StringBuilder format = new StringBuilder(subcommand.getName());
+
+        for (VelenOptionNode option : subcommand.getOptions()) {
+            format.append(" ").append(format(option));
         }
+
+        return format.toString();
+    }
+
+    /**
+     * Creates the format of an option, for example: <b>:[user:of(user):required()]</b>
+     */
+    private String format(VelenOptionNode option) {
+        StringBuilder format = new StringBuilder(":[").append(option.getName());
+
+        for (VelenStatement field : option.getFields()) {
+            switch (field.getKey().toLowerCase()) {
+                case "type":
+                    format.append(":of(").append(field.getValue()).append(")");
+                    break;
+                case "required":
+                    if (Boolean.parseBoolean(field.getValue()))
+                        format.append(":required()");
+                    break;
+                case "regex":
+                    format.append(":{").append(field.getValue()).append("}");
+                    break;
+                case "has_many":
+                    if (Boolean.parseBoolean(field.getValue()))
+                        format.append(":hasMany()");
+                    break;
+            }
+        }
+
+        if (!option.getChoices().isEmpty()) {
+            format.append("::(")
+                    .append(option.getChoices().stream().map(VelenChoiceNode::getName).collect(Collectors.joining(",")))
+                    .append(")");
+        }
+
+        return format.append("]").toString();
     }
 
     private SlashCommandOptionType inferFrom(String type) {
@@ -384,41 +317,4 @@ public class VelenMirror extends VelenBaseParser {
         }
     }
 
-
-    /**
-     * States are what tells us what moment we are parsing right now.
-     */
-    private enum STATE {
-        /**
-         * Default which means it is not inside any option or subcommand.
-         */
-        DEFAULT(0),
-        /**
-         * Subcommand which indicates we are inside a subcommand.
-         */
-        SUBCOMMAND(1),
-        /**
-         * Subcommand group which indicates we are inside a subcommand group.
-         */
-        SUBCOMMAND_GROUP(2),
-        /**
-         * Option which indicates we are inside an option.
-         */
-        OPTION(3);
-
-        private final int value;
-
-        STATE(int value) {
-            this.value = value;
-        }
-
-        /**
-         * Retrieves the value for this state.
-         * @return The value of this state.
-         */
-        public int getValue() {
-            return value;
-        }
-    }
-
 }
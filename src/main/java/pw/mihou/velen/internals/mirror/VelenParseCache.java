@@ -0,0 +1,247 @@
+package pw.mihou.velen.internals.mirror;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.mihou.velen.internals.mirror.entities.VelenDocument;
+import pw.mihou.velen.internals.mirror.entities.VelenStatement;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the Velen files that were last loaded in a local binary file, files whose size and last modified time
+ * are the same as the remembered ones are not read again. Files that were touched without changing are read and hashed
+ * but not lexed again. The statements of the files are stored in the binary file and the parsed documents are kept
+ * in memory, which means an unchanged file is only parsed again (without being read) on the first load of every run.
+ * <br><br>
+ * The file is written only when a file was read or forgotten, you can delete the file to force every
+ * file to be read again.
+ */
+public class VelenParseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger("Velen - Mirror");
+    private static final int MAGIC = 0x56454C4E;
+    private static final int VERSION = 3;
+
+    // A file that is modified within this window of being read could have changed without its
+    // last modified time changing, such entries are always verified through their contents.
+    private static final long RACY_WINDOW = 2000L;
+    private static final VelenStatement.Type[] TYPES = VelenStatement.Type.values();
+
+    private final File file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty = false;
+
+    /**
+     * Creates a new cache that is backed by the file, the statements
+     * of the file are loaded if the file exists.
+     *
+     * @param file The file to store the statements in.
+     */
+    public VelenParseCache(File file) {
+        this.file = file;
+
+        if (!file.exists())
+            return;
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                logger.warn("The parse cache at {} is of an unknown format, every file will be read again.", file);
+                return;
+            }
+
+            int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                String path = input.readUTF();
+                long length = input.readLong();
+                long modified = input.readLong();
+                long verifiedAt = input.readLong();
+                String hash = input.readUTF();
+                int count = input.readInt();
+
+                List<VelenStatement> statements = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    statements.add(new VelenStatement(TYPES[input.readByte()], input.readInt(), input.readInt(),
+                            input.readUTF(), input.readUTF(), input.readBoolean()));
+                }
+
+                entries.put(path, new Entry(length, modified, verifiedAt, hash, Collections.unmodifiableList(statements), null));
+            }
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            entries.clear();
+            logger.warn("Failed to read the parse cache from {}, every file will be read again.", file, e);
+        }
+    }
+
+    /**
+     * Reads the file into a document, the document is taken from the cache if the size and the last
+     * modified time of the file haven't changed since it was last read, otherwise the file is read and only
+     * lexed again if its contents have changed.
+     *
+     * @param source The file to read.
+     * @return The document of the file.
+     * @throws VelenSyntaxException if the file is invalid.
+     */
+    public VelenDocument read(File source) {
+        String path = source.getAbsolutePath();
+        Entry entry = entries.get(path);
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(source.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the following file: ["+source.getPath()+"].");
+        }
+
+        long length = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+
+        if (entry != null && entry.length == length && entry.modified == modified && modified < entry.verifiedAt - RACY_WINDOW) {
+            if (entry.document != null)
+                return entry.document;
+
+            return remember(path, entry.with(VelenParser.parse(source, entry.statements))).document;
+        }
+
+        byte[] contents;
+        try {
+            contents = Files.readAllBytes(source.toPath());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the following file: ["+source.getPath()+"].");
+        }
+
+        String hash = hash(contents);
+        long now = System.currentTimeMillis();
+        List<VelenStatement> statements = entry != null && entry.hash.equals(hash) ? entry.statements
+                : Collections.unmodifiableList(VelenLexer.read(source, contents));
+
+        VelenDocument document = VelenParser.parse(source, statements);
+        remember(path, new Entry(length, modified, now, hash, statements, document));
+        dirty = true;
+
+        return document;
+    }
+
+    private Entry remember(String path, Entry entry) {
+        entries.put(path, entry);
+        return entry;
+    }
+
+    /**
+     * Forgets every file within the roots that isn't amongst the files given, this keeps the cache from
+     * growing with files that were deleted or moved.
+     *
+     * @param roots The files and directories that were loaded.
+     * @param sources The files within the roots that are still loaded.
+     */
+    public void retain(Collection<File> roots, Collection<File> sources) {
+        Set<String> paths = new HashSet<>();
+        sources.forEach(source -> paths.add(source.getAbsolutePath()));
+
+        List<String> prefixes = new ArrayList<>();
+        roots.forEach(root -> prefixes.add(root.getAbsolutePath()));
+
+        if (entries.keySet().removeIf(path -> !paths.contains(path) && prefixes.stream()
+                .anyMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + File.separator))))
+            dirty = true;
+    }
+
+    /**
+     * Writes the cache to the file if anything has changed since it was last written.
+     */
+    public synchronized void save() {
+        if (!dirty)
+            return;
+
+        dirty = false;
+
+        // The cache is written to a temporary file first so that the file is never half-written.
+        File temporary = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+            Map<String, Entry> snapshot = new HashMap<>(entries);
+
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(snapshot.size());
+
+            for (Map.Entry<String, Entry> entry : snapshot.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeLong(entry.getValue().length);
+                output.writeLong(entry.getValue().modified);
+                output.writeLong(entry.getValue().verifiedAt);
+                output.writeUTF(entry.getValue().hash);
+                output.writeInt(entry.getValue().statements.size());
+
+                for (VelenStatement statement : entry.getValue().statements) {
+                    output.writeByte(statement.getType().ordinal());
+                    output.writeInt(statement.getLine());
+                    output.writeInt(statement.getColumn());
+                    output.writeUTF(statement.getKey());
+                    output.writeUTF(statement.getValue());
+                    output.writeBoolean(statement.isOpening());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write the parse cache to {}.", file, e);
+            return;
+        }
+
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                logger.warn("Failed to write the parse cache to {}.", file, ex);
+            }
+        }
+    }
+
+    private static String hash(byte[] contents) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(contents);
+            StringBuilder builder = new StringBuilder(digest.length * 2);
+
+            for (byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available on this platform.", e);
+        }
+    }
+
+    private static class Entry {
+
+        private final long length;
+        private final long modified;
+        private final long verifiedAt;
+        private final String hash;
+        private final List<VelenStatement> statements;
+        private final VelenDocument document;
+
+        private Entry(long length, long modified, long verifiedAt, String hash, List<VelenStatement> statements,
+                      VelenDocument document) {
+            this.length = length;
+            this.modified = modified;
+            this.verifiedAt = verifiedAt;
+            this.hash = hash;
+            this.statements = statements;
+            this.document = document;
+        }
+
+        private Entry with(VelenDocument document) {
+            return new Entry(length, modified, verifiedAt, hash, statements, document);
+        }
+
+    }
+
+}
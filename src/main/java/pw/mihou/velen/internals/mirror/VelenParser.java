@@ -0,0 +1,238 @@
+package pw.mihou.velen.internals.mirror;
+
+import pw.mihou.velen.internals.mirror.entities.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the statements of a Velen file into a {@link VelenDocument} in a single pass, this only checks
+ * the structure and the values of the file and doesn't need a {@link pw.mihou.velen.interfaces.Velen} instance
+ * which means that files can be validated without creating any commands, for example: <code>VelenParser.parse(file)</code>
+ * <br><br>
+ * A file consists of category blocks and command blocks, a category header without an opening brace
+ * (<b>&[fun]: category</b>) places every command after it into that category, or only the command that it
+ * is in when it is inside a command block.
+ */
+public class VelenParser {
+
+    private final File file;
+    private final List<VelenStatement> statements;
+    private int position = 0;
+
+    private VelenParser(File file, List<VelenStatement> statements) {
+        this.file = file;
+        this.statements = statements;
+    }
+
+    /**
+     * Reads a file into a document.
+     *
+     * @param file The file to read.
+     * @return The document of the file.
+     * @throws VelenSyntaxException if the file is invalid.
+     */
+    public static VelenDocument parse(File file) {
+        return parse(file, VelenLexer.read(file));
+    }
+
+    /**
+     * Reads the statements of a file into a document.
+     *
+     * @param file The file that the statements were read from.
+     * @param statements The statements of the file.
+     * @return The document of the file.
+     * @throws VelenSyntaxException if the statements are invalid.
+     */
+    public static VelenDocument parse(File file, List<VelenStatement> statements) {
+        return new VelenParser(file, statements).document();
+    }
+
+    private VelenDocument document() {
+        List<VelenCategoryNode> categories = new ArrayList<>();
+        List<VelenCommandNode> commands = new ArrayList<>();
+        String category = null;
+
+        while (position < statements.size()) {
+            VelenStatement statement = statements.get(position++);
+
+            switch (statement.getType()) {
+                case HEADER: {
+                    String type = statement.getValue().toLowerCase();
+
+                    if (type.equals("category")) {
+                        if (statement.isOpening()) {
+                            categories.add(new VelenCategoryNode(statement, fields(statement)));
+                        } else {
+                            category = statement.getKey();
+                        }
+                    } else if (type.equals("message") || type.equals("slash") || type.equals("hybrid")) {
+                        commands.add(command(statement, category));
+                    } else {
+                        throw error(statement, "The header [" + statement.getValue() + "] cannot be outside of a command, " +
+                                "only categories and commands (message, slash or hybrid) can be");
+                    }
+                    break;
+                }
+                case FIELD:
+                    throw error(statement, "The field [" + statement.getKey() + "] is outside of any category or command");
+                case CLOSURE:
+                    throw error(statement, "There is no block to close");
+            }
+        }
+
+        return new VelenDocument(file, categories, commands);
+    }
+
+    private VelenCommandNode command(VelenStatement header, String category) {
+        List<VelenStatement> fields = new ArrayList<>();
+        List<VelenOptionNode> options = new ArrayList<>();
+        List<VelenSubcommandNode> subcommands = new ArrayList<>();
+        List<VelenSubcommandGroupNode> groups = new ArrayList<>();
+
+        while (true) {
+            VelenStatement statement = next(header);
+
+            if (statement.getType() == VelenStatement.Type.CLOSURE)
+                return new VelenCommandNode(header, category, fields, options, subcommands, groups);
+
+            if (statement.getType() == VelenStatement.Type.FIELD) {
+                if (statement.getKey().equalsIgnoreCase("default_permission") && !isBoolean(statement.getValue())) {
+                    throw error(statement, "The value for default permission in " + header.getKey() + " is invalid, it must be of boolean type");
+                }
+
+                fields.add(statement);
+                continue;
+            }
+
+            switch (statement.getValue().toLowerCase()) {
+                case "category":
+                    if (statement.isOpening())
+                        throw error(statement, "The category [" + statement.getKey() + "] cannot be declared inside of a command");
+
+                    category = statement.getKey();
+                    break;
+                case "option":
+                    options.add(option(statement));
+                    break;
+                case "subcommand":
+                    subcommands.add(subcommand(statement));
+                    break;
+                case "subcommand_group":
+                    groups.add(group(statement));
+                    break;
+                default:
+                    throw error(statement, "The header [" + statement.getValue() + "] cannot be inside of a command, " +
+                            "only options, subcommands and subcommand groups can be");
+            }
+        }
+    }
+
+    private VelenSubcommandGroupNode group(VelenStatement header) {
+        List<VelenStatement> fields = new ArrayList<>();
+        List<VelenSubcommandNode> subcommands = new ArrayList<>();
+
+        while (true) {
+            VelenStatement statement = next(header);
+
+            if (statement.getType() == VelenStatement.Type.CLOSURE)
+                return new VelenSubcommandGroupNode(header, fields, subcommands);
+
+            if (statement.getType() == VelenStatement.Type.FIELD) {
+                fields.add(statement);
+            } else if (statement.getValue().equalsIgnoreCase("subcommand")) {
+                subcommands.add(subcommand(statement));
+            } else {
+                throw error(statement, "The header [" + statement.getValue() + "] cannot be inside of a subcommand group, " +
+                        "only subcommands can be");
+            }
+        }
+    }
+
+    private VelenSubcommandNode subcommand(VelenStatement header) {
+        List<VelenStatement> fields = new ArrayList<>();
+        List<VelenOptionNode> options = new ArrayList<>();
+
+        while (true) {
+            VelenStatement statement = next(header);
+
+            if (statement.getType() == VelenStatement.Type.CLOSURE)
+                return new VelenSubcommandNode(header, fields, options);
+
+            if (statement.getType() == VelenStatement.Type.FIELD) {
+                fields.add(statement);
+            } else if (statement.getValue().equalsIgnoreCase("option")) {
+                options.add(option(statement));
+            } else {
+                throw error(statement, "The header [" + statement.getValue() + "] cannot be inside of a subcommand, " +
+                        "only options can be");
+            }
+        }
+    }
+
+    private VelenOptionNode option(VelenStatement header) {
+        List<VelenStatement> fields = new ArrayList<>();
+        List<VelenChoiceNode> choices = new ArrayList<>();
+
+        while (true) {
+            VelenStatement statement = next(header);
+
+            if (statement.getType() == VelenStatement.Type.CLOSURE)
+                return new VelenOptionNode(header, fields, choices);
+
+            if (statement.getType() == VelenStatement.Type.HEADER)
+                throw error(statement, "The header [" + statement.getValue() + "] cannot be inside of an option");
+
+            if (statement.getKey().equalsIgnoreCase("choice")) {
+                String value = statement.getValue();
+                if (value.startsWith("[") && value.endsWith("]"))
+                    value = value.substring(1, value.length() - 1);
+
+                String[] choice = Arrays.stream(value.split(",")).map(String::trim).toArray(String[]::new);
+                if (choice.length != 2)
+                    throw error(statement, "The choice [" + statement.getValue() + "] is invalid, it must follow the format of [name, value]");
+
+                choices.add(new VelenChoiceNode(statement, choice[0], choice[1]));
+            } else {
+                fields.add(statement);
+            }
+        }
+    }
+
+    /**
+     * Fields of a block that can only contain fields, for example: categories.
+     */
+    private List<VelenStatement> fields(VelenStatement header) {
+        List<VelenStatement> fields = new ArrayList<>();
+
+        while (true) {
+            VelenStatement statement = next(header);
+
+            if (statement.getType() == VelenStatement.Type.CLOSURE)
+                return fields;
+
+            if (statement.getType() == VelenStatement.Type.HEADER)
+                throw error(statement, "The header [" + statement.getValue() + "] cannot be inside of a " + header.getValue());
+
+            fields.add(statement);
+        }
+    }
+
+    private VelenStatement next(VelenStatement header) {
+        if (position >= statements.size())
+            throw error(header, "The " + header.getValue() + " [" + header.getKey() + "] is never closed");
+
+        return statements.get(position++);
+    }
+
+    private boolean isBoolean(String value) {
+        return value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false");
+    }
+
+    private VelenSyntaxException error(VelenStatement statement, String error) {
+        return new VelenSyntaxException(file, statement.getLine(), statement.getColumn(), error);
+    }
+
+}
@@ -0,0 +1,60 @@
+package pw.mihou.velen.internals.mirror;
+
+import java.io.File;
+
+/**
+ * Thrown when a Velen file (.velen or .vecomp) cannot be read, this tells exactly
+ * where in the file the problem is.
+ */
+public class VelenSyntaxException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final File file;
+    private final int line;
+    private final int column;
+
+    /**
+     * Creates a new syntax exception.
+     *
+     * @param file The file that caused the issue.
+     * @param line The line of the issue, starting from one.
+     * @param column The column of the issue, starting from one.
+     * @param error The error.
+     */
+    public VelenSyntaxException(File file, int line, int column, String error) {
+        super("Failed to read the following file: [" + file.getPath() + "] at line " + line + ", column " + column + ": \n"
+                + error + ", please read the wiki for more information.");
+        this.file = file;
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * Retrieves the file that caused the issue.
+     *
+     * @return The file that caused the issue.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieves the line of the issue, starting from one.
+     *
+     * @return The line of the issue.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Retrieves the column of the issue, starting from one.
+     *
+     * @return The column of the issue.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+}
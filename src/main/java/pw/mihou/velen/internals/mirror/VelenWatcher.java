@@ -0,0 +1,288 @@
+package pw.mihou.velen.internals.mirror;
+
+import org.javacord.api.DiscordApi;
+import org.javacord.api.entity.server.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.mihou.velen.impl.VelenImpl;
+import pw.mihou.velen.interfaces.Velen;
+import pw.mihou.velen.internals.observer.VelenObserver;
+import pw.mihou.velen.internals.routing.VelenSlashRoutingTable;
+import pw.mihou.velen.utils.ThreadFactory;
+import pw.mihou.velen.utils.VelenThreadPool;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the directories that were loaded through {@link Velen#loadFrom(File)} and reloads the Velen files
+ * (.velen and .vecomp) that are created, changed or deleted without restarting the bot. Only the changed files are read
+ * again and their commands and categories are swapped through {@link VelenImpl#reload(Collection, Collection)}, commands
+ * that are being executed are not interrupted.
+ * <br><br>
+ * Changes are collected for a short delay before they are reloaded since editors usually write a file more than once
+ * when saving it. If an observer is given, the slash commands of the scopes whose commands have changed are
+ * synchronized once the reload is done.
+ */
+public class VelenWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger("Velen - Watcher");
+    private static final ThreadFactory threads = new ThreadFactory("Velen - Watcher - %d", true);
+
+    private final VelenImpl velen;
+    private final Set<File> pending = new LinkedHashSet<>();
+    private final Set<Long> pendingScopes = new HashSet<>();
+
+    private volatile Duration delay = Duration.ofMillis(500);
+    private VelenObserver observer;
+    private DiscordApi[] shards = new DiscordApi[0];
+
+    private WatchService service;
+    private ScheduledFuture<?> scheduled;
+    private CompletableFuture<Void> synchronizing;
+
+    /**
+     * Creates a new watcher.
+     *
+     * @param velen The Velen instance whose directories are watched.
+     */
+    public VelenWatcher(Velen velen) {
+        this.velen = (VelenImpl) velen;
+    }
+
+    /**
+     * Sets how long the watcher waits for more changes before reloading, by default this is 500 milliseconds.
+     *
+     * @param delay The time to wait before reloading.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenWatcher setDelay(Duration delay) {
+        if (delay.isNegative())
+            throw new IllegalArgumentException("The delay of the watcher cannot be negative.");
+
+        this.delay = delay;
+        return this;
+    }
+
+    /**
+     * Sets the observer that synchronizes the slash commands whose definitions have changed after a reload,
+     * by default, the slash commands are not synchronized.
+     *
+     * @param observer The observer to synchronize the slash commands with.
+     * @param shards The shards to find the servers of server commands through.
+     * @return The current instance in order to chain call methods.
+     */
+    public synchronized VelenWatcher setObserver(VelenObserver observer, DiscordApi... shards) {
+        this.observer = observer;
+        this.shards = shards;
+        return this;
+    }
+
+    /**
+     * Starts watching the directories that were loaded through {@link Velen#loadFrom(File)}.
+     *
+     * @return The current instance in order to chain call methods.
+     * @throws IllegalStateException if the directories cannot be watched.
+     */
+    public synchronized VelenWatcher start() {
+        if (service != null)
+            return this;
+
+        try {
+            service = FileSystems.getDefault().newWatchService();
+
+            for (File directory : velen.getDirectories()) {
+                register(directory.toPath());
+            }
+        } catch (IOException e) {
+            stop();
+            throw new IllegalStateException("Failed to watch the directories of Velen.", e);
+        }
+
+        // The watch service blocks its thread for as long as it is open, which is why it has a thread of its own.
+        WatchService current = service;
+        threads.newThread(() -> watch(current)).start();
+        return this;
+    }
+
+    /**
+     * Stops watching the directories, changes that are waiting to be reloaded are discarded.
+     */
+    public synchronized void stop() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close the watch service.", e);
+            }
+
+            service = null;
+        }
+
+        pending.clear();
+    }
+
+    private void register(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                directory.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void watch(WatchService service) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    logger.warn("Too many changes happened in {} at once, some of them may not be reloaded.", directory);
+                    continue;
+                }
+
+                Path path = directory.resolve((Path) event.context());
+                onChange(path, event.kind());
+            }
+
+            key.reset();
+        }
+    }
+
+    private synchronized void onChange(Path path, WatchEvent.Kind<?> kind) {
+        if (service == null)
+            return;
+
+        if (kind == ENTRY_CREATE && Files.isDirectory(path)) {
+            try (Stream<Path> paths = Files.walk(path)) {
+                register(path);
+
+                // The files could have been created before the directory was registered.
+                paths.filter(Files::isRegularFile).map(Path::toFile).filter(VelenWatcher::isVelenFile).forEach(pending::add);
+            } catch (IOException e) {
+                logger.warn("Failed to watch the directory {}.", path, e);
+            }
+        } else if (isVelenFile(path.toFile())) {
+            pending.add(path.toFile());
+        } else if (kind == ENTRY_DELETE) {
+            // The deleted path could have been a directory, in which case every file that was loaded from it is gone.
+            String directory = path.toFile().getAbsolutePath() + File.separator;
+            List<File> files = velen.getFiles().stream()
+                    .filter(file -> file.getAbsolutePath().startsWith(directory))
+                    .collect(Collectors.toList());
+
+            if (files.isEmpty())
+                return;
+
+            pending.addAll(files);
+        } else {
+            return;
+        }
+
+        if (scheduled != null)
+            scheduled.cancel(false);
+
+        // The scheduler is shared with everything else in Velen, it only hands the reload over to the executor.
+        scheduled = VelenThreadPool.schedule(() -> VelenThreadPool.executorService.submit(this::reload),
+                delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void reload() {
+        List<File> files = new ArrayList<>();
+        List<File> deleted = new ArrayList<>();
+
+        synchronized (this) {
+            scheduled = null;
+            pending.forEach(file -> (file.exists() ? files : deleted).add(file));
+            pending.clear();
+        }
+
+        if (files.isEmpty() && deleted.isEmpty())
+            return;
+
+        Set<Long> scopes;
+        try {
+            scopes = velen.reload(files, deleted);
+        } catch (RuntimeException e) {
+            logger.error("Failed to reload the Velen files, the previous commands are kept.", e);
+            return;
+        }
+
+        logger.info("Reloaded {} changed and {} deleted Velen files.", files.size(), deleted.size());
+
+        if (!scopes.isEmpty())
+            synchronize(scopes);
+    }
+
+    private synchronized void synchronize(Set<Long> scopes) {
+        if (observer == null)
+            return;
+
+        pendingScopes.addAll(scopes);
+
+        // Only one synchronization runs at a time, the scopes that change meanwhile are synchronized after it.
+        if (synchronizing != null && !synchronizing.isDone())
+            return;
+
+        List<Long> queued = new ArrayList<>(pendingScopes);
+        pendingScopes.clear();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (long scope : queued) {
+            if (scope == VelenSlashRoutingTable.GLOBAL) {
+                futures.add(observer.observe(velen));
+                continue;
+            }
+
+            Optional<Server> server = Arrays.stream(shards)
+                    .map(shard -> shard.getServerById(scope))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst();
+
+            if (server.isPresent()) {
+                futures.add(observer.observeServer(velen, server.get()));
+            } else {
+                logger.warn("The server {} couldn't be found through the shards, its slash commands weren't synchronized.", scope);
+            }
+        }
+
+        synchronizing = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, throwable) -> {
+            if (throwable != null)
+                logger.error("Failed to synchronize the slash commands after reloading.", throwable);
+
+            synchronized (this) {
+                if (!pendingScopes.isEmpty())
+                    synchronize(Collections.emptySet());
+            }
+        });
+    }
+
+    private static boolean isVelenFile(File file) {
+        return file.getName().endsWith(".velen") || file.getName().endsWith(".vecomp");
+    }
+
+}
@@ -0,0 +1,20 @@
+package pw.mihou.velen.internals.mirror.entities;
+
+import java.util.List;
+
+/**
+ * A category block, for example: <b>&[fun]: category { ... }</b>
+ */
+public class VelenCategoryNode extends VelenNode {
+
+    /**
+     * Creates a new category node.
+     *
+     * @param header The header that opened this node.
+     * @param fields The fields of this node in the order that they were written.
+     */
+    public VelenCategoryNode(VelenStatement header, List<VelenStatement> fields) {
+        super(header, fields);
+    }
+
+}
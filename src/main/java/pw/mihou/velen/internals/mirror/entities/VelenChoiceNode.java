@@ -0,0 +1,52 @@
+package pw.mihou.velen.internals.mirror.entities;
+
+/**
+ * A choice of an option, for example: <b>choice: [PING, PONG]</b>
+ */
+public class VelenChoiceNode {
+
+    private final VelenStatement field;
+    private final String name;
+    private final String value;
+
+    /**
+     * Creates a new choice node.
+     *
+     * @param field The field that this choice was read from.
+     * @param name The name of the choice.
+     * @param value The value of the choice.
+     */
+    public VelenChoiceNode(VelenStatement field, String name, String value) {
+        this.field = field;
+        this.name = name;
+        this.value = value;
+    }
+
+    /**
+     * Retrieves the field that this choice was read from.
+     *
+     * @return The field of this choice.
+     */
+    public VelenStatement getField() {
+        return field;
+    }
+
+    /**
+     * Retrieves the name of this choice.
+     *
+     * @return The name of this choice.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the value of this choice.
+     *
+     * @return The value of this choice.
+     */
+    public String getValue() {
+        return value;
+    }
+
+}
@@ -0,0 +1,81 @@
+package pw.mihou.velen.internals.mirror.entities;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A command block, for example: <b>&[ping]: slash { ... }</b>
+ */
+public class VelenCommandNode extends VelenNode {
+
+    private final String category;
+    private final List<VelenOptionNode> options;
+    private final List<VelenSubcommandNode> subcommands;
+    private final List<VelenSubcommandGroupNode> groups;
+
+    /**
+     * Creates a new command node.
+     *
+     * @param header The header that opened this node.
+     * @param category The category of this command from a category header, this can be null.
+     * @param fields The fields of this node in the order that they were written.
+     * @param options The options of this command.
+     * @param subcommands The subcommands of this command.
+     * @param groups The subcommand groups of this command.
+     */
+    public VelenCommandNode(VelenStatement header, String category, List<VelenStatement> fields, List<VelenOptionNode> options,
+                            List<VelenSubcommandNode> subcommands, List<VelenSubcommandGroupNode> groups) {
+        super(header, fields);
+        this.category = category;
+        this.options = options;
+        this.subcommands = subcommands;
+        this.groups = groups;
+    }
+
+    /**
+     * Retrieves the type of this command which is either <b>message</b>, <b>slash</b> or <b>hybrid</b>.
+     *
+     * @return The type of this command.
+     */
+    public String getType() {
+        return getHeader().getValue().toLowerCase();
+    }
+
+    /**
+     * Retrieves the category of this command that was given through a category header, for example:
+     * <b>&[fun]: category</b>. The <b>category</b> field is amongst the fields instead.
+     *
+     * @return The category of this command.
+     */
+    public Optional<String> getCategory() {
+        return Optional.ofNullable(category);
+    }
+
+    /**
+     * Retrieves the options of this command in the order that they were written.
+     *
+     * @return The options of this command.
+     */
+    public List<VelenOptionNode> getOptions() {
+        return options;
+    }
+
+    /**
+     * Retrieves the subcommands of this command that aren't in any group.
+     *
+     * @return The subcommands of this command.
+     */
+    public List<VelenSubcommandNode> getSubcommands() {
+        return subcommands;
+    }
+
+    /**
+     * Retrieves the subcommand groups of this command.
+     *
+     * @return The subcommand groups of this command.
+     */
+    public List<VelenSubcommandGroupNode> getGroups() {
+        return groups;
+    }
+
+}
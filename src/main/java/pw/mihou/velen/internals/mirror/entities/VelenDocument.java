@@ -0,0 +1,55 @@
+package pw.mihou.velen.internals.mirror.entities;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Everything that was read out of a single Velen file (.velen or .vecomp).
+ */
+public class VelenDocument {
+
+    private final File file;
+    private final List<VelenCategoryNode> categories;
+    private final List<VelenCommandNode> commands;
+
+    /**
+     * Creates a new document.
+     *
+     * @param file The file that was read.
+     * @param categories The categories of the file.
+     * @param commands The commands of the file.
+     */
+    public VelenDocument(File file, List<VelenCategoryNode> categories, List<VelenCommandNode> commands) {
+        this.file = file;
+        this.categories = categories;
+        this.commands = commands;
+    }
+
+    /**
+     * Retrieves the file that was read.
+     *
+     * @return The file of this document.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieves the categories of the file in the order that they were written.
+     *
+     * @return The categories of this document.
+     */
+    public List<VelenCategoryNode> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Retrieves the commands of the file in the order that they were written.
+     *
+     * @return The commands of this document.
+     */
+    public List<VelenCommandNode> getCommands() {
+        return commands;
+    }
+
+}
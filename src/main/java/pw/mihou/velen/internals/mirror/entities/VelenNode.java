@@ -0,0 +1,74 @@
+package pw.mihou.velen.internals.mirror.entities;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * A block of a Velen file that was read by {@link pw.mihou.velen.internals.mirror.VelenParser}, every
+ * block has a name, the header that opened it and its fields in the order that they were written.
+ */
+public class VelenNode {
+
+    private final VelenStatement header;
+    private final List<VelenStatement> fields;
+
+    /**
+     * Creates a new node.
+     *
+     * @param header The header that opened this node.
+     * @param fields The fields of this node in the order that they were written.
+     */
+    public VelenNode(VelenStatement header, List<VelenStatement> fields) {
+        this.header = header;
+        this.fields = fields;
+    }
+
+    /**
+     * Retrieves the name of this node, for example: <b>ping</b> in <b>&[ping]: slash {</b>
+     *
+     * @return The name of this node.
+     */
+    public String getName() {
+        return header.getKey();
+    }
+
+    /**
+     * Retrieves the header that opened this node.
+     *
+     * @return The header of this node.
+     */
+    public VelenStatement getHeader() {
+        return header;
+    }
+
+    /**
+     * Retrieves all the fields of this node in the order that they were written.
+     *
+     * @return The fields of this node.
+     */
+    public List<VelenStatement> getFields() {
+        return fields;
+    }
+
+    /**
+     * Retrieves all the fields of this node with the key, ignoring case.
+     *
+     * @param key The key of the fields.
+     * @return The fields with the key.
+     */
+    public List<VelenStatement> getFields(String key) {
+        return fields.stream().filter(field -> field.getKey().equalsIgnoreCase(key)).collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the first field of this node with the key, ignoring case.
+     *
+     * @param key The key of the field.
+     * @return The first field with the key.
+     */
+    public Optional<VelenStatement> getField(String key) {
+        return fields.stream().filter(field -> field.getKey().equalsIgnoreCase(key)).findFirst();
+    }
+
+}
@@ -0,0 +1,33 @@
+package pw.mihou.velen.internals.mirror.entities;
+
+import java.util.List;
+
+/**
+ * An option block, for example: <b>&[user]: option { ... }</b>
+ */
+public class VelenOptionNode extends VelenNode {
+
+    private final List<VelenChoiceNode> choices;
+
+    /**
+     * Creates a new option node.
+     *
+     * @param header The header that opened this node.
+     * @param fields The fields of this node in the order that they were written, without the choices.
+     * @param choices The choices of this option.
+     */
+    public VelenOptionNode(VelenStatement header, List<VelenStatement> fields, List<VelenChoiceNode> choices) {
+        super(header, fields);
+        this.choices = choices;
+    }
+
+    /**
+     * Retrieves the choices of this option in the order that they were written.
+     *
+     * @return The choices of this option.
+     */
+    public List<VelenChoiceNode> getChoices() {
+        return choices;
+    }
+
+}
@@ -0,0 +1,117 @@
+package pw.mihou.velen.internals.mirror.entities;
+
+/**
+ * A single meaningful line of a Velen file as read by {@link pw.mihou.velen.internals.mirror.VelenLexer}, the
+ * statements are what {@link pw.mihou.velen.internals.mirror.VelenParser} reads into documents and what
+ * {@link pw.mihou.velen.internals.mirror.VelenParseCache} remembers of unchanged files.
+ */
+public class VelenStatement {
+
+    private final Type type;
+    private final int line;
+    private final int column;
+    private final String key;
+    private final String value;
+    private final boolean opening;
+
+    /**
+     * Creates a new statement.
+     *
+     * @param type The type of the statement.
+     * @param line The line of the statement in the file, starting from one.
+     * @param column The column where the statement starts, starting from one.
+     * @param key The name of the header or the field, empty for closures.
+     * @param value The type of the header or the value of the field, empty for closures.
+     * @param opening Whether the header ends with an opening brace.
+     */
+    public VelenStatement(Type type, int line, int column, String key, String value, boolean opening) {
+        this.type = type;
+        this.line = line;
+        this.column = column;
+        this.key = key;
+        this.value = value;
+        this.opening = opening;
+    }
+
+    /**
+     * Retrieves the type of this statement.
+     *
+     * @return The type of this statement.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the line of this statement in the file, starting from one.
+     *
+     * @return The line of this statement.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Retrieves the column where this statement starts, starting from one.
+     *
+     * @return The column of this statement.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Retrieves the name of the header (e.g. <b>ping</b> in <b>&[ping]: slash {</b>) or the
+     * name of the field (e.g. <b>desc</b> in <b>desc: Pong!</b>).
+     *
+     * @return The key of this statement.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Retrieves the type of the header (e.g. <b>slash</b> in <b>&[ping]: slash {</b>) or
+     * the value of the field (e.g. <b>Pong!</b> in <b>desc: Pong!</b>).
+     *
+     * @return The value of this statement.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Checks whether this statement is a header that ends with an opening brace,
+     * for example: <b>&[slash]: category {</b>
+     *
+     * @return Does this header open a block?
+     */
+    public boolean isOpening() {
+        return opening;
+    }
+
+    /**
+     * Retrieves the position of this statement in the form of <b>line:column</b>.
+     *
+     * @return The position of this statement.
+     */
+    public String getPosition() {
+        return line + ":" + column;
+    }
+
+    public enum Type {
+        /**
+         * The start of an entity, for example: <b>&[ping]: slash {</b>
+         */
+        HEADER,
+        /**
+         * A field of an entity, for example: <b>desc: Pong!</b>
+         */
+        FIELD,
+        /**
+         * The end of an entity: <b>}</b>
+         */
+        CLOSURE
+    }
+
+}
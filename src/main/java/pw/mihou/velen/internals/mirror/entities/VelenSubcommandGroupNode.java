@@ -0,0 +1,33 @@
+package pw.mihou.velen.internals.mirror.entities;
+
+import java.util.List;
+
+/**
+ * A subcommand group block, for example: <b>&[roles]: subcommand_group { ... }</b>
+ */
+public class VelenSubcommandGroupNode extends VelenNode {
+
+    private final List<VelenSubcommandNode> subcommands;
+
+    /**
+     * Creates a new subcommand group node.
+     *
+     * @param header The header that opened this node.
+     * @param fields The fields of this node in the order that they were written.
+     * @param subcommands The subcommands of this group.
+     */
+    public VelenSubcommandGroupNode(VelenStatement header, List<VelenStatement> fields, List<VelenSubcommandNode> subcommands) {
+        super(header, fields);
+        this.subcommands = subcommands;
+    }
+
+    /**
+     * Retrieves the subcommands of this group in the order that they were written.
+     *
+     * @return The subcommands of this group.
+     */
+    public List<VelenSubcommandNode> getSubcommands() {
+        return subcommands;
+    }
+
+}
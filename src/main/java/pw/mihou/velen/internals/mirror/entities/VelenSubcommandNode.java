@@ -0,0 +1,33 @@
+package pw.mihou.velen.internals.mirror.entities;
+
+import java.util.List;
+
+/**
+ * A subcommand block, for example: <b>&[add]: subcommand { ... }</b>
+ */
+public class VelenSubcommandNode extends VelenNode {
+
+    private final List<VelenOptionNode> options;
+
+    /**
+     * Creates a new subcommand node.
+     *
+     * @param header The header that opened this node.
+     * @param fields The fields of this node in the order that they were written.
+     * @param options The options of this subcommand.
+     */
+    public VelenSubcommandNode(VelenStatement header, List<VelenStatement> fields, List<VelenOptionNode> options) {
+        super(header, fields);
+        this.options = options;
+    }
+
+    /**
+     * Retrieves the options of this subcommand in the order that they were written.
+     *
+     * @return The options of this subcommand.
+     */
+    public List<VelenOptionNode> getOptions() {
+        return options;
+    }
+
+}
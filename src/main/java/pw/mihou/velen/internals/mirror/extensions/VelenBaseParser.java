@@ -1,8 +1,12 @@
 package pw.mihou.velen.internals.mirror.extensions;
 
+import pw.mihou.velen.internals.mirror.entities.VelenStatement;
+import pw.mihou.velen.ratelimiter.entities.RatelimitScope;
+import pw.mihou.velen.ratelimiter.policies.VelenRatelimitPolicy;
 import pw.mihou.velen.utils.Pair;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.Arrays;
 
 public class VelenBaseParser {
@@ -27,6 +31,22 @@ public class VelenBaseParser {
                 "["+name+"]: \n" + error + ", please read the wiki for more information.");
     }
 
+    /**
+     * Creates a new illegal state argument exception
+     * that follows the readable format of Velen with the position of the statement.
+     *
+     * @param file The file that caused the issue.
+     * @param statement The statement that caused the issue.
+     * @param name The name of what is being parsed.
+     * @param error The error.
+     * @return A new illegal state exception.
+     */
+    public IllegalStateException error(File file, VelenStatement statement, String name, String error) {
+        throw new IllegalStateException("Failed to create "+type+" from the following file: ["+file.getPath()+"] at line "
+                + statement.getLine() + ", column " + statement.getColumn() + " with name [" + name + "]: \n" + error
+                + ", please read the wiki for more information.");
+    }
+
     public String[] array(String value) {
         String[] arr;
         if (value.startsWith("[") && value.endsWith("]"))
@@ -38,6 +58,78 @@ public class VelenBaseParser {
         return arr;
     }
 
+    /**
+     * Creates a rate-limit policy out of a value that follows the format of
+     * <b>[type, limit, (window in milliseconds), (scope)]</b>, for example: <b>[token_bucket, 5, 30000, user]</b>
+     * or <b>[concurrency, 2, global]</b>. The scope is optional and defaults to user.
+     *
+     * @param file The file that is being parsed.
+     * @param name The name of what is being parsed.
+     * @param value The value to parse.
+     * @return A new rate-limit policy.
+     */
+    public VelenRatelimitPolicy policy(File file, String name, String value) {
+        return policy(file, null, name, value);
+    }
+
+    /**
+     * Creates a rate-limit policy out of a field, see {@link VelenBaseParser#policy(File, String, String)}
+     * for the format of the value.
+     *
+     * @param file The file that is being parsed.
+     * @param statement The field to parse.
+     * @param name The name of what is being parsed.
+     * @return A new rate-limit policy.
+     */
+    public VelenRatelimitPolicy policy(File file, VelenStatement statement, String name) {
+        return policy(file, statement, name, statement.getValue());
+    }
+
+    private VelenRatelimitPolicy policy(File file, VelenStatement statement, String name, String value) {
+        String[] array = array(value);
+
+        try {
+            String type = array[0].toLowerCase();
+            int limit = Integer.parseInt(array[1]);
+
+            if (type.equals("concurrency")) {
+                return VelenRatelimitPolicy.ofConcurrency(limit, scope(file, statement, name, array, 2));
+            }
+
+            Duration window = Duration.ofMillis(Long.parseLong(array[2]));
+            RatelimitScope scope = scope(file, statement, name, array, 3);
+
+            switch (type) {
+                case "token_bucket":
+                    return VelenRatelimitPolicy.ofTokenBucket(limit, window, scope);
+                case "sliding_window":
+                case "sliding_window_log":
+                    return VelenRatelimitPolicy.ofSlidingWindowLog(limit, window, scope);
+                case "sliding_window_counter":
+                    return VelenRatelimitPolicy.ofSlidingWindowCounter(limit, window, scope);
+                default:
+                    throw errorAt(file, statement, name, "There is no rate-limit policy with the type of [" + array[0] + "]");
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw errorAt(file, statement, name, "The rate-limit policy [" + value + "] is invalid, it must follow the format of " +
+                    "[type, limit, window, scope] or [concurrency, permits, scope]");
+        }
+    }
+
+    private RatelimitScope scope(File file, VelenStatement statement, String name, String[] array, int index) {
+        if (array.length <= index)
+            return RatelimitScope.USER;
+
+        return Arrays.stream(RatelimitScope.values())
+                .filter(scope -> scope.name().equalsIgnoreCase(array[index]))
+                .findFirst()
+                .orElseThrow(() -> errorAt(file, statement, name, "There is no rate-limit scope with the name of [" + array[index] + "]"));
+    }
+
+    private IllegalStateException errorAt(File file, VelenStatement statement, String name, String error) {
+        return statement == null ? error(file, name, error) : error(file, statement, name, error);
+    }
+
     public Pair<String, String> arrayOfTwo(String value) {
         String[] array = array(value);
 
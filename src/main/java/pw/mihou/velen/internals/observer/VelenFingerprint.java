@@ -0,0 +1,129 @@
+package pw.mihou.velen.internals.observer;
+
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.interaction.SlashCommand;
+import org.javacord.api.interaction.SlashCommandOption;
+import org.javacord.api.interaction.SlashCommandOptionChoice;
+import pw.mihou.velen.interfaces.VelenCommand;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates the fingerprint of a slash command, this is a hash of the canonical form of the slash command
+ * (name, description, default permission, options, choices and nested options) that doesn't depend on the order
+ * of the options or choices. A {@link VelenCommand} and a {@link SlashCommand} with the same definition have the
+ * same fingerprint which lets {@link VelenObserver} compare commands without walking through their options.
+ */
+public class VelenFingerprint {
+
+    /**
+     * Creates the fingerprint of the slash command of a {@link VelenCommand}.
+     *
+     * @param command The command to create the fingerprint of.
+     * @return The fingerprint of the command.
+     */
+    public static String of(VelenCommand command) {
+        return hash(canonical(command.getName(), command.getDescription(),
+                command.isDefaultPermissionEnabled(), command.getOptions()));
+    }
+
+    /**
+     * Creates the fingerprint of a slash command that is registered on Discord.
+     *
+     * @param command The slash command to create the fingerprint of.
+     * @return The fingerprint of the slash command.
+     */
+    public static String of(SlashCommand command) {
+        boolean defaultPermission = command.getDefaultRequiredPermissions()
+                .map(permissions -> permissions.contains(PermissionType.ADMINISTRATOR))
+                .orElse(false);
+
+        return hash(canonical(command.getName(), command.getDescription(), defaultPermission, command.getOptions()));
+    }
+
+    private static String canonical(String name, String description, boolean defaultPermission, List<SlashCommandOption> options) {
+        StringBuilder builder = new StringBuilder();
+        append(builder, name.toLowerCase());
+        append(builder, description);
+        builder.append(defaultPermission ? 'A' : '-');
+        builder.append(options(options));
+        return builder.toString();
+    }
+
+    private static String options(List<SlashCommandOption> options) {
+        if (options == null || options.isEmpty())
+            return "[]";
+
+        List<String> canonical = new ArrayList<>(options.size());
+        for (SlashCommandOption option : options) {
+            StringBuilder builder = new StringBuilder();
+            builder.append(option.getType().getValue()).append(':');
+            append(builder, option.getName().toLowerCase());
+            append(builder, option.getDescription());
+            builder.append(option.isRequired() ? 'R' : '-').append(option.isAutocompletable() ? 'C' : '-');
+
+            List<String> channelTypes = new ArrayList<>();
+            option.getChannelTypes().forEach(type -> channelTypes.add(String.valueOf(type.getId())));
+            Collections.sort(channelTypes);
+            builder.append(channelTypes);
+
+            builder.append(option.getLongMinValue().map(String::valueOf).orElse("")).append(',')
+                    .append(option.getLongMaxValue().map(String::valueOf).orElse("")).append(',')
+                    .append(option.getDecimalMinValue().map(String::valueOf).orElse("")).append(',')
+                    .append(option.getDecimalMaxValue().map(String::valueOf).orElse(""));
+
+            builder.append(choices(option.getChoices()));
+            builder.append(options(option.getOptions()));
+            canonical.add(builder.toString());
+        }
+
+        // The order of the options doesn't matter for the fingerprint.
+        Collections.sort(canonical);
+        return canonical.toString();
+    }
+
+    private static String choices(List<SlashCommandOptionChoice> choices) {
+        if (choices == null || choices.isEmpty())
+            return "[]";
+
+        List<String> canonical = new ArrayList<>(choices.size());
+        for (SlashCommandOptionChoice choice : choices) {
+            StringBuilder builder = new StringBuilder();
+            append(builder, choice.getName());
+            builder.append(choice.getLongValue().isPresent() ? 'L' : 'S');
+            append(builder, choice.getValueAsString());
+            canonical.add(builder.toString());
+        }
+
+        Collections.sort(canonical);
+        return canonical.toString();
+    }
+
+    private static void append(StringBuilder builder, String value) {
+        // The length is written before every value so that no two different commands share the same canonical form.
+        String text = value == null ? "" : value;
+        builder.append(text.length()).append('#').append(text);
+    }
+
+    private static String hash(String canonical) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+
+            StringBuilder builder = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                builder.append(Character.forDigit((digest[i] >> 4) & 0xF, 16))
+                        .append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available on this Java runtime.", e);
+        }
+    }
+
+}
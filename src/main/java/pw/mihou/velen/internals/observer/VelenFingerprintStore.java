@@ -0,0 +1,151 @@
+package pw.mihou.velen.internals.observer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Remembers the fingerprints of the slash commands that were last synchronized with Discord in a
+ * local file, {@link VelenObserver} skips the fetching and comparing of a scope (the global commands or the
+ * commands of a server) when the fingerprints of the local commands are the same as the remembered ones.
+ * <br><br>
+ * The file is a properties file with keys in the form of {@code scope/name}, the scope being either
+ * {@code global} or the id of the server. Changes that are made to the slash commands outside of Velen
+ * are not noticed while the fingerprints match, you can delete the file to force a full comparison.
+ */
+public class VelenFingerprintStore {
+
+    private static final Logger logger = LoggerFactory.getLogger("Velen - Observer");
+    private static final char SEPARATOR = '/';
+
+    private final File file;
+    private final Map<String, Map<String, String>> scopes = new HashMap<>();
+    private boolean dirty;
+
+    /**
+     * Creates a new store that is backed by the file, the fingerprints
+     * of the file are loaded if the file exists.
+     *
+     * @param file The file to store the fingerprints in.
+     */
+    public VelenFingerprintStore(File file) {
+        this.file = file;
+
+        if (!file.exists())
+            return;
+
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            logger.warn("Failed to read the fingerprints from {}, every command will be compared with Discord.", file, e);
+            return;
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.indexOf(SEPARATOR);
+            if (separator == -1)
+                continue;
+
+            scopes.computeIfAbsent(key.substring(0, separator), scope -> new HashMap<>())
+                    .put(key.substring(separator + 1), properties.getProperty(key));
+        }
+    }
+
+    /**
+     * Checks whether the remembered fingerprints of the scope are exactly the same as the fingerprints.
+     *
+     * @param scope The scope of the commands.
+     * @param fingerprints The fingerprints of the commands by their lower-cased names.
+     * @return Are the fingerprints the same as the remembered ones?
+     */
+    public synchronized boolean matches(String scope, Map<String, String> fingerprints) {
+        return scopes.getOrDefault(scope, Collections.emptyMap()).equals(fingerprints);
+    }
+
+    /**
+     * Retrieves the remembered fingerprints of the scope.
+     *
+     * @param scope The scope of the commands.
+     * @return The fingerprints of the commands by their lower-cased names.
+     */
+    public synchronized Map<String, String> get(String scope) {
+        return new HashMap<>(scopes.getOrDefault(scope, Collections.emptyMap()));
+    }
+
+    /**
+     * Replaces the remembered fingerprints of the scope, the fingerprints are only written
+     * to the file on {@link VelenFingerprintStore#flush()}.
+     *
+     * @param scope The scope of the commands.
+     * @param fingerprints The fingerprints of the commands by their lower-cased names.
+     */
+    public synchronized void put(String scope, Map<String, String> fingerprints) {
+        if (matches(scope, fingerprints))
+            return;
+
+        if (fingerprints.isEmpty())
+            scopes.remove(scope);
+        else
+            scopes.put(scope, new HashMap<>(fingerprints));
+
+        dirty = true;
+    }
+
+    /**
+     * Forgets the remembered fingerprints of the scope and writes the change to the file,
+     * the scope is compared with Discord the next time it is observed.
+     *
+     * @param scope The scope of the commands.
+     */
+    public synchronized void invalidate(String scope) {
+        if (scopes.remove(scope) != null)
+            dirty = true;
+
+        flush();
+    }
+
+    /**
+     * Writes the fingerprints to the file if any of them have changed since the last write.
+     */
+    public synchronized void flush() {
+        if (!dirty)
+            return;
+
+        Properties properties = new Properties();
+        scopes.forEach((scope, fingerprints) -> fingerprints.forEach((name, fingerprint) ->
+                properties.setProperty(scope + SEPARATOR + name, fingerprint)));
+
+        // The fingerprints are written to a temporary file first so that the file is never half-written.
+        File temporary = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temporary), StandardCharsets.UTF_8)) {
+            properties.store(writer, "Velen slash command fingerprints");
+        } catch (IOException e) {
+            logger.warn("Failed to write the fingerprints to {}.", file, e);
+            return;
+        }
+
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                logger.warn("Failed to write the fingerprints to {}.", file, ex);
+                return;
+            }
+        }
+
+        dirty = false;
+    }
+
+}
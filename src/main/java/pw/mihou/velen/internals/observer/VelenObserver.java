@@ -1,24 +1,29 @@
 package pw.mihou.velen.internals.observer;
 
 import org.javacord.api.DiscordApi;
-import org.javacord.api.entity.permission.PermissionType;
 import org.javacord.api.entity.server.Server;
+import org.javacord.api.interaction.ApplicationCommand;
 import org.javacord.api.interaction.SlashCommand;
 import org.javacord.api.interaction.SlashCommandBuilder;
-import org.javacord.api.interaction.SlashCommandOption;
-import org.javacord.api.interaction.SlashCommandOptionChoice;
+import org.javacord.api.interaction.SlashCommandUpdater;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.javacord.api.util.logging.ExceptionLogger;
 import pw.mihou.velen.interfaces.Velen;
 import pw.mihou.velen.interfaces.VelenCommand;
 import pw.mihou.velen.internals.observer.modes.ObserverMode;
-import pw.mihou.velen.utils.Pair;
+import pw.mihou.velen.internals.observer.modes.ObserverRoute;
+import pw.mihou.velen.utils.VelenLimiter;
 import pw.mihou.velen.utils.VelenThreadPool;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -30,8 +35,24 @@ import java.util.stream.Collectors;
 public class VelenObserver {
 
     private static final Logger logger = LoggerFactory.getLogger("Velen - Observer");
+    private static final String GLOBAL = "global";
     private final DiscordApi api;
     private final ObserverMode mode;
+    private volatile VelenFingerprintStore fingerprints;
+    private final Map<ObserverRoute, VelenLimiter> budgets = new ConcurrentHashMap<>();
+    private volatile int pageSize = DEFAULT_PAGE_SIZE;
+    private volatile int concurrency = DEFAULT_CONCURRENCY;
+    private volatile File checkpoint;
+
+    /**
+     * The default amount of servers in a page of {@link VelenObserver#observeAllServers(Velen, DiscordApi...)}.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    /**
+     * The default amount of servers that are observed at the same time by {@link VelenObserver#observeAllServers(Velen, DiscordApi...)}.
+     */
+    public static final int DEFAULT_CONCURRENCY = 8;
 
     /**
      * This creates a new {@link VelenObserver} which observes for any changes
@@ -45,6 +66,81 @@ public class VelenObserver {
     public VelenObserver(DiscordApi api, ObserverMode mode) {
         this.api = api;
         this.mode = mode;
+
+        for (ObserverRoute route : ObserverRoute.values()) {
+            budgets.put(route, new VelenLimiter(route.getDefaultBudget()));
+        }
+    }
+
+    /**
+     * Sets the maximum amount of requests of the route that can be in flight at the same time,
+     * every route starts with {@link ObserverRoute#getDefaultBudget()}.
+     *
+     * @param route The route to limit.
+     * @param budget The maximum amount of requests in flight.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenObserver setRouteBudget(ObserverRoute route, int budget) {
+        budgets.put(route, new VelenLimiter(budget));
+        return this;
+    }
+
+    /**
+     * Sets the amount of servers in a page of {@link VelenObserver#observeAllServers(Velen, DiscordApi...)}, the
+     * checkpoint is written after every page.
+     *
+     * @param pageSize The amount of servers in a page.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenObserver setPageSize(int pageSize) {
+        if (pageSize <= 0)
+            throw new IllegalArgumentException("The page size of the observer must be greater than zero.");
+
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Sets the amount of servers that are observed at the same time by {@link VelenObserver#observeAllServers(Velen, DiscordApi...)}.
+     *
+     * @param concurrency The amount of servers that are observed at the same time.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenObserver setConcurrency(int concurrency) {
+        if (concurrency <= 0)
+            throw new IllegalArgumentException("The concurrency of the observer must be greater than zero.");
+
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets the file where {@link VelenObserver#observeAllServers(Velen, DiscordApi...)} remembers the last
+     * page that it finished, an interrupted observation continues after that page the next time. The file is
+     * deleted once every server was observed.
+     *
+     * @param checkpoint The checkpoint file, null to always start from the first server.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenObserver setCheckpointFile(File checkpoint) {
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    /**
+     * Sets the file where the fingerprints of the last synchronized slash commands are remembered, the
+     * observer skips fetching the slash commands of a scope (the global commands or the commands of a server) from
+     * Discord when none of the commands of that scope have changed since the last synchronization.
+     * <br><br>
+     * Changes that are made to the slash commands outside of Velen are not noticed while the commands are unchanged,
+     * delete the file to force a full comparison.
+     *
+     * @param file The file to remember the fingerprints in, null to always compare with Discord.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenObserver setFingerprintFile(File file) {
+        this.fingerprints = file == null ? null : new VelenFingerprintStore(file);
+        return this;
     }
 
     /**
@@ -59,10 +155,122 @@ public class VelenObserver {
      * @return A future that indicates progress or completion.
      */
     public CompletableFuture<Void> observeAllServers(Velen velen, DiscordApi... shards) {
-        return CompletableFuture.allOf(Arrays.stream(shards).map(DiscordApi::getServers)
-                .map(servers -> CompletableFuture.allOf(servers.stream().map(server -> observeServer(velen, server))
-                        .toArray(CompletableFuture[]::new)))
-                .toArray(CompletableFuture[]::new));
+        return sweepAllServers(velen, shards).thenApply(summary -> null);
+    }
+
+    /**
+     * Performs {@link VelenObserver#observeAllServers(Velen, DiscordApi...)} and returns the summary of the
+     * observation. The servers are walked in pages of {@link VelenObserver#setPageSize(int)} servers ordered by
+     * their ids, with {@link VelenObserver#setConcurrency(int)} servers being observed at the same time and every
+     * request kept within the budget of its {@link ObserverRoute}. The last finished page is written to the
+     * checkpoint file, if there is one, which lets an interrupted observation continue from there. The checkpoint
+     * never moves past a page where a server failed, a resumed observation starts from that page again.
+     *
+     * @param velen The Velen instance to fetch commands.
+     * @param shards The shards to fetch all the slash commands.
+     * @return The summary of the observation.
+     */
+    public CompletableFuture<VelenObserverSummary> sweepAllServers(Velen velen, DiscordApi... shards) {
+        long start = System.currentTimeMillis();
+        VelenObserverSummary summary = new VelenObserverSummary();
+
+        // The commands are grouped once instead of once for every server.
+        Map<Long, List<VelenCommand>> commands = velen.getCommands()
+                .stream()
+                .filter(VelenCommand::supportsSlashCommand)
+                .filter(VelenCommand::isServerOnly)
+                .collect(Collectors.groupingBy(VelenCommand::getServerId));
+
+        TreeMap<Long, Server> servers = new TreeMap<>();
+        for (DiscordApi shard : shards) {
+            shard.getServers().forEach(server -> servers.put(server.getId(), server));
+        }
+
+        long resumeAfter = readCheckpoint();
+        List<Server> pending = new ArrayList<>(servers.tailMap(resumeAfter, false).values());
+        if (resumeAfter != Long.MIN_VALUE)
+            logger.info("Resuming the observation after the server {}, {} servers are left.", resumeAfter, pending.size());
+
+        int size = pageSize;
+        int parallelism = concurrency;
+
+        AtomicBoolean failed = new AtomicBoolean();
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < pending.size(); from += size) {
+            List<Server> page = pending.subList(from, Math.min(pending.size(), from + size));
+            long last = page.get(page.size() - 1).getId();
+
+            chain = chain.thenCompose(ignored -> {
+                // The pages run one after another, which means any failure counted meanwhile belongs to this page.
+                long failures = summary.getFailures();
+
+                return VelenLimiter.all(page, parallelism, server ->
+                        observe(server, commands.getOrDefault(server.getId(), Collections.emptyList()),
+                                server::getSlashCommands, summary, false)
+                                .whenComplete((result, throwable) -> {
+                                    if (throwable != null)
+                                        failed.set(true);
+                                }))
+                        .thenRun(() -> {
+                            if (summary.getFailures() != failures)
+                                failed.set(true);
+
+                            flushFingerprints();
+
+                            if (!failed.get())
+                                writeCheckpoint(last);
+                        });
+            });
+        }
+
+        return chain.thenApply(ignored -> {
+            if (failed.get()) {
+                logger.warn("Some servers failed to be observed, the checkpoint was kept before the first of them. " +
+                        "It took {} milliseconds. {}", System.currentTimeMillis() - start, summary);
+                return summary;
+            }
+
+            deleteCheckpoint();
+            logger.info("All servers were observed. It took {} milliseconds. {}", System.currentTimeMillis() - start, summary);
+            return summary;
+        });
+    }
+
+    private long readCheckpoint() {
+        File file = checkpoint;
+        if (file == null || !file.exists())
+            return Long.MIN_VALUE;
+
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Failed to read the checkpoint from {}, the observation starts from the first server.", file, e);
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private void writeCheckpoint(long server) {
+        File file = checkpoint;
+        if (file == null)
+            return;
+
+        try {
+            Files.write(file.toPath(), String.valueOf(server).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Failed to write the checkpoint to {}.", file, e);
+        }
+    }
+
+    private void deleteCheckpoint() {
+        File file = checkpoint;
+        if (file == null)
+            return;
+
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            logger.warn("Failed to delete the checkpoint {}.", file, e);
+        }
     }
 
     /**
@@ -78,10 +286,11 @@ public class VelenObserver {
                 .stream()
                 .filter(VelenCommand::supportsSlashCommand)
                 .filter(VelenCommand::isServerOnly)
-                .filter(s -> s.asSlashCommand().getLeft() != 0L && s.asSlashCommand().getLeft() != null && s.asSlashCommand().getLeft() == server.getId())
+                .filter(s -> s.asSlashCommand().getLeft() != null && s.asSlashCommand().getLeft() == server.getId())
                 .collect(Collectors.toList());
 
-        return server.getSlashCommands().thenAcceptAsync(slashCommands -> commands.forEach(velenCommand -> finalizeServer(server, slashCommands, commands)));
+        return observe(server, commands, server::getSlashCommands, new VelenObserverSummary(), false)
+                .whenComplete((ignored, throwable) -> flushFingerprints());
     }
 
     /**
@@ -101,38 +310,36 @@ public class VelenObserver {
                 .sorted(Comparator.comparingInt(DiscordApi::getCurrentShard))
                 .collect(Collectors.toList());
 
-        List<VelenCommand> commands = velen.getCommands()
+        // The commands are grouped by their server so every server is only fetched once.
+        Map<Long, List<VelenCommand>> servers = velen.getCommands()
                 .stream()
                 .filter(VelenCommand::supportsSlashCommand)
                 .filter(VelenCommand::isServerOnly)
-                .filter(s -> s.asSlashCommand().getLeft() != 0L && s.asSlashCommand().getLeft() != null)
-                .collect(Collectors.toList());
+                .filter(s -> s.asSlashCommand().getLeft() != null && s.asSlashCommand().getLeft() != 0L)
+                .collect(Collectors.groupingBy(s -> s.asSlashCommand().getLeft(), LinkedHashMap::new, Collectors.toList()));
+
+        VelenObserverSummary summary = new VelenObserverSummary();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        servers.forEach((id, commands) -> {
+            Optional<Server> server = shards.stream()
+                    .map(discordApi -> discordApi.getServerById(id))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst();
 
-        // We need to store the received lists of all the servers
-        // temporarily to reduce requests.
-        Map<Long, List<SlashCommand>> serverSlashCommands = new HashMap<>();
-
-        // We are executing something non-asynchronous inside
-        // so we need to run this entire thing outside the current thread.
-        return CompletableFuture.runAsync(() -> commands.forEach(v -> {
-            Pair<Long, SlashCommandBuilder> pair = v.asSlashCommand();
-
-            Server server = shards.stream()
-                    .filter(discordApi -> discordApi.getServerById(pair.getLeft()).isPresent())
-                    .map(discordApi -> discordApi.getServerById(pair.getLeft())
-                            .orElseThrow(() -> new NullPointerException("There is something fishy here, please report to Javacord issues.")))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("The command " + v.getName()
-                            + "'s server " + pair.getLeft() + " cannot be found through all " + shards.get(0).getTotalShards() + " shards."));
-
-            if (!serverSlashCommands.containsKey(pair.getLeft())) {
-                serverSlashCommands.put(pair.getLeft(), api.getServerSlashCommands(server).join());
+            if (!server.isPresent()) {
+                CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new IllegalArgumentException("The command " + commands.get(0).getName()
+                        + "'s server " + id + " cannot be found through all " + shards.get(0).getTotalShards() + " shards."));
+                futures.add(failed);
+                return;
             }
 
-            List<SlashCommand> slashCommands = serverSlashCommands.get(pair.getLeft());
+            futures.add(observe(server.get(), commands, server.get()::getSlashCommands, summary, false));
+        });
 
-            finalizeServer(server, slashCommands, commands);
-        }), VelenThreadPool.executorService);
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, throwable) -> flushFingerprints());
     }
 
     /**
@@ -146,233 +353,328 @@ public class VelenObserver {
         List<VelenCommand> commands = velen.getCommands()
                 .stream()
                 .filter(VelenCommand::supportsSlashCommand)
-                .filter(s -> s.asSlashCommand().getLeft() == 0L || s.asSlashCommand().getLeft() == null)
+                .filter(s -> s.asSlashCommand().getLeft() == null || s.asSlashCommand().getLeft() == 0L)
                 .collect(Collectors.toList());
 
-        return api.getGlobalSlashCommands().thenAcceptAsync(slashCommands -> {
-
-            if (mode.isCreate()) {
-                existentialFilter(commands, slashCommands).forEach(command -> {
-                    long start = System.currentTimeMillis();
-                    command.asSlashCommand().getRight().createGlobal(api).thenAccept(slashCommand ->
-                            logger.info("Application command was created. [name={}, description={}, id={}]. It took {} milliseconds.", slashCommand.getName(), slashCommand.getDescription(),
-                                    slashCommand.getId(), System.currentTimeMillis() - start))
-                        .exceptionally(ExceptionLogger.get());
-                });
-            }
-
-            if (mode.isUpdate()) {
-                crustFilter(commands, slashCommands).forEach((aLong, velenCommand) -> {
-                    long start = System.currentTimeMillis();
+        return observe(null, commands, api::getGlobalSlashCommands, new VelenObserverSummary(), false)
+                .whenComplete((ignored, throwable) -> flushFingerprints());
+    }
 
-                    velenCommand.asSlashCommandUpdater(aLong).getRight().updateGlobal(api)
-                                    .thenAccept(slashCommand -> logger.info("Application command was updated. [name={}, description={}, id={}]. It took {} milliseconds.",
-                                        slashCommand.getName(), slashCommand.getDescription(), slashCommand.getId(), System.currentTimeMillis() - start))
-                        .exceptionally(ExceptionLogger.get());
-                });
-            }
+    /**
+     * Observes the global commands for {@link VelenReconciler}.
+     *
+     * @param commands The global commands.
+     * @param summary The summary of the observation.
+     * @param verify Should the slash commands be fetched even if the fingerprints match?
+     * @return A future to indicate progress.
+     */
+    CompletableFuture<Void> observeGlobal(List<VelenCommand> commands, VelenObserverSummary summary, boolean verify) {
+        return observe(null, commands, api::getGlobalSlashCommands, summary, verify);
+    }
 
-            if (!mode.isUpdate() && !mode.isCreate()) {
-                existentialFilter(commands, slashCommands).forEach(command -> logger.warn("Application command is not registered on Discord API. [{}]", command.toString()));
-                crustFilter(commands, slashCommands).forEach((aLong, velenCommand) ->
-                        logger.warn("Application command requires updating. [id={}, {}]", aLong, velenCommand.toString()));
-            }
+    /**
+     * Observes the commands of a server for {@link VelenReconciler}.
+     *
+     * @param server The server to observe.
+     * @param commands The commands of the server.
+     * @param summary The summary of the observation.
+     * @param verify Should the slash commands be fetched even if the fingerprints match?
+     * @return A future to indicate progress.
+     */
+    CompletableFuture<Void> observeServer(Server server, List<VelenCommand> commands, VelenObserverSummary summary, boolean verify) {
+        return observe(server, commands, server::getSlashCommands, summary, verify);
+    }
 
-        });
+    /**
+     * Writes the fingerprints that were remembered since the last write to the fingerprint file, the
+     * fingerprints are written in batches instead of after every scope.
+     */
+    void flushFingerprints() {
+        VelenFingerprintStore store = fingerprints;
+        if (store != null)
+            store.flush();
     }
 
+    int getConcurrency() {
+        return concurrency;
+    }
 
     /**
-     * This performs the filter to check if a slash command is registered
-     * or not in the Discord API.
+     * Performs an observation check for a single scope, the slash commands of the scope are
+     * only fetched when the fingerprints of the commands differ from the last synchronization.
      *
-     * @param commands The commands to validate.
-     * @param slashCommands The slash commands registered to compare.
-     * @return A list of commands that haven't been registered to the Discord API.
+     * @param server The server of the commands, null for global commands.
+     * @param commands The commands of the scope.
+     * @param remote Fetches the slash commands of the scope from Discord.
+     * @param summary The summary of the observation.
+     * @param verify Should the slash commands be fetched even if the fingerprints match?
+     * @return A future to indicate progress.
      */
-    private List<VelenCommand> existentialFilter(List<VelenCommand> commands, List<SlashCommand> slashCommands) {
-        return commands.stream()
-                .filter(s -> slashCommands.stream()
-                        .map(SlashCommand::getName)
-                        .noneMatch(s1 -> s1.equalsIgnoreCase(s.getName())))
-                .collect(Collectors.toList());
+    private CompletableFuture<Void> observe(Server server, List<VelenCommand> commands,
+                                            Supplier<CompletableFuture<List<SlashCommand>>> remote, VelenObserverSummary summary,
+                                            boolean verify) {
+        String scope = server == null ? GLOBAL : String.valueOf(server.getId());
+        Map<String, VelenCommand> local = byName(commands);
+
+        Map<String, String> localFingerprints = new HashMap<>();
+        local.forEach((name, command) -> localFingerprints.put(name, VelenFingerprint.of(command)));
+
+        // Without any commands, there is nothing to create or update unless the scope would be overwritten.
+        if (local.isEmpty() && !mode.isOverwrite()) {
+            summary.scope(true);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        VelenFingerprintStore store = fingerprints;
+        if (!verify && store != null && store.matches(scope, localFingerprints)) {
+            logger.debug("The application commands of {} are unchanged since the last synchronization.", scope);
+            summary.scope(true);
+            summary.unchanged(local.size());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return request(ObserverRoute.FETCH, remote)
+                .whenComplete((slashCommands, throwable) -> {
+                    if (throwable != null) {
+                        summary.failed();
+                        logger.error("Failed to fetch the application commands of " + scope + ".", throwable);
+                    }
+                })
+                .thenComposeAsync(slashCommands -> finalizeScope(server, scope, local, localFingerprints, slashCommands, summary),
+                        VelenThreadPool.executorService);
+    }
+
+    private <T> CompletableFuture<T> request(ObserverRoute route, Supplier<CompletableFuture<T>> request) {
+        return budgets.get(route).submit(request);
+    }
+
+    private static Map<String, VelenCommand> byName(List<VelenCommand> commands) {
+        Map<String, VelenCommand> local = new LinkedHashMap<>();
+        commands.forEach(command -> local.putIfAbsent(command.getName().toLowerCase(), command));
+        return local;
     }
 
     /**
      * This performs the filter to check if a slash command is registered
      * or not in the Discord API.
      *
-     * @param commands The commands to validate.
-     * @param slashCommands The slash commands registered to compare.
-     * @return A list of commands that have been registered to the Discord API.
+     * @param commands The commands to validate by their lower-cased names.
+     * @param slashCommands The slash commands registered by their lower-cased names.
+     * @return A list of commands that haven't been registered to the Discord API.
      */
-    private List<VelenCommand> existingFilter(List<VelenCommand> commands, List<SlashCommand> slashCommands) {
-        return commands.stream()
-                .filter(s -> slashCommands.stream()
-                        .map(SlashCommand::getName)
-                        .anyMatch(s1 -> s1.equalsIgnoreCase(s.getName())))
-                .collect(Collectors.toList());
+    private List<VelenCommand> existentialFilter(Map<String, VelenCommand> commands, Map<String, SlashCommand> slashCommands) {
+        List<VelenCommand> missing = new ArrayList<>();
+        commands.forEach((name, command) -> {
+            if (!slashCommands.containsKey(name))
+                missing.add(command);
+        });
+
+        return missing;
     }
 
     /**
-     * This performs a filter that maps out the first depth differences
-     * of the already existing commands and validates whether any has changed.
+     * This performs a filter that compares the fingerprints of the already existing
+     * commands and validates whether any has changed.
      *
-     * @param commands The commands to validate.
-     * @param slashCommands The slash commands registered to compare.
+     * @param commands The commands to validate by their lower-cased names.
+     * @param fingerprints The fingerprints of the commands by their lower-cased names.
+     * @param slashCommands The slash commands registered by their lower-cased names.
      * @return A list of commands that needs to be updated in the Discord API.
      */
-    private Map<Long, VelenCommand> crustFilter(List<VelenCommand> commands, List<SlashCommand> slashCommands) {
-        List<VelenCommand> commandList = existingFilter(commands, slashCommands);
-        
-        if (commandList.isEmpty())
-            return Collections.emptyMap();
-
-        AtomicReference<Map<Long, VelenCommand>> reference = new AtomicReference<>(new HashMap<>());
-        commandList.forEach(command -> {
-            SlashCommand slashCommand = slashCommands.stream()
-                    .filter(s -> s.getName().equalsIgnoreCase(command.getName()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("The observer was unable to find a command that is supposed to match, did a bit-flip happen?"));
-
-            if (!command.getDescription().equalsIgnoreCase(slashCommand.getDescription())) {
-                reference.get().put(slashCommand.getId(), command);
-                return;
-            }
+    private Map<Long, VelenCommand> crustFilter(Map<String, VelenCommand> commands, Map<String, String> fingerprints,
+                                                Map<String, SlashCommand> slashCommands) {
+        Map<Long, VelenCommand> differences = new HashMap<>();
+        commands.forEach((name, command) -> {
+            SlashCommand slashCommand = slashCommands.get(name);
 
-            if (slashCommand.getDefaultRequiredPermissions().map(permissionTypes -> permissionTypes.contains(PermissionType.ADMINISTRATOR)).orElse(false) != command.isDefaultPermissionEnabled()) {
-                reference.get().put(slashCommand.getId(), command);
-                return;
-            }
-
-            reference.set(depthFilter(command, slashCommand, reference.get(), slashCommand.getOptions(), command.getOptions()));
+            if (slashCommand != null && !VelenFingerprint.of(slashCommand).equals(fingerprints.get(name)))
+                differences.put(slashCommand.getId(), command);
         });
 
-        return reference.get();
+        return differences;
     }
 
     /**
-     * This performs a filter that checks the options, choices and other
-     * deeper levels of two commands and compares them.
+     * This performs finalization on a scope, creating and updating the commands
+     * depending on the mode and remembering the fingerprints once the scope is synchronized.
      *
-     * @param command The command to check.
-     * @param slashCommand The slash command equivalent to check.
-     * @param differences The differences in the two.
-     * @param slashCommandOptions The options to check.
-     * @param velenCommandOptions The velen options to check.
-     * @return
+     * @param server The server to check, null for global commands.
+     * @param scope The scope of the commands.
+     * @param commands The commands to check by their lower-cased names.
+     * @param localFingerprints The fingerprints of the commands by their lower-cased names.
+     * @param slashCommands The slash commands to check.
+     * @param summary The summary of the observation.
+     * @return A future to indicate progress.
      */
-    private Map<Long, VelenCommand> depthFilter(VelenCommand command, SlashCommand slashCommand, Map<Long, VelenCommand> differences,
-                                           List<SlashCommandOption> slashCommandOptions, List<SlashCommandOption> velenCommandOptions) {
-
-        // This checks if the slash command option is present on Discord API
-        // but removed on Velen.
-        slashCommandOptions.forEach(slashCommandOption -> {
-            Optional<SlashCommandOption> velenOptional = velenCommandOptions.stream()
-                    .filter(o -> o.getName().equalsIgnoreCase(slashCommandOption.getName()))
-                    .filter(o -> o.getDescription().equals(slashCommandOption.getDescription()))
-                    .filter(o -> o.isRequired() == slashCommandOption.isRequired())
-                    .filter(o -> o.getType().getValue() == slashCommandOption.getType().getValue())
-                    .findFirst();
-
-            if (!velenOptional.isPresent()) {
-                differences.put(slashCommand.getId(), command);
-            }
-        });
-
-        velenCommandOptions.forEach(slashCommandOption -> {
-            Optional<SlashCommandOption> velenOptional = slashCommandOptions.stream()
-                    .filter(o -> o.getName().equalsIgnoreCase(slashCommandOption.getName()))
-                    .filter(o -> o.getDescription().equals(slashCommandOption.getDescription()))
-                    .filter(o -> o.isRequired() == slashCommandOption.isRequired())
-                    .filter(o -> o.getType().getValue() == slashCommandOption.getType().getValue())
-                    .findFirst();
-
-            if (!velenOptional.isPresent()) {
-                differences.put(slashCommand.getId(), command);
-                return;
+    private CompletableFuture<Void> finalizeScope(Server server, String scope, Map<String, VelenCommand> commands,
+                                                  Map<String, String> localFingerprints, List<SlashCommand> slashCommands,
+                                                  VelenObserverSummary summary) {
+        Map<String, SlashCommand> remote = new HashMap<>();
+        slashCommands.forEach(slashCommand -> remote.putIfAbsent(slashCommand.getName().toLowerCase(), slashCommand));
+
+        List<VelenCommand> missing = existentialFilter(commands, remote);
+        Map<Long, VelenCommand> changed = crustFilter(commands, localFingerprints, remote);
+
+        summary.scope(false);
+        summary.unchanged(commands.size() - missing.size() - changed.size());
+
+        if (mode.isOverwrite()) {
+            // Slash commands that aren't in Velen anymore are removed by the overwrite as well.
+            boolean hasRemovals = remote.keySet().stream().anyMatch(name -> !commands.containsKey(name));
+            if (missing.isEmpty() && changed.isEmpty() && !hasRemovals) {
+                remember(scope, localFingerprints);
+                return CompletableFuture.completedFuture(null);
             }
 
-            SlashCommandOption option = velenOptional.get();
-
-            // Time to start checking the choices for any differences.
-            option.getChoices().forEach(choice -> {
-                Optional<SlashCommandOptionChoice> oChoice = slashCommandOption
-                        .getChoices().stream()
-                        .filter(c -> c.getName().equalsIgnoreCase(choice.getName()))
-                        .filter(c -> c.getLongValue().isPresent() == choice.getLongValue().isPresent())
-                        .filter(c -> c.getStringValue().isPresent() == choice.getStringValue().isPresent())
-                        .filter(c -> c.getValueAsString().equalsIgnoreCase(choice.getValueAsString()))
-                        .findFirst();
-
-                if (!oChoice.isPresent()) {
-                    differences.put(slashCommand.getId(), command);
-                    return;
+            return overwrite(server, commands).handle((overwritten, throwable) -> {
+                if (throwable == null) {
+                    summary.created(missing.size());
+                    summary.updated(changed.size());
+                    remember(scope, localFingerprints);
+                    return CompletableFuture.<Void>completedFuture(null);
                 }
 
-                SlashCommandOptionChoice kO = oChoice.get();
-
-                if ((kO.getLongValue().isPresent() && choice.getLongValue().isPresent())
-                        && (kO.getLongValue().get().equals(choice.getLongValue().get()))) {
-                    differences.put(slashCommand.getId(), command);
-                    return;
-                }
-
-                if (kO.getStringValue().isPresent() && choice.getStringValue().isPresent()
-                        && !kO.getStringValue().get().equalsIgnoreCase(choice.getStringValue().get())) {
-                    differences.put(slashCommand.getId(), command);
-                }
-            });
-
-            // Break off from the repeated loop after this.
-            if (option.getOptions().isEmpty() && slashCommandOption.getOptions().isEmpty()) {
-                return;
-            }
-
-            // We'll have to generate a new HashMap to prevent duplication.
-            differences.putAll(depthFilter(command, slashCommand, new HashMap<>(),
-                    option.getOptions(), slashCommandOption.getOptions()));
-        });
+                // The failure is only counted if updating every command fails as well.
+                summary.fallback();
+                logger.warn("Failed to overwrite the application commands of {}, falling back to updating every command.", scope, throwable);
+                return write(server, scope, localFingerprints, missing, changed, summary);
+            }).thenCompose(future -> future);
+        }
 
-        return differences;
+        return write(server, scope, localFingerprints, missing, changed, summary);
     }
 
     /**
-     * This performs finalization on server-command checks for Velen.
+     * Creates and updates the commands one by one depending on the mode, the fingerprints
+     * are remembered once Discord has every command as it is in Velen.
      *
-     * @param server The server to check.
-     * @param slashCommands The slash commands to check.
-     * @param commands The commands to check.
+     * @param server The server of the commands, null for global commands.
+     * @param scope The scope of the commands.
+     * @param localFingerprints The fingerprints of the commands by their lower-cased names.
+     * @param missing The commands that aren't registered on Discord.
+     * @param changed The commands that need to be updated by the id of their slash command.
+     * @param summary The summary of the observation.
+     * @return A future to indicate progress.
      */
-    private void finalizeServer(Server server, List<SlashCommand> slashCommands, List<VelenCommand> commands) {
+    private CompletableFuture<Void> write(Server server, String scope, Map<String, String> localFingerprints,
+                                          List<VelenCommand> missing, Map<Long, VelenCommand> changed, VelenObserverSummary summary) {
+        List<CompletableFuture<SlashCommand>> writes = new ArrayList<>();
+
         if (mode.isCreate()) {
-            existentialFilter(commands, slashCommands).forEach(command -> {
-                long start = System.currentTimeMillis();
-                command.asSlashCommand().getRight().createForServer(server).thenAccept(slashCommand ->
-                                logger.info("Application command was created for server {}. [name={}, description={}, id={}]. It took {} milliseconds.",
-                                        server.getId(),
-                                        slashCommand.getName(), slashCommand.getDescription(),
-                                        slashCommand.getId(), System.currentTimeMillis() - start))
-                        .exceptionally(ExceptionLogger.get());
-            });
+            missing.forEach(command -> writes.add(create(server, command, summary)));
+        } else {
+            summary.pending(missing.size());
         }
 
         if (mode.isUpdate()) {
-            crustFilter(commands, slashCommands).forEach((aLong, velenCommand) -> {
-                long start = System.currentTimeMillis();
-
-                velenCommand.asSlashCommandUpdater(aLong).getRight().updateForServer(server)
-                        .thenAccept(slashCommand -> logger.info("Application command was updated for server {}. [name={}, description={}, id={}]. It took {} milliseconds.",
-                                server.getId(), slashCommand.getName(), slashCommand.getDescription(), slashCommand.getId(), System.currentTimeMillis() - start))
-                        .exceptionally(ExceptionLogger.get());
-            });
+            changed.forEach((id, command) -> writes.add(update(server, id, command, summary)));
+        } else {
+            summary.pending(changed.size());
         }
 
         if (!mode.isUpdate() && !mode.isCreate()) {
-            existentialFilter(commands, slashCommands).forEach(command -> logger.warn("Application command is not registered on Discord API. [{}]", command.toString()));
-            crustFilter(commands, slashCommands).forEach((aLong, velenCommand) ->
+            missing.forEach(command -> logger.warn("Application command is not registered on Discord API. [{}]", command.toString()));
+            changed.forEach((aLong, velenCommand) ->
                     logger.warn("Application command requires updating. [id={}, {}]", aLong, velenCommand.toString()));
         }
+
+        // The fingerprints are only remembered once Discord has every command as it is in Velen.
+        boolean isSynchronized = (missing.isEmpty() || mode.isCreate()) && (changed.isEmpty() || mode.isUpdate());
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).handle((ignored, throwable) -> {
+            if (isSynchronized && throwable == null)
+                remember(scope, localFingerprints);
+
+            return null;
+        });
+    }
+
+    private void remember(String scope, Map<String, String> localFingerprints) {
+        VelenFingerprintStore store = fingerprints;
+        if (store != null)
+            store.put(scope, localFingerprints);
+    }
+
+    /**
+     * Replaces all the commands of the scope with the commands in a single request.
+     *
+     * @param server The server of the commands, null for global commands.
+     * @param commands The commands that the scope should have.
+     * @return The commands that Discord has after the overwrite.
+     */
+    private CompletableFuture<List<ApplicationCommand>> overwrite(Server server, Map<String, VelenCommand> commands) {
+        List<SlashCommandBuilder> builders = commands.values().stream()
+                .map(command -> command.asSlashCommand().getRight())
+                .collect(Collectors.toList());
+
+        long[] start = new long[1];
+        return request(ObserverRoute.OVERWRITE, () -> {
+            start[0] = System.currentTimeMillis();
+            return server == null ? api.bulkOverwriteGlobalApplicationCommands(builders)
+                    : api.bulkOverwriteServerApplicationCommands(server, builders);
+        }).whenComplete((applicationCommands, throwable) -> {
+            if (throwable != null)
+                return;
+
+            if (server == null) {
+                logger.info("Application commands were overwritten. [commands={}]. It took {} milliseconds.",
+                        applicationCommands.size(), System.currentTimeMillis() - start[0]);
+            } else {
+                logger.info("Application commands were overwritten for server {}. [commands={}]. It took {} milliseconds.",
+                        server.getId(), applicationCommands.size(), System.currentTimeMillis() - start[0]);
+            }
+        });
+    }
+
+    private CompletableFuture<SlashCommand> create(Server server, VelenCommand command, VelenObserverSummary summary) {
+        SlashCommandBuilder builder = command.asSlashCommand().getRight();
+
+        long[] start = new long[1];
+        return request(ObserverRoute.CREATE, () -> {
+            start[0] = System.currentTimeMillis();
+            return server == null ? builder.createGlobal(api) : builder.createForServer(server);
+        }).whenComplete((slashCommand, throwable) -> {
+            if (throwable != null) {
+                summary.failed();
+                logger.error("Failed to create the application command " + command.getName() + ".", throwable);
+                return;
+            }
+
+            summary.created(1);
+
+            if (server == null) {
+                logger.info("Application command was created. [name={}, description={}, id={}]. It took {} milliseconds.", slashCommand.getName(),
+                        slashCommand.getDescription(), slashCommand.getId(), System.currentTimeMillis() - start[0]);
+            } else {
+                logger.info("Application command was created for server {}. [name={}, description={}, id={}]. It took {} milliseconds.",
+                        server.getId(), slashCommand.getName(), slashCommand.getDescription(), slashCommand.getId(), System.currentTimeMillis() - start[0]);
+            }
+        });
+    }
+
+    private CompletableFuture<SlashCommand> update(Server server, long id, VelenCommand command, VelenObserverSummary summary) {
+        SlashCommandUpdater updater = command.asSlashCommandUpdater(id).getRight();
+
+        long[] start = new long[1];
+        return request(ObserverRoute.UPDATE, () -> {
+            start[0] = System.currentTimeMillis();
+            return server == null ? updater.updateGlobal(api) : updater.updateForServer(server);
+        }).whenComplete((slashCommand, throwable) -> {
+            if (throwable != null) {
+                summary.failed();
+                logger.error("Failed to update the application command " + command.getName() + ".", throwable);
+                return;
+            }
+
+            summary.updated(1);
+
+            if (server == null) {
+                logger.info("Application command was updated. [name={}, description={}, id={}]. It took {} milliseconds.",
+                        slashCommand.getName(), slashCommand.getDescription(), slashCommand.getId(), System.currentTimeMillis() - start[0]);
+            } else {
+                logger.info("Application command was updated for server {}. [name={}, description={}, id={}]. It took {} milliseconds.",
+                        server.getId(), slashCommand.getName(), slashCommand.getDescription(), slashCommand.getId(), System.currentTimeMillis() - start[0]);
+            }
+        });
     }
 
 }
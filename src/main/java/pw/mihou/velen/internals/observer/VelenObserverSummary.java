@@ -0,0 +1,133 @@
+package pw.mihou.velen.internals.observer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The summary of an observation, this counts what happened to the commands of every scope
+ * (the global commands or the commands of a server) that was observed.
+ */
+public class VelenObserverSummary {
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder updated = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+    private final LongAdder scopes = new LongAdder();
+    private final LongAdder skippedScopes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    void created(int amount) {
+        created.add(amount);
+    }
+
+    void updated(int amount) {
+        updated.add(amount);
+    }
+
+    void unchanged(int amount) {
+        unchanged.add(amount);
+    }
+
+    void pending(int amount) {
+        pending.add(amount);
+    }
+
+    void scope(boolean skipped) {
+        scopes.increment();
+
+        if (skipped)
+            skippedScopes.increment();
+    }
+
+    void failed() {
+        failures.increment();
+    }
+
+    void fallback() {
+        fallbacks.increment();
+    }
+
+    /**
+     * Retrieves the amount of commands that were created.
+     *
+     * @return The amount of created commands.
+     */
+    public long getCreated() {
+        return created.sum();
+    }
+
+    /**
+     * Retrieves the amount of commands that were updated.
+     *
+     * @return The amount of updated commands.
+     */
+    public long getUpdated() {
+        return updated.sum();
+    }
+
+    /**
+     * Retrieves the amount of commands that were already up-to-date.
+     *
+     * @return The amount of unchanged commands.
+     */
+    public long getUnchanged() {
+        return unchanged.sum();
+    }
+
+    /**
+     * Retrieves the amount of commands that need to be created or updated but were
+     * not because the mode of the observer doesn't allow it.
+     *
+     * @return The amount of pending commands.
+     */
+    public long getPending() {
+        return pending.sum();
+    }
+
+    /**
+     * Retrieves the amount of scopes that were observed.
+     *
+     * @return The amount of observed scopes.
+     */
+    public long getScopes() {
+        return scopes.sum();
+    }
+
+    /**
+     * Retrieves the amount of scopes that weren't fetched because their fingerprints
+     * were the same as the last synchronization or because they have no commands.
+     *
+     * @return The amount of skipped scopes.
+     */
+    public long getSkippedScopes() {
+        return skippedScopes.sum();
+    }
+
+    /**
+     * Retrieves the amount of requests that failed.
+     *
+     * @return The amount of failed requests.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Retrieves the amount of scopes that couldn't be overwritten in a single request and had
+     * their commands created and updated one by one instead.
+     *
+     * @return The amount of fallbacks.
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "VelenObserverSummary{created=" + getCreated() + ", updated=" + getUpdated() + ", unchanged=" + getUnchanged()
+                + ", pending=" + getPending() + ", scopes=" + getScopes() + ", skippedScopes=" + getSkippedScopes()
+                + ", failures=" + getFailures() + ", fallbacks=" + getFallbacks() + "}";
+    }
+
+}
@@ -0,0 +1,336 @@
+package pw.mihou.velen.internals.observer;
+
+import org.javacord.api.DiscordApi;
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.listener.server.ServerJoinListener;
+import org.javacord.api.util.event.ListenerManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.mihou.velen.interfaces.Velen;
+import pw.mihou.velen.interfaces.VelenCommand;
+import pw.mihou.velen.utils.VelenLimiter;
+import pw.mihou.velen.utils.VelenThreadPool;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the slash commands on Discord in line with Velen while the bot is running, the reconciler
+ * periodically observes a rotating slice of the scopes (the global commands and the commands of every server)
+ * through a {@link VelenObserver} and observes servers as soon as the bot joins them.
+ * <br><br>
+ * Scopes whose commands haven't changed are skipped through the fingerprints of the observer (if the observer has
+ * a fingerprint file), every scope is still fetched from Discord once per {@link VelenReconciler#setVerifyAfter(Duration)}
+ * to notice changes that were made outside of Velen.
+ */
+public class VelenReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger("Velen - Reconciler");
+    private static final long GLOBAL = 0L;
+
+    private final VelenObserver observer;
+    private final Velen velen;
+    private final DiscordApi[] shards;
+    private final Map<Long, Long> verifiedAt = new ConcurrentHashMap<>();
+    private final List<ListenerManager<ServerJoinListener>> listeners = new ArrayList<>();
+
+    private volatile Duration interval = Duration.ofMinutes(15);
+    private volatile Duration jitter = Duration.ofMinutes(1);
+    private volatile Duration verifyAfter = Duration.ofHours(6);
+    private volatile int sliceSize = 250;
+
+    private long cursor = Long.MIN_VALUE;
+    private ScheduledFuture<?> scheduled;
+    private CompletableFuture<VelenObserverSummary> running;
+
+    private volatile VelenObserverSummary lastSummary;
+    private volatile Instant lastRun;
+    private volatile Duration lastDuration = Duration.ZERO;
+    private volatile int lastScopes;
+    private volatile long runs;
+
+    /**
+     * Creates a new reconciler.
+     *
+     * @param observer The observer that is used to observe the scopes.
+     * @param velen The Velen instance whose commands are kept in line.
+     * @param shards The shards whose servers are observed.
+     */
+    public VelenReconciler(VelenObserver observer, Velen velen, DiscordApi... shards) {
+        this.observer = observer;
+        this.velen = velen;
+        this.shards = shards;
+    }
+
+    /**
+     * Sets how long the reconciler waits between two runs, by default this is 15 minutes.
+     *
+     * @param interval The time between two runs.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenReconciler setInterval(Duration interval) {
+        if (interval.isNegative() || interval.isZero())
+            throw new IllegalArgumentException("The interval of the reconciler must be greater than zero.");
+
+        this.interval = interval;
+        return this;
+    }
+
+    /**
+     * Sets the maximum random delay that is added to every run, this keeps multiple
+     * instances of the bot from reconciling at the same time. By default, this is 1 minute.
+     *
+     * @param jitter The maximum random delay.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenReconciler setJitter(Duration jitter) {
+        if (jitter.isNegative())
+            throw new IllegalArgumentException("The jitter of the reconciler cannot be negative.");
+
+        this.jitter = jitter;
+        return this;
+    }
+
+    /**
+     * Sets how often every scope is fetched from Discord even if its fingerprints haven't changed,
+     * by default this is 6 hours. Scopes that the reconciler sees for the first time, such as every scope
+     * after a restart, are given a random point within this time to be fetched at.
+     *
+     * @param verifyAfter The time after which a scope is fetched again.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenReconciler setVerifyAfter(Duration verifyAfter) {
+        if (verifyAfter.isNegative())
+            throw new IllegalArgumentException("The verification time of the reconciler cannot be negative.");
+
+        this.verifyAfter = verifyAfter;
+        return this;
+    }
+
+    /**
+     * Sets the amount of scopes that are observed in a single run, by default this is 250.
+     *
+     * @param sliceSize The amount of scopes per run.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenReconciler setSliceSize(int sliceSize) {
+        if (sliceSize <= 0)
+            throw new IllegalArgumentException("The slice size of the reconciler must be greater than zero.");
+
+        this.sliceSize = sliceSize;
+        return this;
+    }
+
+    /**
+     * Starts the reconciler, this schedules the first run and starts observing
+     * the servers that the shards join.
+     *
+     * @return The current instance in order to chain call methods.
+     */
+    public synchronized VelenReconciler start() {
+        if (scheduled != null)
+            return this;
+
+        for (DiscordApi shard : shards) {
+            listeners.add(shard.addServerJoinListener(event -> onServerJoin(event.getServer())));
+        }
+
+        schedule();
+        return this;
+    }
+
+    /**
+     * Stops the reconciler, a run that is in progress is allowed to finish.
+     */
+    public synchronized void stop() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+
+        listeners.forEach(ListenerManager::remove);
+        listeners.clear();
+    }
+
+    private synchronized void schedule() {
+        long delay = interval.toMillis();
+        long maximumJitter = jitter.toMillis();
+
+        if (maximumJitter > 0)
+            delay += ThreadLocalRandom.current().nextLong(maximumJitter + 1);
+
+        scheduled = VelenThreadPool.schedule(() -> {
+            CompletableFuture<VelenObserverSummary> run;
+            try {
+                run = runNow();
+            } catch (Throwable throwable) {
+                // A run that fails before it starts must not stop the reconciler for good.
+                run = new CompletableFuture<>();
+                run.completeExceptionally(throwable);
+            }
+
+            run.whenComplete((summary, throwable) -> {
+                if (throwable != null)
+                    logger.error("The reconciliation failed.", throwable);
+
+                synchronized (this) {
+                    if (scheduled != null)
+                        schedule();
+                }
+            });
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void onServerJoin(Server server) {
+        List<VelenCommand> commands = velen.getCommands().stream()
+                .filter(VelenCommand::supportsSlashCommand)
+                .filter(command -> command.isServerOnly() && command.getServerId() == server.getId())
+                .collect(Collectors.toList());
+
+        if (commands.isEmpty())
+            return;
+
+        observer.observeServer(server, commands, new VelenObserverSummary(), true)
+                .thenRun(() -> verifiedAt.put(server.getId(), System.currentTimeMillis()))
+                .whenComplete((ignored, throwable) -> observer.flushFingerprints())
+                .exceptionally(throwable -> {
+                    logger.error("Failed to reconcile the server " + server.getId() + " after joining it.", throwable);
+                    return null;
+                });
+    }
+
+    /**
+     * Runs the reconciliation of the next slice of scopes right away, if a run is
+     * already in progress then the future of that run is returned.
+     *
+     * @return The summary of the run.
+     */
+    public synchronized CompletableFuture<VelenObserverSummary> runNow() {
+        if (running != null && !running.isDone())
+            return running;
+
+        long start = System.currentTimeMillis();
+        VelenObserverSummary summary = new VelenObserverSummary();
+
+        Map<Long, List<VelenCommand>> commands = velen.getCommands().stream()
+                .filter(VelenCommand::supportsSlashCommand)
+                .collect(Collectors.groupingBy(command -> command.isServerOnly() ? command.getServerId() : GLOBAL));
+
+        // The global commands are treated as the scope with the id zero which places them first in the rotation.
+        TreeMap<Long, Server> scopes = new TreeMap<>();
+        scopes.put(GLOBAL, null);
+        for (DiscordApi shard : shards) {
+            shard.getServers().forEach(server -> scopes.put(server.getId(), server));
+        }
+
+        List<Long> slice = next(scopes);
+        long verifyAfter = this.verifyAfter.toMillis();
+        long verifyBefore = start - verifyAfter;
+
+        running = VelenLimiter.all(slice, observer.getConcurrency(), id -> {
+            List<VelenCommand> scoped = commands.getOrDefault(id, Collections.emptyList());
+
+            // Scopes that weren't seen before (such as every scope after a restart) are spread over the verification
+            // time instead of all being fetched in the first rotation, the fingerprints are trusted until then.
+            long verified = verifiedAt.computeIfAbsent(id, key -> start - ThreadLocalRandom.current().nextLong(verifyAfter + 1));
+            boolean verify = verified <= verifyBefore;
+
+            CompletableFuture<Void> future = id == GLOBAL ? observer.observeGlobal(scoped, summary, verify)
+                    : observer.observeServer(scopes.get(id), scoped, summary, verify);
+
+            return future.thenRun(() -> {
+                if (verify)
+                    verifiedAt.put(id, System.currentTimeMillis());
+            });
+        }).whenComplete((ignored, throwable) -> observer.flushFingerprints()).thenApply(ignored -> {
+            // Servers that the shards have left are forgotten.
+            verifiedAt.keySet().retainAll(scopes.keySet());
+
+            lastSummary = summary;
+            lastRun = Instant.ofEpochMilli(start);
+            lastDuration = Duration.ofMillis(System.currentTimeMillis() - start);
+            lastScopes = slice.size();
+            runs++;
+
+            logger.debug("Reconciled {} scopes in {} milliseconds. {}", slice.size(), lastDuration.toMillis(), summary);
+            return summary;
+        });
+
+        return running;
+    }
+
+    /**
+     * Takes the next slice of scopes after the cursor, wrapping around to the first scope.
+     *
+     * @param scopes All the scopes ordered by their ids.
+     * @return The ids of the scopes in the slice.
+     */
+    private List<Long> next(TreeMap<Long, Server> scopes) {
+        int size = Math.min(sliceSize, scopes.size());
+        List<Long> slice = new ArrayList<>(size);
+
+        Iterator<Long> iterator = scopes.tailMap(cursor, false).keySet().iterator();
+        while (slice.size() < size) {
+            if (!iterator.hasNext())
+                iterator = scopes.keySet().iterator();
+
+            slice.add(iterator.next());
+        }
+
+        cursor = slice.get(slice.size() - 1);
+        return slice;
+    }
+
+    /**
+     * Retrieves the summary of the last finished run.
+     *
+     * @return The summary of the last run.
+     */
+    public Optional<VelenObserverSummary> getLastSummary() {
+        return Optional.ofNullable(lastSummary);
+    }
+
+    /**
+     * Retrieves when the last finished run started.
+     *
+     * @return The start of the last run.
+     */
+    public Optional<Instant> getLastRun() {
+        return Optional.ofNullable(lastRun);
+    }
+
+    /**
+     * Retrieves how long the last finished run took.
+     *
+     * @return The duration of the last run.
+     */
+    public Duration getLastDuration() {
+        return lastDuration;
+    }
+
+    /**
+     * Retrieves the amount of scopes that were observed in the last finished run.
+     *
+     * @return The amount of scopes of the last run.
+     */
+    public int getLastScopes() {
+        return lastScopes;
+    }
+
+    /**
+     * Retrieves the amount of runs that have finished.
+     *
+     * @return The amount of finished runs.
+     */
+    public long getRuns() {
+        return runs;
+    }
+
+}
@@ -26,10 +26,20 @@ public enum ObserverMode {
      * This mode tells {@link pw.mihou.velen.internals.observer.VelenObserver} that it should
      * update or create any commands that needs to be created or updated.
      */
-    MASTER(true, true);
+    MASTER(true, true),
+
+    /**
+     * This mode tells {@link pw.mihou.velen.internals.observer.VelenObserver} to replace all the
+     * commands of a scope (the global commands or the commands of a server) with the commands of Velen
+     * in a single request whenever anything differs, this also <b>deletes</b> any commands of the scope that
+     * aren't registered in Velen. The observer falls back to {@link ObserverMode#MASTER} for the scope
+     * if the commands couldn't be replaced in bulk.
+     */
+    OVERWRITE(true, true, true);
 
     private final boolean update;
     private final boolean create;
+    private final boolean overwrite;
 
     /**
      * Creates a new Observer Mode that either allows creation or
@@ -39,8 +49,21 @@ public enum ObserverMode {
      * @param create To allow creating of commands?
      */
     ObserverMode(boolean update, boolean create) {
+        this(update, create, false);
+    }
+
+    /**
+     * Creates a new Observer Mode that either allows creation, updating or
+     * overwriting of commands.
+     *
+     * @param update To allow updating of commands?
+     * @param create To allow creating of commands?
+     * @param overwrite To replace the commands in bulk?
+     */
+    ObserverMode(boolean update, boolean create, boolean overwrite) {
         this.update = update;
         this.create = create;
+        this.overwrite = overwrite;
     }
 
     /**
@@ -60,4 +83,13 @@ public enum ObserverMode {
     public boolean isCreate() {
         return create;
     }
+
+    /**
+     * Does this observer mode replace the commands in bulk?
+     *
+     * @return {@link Boolean}
+     */
+    public boolean isOverwrite() {
+        return overwrite;
+    }
 }
@@ -0,0 +1,49 @@
+package pw.mihou.velen.internals.observer.modes;
+
+/**
+ * The kinds of requests that {@link pw.mihou.velen.internals.observer.VelenObserver} sends to Discord, every
+ * route has its own budget of requests that can be in flight at the same time.
+ */
+public enum ObserverRoute {
+
+    /**
+     * Fetching the slash commands of a server or the global slash commands.
+     */
+    FETCH(4),
+
+    /**
+     * Creating a single slash command.
+     */
+    CREATE(2),
+
+    /**
+     * Updating a single slash command.
+     */
+    UPDATE(2),
+
+    /**
+     * Replacing all the slash commands of a server or the global slash commands.
+     */
+    OVERWRITE(2);
+
+    private final int defaultBudget;
+
+    /**
+     * Creates a new Observer Route.
+     *
+     * @param defaultBudget The default amount of requests in flight for this route.
+     */
+    ObserverRoute(int defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    /**
+     * Retrieves the default amount of requests of this route that can be in flight at the same time.
+     *
+     * @return {@link Integer}
+     */
+    public int getDefaultBudget() {
+        return defaultBudget;
+    }
+
+}
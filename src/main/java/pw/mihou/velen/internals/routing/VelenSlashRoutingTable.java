@@ -0,0 +1,206 @@
+package pw.mihou.velen.internals.routing;
+
+import pw.mihou.velen.interfaces.VelenCommand;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The routing table of slash commands, this finds the command of an interaction either by the id of the
+ * slash command (once it is indexed) or by the lower-cased name of the slash command and the server it belongs to,
+ * global commands are stored under {@link VelenSlashRoutingTable#GLOBAL}. Every lookup is a constant-time map lookup
+ * regardless of how many commands are registered.
+ * <br><br>
+ * The ids don't need to be fetched from Discord, the first interaction of every slash command is routed
+ * by its name and the table then remembers the id of the slash command for the command that handled it. Slash
+ * commands that are registered again receive new ids which are learned the same way.
+ * <br><br>
+ * The table can be read from any thread while it is being modified, the names of the global slash commands
+ * from the last indexing are published as a single immutable snapshot.
+ */
+public class VelenSlashRoutingTable {
+
+    /**
+     * The server key that is used for global slash commands.
+     */
+    public static final long GLOBAL = 0L;
+
+    private final Map<Long, VelenCommand> ids = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, VelenCommand>> names = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> globalIds;
+
+    /**
+     * Adds the command to the routing table by its name, commands that don't support slash commands
+     * are ignored. If another command already uses the same name in the same scope, the older command is kept.
+     *
+     * @param command The command to add.
+     */
+    public void register(VelenCommand command) {
+        if (!command.supportsSlashCommand())
+            return;
+
+        names.computeIfAbsent(scopeOf(command), scope -> new ConcurrentHashMap<>())
+                .putIfAbsent(command.getName().toLowerCase(), command);
+
+        Map<String, Long> indexes = globalIds;
+        if (indexes == null || command.isServerOnly())
+            return;
+
+        Long id = indexes.get(command.getName().toLowerCase());
+        if (id != null)
+            ids.put(id, command);
+    }
+
+    /**
+     * Removes the command from the routing table, if another command uses the same name
+     * in the same scope then that command takes its place.
+     *
+     * @param command The command to remove.
+     * @param remaining The commands that remain registered.
+     */
+    public void unregister(VelenCommand command, Collection<VelenCommand> remaining) {
+        ids.values().removeIf(c -> c == command);
+
+        long scope = scopeOf(command);
+        String name = command.getName().toLowerCase();
+        Map<String, VelenCommand> scoped = names.get(scope);
+
+        if (scoped == null || !scoped.remove(name, command))
+            return;
+
+        remaining.stream()
+                .filter(VelenCommand::supportsSlashCommand)
+                .filter(c -> scopeOf(c) == scope)
+                .filter(c -> c.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .ifPresent(c -> scoped.put(name, c));
+    }
+
+    /**
+     * Attaches the id of a slash command to the command.
+     *
+     * @param id The id of the slash command.
+     * @param command The command to attach the id to.
+     */
+    public void index(long id, VelenCommand command) {
+        ids.put(id, command);
+    }
+
+    /**
+     * Publishes the ids of the global slash commands by their lower-cased names and attaches
+     * them to the global commands that are already registered, commands that are added afterwards are
+     * attached to their ids once they are registered.
+     *
+     * @param indexes The ids of the global slash commands by their lower-cased names.
+     */
+    public void publish(Map<String, Long> indexes) {
+        Map<String, Long> snapshot = Collections.unmodifiableMap(new HashMap<>(indexes));
+        globalIds = snapshot;
+
+        Map<String, VelenCommand> global = names.get(GLOBAL);
+        if (global == null)
+            return;
+
+        global.forEach((name, command) -> {
+            Long id = snapshot.get(name);
+            if (id != null)
+                ids.put(id, command);
+        });
+    }
+
+    /**
+     * Checks whether the last indexing found a global slash command with the name.
+     *
+     * @param name The lower-cased name of the slash command.
+     * @return Does a global slash command with this name have an index?
+     */
+    public boolean hasGlobalIndex(String name) {
+        Map<String, Long> indexes = globalIds;
+        return indexes != null && indexes.containsKey(name);
+    }
+
+    /**
+     * Finds the command that is attached to the id.
+     *
+     * @param id The id of the slash command.
+     * @return The command attached to the id, or null.
+     */
+    public VelenCommand get(long id) {
+        return ids.get(id);
+    }
+
+    /**
+     * Finds the command that should handle a slash command, the id is used first and otherwise
+     * the command of the server with the same name is preferred over the global command with the same name.
+     * Commands that are found by their name are indexed with the id for the next interactions unless the name
+     * is used in both scopes, an interaction doesn't tell which scope its slash command belongs to and learning
+     * the id of a global slash command for a server command would route it to the server command everywhere.
+     *
+     * @param id The id of the slash command.
+     * @param name The name of the slash command.
+     * @param server The server where the slash command was used, {@link VelenSlashRoutingTable#GLOBAL} outside servers.
+     * @return The command that should handle the slash command, or null.
+     */
+    public VelenCommand route(long id, String name, long server) {
+        VelenCommand command = ids.get(id);
+        if (command != null)
+            return command;
+
+        String key = name.toLowerCase();
+        Map<String, VelenCommand> global = names.get(GLOBAL);
+        VelenCommand globalCommand = global == null ? null : global.get(key);
+
+        if (server != GLOBAL) {
+            Map<String, VelenCommand> scoped = names.get(server);
+            command = scoped == null ? null : scoped.get(key);
+        }
+
+        if (command == null) {
+            if (globalCommand != null)
+                learn(id, globalCommand);
+
+            return globalCommand;
+        }
+
+        if (globalCommand == null) {
+            learn(id, command);
+            return command;
+        }
+
+        // The name is used in both scopes, the id can only be told apart if it is the indexed global slash command.
+        Map<String, Long> indexes = globalIds;
+        Long globalId = indexes == null ? null : indexes.get(key);
+        if (globalId != null && globalId == id) {
+            learn(id, globalCommand);
+            return globalCommand;
+        }
+
+        return command;
+    }
+
+    private void learn(long id, VelenCommand command) {
+        // A command that was removed while it was being routed must not be indexed again.
+        Map<String, VelenCommand> scoped = names.get(scopeOf(command));
+        if (scoped == null || scoped.get(command.getName().toLowerCase()) != command)
+            return;
+
+        ids.putIfAbsent(id, command);
+    }
+
+    /**
+     * Retrieves the live map of the indexed commands by the ids of their slash commands.
+     *
+     * @return The indexed commands.
+     */
+    public Map<Long, VelenCommand> getIndexes() {
+        return ids;
+    }
+
+    private static long scopeOf(VelenCommand command) {
+        return command.isServerOnly() ? command.getServerId() : GLOBAL;
+    }
+
+}
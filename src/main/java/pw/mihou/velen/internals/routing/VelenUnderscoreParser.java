@@ -20,6 +20,16 @@ public class VelenUnderscoreParser {
         routers.add(new RemoveSpecialSyntaxRouter());
     }
 
+    /**
+     * Routes the command through the formats, this parses every format again on every call.
+     *
+     * @param command The content of the message.
+     * @param formats The formats of the command.
+     * @return A map of the index and the (name, value) of the argument.
+     * @deprecated Formats are now compiled once when the command is built, please use
+     * {@link pw.mihou.velen.internals.routing.compiled.VelenFormatMatcher#route(String)} instead.
+     */
+    @Deprecated
     public static Map<Integer, Pair<String, String>> route(String command, List<String> formats) {
         String[] commandIndexes = Stream.concat(Arrays.stream(new String[]{command.split(" ")[0]}), Arrays.stream(VelenUtils.splitContent(command))
                         .filter(s -> !s.equals(command.split(" ")[0])))
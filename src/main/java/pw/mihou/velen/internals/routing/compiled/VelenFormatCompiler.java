@@ -0,0 +1,159 @@
+package pw.mihou.velen.internals.routing.compiled;
+
+import org.javacord.api.util.DiscordRegexPattern;
+import pw.mihou.velen.internals.routing.VelenUnderscoreParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles the formats of a command (e.g. <b>quiz me :[difficulty::(easy,hard)] :[topic:of(string):hasMany()]</b>)
+ * into a {@link VelenFormatMatcher}. This is done once when the command is built so that routing a message
+ * never has to parse the formats or compile any patterns again.
+ */
+public class VelenFormatCompiler {
+
+    private static final String ANY_TYPE = "any";
+    private static final Predicate<String> ANY = argument -> true;
+    private static final Predicate<String> DIGITS = argument -> {
+        for (int i = 0; i < argument.length(); i++) {
+            if (!Character.isDigit(argument.charAt(i)))
+                return false;
+        }
+
+        return true;
+    };
+
+    private VelenFormatCompiler() {
+        // This is a utility class.
+    }
+
+    /**
+     * Compiles all the formats into a single matcher.
+     *
+     * @param formats The formats to compile.
+     * @return The matcher for the formats.
+     * @throws IllegalStateException If any of the formats is malformed.
+     */
+    public static VelenFormatMatcher compile(List<String> formats) {
+        List<VelenFormatSlot[]> programs = new ArrayList<>();
+
+        for (String format : formats) {
+            // Formats without any options have nothing to route.
+            if (!(format.contains(":[") && format.contains("]")))
+                continue;
+
+            programs.add(compile(format));
+        }
+
+        return new VelenFormatMatcher(programs.toArray(new VelenFormatSlot[0][]));
+    }
+
+    /**
+     * Compiles a single format into its slots.
+     *
+     * @param format The format to compile.
+     * @return The slots of the format.
+     * @throws IllegalStateException If the format is malformed.
+     */
+    public static VelenFormatSlot[] compile(String format) {
+        String[] indexes = format.trim().split("\\s+");
+        VelenFormatSlot[] slots = new VelenFormatSlot[indexes.length];
+
+        for (int i = 0; i < indexes.length; i++) {
+            String index = indexes[i];
+
+            if (!index.startsWith(":[")) {
+                slots[i] = VelenFormatSlot.ofLiteral(index);
+                continue;
+            }
+
+            try {
+                slots[i] = option(index);
+            } catch (IndexOutOfBoundsException e) {
+                throw new IllegalStateException("An exception occurred while trying to compile the format [" + format + "]," +
+                        " please do not put spaces between the options: e.g. :[option::(no,spaces)]!", e);
+            } catch (PatternSyntaxException e) {
+                throw new IllegalStateException("The format [" + format + "] has an invalid regex pattern: " + e.getDescription(), e);
+            }
+        }
+
+        return slots;
+    }
+
+    private static VelenFormatSlot option(String index) {
+        String name = index.substring(index.lastIndexOf(":[") + 2, index.lastIndexOf("]"));
+
+        boolean hasMany = name.contains(":hasMany()");
+        name = name.replace(":hasMany()", "").replace(":required()", "");
+
+        List<String> choices = null;
+        boolean ignoreCasing = false;
+        while ((name.contains("::(") || name.contains(":(")) && name.contains(")")) {
+            ignoreCasing = name.contains("::(");
+
+            String token = ignoreCasing ? "::(" : ":(";
+            int start = name.indexOf(token);
+            int end = VelenUnderscoreParser.findClosure(start, name, ')');
+
+            if (choices == null)
+                choices = new ArrayList<>();
+
+            Arrays.stream(name.substring(start + token.length(), end).split(","))
+                    .map(String::trim)
+                    .forEach(choices::add);
+            name = name.substring(0, start) + name.substring(end + 1);
+        }
+
+        List<Pattern> patterns = new ArrayList<>();
+        while (name.contains(":{") && name.contains("}")) {
+            int start = name.indexOf(":{");
+            int end = VelenUnderscoreParser.findClosure(start, name, '}');
+
+            patterns.add(Pattern.compile(name.substring(start + 2, end)));
+            name = name.substring(0, start) + name.substring(end + 1);
+        }
+
+        String type = ANY_TYPE;
+        if (name.contains(":of(")) {
+            int start = name.indexOf(":of(");
+            int end = VelenUnderscoreParser.findClosure(start, name, ')');
+
+            type = name.substring(start + 4, end).trim();
+            name = name.substring(0, start) + name.substring(end + 1);
+        }
+
+        return VelenFormatSlot.ofOption(name, choices == null ? null : choices.toArray(new String[0]), ignoreCasing,
+                patterns.toArray(new Pattern[0]), type, hasMany);
+    }
+
+    static Predicate<String> type(String type) {
+        switch (type.toLowerCase()) {
+            case "user":
+                return argument -> DiscordRegexPattern.USER_MENTION.matcher(argument).matches();
+            case "channel":
+                return argument -> DiscordRegexPattern.CHANNEL_MENTION.matcher(argument).matches();
+            case "role":
+                return argument -> DiscordRegexPattern.ROLE_MENTION.matcher(argument).matches();
+            case "message":
+                return argument -> DiscordRegexPattern.MESSAGE_LINK.matcher(argument).matches();
+            case "emoji":
+                return argument -> DiscordRegexPattern.CUSTOM_EMOJI.matcher(argument).matches();
+            case "webhook":
+                return argument -> DiscordRegexPattern.WEBHOOK_URL.matcher(argument).matches();
+            case "boolean":
+                return argument -> argument.equalsIgnoreCase("true") || argument.equalsIgnoreCase("false");
+            case "numeric":
+            case "integer":
+                return DIGITS;
+            default:
+                // Types such as string, number or mentionable are only used for slash commands.
+                return ANY;
+        }
+    }
+
+}
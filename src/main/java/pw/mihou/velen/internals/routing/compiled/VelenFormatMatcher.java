@@ -0,0 +1,176 @@
+package pw.mihou.velen.internals.routing.compiled;
+
+import pw.mihou.velen.internals.routing.VelenRoutedArgument;
+import pw.mihou.velen.utils.VelenTokens;
+
+import java.util.Arrays;
+
+/**
+ * An immutable matcher that holds the compiled formats of a command, this
+ * can be shared between threads and is created through {@link VelenFormatCompiler}.
+ */
+public class VelenFormatMatcher {
+
+    private static final String COMMAND_NAME = "_commandName";
+
+    private final VelenFormatSlot[][] formats;
+
+    /**
+     * Creates a new matcher out of the compiled formats.
+     *
+     * @param formats The compiled formats.
+     */
+    public VelenFormatMatcher(VelenFormatSlot[][] formats) {
+        this.formats = formats;
+    }
+
+    /**
+     * Retrieves the compiled formats of this matcher.
+     *
+     * @return The slots of every compiled format.
+     */
+    public VelenFormatSlot[][] getFormats() {
+        VelenFormatSlot[][] copy = new VelenFormatSlot[formats.length][];
+        for (int i = 0; i < formats.length; i++) {
+            copy[i] = formats[i].clone();
+        }
+
+        return copy;
+    }
+
+    /**
+     * Routes the message content through the formats.
+     *
+     * @param content The content of the message, starting from the command.
+     * @return The routed arguments.
+     */
+    public VelenRoutedArgument[] route(String content) {
+        return route(VelenTokens.of(content));
+    }
+
+    /**
+     * Routes the tokens of a message through the formats.
+     *
+     * @param tokens The tokens of the message, starting from the command.
+     * @return The routed arguments.
+     */
+    public VelenRoutedArgument[] route(VelenTokens tokens) {
+        if (tokens.isEmpty())
+            return new VelenRoutedArgument[0];
+
+        if (tokens.size() == 1)
+            return new VelenRoutedArgument[]{new VelenRoutedArgument(0, tokens.get(0), tokens.get(0))};
+
+        boolean hasExactLength = false;
+        for (VelenFormatSlot[] format : formats) {
+            if (fits(format, tokens)) {
+                hasExactLength = true;
+                break;
+            }
+        }
+
+        String[] names = new String[tokens.size()];
+        String[] values = new String[tokens.size()];
+
+        VelenRoutedArgument[] match = null;
+        VelenRoutedArgument[] largest = null;
+        int largestSize = 0;
+
+        for (VelenFormatSlot[] format : formats) {
+            if (hasExactLength && !fits(format, tokens))
+                continue;
+
+            Arrays.fill(names, null);
+            Arrays.fill(values, null);
+
+            int identified = match(format, tokens, names, values);
+            if (identified == format.length) {
+                // The last format that matches wins, this is the same behavior as before.
+                match = collect(tokens, names, values);
+            } else if (identified > largestSize) {
+                largest = collect(tokens, names, values);
+                largestSize = identified;
+            }
+        }
+
+        if (match != null)
+            return match;
+
+        if (largest != null)
+            return largest;
+
+        VelenRoutedArgument[] unidentified = new VelenRoutedArgument[tokens.size()];
+        for (int i = 0; i < tokens.size(); i++) {
+            unidentified[i] = new VelenRoutedArgument(i, null, tokens.get(i));
+        }
+
+        return unidentified;
+    }
+
+    /**
+     * Checks whether the format has the same length as the arguments, formats that end
+     * with an option that collects the rest of the arguments fit any longer arguments as well.
+     */
+    private static boolean fits(VelenFormatSlot[] format, VelenTokens tokens) {
+        return format.length == tokens.size()
+                || (format.length < tokens.size() && format[format.length - 1].hasMany());
+    }
+
+    /**
+     * Matches the tokens against the format, this stops at the first slot that doesn't match.
+     *
+     * @return The amount of slots that matched.
+     */
+    private static int match(VelenFormatSlot[] format, VelenTokens tokens, String[] names, String[] values) {
+        for (int i = 0; i < format.length; i++) {
+            if (i >= tokens.size())
+                return i;
+
+            VelenFormatSlot slot = format[i];
+            String token = tokens.get(i);
+
+            if (!slot.isOption()) {
+                // The first position is always the command (or its shortcut).
+                if (i != 0 && !slot.matchesLiteral(token))
+                    return i;
+
+                names[i] = COMMAND_NAME;
+                continue;
+            }
+
+            String value = slot.accept(token);
+            if (value == null)
+                return i;
+
+            names[i] = slot.getName();
+            values[i] = value;
+
+            if (i == format.length - 1 && slot.hasMany()) {
+                for (int j = i + 1; j < tokens.size(); j++) {
+                    names[j] = slot.getName();
+                    values[j] = tokens.get(j);
+                }
+            }
+        }
+
+        return format.length;
+    }
+
+    private static VelenRoutedArgument[] collect(VelenTokens tokens, String[] names, String[] values) {
+        int size = 0;
+        for (String name : names) {
+            if (name != null)
+                size++;
+        }
+
+        VelenRoutedArgument[] arguments = new VelenRoutedArgument[size];
+        int position = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (names[i] != null)
+                arguments[position++] = new VelenRoutedArgument(i, names[i], values[i] == null ? tokens.get(i) : values[i]);
+        }
+
+        return arguments;
+    }
+
+}
@@ -0,0 +1,189 @@
+package pw.mihou.velen.internals.routing.compiled;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A single compiled position of a command format, this is either a literal
+ * that has to be matched (ignoring casing) or an option with all its checks already compiled.
+ */
+public class VelenFormatSlot {
+
+    private final String literal;
+    private final String name;
+    private final String[] choices;
+    private final boolean ignoreCasing;
+    private final Pattern[] patterns;
+    private final Predicate<String> type;
+    private final String typeName;
+    private final boolean hasMany;
+
+    private VelenFormatSlot(String literal, String name, String[] choices, boolean ignoreCasing,
+                            Pattern[] patterns, Predicate<String> type, String typeName, boolean hasMany) {
+        this.literal = literal;
+        this.name = name;
+        this.choices = choices;
+        this.ignoreCasing = ignoreCasing;
+        this.patterns = patterns;
+        this.type = type;
+        this.typeName = typeName;
+        this.hasMany = hasMany;
+    }
+
+    /**
+     * Creates a literal slot.
+     *
+     * @param literal The literal that has to be matched.
+     * @return A new literal slot.
+     */
+    public static VelenFormatSlot ofLiteral(String literal) {
+        return new VelenFormatSlot(literal, null, null, false, null, null, null, false);
+    }
+
+    /**
+     * Creates an option slot.
+     *
+     * @param name The name of the option.
+     * @param choices The choices that the option accepts, null if any value is accepted.
+     * @param ignoreCasing Should the choices be matched while ignoring casing?
+     * @param patterns The regex patterns the value must match.
+     * @param type The type predicate the value must pass.
+     * @param hasMany Does this option collect the rest of the arguments?
+     * @return A new option slot.
+     */
+    public static VelenFormatSlot ofOption(String name, String[] choices, boolean ignoreCasing,
+                                           Pattern[] patterns, Predicate<String> type, boolean hasMany) {
+        return new VelenFormatSlot(null, name, choices, ignoreCasing, patterns, type, null, hasMany);
+    }
+
+    /**
+     * Creates an option slot whose type is checked the same way as the <b>:of(type)</b> of a format.
+     *
+     * @param name The name of the option.
+     * @param choices The choices that the option accepts, null if any value is accepted.
+     * @param ignoreCasing Should the choices be matched while ignoring casing?
+     * @param patterns The regex patterns the value must match.
+     * @param type The type of the option, for example: <b>user</b> or <b>numeric</b>.
+     * @param hasMany Does this option collect the rest of the arguments?
+     * @return A new option slot.
+     */
+    public static VelenFormatSlot ofOption(String name, String[] choices, boolean ignoreCasing,
+                                           Pattern[] patterns, String type, boolean hasMany) {
+        return new VelenFormatSlot(null, name, choices, ignoreCasing, patterns, VelenFormatCompiler.type(type), type, hasMany);
+    }
+
+    /**
+     * Is this slot an option?
+     *
+     * @return Is this slot an option?
+     */
+    public boolean isOption() {
+        return literal == null;
+    }
+
+    /**
+     * Retrieves the literal of this slot.
+     *
+     * @return The literal, null for options.
+     */
+    public String getLiteral() {
+        return literal;
+    }
+
+    /**
+     * Retrieves the name of the option of this slot.
+     *
+     * @return The name of the option, null for literals.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the choices that this option accepts.
+     *
+     * @return The choices, null if any value is accepted.
+     */
+    public String[] getChoices() {
+        return choices == null ? null : choices.clone();
+    }
+
+    /**
+     * Are the choices of this option matched while ignoring casing?
+     *
+     * @return Are the choices matched while ignoring casing?
+     */
+    public boolean isIgnoreCasing() {
+        return ignoreCasing;
+    }
+
+    /**
+     * Retrieves the regex patterns that the value of this option must match.
+     *
+     * @return The regex patterns, null for literals.
+     */
+    public Pattern[] getPatterns() {
+        return patterns == null ? null : patterns.clone();
+    }
+
+    /**
+     * Retrieves the type that the value of this option is checked with.
+     *
+     * @return The type of the option, null for literals or options that were created with a predicate.
+     */
+    public String getType() {
+        return typeName;
+    }
+
+    /**
+     * Does this option collect the rest of the arguments?
+     *
+     * @return Does this option collect the rest of the arguments?
+     */
+    public boolean hasMany() {
+        return hasMany;
+    }
+
+    /**
+     * Checks whether the literal of this slot matches the argument.
+     *
+     * @param argument The argument to check.
+     * @return Does the literal match the argument?
+     */
+    public boolean matchesLiteral(String argument) {
+        return literal.equalsIgnoreCase(argument);
+    }
+
+    /**
+     * Checks the argument against all the checks of this option and returns
+     * the value that should be used for it.
+     *
+     * @param argument The argument to check.
+     * @return The value of the option which is the argument itself or the matching choice,
+     * null if the argument doesn't pass the checks.
+     */
+    public String accept(String argument) {
+        String value = argument;
+
+        if (choices != null) {
+            value = null;
+            for (String choice : choices) {
+                if (ignoreCasing ? choice.equalsIgnoreCase(argument) : choice.equals(argument)) {
+                    value = choice;
+                    break;
+                }
+            }
+
+            if (value == null)
+                return null;
+        }
+
+        for (Pattern pattern : patterns) {
+            if (!pattern.matcher(argument).matches())
+                return null;
+        }
+
+        return type.test(argument) ? value : null;
+    }
+
+}
@@ -1,22 +1,73 @@
 package pw.mihou.velen.prefix;
 
+import org.javacord.api.DiscordApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pw.mihou.velen.prefix.loaders.AsyncPrefixLoader;
+import pw.mihou.velen.prefix.loaders.BatchPrefixLoader;
 import pw.mihou.velen.prefix.loaders.PrefixLoader;
 import pw.mihou.velen.utils.Pair;
+import pw.mihou.velen.utils.VelenThreadPool;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
  * This is a prefix manager that can be used to provide prefixes
  * to per-server or a single prefix for all servers, learn more at <a href="https://github.com/ShindouMihou/Velen/">Velen's README GitHub repository</a>
+ * <br><br>
+ * A server can have more than one prefix and there can be global prefixes that work in every server, the prefixes
+ * are stored as {@link VelenPrefixTrie} which finds the longest prefix of a message in a single scan.
  */
 public class VelenPrefixManager {
 
-    private final Map<Long, String> prefixes = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger("Velen - Prefix Manager");
+
+    /**
+     * The default maximum amount of servers whose prefixes are kept in memory when a loader is used.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 50_000;
+
+    /**
+     * The default amount of servers whose prefixes are requested in a single call to the batch loader.
+     */
+    public static final int DEFAULT_PRELOAD_CHUNK_SIZE = 500;
+
+    /**
+     * The default time that the prefixes of a server are not loaded again after the loader failed.
+     */
+    public static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final Map<Long, Entry> prefixes = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<VelenPrefixTrie>> loading = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong generations = new AtomicLong();
+    private final Set<DiscordApi> attached = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final PrefixLoader prefixLoader;
+    private final AsyncPrefixLoader asyncPrefixLoader;
     private final String defaultPrefix;
     private final Consumer<Pair<Long, String>> prefixModifier;
+    private volatile VelenPrefixTrie defaultTrie;
+    private volatile VelenPrefixTrie globalTrie = VelenPrefixTrie.empty();
+    private volatile boolean ignoreCasing = false;
+    private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private volatile long expireAfter = -1;
+    private volatile long retryAfter = DEFAULT_RETRY_AFTER.toMillis();
+    private volatile BatchPrefixLoader batchPrefixLoader;
+    private volatile int preloadChunkSize = DEFAULT_PRELOAD_CHUNK_SIZE;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
 
     /**
      * Creates a new prefix manager that supports per-server prefixes.
@@ -31,9 +82,7 @@ public class VelenPrefixManager {
      * @param prefixLoader  The prefix loader.
      */
     public VelenPrefixManager(String defaultPrefix, PrefixLoader prefixLoader) {
-        this.prefixLoader = prefixLoader;
-        this.defaultPrefix = defaultPrefix;
-        this.prefixModifier = null;
+        this(defaultPrefix, prefixLoader, null);
     }
 
     /**
@@ -52,9 +101,16 @@ public class VelenPrefixManager {
      */
     public VelenPrefixManager(String defaultPrefix, PrefixLoader prefixLoader,
                               Consumer<Pair<Long, String>> prefixModifier) {
+        this(defaultPrefix, prefixLoader, null, prefixModifier);
+    }
+
+    private VelenPrefixManager(String defaultPrefix, PrefixLoader prefixLoader, AsyncPrefixLoader asyncPrefixLoader,
+                               Consumer<Pair<Long, String>> prefixModifier) {
         this.prefixLoader = prefixLoader;
+        this.asyncPrefixLoader = asyncPrefixLoader;
         this.defaultPrefix = defaultPrefix;
         this.prefixModifier = prefixModifier;
+        this.defaultTrie = VelenPrefixTrie.of(false, defaultPrefix);
     }
 
     /**
@@ -63,18 +119,180 @@ public class VelenPrefixManager {
      * @param defaultPrefix The default prefix to use.
      */
     public VelenPrefixManager(String defaultPrefix) {
-        this.defaultPrefix = defaultPrefix;
-        this.prefixLoader = null;
-        this.prefixModifier = null;
+        this(defaultPrefix, null, null, null);
+    }
+
+    /**
+     * Creates a new prefix manager that loads the per-server prefixes with an asynchronous loader, messages
+     * from a server whose prefix is still loading wait for the loader without blocking the thread that receives them.
+     *
+     * @param defaultPrefix The default prefix to use.
+     * @param prefixLoader The asynchronous prefix loader.
+     * @return A new prefix manager.
+     */
+    public static VelenPrefixManager ofAsync(String defaultPrefix, AsyncPrefixLoader prefixLoader) {
+        return new VelenPrefixManager(defaultPrefix, null, prefixLoader, null);
+    }
+
+    /**
+     * Creates a new prefix manager that loads the per-server prefixes with an asynchronous loader, messages
+     * from a server whose prefix is still loading wait for the loader without blocking the thread that receives them.
+     *
+     * @param defaultPrefix The default prefix to use.
+     * @param prefixLoader The asynchronous prefix loader.
+     * @param prefixModifier The prefix modifier to use when doing {@link VelenPrefixManager#setPrefix(long, String)}.
+     * @return A new prefix manager.
+     */
+    public static VelenPrefixManager ofAsync(String defaultPrefix, AsyncPrefixLoader prefixLoader,
+                                             Consumer<Pair<Long, String>> prefixModifier) {
+        return new VelenPrefixManager(defaultPrefix, null, prefixLoader, prefixModifier);
+    }
+
+    /**
+     * Sets the maximum amount of servers whose prefixes are kept in memory, the servers that
+     * weren't used for the longest time are removed first and are loaded again when needed. This only
+     * applies when a loader is used since there would be no way to get the prefix back otherwise.
+     *
+     * @param maximumSize The maximum amount of servers, zero or less for no limit.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenPrefixManager setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * Sets how long a loaded prefix is used before it is loaded again, the old prefix keeps
+     * being used while it is loaded again. By default, prefixes are never loaded again.
+     *
+     * @param expireAfter How long a loaded prefix is used, null to never load the prefix again.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenPrefixManager setExpireAfter(Duration expireAfter) {
+        if (expireAfter != null && expireAfter.isNegative())
+            throw new IllegalArgumentException("The expiry of the prefixes cannot be negative.");
+
+        this.expireAfter = expireAfter == null ? -1 : expireAfter.toMillis();
+        return this;
+    }
+
+    /**
+     * Sets how long the loader is not called again for a server after it failed to load the prefixes
+     * of that server, the previous prefixes (or the default prefix) are used in the meantime. By default,
+     * this is {@link VelenPrefixManager#DEFAULT_RETRY_AFTER}.
+     *
+     * @param retryAfter How long to wait before loading the prefixes again after a failure.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenPrefixManager setRetryAfter(Duration retryAfter) {
+        if (retryAfter == null || retryAfter.isNegative())
+            throw new IllegalArgumentException("The retry delay of the prefixes cannot be null or negative.");
+
+        this.retryAfter = retryAfter.toMillis();
+        return this;
+    }
+
+    /**
+     * Sets the loader that retrieves the prefixes of many servers at once, this is used
+     * by {@link VelenPrefixManager#preload(DiscordApi...)} and is also used for single servers
+     * when the manager has no other loader.
+     *
+     * @param batchPrefixLoader The batch loader to use.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenPrefixManager setBatchLoader(BatchPrefixLoader batchPrefixLoader) {
+        this.batchPrefixLoader = batchPrefixLoader;
+        return this;
+    }
+
+    /**
+     * Sets the amount of servers whose prefixes are requested in a single call
+     * to the batch loader while preloading, by default this is {@link VelenPrefixManager#DEFAULT_PRELOAD_CHUNK_SIZE}.
+     *
+     * @param preloadChunkSize The amount of servers per call.
+     * @return The current instance in order to chain call methods.
+     */
+    public VelenPrefixManager setPreloadChunkSize(int preloadChunkSize) {
+        if (preloadChunkSize <= 0)
+            throw new IllegalArgumentException("The chunk size of the preload must be greater than zero.");
+
+        this.preloadChunkSize = preloadChunkSize;
+        return this;
+    }
+
+    /**
+     * Loads the prefixes of every server of the shards in the background so the first message of
+     * every server is served from memory, the servers are loaded in chunks of {@link VelenPrefixManager#setPreloadChunkSize(int)}
+     * with the batch loader (or with the individual loader if there is no batch loader). This also loads the
+     * prefixes of servers that the shards join afterwards and forgets the servers that the shards leave.
+     * <br><br>
+     * You should call this once the shards are logged in.
+     *
+     * @param shards The shards whose servers should be loaded.
+     * @return A future that completes once every chunk was loaded.
+     */
+    public CompletableFuture<Void> preload(DiscordApi... shards) {
+        if (!hasLoader())
+            return CompletableFuture.completedFuture(null);
+
+        List<Long> servers = new ArrayList<>();
+        for (DiscordApi shard : shards) {
+            if (attached.add(shard)) {
+                shard.addServerJoinListener(event -> getTrieAsync(event.getServer().getId()));
+                shard.addServerLeaveListener(event -> clearPrefix(event.getServer().getId()));
+            }
+
+            shard.getServers().forEach(server -> servers.add(server.getId()));
+        }
+
+        return preload(servers);
+    }
+
+    /**
+     * Loads the prefixes of the servers in the background, servers whose prefixes
+     * are already in memory or are being loaded are skipped. The servers are loaded in chunks of
+     * {@link VelenPrefixManager#setPreloadChunkSize(int)} with one chunk loading at a time.
+     *
+     * @param servers The servers to load.
+     * @return A future that completes once every chunk was loaded.
+     */
+    public CompletableFuture<Void> preload(Collection<Long> servers) {
+        if (!hasLoader())
+            return CompletableFuture.completedFuture(null);
+
+        List<Long> pending = new ArrayList<>(servers);
+        int chunkSize = preloadChunkSize;
+
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Long> chunk = pending.subList(from, Math.min(pending.size(), from + chunkSize));
+            chain = chain.thenComposeAsync(ignored -> loadChunk(chunk), VelenThreadPool.executorService);
+        }
+
+        return chain;
     }
 
     /**
-     * Gets all the prefixes of the bot.
+     * Gets all the prefixes of the bot, this is a snapshot of the
+     * main prefix of every server.
      *
      * @return All the server prefixes.
      */
     public Map<Long, String> getPrefixes() {
-        return prefixes;
+        Map<Long, String> snapshot = new HashMap<>();
+        prefixes.forEach((server, entry) -> snapshot.put(server, entry.trie.getPrefix()));
+        return snapshot;
+    }
+
+    /**
+     * Gets all the prefixes of the server, this doesn't include
+     * the global prefixes.
+     *
+     * @param server The server to retrieve the prefixes of.
+     * @return The prefixes of the server.
+     */
+    public List<String> getPrefixes(long server) {
+        return getTrie(server).getPrefixes();
     }
 
     /**
@@ -85,7 +303,7 @@ public class VelenPrefixManager {
      * @param server The server which the client will reset.
      */
     public void resetPrefix(long server) {
-        prefixes.put(server, defaultPrefix);
+        store(server, defaultTrie);
     }
 
     /**
@@ -97,6 +315,79 @@ public class VelenPrefixManager {
         return defaultPrefix;
     }
 
+    /**
+     * Retrieves the trie of the default prefix, this is used
+     * for private messages and servers without a prefix.
+     *
+     * @return The trie of the default prefix.
+     */
+    public VelenPrefixTrie getDefaultTrie() {
+        return defaultTrie;
+    }
+
+    /**
+     * Adds one or more global prefixes, these prefixes work in every
+     * server and in private messages alongside the prefixes of the server.
+     *
+     * @param prefixes The prefixes to add.
+     * @return The current instance in order to chain call methods.
+     */
+    public synchronized VelenPrefixManager addGlobalPrefixes(String... prefixes) {
+        List<String> global = new ArrayList<>(globalTrie.getPrefixes());
+        global.addAll(Arrays.asList(prefixes));
+
+        this.globalTrie = VelenPrefixTrie.of(global, ignoreCasing);
+        return this;
+    }
+
+    /**
+     * Removes one or more global prefixes.
+     *
+     * @param prefixes The prefixes to remove.
+     * @return The current instance in order to chain call methods.
+     */
+    public synchronized VelenPrefixManager removeGlobalPrefixes(String... prefixes) {
+        List<String> global = new ArrayList<>(globalTrie.getPrefixes());
+        global.removeAll(Arrays.asList(prefixes));
+
+        this.globalTrie = VelenPrefixTrie.of(global, ignoreCasing);
+        return this;
+    }
+
+    /**
+     * Retrieves the global prefixes.
+     *
+     * @return The global prefixes.
+     */
+    public List<String> getGlobalPrefixes() {
+        return globalTrie.getPrefixes();
+    }
+
+    /**
+     * Sets whether prefixes should match regardless of casing, for example,
+     * the prefix "v." would also match "V." if this is enabled.
+     *
+     * @param ignoreCasing Should prefixes match regardless of casing?
+     * @return The current instance in order to chain call methods.
+     */
+    public synchronized VelenPrefixManager setIgnoreCasing(boolean ignoreCasing) {
+        this.ignoreCasing = ignoreCasing;
+        this.defaultTrie = VelenPrefixTrie.of(ignoreCasing, defaultPrefix);
+        this.globalTrie = VelenPrefixTrie.of(globalTrie.getPrefixes(), ignoreCasing);
+        prefixes.replaceAll((server, entry) -> new Entry(VelenPrefixTrie.of(entry.trie.getPrefixes(), ignoreCasing),
+                entry.loadedAt, entry.generation, entry.failed));
+        return this;
+    }
+
+    /**
+     * Checks whether prefixes match regardless of casing.
+     *
+     * @return Do prefixes match regardless of casing?
+     */
+    public boolean isIgnoreCasing() {
+        return ignoreCasing;
+    }
+
     /**
      * Removes the stored prefix for the server which allows
      * reloading of the prefix.
@@ -114,15 +405,8 @@ public class VelenPrefixManager {
      * @param server The server to reload the prefix from.
      */
     public void reloadPrefix(long server) {
-        if (prefixLoader != null) {
-            String prefix = prefixLoader.load(server);
-
-            if (prefix != null)
-                prefixes.put(server, prefixLoader.load(server));
-
-            if (prefix == null)
-                prefixes.put(server, defaultPrefix);
-        }
+        if (hasLoader())
+            load(server);
     }
 
     /**
@@ -134,10 +418,22 @@ public class VelenPrefixManager {
      * @param prefix The prefix to set.
      */
     public void setPrefix(long server, String prefix) {
-        prefixes.put(server, prefix);
+        setPrefixes(server, prefix);
+    }
+
+    /**
+     * Sets the prefixes of the server, the first prefix is the main prefix
+     * which is the one that is handed to the prefix modifier.
+     *
+     * @param server The server to change prefixes.
+     * @param prefixes The prefixes to set.
+     */
+    public void setPrefixes(long server, String... prefixes) {
+        VelenPrefixTrie trie = VelenPrefixTrie.of(Arrays.asList(prefixes), ignoreCasing);
+        store(server, trie.isEmpty() ? defaultTrie : trie);
 
         if (prefixModifier != null)
-            prefixModifier.accept(Pair.of(server, prefix));
+            prefixModifier.accept(Pair.of(server, trie.getPrefix()));
     }
 
     /**
@@ -148,17 +444,341 @@ public class VelenPrefixManager {
      * @return The prefix of the server.
      */
     public String getPrefix(long server) {
-        if (prefixes.containsKey(server))
-            return prefixes.get(server);
+        return getTrie(server).getPrefix();
+    }
+
+    /**
+     * Gets the trie of the prefixes of the server, this loads the prefixes of the server if they
+     * aren't loaded yet. The default prefix is returned while an asynchronous loader is loading the prefixes.
+     *
+     * @param server The server to retrieve the prefixes of.
+     * @return The trie of the prefixes of the server.
+     */
+    public VelenPrefixTrie getTrie(long server) {
+        CompletableFuture<VelenPrefixTrie> future = getTrieAsync(server);
+        if (future.isDone() || asyncPrefixLoader == null)
+            return future.join();
+
+        return defaultTrie;
+    }
+
+    /**
+     * Gets the trie of the prefixes of the server, the future is already completed if the
+     * prefixes are in memory and otherwise completes once the prefixes are loaded. Concurrent
+     * requests for the same server share a single call to the loader.
+     *
+     * @param server The server to retrieve the prefixes of.
+     * @return The future of the trie of the prefixes of the server.
+     */
+    public CompletableFuture<VelenPrefixTrie> getTrieAsync(long server) {
+        long now = System.currentTimeMillis();
+        Entry entry = prefixes.get(server);
+
+        if (entry != null) {
+            entry.lastAccess = now;
+
+            if (isExpired(entry, now)) {
+                // The old prefixes are used until the new ones are loaded.
+                staleHits.increment();
+                refresh(server);
+            } else {
+                hits.increment();
+            }
+
+            return entry.future;
+        }
+
+        if (!hasLoader())
+            return CompletableFuture.completedFuture(defaultTrie);
+
+        misses.increment();
+        return load(server);
+    }
+
+    /**
+     * Finds the longest prefix at the position of the content from the prefixes
+     * and the global prefixes.
+     *
+     * @param prefixes The prefixes of the server.
+     * @param content The content to match.
+     * @param from The position where the prefix should start.
+     * @return The length of the longest prefix or -1 if no prefix matches.
+     */
+    public int match(VelenPrefixTrie prefixes, CharSequence content, int from) {
+        return Math.max(prefixes.match(content, from), globalTrie.match(content, from));
+    }
+
+    private boolean hasLoader() {
+        return prefixLoader != null || asyncPrefixLoader != null || batchPrefixLoader != null;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        if (entry.failed)
+            return now - entry.loadedAt >= retryAfter;
+
+        long expiry = expireAfter;
+        return expiry >= 0 && hasLoader() && now - entry.loadedAt >= expiry;
+    }
+
+    private void refresh(long server) {
+        if (loading.containsKey(server))
+            return;
 
-        if (prefixLoader == null)
-            return defaultPrefix;
+        if (asyncPrefixLoader != null)
+            load(server);
+        else
+            VelenThreadPool.executorService.submit(() -> load(server));
+    }
+
+    private CompletableFuture<VelenPrefixTrie> load(long server) {
+        CompletableFuture<VelenPrefixTrie> future = new CompletableFuture<>();
+        CompletableFuture<VelenPrefixTrie> existing = loading.putIfAbsent(server, future);
+        if (existing != null)
+            return existing;
+
+        loads.increment();
+        long start = System.nanoTime();
+        long generation = generations.get();
+
+        CompletableFuture<Collection<String>> result;
+        try {
+            if (asyncPrefixLoader != null)
+                result = asyncPrefixLoader.loadPrefixes(server);
+            else if (prefixLoader != null)
+                result = CompletableFuture.completedFuture(prefixLoader.loadPrefixes(server));
+            else
+                result = batchPrefixLoader.load(Collections.singletonList(server)).thenApply(loaded -> loaded.get(server));
+        } catch (Throwable throwable) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(throwable);
+        }
+
+        result.whenComplete((loaded, throwable) -> {
+            loadTime.add(System.nanoTime() - start);
+
+            if (throwable != null) {
+                failures.increment();
+                logger.error("Failed to load the prefixes of the server " + server + ".", throwable);
+            }
+
+            complete(server, future, loaded, throwable != null, generation);
+        });
+
+        return future;
+    }
+
+    /**
+     * Loads the prefixes of the servers that aren't in memory or loading yet, these servers
+     * are marked as loading before the loader is called which means that messages from these servers
+     * wait for the chunk instead of calling the loader again.
+     *
+     * @param servers The servers to load.
+     * @return A future that completes once the chunk was loaded.
+     */
+    private CompletableFuture<Void> loadChunk(List<Long> servers) {
+        Map<Long, CompletableFuture<VelenPrefixTrie>> claimed = new HashMap<>();
+        for (Long server : servers) {
+            Entry entry = prefixes.get(server);
+            if (entry != null && !entry.failed)
+                continue;
+
+            CompletableFuture<VelenPrefixTrie> future = new CompletableFuture<>();
+            if (loading.putIfAbsent(server, future) == null)
+                claimed.put(server, future);
+        }
+
+        if (claimed.isEmpty())
+            return CompletableFuture.completedFuture(null);
+
+        BatchPrefixLoader loader = batchPrefixLoader;
+        if (loader == null) {
+            // Without a batch loader, the servers are loaded one by one but still one chunk at a time.
+            claimed.forEach((server, future) -> loading.remove(server, future));
+            return CompletableFuture.allOf(claimed.keySet().stream().map(this::load).toArray(CompletableFuture[]::new));
+        }
+
+        loads.increment();
+        long start = System.nanoTime();
+        long generation = generations.get();
+
+        CompletableFuture<Map<Long, Collection<String>>> result;
+        try {
+            result = loader.load(Collections.unmodifiableSet(claimed.keySet()));
+        } catch (Throwable throwable) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(throwable);
+        }
+
+        return result.handle((loaded, throwable) -> {
+            loadTime.add(System.nanoTime() - start);
+
+            if (throwable != null) {
+                failures.increment();
+                logger.error("Failed to load the prefixes of " + claimed.size() + " servers.", throwable);
+            }
+
+            claimed.forEach((server, future) -> complete(server, future,
+                    loaded == null ? null : loaded.get(server), throwable != null, generation));
+            return null;
+        });
+    }
+
+    /**
+     * Stores the result of a load that started at the given generation, the result is dropped if the
+     * prefixes of the server were changed after the load started, for example, by {@link VelenPrefixManager#setPrefix(long, String)}.
+     * A failed load keeps the previous prefixes (or the default prefix) and is only retried after {@link VelenPrefixManager#setRetryAfter(Duration)}.
+     */
+    private void complete(long server, CompletableFuture<VelenPrefixTrie> future, Collection<String> loaded,
+                          boolean failed, long generation) {
+        VelenPrefixTrie trie = failed ? null : VelenPrefixTrie.of(orEmpty(loaded), ignoreCasing);
+        long now = System.currentTimeMillis();
 
-        String prefix = prefixLoader.load(server);
-        prefix = prefix == null ? defaultPrefix : prefix;
+        Entry entry = prefixes.compute(server, (key, current) -> {
+            if (current != null && current.generation > generation)
+                return current;
+
+            if (failed)
+                return new Entry(current != null ? current.trie : defaultTrie, now, generations.incrementAndGet(), true);
+
+            return new Entry(trie.isEmpty() ? defaultTrie : trie, now, generations.incrementAndGet(), false);
+        });
+
+        loading.remove(server, future);
+        future.complete(entry.trie);
+        evictIfNeeded();
+    }
+
+    private void store(long server, VelenPrefixTrie trie) {
+        prefixes.put(server, new Entry(trie, System.currentTimeMillis(), generations.incrementAndGet(), false));
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        int maximum = maximumSize;
+        if (!hasLoader() || maximum <= 0 || prefixes.size() <= maximum)
+            return;
+
+        if (!evicting.compareAndSet(false, true))
+            return;
+
+        // The eviction sorts every server which shouldn't be done on the thread that completed the load.
+        VelenThreadPool.executorService.submit(() -> {
+            try {
+                evict(maximum);
+            } catch (Throwable throwable) {
+                logger.error("Failed to evict the prefixes of the servers.", throwable);
+            } finally {
+                evicting.set(false);
+            }
+        });
+    }
+
+    /**
+     * Removes the servers that weren't used for the longest time until only 90% of the
+     * maximum size is left, this leaves room for new servers before the next eviction.
+     *
+     * @param maximum The maximum amount of servers.
+     */
+    private void evict(int maximum) {
+        List<Map.Entry<Long, Entry>> entries = new ArrayList<>(prefixes.entrySet());
+        int excess = entries.size() - (maximum - maximum / 10);
+        if (excess <= 0)
+            return;
+
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+        for (int i = 0; i < excess; i++) {
+            prefixes.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+    }
+
+    private static Collection<String> orEmpty(Collection<String> prefixes) {
+        return prefixes == null ? Collections.emptyList() : prefixes;
+    }
+
+    /**
+     * Retrieves the amount of servers whose prefixes are in memory.
+     *
+     * @return The amount of servers in memory.
+     */
+    public int size() {
+        return prefixes.size();
+    }
+
+    /**
+     * Retrieves the amount of requests that were served from memory, this
+     * includes requests that were served an expired prefix.
+     *
+     * @return The amount of hits.
+     */
+    public long getHits() {
+        return hits.sum() + staleHits.sum();
+    }
+
+    /**
+     * Retrieves the amount of requests that were served an expired prefix
+     * while the prefix was being loaded again.
+     *
+     * @return The amount of stale hits.
+     */
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Retrieves the amount of requests that had to wait for the loader.
+     *
+     * @return The amount of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the amount of times the loader was called.
+     *
+     * @return The amount of loads.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * Retrieves the amount of times the loader failed.
+     *
+     * @return The amount of failed loads.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Retrieves the average time that the loader took to load the prefixes of a server.
+     *
+     * @return The average load time.
+     */
+    public Duration getAverageLoadTime() {
+        long count = loads.sum();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(loadTime.sum() / count);
+    }
+
+    private static final class Entry {
+
+        private final VelenPrefixTrie trie;
+        private final CompletableFuture<VelenPrefixTrie> future;
+        private final long loadedAt;
+        private final long generation;
+        private final boolean failed;
+        private volatile long lastAccess;
+
+        private Entry(VelenPrefixTrie trie, long loadedAt, long generation, boolean failed) {
+            this.trie = trie;
+            this.future = CompletableFuture.completedFuture(trie);
+            this.loadedAt = loadedAt;
+            this.generation = generation;
+            this.failed = failed;
+            this.lastAccess = loadedAt;
+        }
 
-        prefixes.put(server, prefix);
-        return prefix;
     }
 
 }
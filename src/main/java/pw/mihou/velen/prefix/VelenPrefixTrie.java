@@ -0,0 +1,194 @@
+package pw.mihou.velen.prefix;
+
+import java.util.*;
+
+/**
+ * An immutable trie of prefixes that finds the longest prefix at the start of a message in
+ * a single scan without allocating. The trie is stored as flat arrays where the edges of every
+ * node are kept next to each other, most nodes only have one or two edges.
+ */
+public final class VelenPrefixTrie {
+
+    private static final VelenPrefixTrie EMPTY = new VelenPrefixTrie(Collections.emptyList(), false);
+
+    private final List<String> prefixes;
+    private final boolean ignoreCasing;
+
+    private final int[] first;
+    private final int[] count;
+    private final boolean[] terminal;
+    private final char[] labels;
+    private final int[] targets;
+
+    private VelenPrefixTrie(List<String> prefixes, boolean ignoreCasing) {
+        this.prefixes = Collections.unmodifiableList(new ArrayList<>(prefixes));
+        this.ignoreCasing = ignoreCasing;
+
+        // The trie is first built from maps and then flattened into arrays.
+        List<TreeMap<Character, Integer>> nodes = new ArrayList<>();
+        List<Boolean> terminals = new ArrayList<>();
+        nodes.add(new TreeMap<>());
+        terminals.add(false);
+
+        for (String prefix : prefixes) {
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                char ch = fold(prefix.charAt(i));
+                Integer next = nodes.get(node).get(ch);
+
+                if (next == null) {
+                    next = nodes.size();
+                    nodes.add(new TreeMap<>());
+                    terminals.add(false);
+                    nodes.get(node).put(ch, next);
+                }
+
+                node = next;
+            }
+
+            terminals.set(node, true);
+        }
+
+        int size = nodes.size();
+        int edges = size - 1;
+
+        this.first = new int[size];
+        this.count = new int[size];
+        this.terminal = new boolean[size];
+        this.labels = new char[edges];
+        this.targets = new int[edges];
+
+        int edge = 0;
+        for (int node = 0; node < size; node++) {
+            first[node] = edge;
+            count[node] = nodes.get(node).size();
+            terminal[node] = terminals.get(node);
+
+            for (Map.Entry<Character, Integer> entry : nodes.get(node).entrySet()) {
+                labels[edge] = entry.getKey();
+                targets[edge] = entry.getValue();
+                edge++;
+            }
+        }
+    }
+
+    /**
+     * Creates a trie of the prefixes, empty prefixes are ignored.
+     *
+     * @param prefixes The prefixes of the trie, the first prefix is treated as the main prefix.
+     * @param ignoreCasing Should the prefixes match regardless of casing?
+     * @return A trie of the prefixes.
+     */
+    public static VelenPrefixTrie of(Collection<String> prefixes, boolean ignoreCasing) {
+        List<String> filtered = new ArrayList<>();
+        for (String prefix : prefixes) {
+            if (prefix != null && !prefix.isEmpty() && !filtered.contains(prefix))
+                filtered.add(prefix);
+        }
+
+        if (filtered.isEmpty())
+            return EMPTY;
+
+        return new VelenPrefixTrie(filtered, ignoreCasing);
+    }
+
+    /**
+     * Creates a trie of the prefixes, empty prefixes are ignored.
+     *
+     * @param ignoreCasing Should the prefixes match regardless of casing?
+     * @param prefixes The prefixes of the trie, the first prefix is treated as the main prefix.
+     * @return A trie of the prefixes.
+     */
+    public static VelenPrefixTrie of(boolean ignoreCasing, String... prefixes) {
+        return of(Arrays.asList(prefixes), ignoreCasing);
+    }
+
+    /**
+     * Retrieves an empty trie which matches nothing.
+     *
+     * @return An empty trie.
+     */
+    public static VelenPrefixTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Finds the longest prefix at the position of the content.
+     *
+     * @param content The content to match.
+     * @param from The position where the prefix should start.
+     * @return The length of the longest matching prefix or -1 if no prefix matches.
+     */
+    public int match(CharSequence content, int from) {
+        int node = 0;
+        int longest = -1;
+
+        for (int i = from; i < content.length(); i++) {
+            node = next(node, fold(content.charAt(i)));
+            if (node == -1)
+                break;
+
+            if (terminal[node])
+                longest = i + 1 - from;
+        }
+
+        return longest;
+    }
+
+    private int next(int node, char ch) {
+        int end = first[node] + count[node];
+        for (int edge = first[node]; edge < end; edge++) {
+            if (labels[edge] == ch)
+                return targets[edge];
+        }
+
+        return -1;
+    }
+
+    private char fold(char ch) {
+        return ignoreCasing ? Character.toLowerCase(ch) : ch;
+    }
+
+    /**
+     * Retrieves the main prefix of this trie, this is the
+     * first prefix that the trie was created with.
+     *
+     * @return The main prefix or null if the trie is empty.
+     */
+    public String getPrefix() {
+        return prefixes.isEmpty() ? null : prefixes.get(0);
+    }
+
+    /**
+     * Retrieves all the prefixes of this trie.
+     *
+     * @return The prefixes of this trie.
+     */
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * Checks whether this trie matches regardless of casing.
+     *
+     * @return Does this trie ignore casing?
+     */
+    public boolean isIgnoreCasing() {
+        return ignoreCasing;
+    }
+
+    /**
+     * Checks whether this trie has no prefixes.
+     *
+     * @return Is this trie empty?
+     */
+    public boolean isEmpty() {
+        return prefixes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "VelenPrefixTrie{prefixes=" + prefixes + ", ignoreCasing=" + ignoreCasing + "}";
+    }
+
+}
@@ -0,0 +1,36 @@
+package pw.mihou.velen.prefix.loaders;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An asynchronous version of {@link PrefixLoader}, Velen doesn't wait for this loader on
+ * the thread that receives the messages and serves the default prefix (or the previous prefix)
+ * to anything that asks for the prefix synchronously while the prefix is being loaded.
+ */
+@FunctionalInterface
+public interface AsyncPrefixLoader {
+
+    /**
+     * Computes or retrieves the prefix that corresponds
+     * with the server id.
+     *
+     * @param key The server ID.
+     * @return The future of the prefix of the server.
+     */
+    CompletableFuture<String> load(long key);
+
+    /**
+     * Computes or retrieves all the prefixes that correspond with the server id, you
+     * should override this if servers can have more than one prefix. The first prefix is
+     * treated as the main prefix of the server.
+     *
+     * @param key The server ID.
+     * @return The future of the prefixes of the server.
+     */
+    default CompletableFuture<Collection<String>> loadPrefixes(long key) {
+        return load(key).thenApply(prefix -> prefix == null ? Collections.emptyList() : Collections.singletonList(prefix));
+    }
+
+}
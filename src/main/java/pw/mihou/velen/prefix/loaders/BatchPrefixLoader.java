@@ -0,0 +1,25 @@
+package pw.mihou.velen.prefix.loaders;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A loader that retrieves the prefixes of many servers in a single call, this is used by
+ * {@link pw.mihou.velen.prefix.VelenPrefixManager#preload(org.javacord.api.DiscordApi...)} to load
+ * the prefixes of every server of a shard in chunks instead of one query per server.
+ */
+@FunctionalInterface
+public interface BatchPrefixLoader {
+
+    /**
+     * Computes or retrieves the prefixes of all the servers. Servers that are missing
+     * from the result are treated as servers without a custom prefix and use the default prefix.
+     * The first prefix of every server is treated as the main prefix of the server.
+     *
+     * @param keys The server IDs.
+     * @return The future of the prefixes of every server.
+     */
+    CompletableFuture<Map<Long, Collection<String>>> load(Collection<Long> keys);
+
+}
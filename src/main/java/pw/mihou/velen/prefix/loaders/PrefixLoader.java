@@ -1,5 +1,8 @@
 package pw.mihou.velen.prefix.loaders;
 
+import java.util.Collection;
+import java.util.Collections;
+
 public interface PrefixLoader {
 
     /**
@@ -11,4 +14,17 @@ public interface PrefixLoader {
      */
     String load(long key);
 
+    /**
+     * Computes or retrieves all the prefixes that correspond with the server id, you
+     * should override this if servers can have more than one prefix. The first prefix is
+     * treated as the main prefix of the server.
+     *
+     * @param key The server ID.
+     * @return The prefixes of the server.
+     */
+    default Collection<String> loadPrefixes(long key) {
+        String prefix = load(key);
+        return prefix == null ? Collections.emptyList() : Collections.singletonList(prefix);
+    }
+
 }
@@ -0,0 +1,474 @@
+package pw.mihou.velen.processor;
+
+import org.javacord.api.interaction.SlashCommandOptionType;
+import pw.mihou.velen.annotations.*;
+import pw.mihou.velen.internals.routing.compiled.VelenFormatCompiler;
+import pw.mihou.velen.internals.routing.compiled.VelenFormatMatcher;
+import pw.mihou.velen.internals.routing.compiled.VelenFormatSlot;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.MirroredTypesException;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the registry of the commands that are declared with {@link VelenCommandDef} while compiling, the registry
+ * creates every command through {@link pw.mihou.velen.builders.VelenCommandBuilder} with the slash command options written
+ * out, the formats already compiled into their matchers and the handlers (as well as the middlewares and afterwares that are
+ * declared through their classes) created directly, which means that registering the commands doesn't read any file, parse
+ * any format or look up any handler by its name:
+ * <pre>{@code VelenRegistry.register(velen);}</pre>
+ * The processor is not enabled by default, it can be enabled through the <b>-processor</b> option of javac or through the
+ * <b>annotationProcessors</b> of the Maven compiler plugin with <b>pw.mihou.velen.processor.VelenProcessor</b>. The name of the
+ * registry is <b>pw.mihou.velen.generated.VelenRegistry</b> unless it is changed through <b>-Avelen.registry=com.example.Registry</b>.
+ */
+@SupportedAnnotationTypes({
+        "pw.mihou.velen.annotations.VelenCommandDef",
+        "pw.mihou.velen.annotations.Option",
+        "pw.mihou.velen.annotations.Options",
+        "pw.mihou.velen.annotations.Choice",
+        "pw.mihou.velen.annotations.Middleware",
+        "pw.mihou.velen.annotations.Afterware"
+})
+@SupportedOptions(VelenProcessor.REGISTRY_OPTION)
+public class VelenProcessor extends AbstractProcessor {
+
+    /**
+     * The option that changes the fully qualified name of the generated registry.
+     */
+    public static final String REGISTRY_OPTION = "velen.registry";
+
+    /**
+     * The fully qualified name of the generated registry when the option isn't given.
+     */
+    public static final String DEFAULT_REGISTRY = "pw.mihou.velen.generated.VelenRegistry";
+
+    private static final String HYBRID = "pw.mihou.velen.interfaces.VelenHybridHandler";
+    private static final String SLASH = "pw.mihou.velen.interfaces.VelenSlashEvent";
+    private static final String MESSAGE = "pw.mihou.velen.interfaces.VelenEvent";
+
+    private boolean generated = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        // The other annotations are only read through the command that they belong to.
+        for (Class<? extends Annotation> annotation : Arrays.asList(Option.class, Options.class,
+                Middleware.class, Afterware.class)) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getAnnotation(VelenCommandDef.class) == null)
+                    error(element, "@" + annotation.getSimpleName() + " can only be used together with @VelenCommandDef");
+            }
+        }
+
+        Set<TypeElement> elements = ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(VelenCommandDef.class));
+
+        if (elements.isEmpty())
+            return true;
+
+        if (generated) {
+            elements.forEach(element -> error(element, "Commands cannot be declared in generated sources since the registry is already generated"));
+            return true;
+        }
+
+        // The commands are sorted by the names of their handlers so that the registry is the same on every compilation.
+        List<TypeElement> handlers = new ArrayList<>(elements);
+        handlers.sort(Comparator.comparing(element -> element.getQualifiedName().toString()));
+
+        List<String> commands = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+
+        for (TypeElement handler : handlers) {
+            VelenCommandDef definition = handler.getAnnotation(VelenCommandDef.class);
+
+            if (!names.add(definition.server() + "/" + definition.name().toLowerCase())) {
+                error(handler, "There is already a command with the name of [" + definition.name() + "]");
+                continue;
+            }
+
+            String command = command(handler, definition);
+            if (command != null)
+                commands.add(command);
+        }
+
+        generated = true;
+
+        if (commands.size() == handlers.size())
+            write(commands);
+
+        return true;
+    }
+
+    private String command(TypeElement handler, VelenCommandDef definition) {
+        if (definition.name().trim().isEmpty()) {
+            error(handler, "The name of a command cannot be empty");
+            return null;
+        }
+
+        if (!isInstantiable(handler, handler, "A command handler"))
+            return null;
+
+        boolean hybrid = implementsInterface(handler, HYBRID);
+        boolean slash = implementsInterface(handler, SLASH);
+        boolean message = implementsInterface(handler, MESSAGE);
+
+        if (!hybrid && !slash && !message) {
+            error(handler, "A command handler must implement VelenHybridHandler, VelenSlashEvent or VelenEvent");
+            return null;
+        }
+
+        String name = definition.name();
+        StringBuilder code = new StringBuilder("        {\n")
+                .append("            ").append(handler.getQualifiedName()).append(" handler = new ")
+                .append(handler.getQualifiedName()).append("();\n")
+                .append("            new VelenCommandBuilder()\n");
+        call(code, "setName", literal(name));
+        call(code, "setDescription", literal(definition.description()));
+
+        for (String usage : definition.usages()) {
+            call(code, "addUsage", literal(usage));
+        }
+
+        for (String shortcut : definition.shortcuts()) {
+            call(code, "addShortcut", literal(shortcut));
+        }
+
+        if (!definition.category().isEmpty())
+            call(code, "setCategory", literal(definition.category()));
+
+        if (definition.cooldown() >= 0)
+            call(code, "setCooldown", "Duration.ofMillis(" + definition.cooldown() + "L)");
+
+        if (definition.serverOnly())
+            call(code, "setServerOnly", definition.server() == 0 ? "true" : "true, " + definition.server() + "L");
+
+        if (definition.privateOnly())
+            call(code, "setPrivateChannelOnly", "true");
+
+        if (!definition.defaultPermission())
+            call(code, "setDefaultPermission", "false");
+
+        if (definition.permissions().length > 0) {
+            call(code, "requirePermissions", Arrays.stream(definition.permissions())
+                    .map(permission -> "PermissionType." + permission.name())
+                    .collect(Collectors.joining(", ")));
+        }
+
+        for (long role : definition.roles()) {
+            call(code, "requireRole", role + "L");
+        }
+
+        Middleware middleware = handler.getAnnotation(Middleware.class);
+        if (middleware != null) {
+            String middlewares = instances(handler, types(middleware::types), "middleware");
+            if (middlewares == null)
+                return null;
+
+            if (middleware.value().length > 0)
+                call(code, "addMiddlewares", literals(middleware.value()));
+
+            if (!middlewares.isEmpty())
+                call(code, "addMiddlewares", middlewares);
+        }
+
+        Afterware afterware = handler.getAnnotation(Afterware.class);
+        if (afterware != null) {
+            String afterwares = instances(handler, types(afterware::types), "afterware");
+            if (afterwares == null)
+                return null;
+
+            if (afterware.value().length > 0)
+                call(code, "addAfterwares", literals(afterware.value()));
+
+            if (!afterwares.isEmpty())
+                call(code, "addAfterwares", afterwares);
+        }
+
+        // The formats are written out the same way as the formats of the Velen files.
+        List<String> formats = new ArrayList<>(Arrays.asList(definition.formats()));
+        Set<String> optionNames = new HashSet<>();
+
+        for (Option option : handler.getAnnotationsByType(Option.class)) {
+            if (!optionNames.add(option.name().toLowerCase())) {
+                error(handler, "There is already an option with the name of [" + option.name() + "]");
+                return null;
+            }
+
+            call(code, "addOption", option(option));
+            formats.add(name + " " + format(option));
+        }
+
+        if (formats.stream().noneMatch(format -> format.contains("::required()")))
+            formats.add(name);
+
+        // The formats are compiled now, a malformed format fails the compilation instead of the startup.
+        VelenFormatMatcher matcher;
+        try {
+            matcher = VelenFormatCompiler.compile(formats);
+        } catch (IllegalStateException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), handler);
+            return null;
+        }
+
+        call(code, "addFormats", literals(formats.toArray(new String[0])));
+        call(code, "setFormatMatcher", matcher(matcher));
+
+        // A handler that implements both VelenEvent and VelenSlashEvent handles both kinds of commands.
+        if (hybrid) {
+            call(code, "setHybridHandler", "handler");
+        } else {
+            if (message)
+                call(code, "doEventOnInvocation", "handler");
+
+            if (slash)
+                call(code, "setSlashEvent", "handler");
+        }
+
+        call(code, "setVelen", "velen");
+        return code.append("                    .attach();\n")
+                .append("        }\n")
+                .toString();
+    }
+
+    private String matcher(VelenFormatMatcher matcher) {
+        StringBuilder code = new StringBuilder("new VelenFormatMatcher(new VelenFormatSlot[][]{");
+
+        for (VelenFormatSlot[] format : matcher.getFormats()) {
+            code.append("\n                            {")
+                    .append(Arrays.stream(format).map(this::slot).collect(Collectors.joining(", ")))
+                    .append("},");
+        }
+
+        return code.append("\n                    })").toString();
+    }
+
+    private String slot(VelenFormatSlot slot) {
+        if (!slot.isOption())
+            return "VelenFormatSlot.ofLiteral(" + literal(slot.getLiteral()) + ")";
+
+        String[] choices = slot.getChoices();
+        String patterns = Arrays.stream(slot.getPatterns())
+                .map(pattern -> "Pattern.compile(" + literal(pattern.pattern()) + ")")
+                .collect(Collectors.joining(", "));
+
+        return "VelenFormatSlot.ofOption(" + literal(slot.getName()) + ", "
+                + (choices == null ? "null" : "new String[]{" + literals(choices) + "}") + ", "
+                + slot.isIgnoreCasing() + ", new Pattern[]{" + patterns + "}, "
+                + literal(slot.getType()) + ", " + slot.hasMany() + ")";
+    }
+
+    /**
+     * Creates the middlewares or afterwares that are declared through their classes.
+     *
+     * @return The comma-separated creation of every class, null if any of the classes cannot be created.
+     */
+    private String instances(TypeElement handler, List<? extends TypeMirror> types, String kind) {
+        List<String> instances = new ArrayList<>();
+
+        for (TypeMirror type : types) {
+            TypeElement element = (TypeElement) processingEnv.getTypeUtils().asElement(type);
+            if (!isInstantiable(element, handler, "The " + kind + " " + element.getQualifiedName()))
+                return null;
+
+            instances.add("new " + element.getQualifiedName() + "()");
+        }
+
+        return String.join(", ", instances);
+    }
+
+    private List<? extends TypeMirror> types(Supplier<Class<?>[]> classes) {
+        // The classes of an annotation can only be read as types while compiling.
+        try {
+            classes.get();
+        } catch (MirroredTypesException e) {
+            return e.getTypeMirrors();
+        }
+
+        return Collections.emptyList();
+    }
+
+    private String option(Option option) {
+        StringBuilder code = new StringBuilder("new SlashCommandOptionBuilder()")
+                .append(".setName(").append(literal(option.name())).append(")")
+                .append(".setType(SlashCommandOptionType.").append(type(option.type()).name()).append(")")
+                .append(".setDescription(").append(literal(option.description())).append(")")
+                .append(".setRequired(").append(option.required()).append(")");
+
+        for (Choice choice : option.choices()) {
+            code.append(".addChoice(").append(literal(choice.name())).append(", ").append(literal(choice.value())).append(")");
+        }
+
+        return code.toString();
+    }
+
+    private String format(Option option) {
+        StringBuilder format = new StringBuilder(":[").append(option.name())
+                .append(":of(").append(option.type()).append(")");
+
+        if (option.required())
+            format.append(":required()");
+
+        if (!option.regex().isEmpty())
+            format.append(":{").append(option.regex()).append("}");
+
+        if (option.hasMany())
+            format.append(":hasMany()");
+
+        if (option.choices().length > 0) {
+            format.append("::(")
+                    .append(Arrays.stream(option.choices()).map(Choice::name).collect(Collectors.joining(",")))
+                    .append(")");
+        }
+
+        return format.append("]").toString();
+    }
+
+    private SlashCommandOptionType type(String type) {
+        for (SlashCommandOptionType value : SlashCommandOptionType.values()) {
+            if (value.name().equalsIgnoreCase(type))
+                return value;
+        }
+
+        switch (type.toLowerCase()) {
+            case "user": return SlashCommandOptionType.USER;
+            case "channel": return SlashCommandOptionType.CHANNEL;
+            case "role": return SlashCommandOptionType.ROLE;
+            case "numeric": return SlashCommandOptionType.LONG;
+            case "boolean": return SlashCommandOptionType.BOOLEAN;
+            default: return SlashCommandOptionType.STRING;
+        }
+    }
+
+    private void write(List<String> commands) {
+        String registry = processingEnv.getOptions().getOrDefault(REGISTRY_OPTION, DEFAULT_REGISTRY);
+        int separator = registry.lastIndexOf('.');
+        String packageName = separator == -1 ? null : registry.substring(0, separator);
+        String className = registry.substring(separator + 1);
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(registry).openWriter()) {
+            if (packageName != null)
+                writer.write("package " + packageName + ";\n\n");
+
+            writer.write("import org.javacord.api.entity.permission.PermissionType;\n" +
+                    "import org.javacord.api.interaction.SlashCommandOptionBuilder;\n" +
+                    "import org.javacord.api.interaction.SlashCommandOptionType;\n" +
+                    "import pw.mihou.velen.builders.VelenCommandBuilder;\n" +
+                    "import pw.mihou.velen.interfaces.Velen;\n" +
+                    "import pw.mihou.velen.internals.routing.compiled.VelenFormatMatcher;\n" +
+                    "import pw.mihou.velen.internals.routing.compiled.VelenFormatSlot;\n\n" +
+                    "import java.time.Duration;\n" +
+                    "import java.util.regex.Pattern;\n\n" +
+                    "/**\n" +
+                    " * The registry of the commands that are declared with VelenCommandDef, this is generated by VelenProcessor.\n" +
+                    " */\n" +
+                    "public final class " + className + " {\n\n" +
+                    "    private " + className + "() {\n" +
+                    "    }\n\n" +
+                    "    /**\n" +
+                    "     * Creates every declared command and adds it to Velen.\n" +
+                    "     *\n" +
+                    "     * @param velen The Velen instance to add the commands to.\n" +
+                    "     * @return The Velen instance for chain-calling methods.\n" +
+                    "     */\n" +
+                    "    public static Velen register(Velen velen) {\n");
+
+            for (String command : commands) {
+                writer.write(command);
+            }
+
+            writer.write("        return velen;\n" +
+                    "    }\n\n" +
+                    "}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write the Velen registry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether the generated registry can create the type with its constructor.
+     *
+     * @param type The type to create.
+     * @param element The element to report the errors on.
+     * @param subject The subject of the errors, for example: <b>A command handler</b>.
+     * @return Can the type be created?
+     */
+    private boolean isInstantiable(TypeElement type, Element element, String subject) {
+        Set<Modifier> modifiers = type.getModifiers();
+
+        if (type.getKind() != ElementKind.CLASS || !modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)) {
+            error(element, subject + " must be a public class that isn't abstract");
+            return false;
+        }
+
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && !modifiers.contains(Modifier.STATIC)) {
+            error(element, subject + " that is inside another class must be static");
+            return false;
+        }
+
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        boolean instantiable = constructors.stream().anyMatch(constructor -> constructor.getParameters().isEmpty()
+                && constructor.getModifiers().contains(Modifier.PUBLIC));
+
+        if (!instantiable)
+            error(element, subject + " must have a public constructor without any parameters");
+
+        return instantiable;
+    }
+
+    private boolean implementsInterface(TypeElement handler, String name) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(name);
+        if (type == null)
+            return false;
+
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type.asType());
+        return processingEnv.getTypeUtils().isAssignable(handler.asType(), erased);
+    }
+
+    private void call(StringBuilder code, String method, String arguments) {
+        code.append("                    .").append(method).append("(").append(arguments).append(")\n");
+    }
+
+    private String literals(String[] values) {
+        return Arrays.stream(values).map(this::literal).collect(Collectors.joining(", "));
+    }
+
+    private String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '"': literal.append("\\\""); break;
+                case '\\': literal.append("\\\\"); break;
+                case '\n': literal.append("\\n"); break;
+                case '\r': literal.append("\\r"); break;
+                case '\t': literal.append("\\t"); break;
+                default:
+                    if (character < 0x20 || character > 0x7E) {
+                        literal.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        literal.append(character);
+                    }
+            }
+        }
+
+        return literal.append("\"").toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message + ".", element);
+    }
+
+}
@@ -1,27 +1,37 @@
 package pw.mihou.velen.ratelimiter;
 
+import pw.mihou.velen.executor.VelenExecutor;
+import pw.mihou.velen.ratelimiter.engine.VelenCooldownTable;
 import pw.mihou.velen.ratelimiter.entities.RatelimitEntity;
 import pw.mihou.velen.ratelimiter.entities.RatelimitInterceptorPosition;
 import pw.mihou.velen.ratelimiter.entities.RatelimitObject;
 import pw.mihou.velen.utils.Pair;
-import pw.mihou.velen.utils.VelenThreadPool;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 public class VelenRatelimiter {
 
-    private final Map<Pair<String, Long>, RatelimitEntity> ratelimits = new ConcurrentHashMap<>();
+    private final VelenCooldownTable cooldowns = new VelenCooldownTable();
+    private final VelenCooldownTable notifications = new VelenCooldownTable();
+    private final Map<String, Integer> commands = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    // The cooldown that each command was last acquired with, the entities of getRatelimitedUsers are built with it.
+    private final Map<Integer, Long> durations = new ConcurrentHashMap<>();
+    private final AtomicInteger counter = new AtomicInteger();
     private final Duration duration;
-    private final List<Consumer<RatelimitObject>> interceptorRelease = new ArrayList<>();
-    private final List<Consumer<RatelimitObject>> interceptorExecution = new ArrayList<>();
-    private final List<Consumer<RatelimitObject>> interceptorNotification = new ArrayList<>();
+    private final List<Consumer<RatelimitObject>> interceptorRelease = new CopyOnWriteArrayList<>();
+    private final List<Consumer<RatelimitObject>> interceptorExecution = new CopyOnWriteArrayList<>();
+    private final List<Consumer<RatelimitObject>> interceptorNotification = new CopyOnWriteArrayList<>();
+    private VelenExecutor executor = VelenExecutor.ofDefaults();
 
     /**
      * Creates a Velen Rate-limiter with a custom default duration.
@@ -80,6 +90,16 @@ public class VelenRatelimiter {
             interceptorRelease.add(event);
     }
 
+    /**
+     * Sets the executor that is used to run the interceptors, this is
+     * automatically set by {@link pw.mihou.velen.VelenBuilder} to the executor of {@link pw.mihou.velen.interfaces.Velen}.
+     *
+     * @param executor The executor to use for the interceptors.
+     */
+    public void setExecutor(VelenExecutor executor) {
+        this.executor = executor;
+    }
+
     /**
      * Ratelimits a user from a command.
      *
@@ -96,40 +116,26 @@ public class VelenRatelimiter {
      *                  the execution of the command.
      */
     public void ratelimit(long user, long server, String command, long cooldown, Consumer<Long> onLimited, Consumer<RatelimitEntity> onSuccess) {
-        Pair<String, Long> pair = Pair.of(command, user);
-        if (!ratelimits.containsKey(pair)) {
-            ratelimits.put(pair, new RatelimitEntity(user));
-        }
-
-        RatelimitObject ratelimitObject = new RatelimitObject(user, server, command);
-
-        RatelimitEntity entity = ratelimits.get(pair);
-        if (entity.isRatelimited(server)) {
-            if (((TimeUnit.MILLISECONDS.toSeconds(entity.getRemainingTime(server) + cooldown))
-                    - (TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()))) > 0) {
-                if (!entity.isNotified(server)) {
-                    onLimited.accept((TimeUnit.MILLISECONDS.toSeconds(entity.getRemainingTime(server) + cooldown))
-                            - (TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())));
-
-                    if (!interceptorNotification.isEmpty())
-                        interceptorNotification.forEach(ratelimitObjectConsumer ->
-                                VelenThreadPool.executorService.submit(() -> ratelimitObjectConsumer.accept(ratelimitObject)));
-
-                    entity.notified(server);
-                }
-
-                return;
+        int id = intern(command);
+        long now = System.currentTimeMillis();
+
+        // The cooldown is aligned to whole seconds since the remaining time is
+        // reported in seconds, this keeps the behavior identical to the previous rate-limiter.
+        long expiresAt = TimeUnit.SECONDS.toMillis(TimeUnit.MILLISECONDS.toSeconds(now + cooldown));
+        long result = cooldowns.acquire(id, user, server, now, expiresAt);
+
+        if (result != VelenCooldownTable.ACQUIRED) {
+            if (result > 0) {
+                onLimited.accept(TimeUnit.MILLISECONDS.toSeconds(now + result) - TimeUnit.MILLISECONDS.toSeconds(now));
+                intercept(interceptorNotification, user, server, command);
             }
 
-            entity.release(server);
+            return;
         }
 
-        entity.ratelimit(server);
-
-        if (!interceptorExecution.isEmpty())
-            interceptorExecution.forEach(ratelimitObjectConsumer ->
-                    VelenThreadPool.executorService.submit(() -> ratelimitObjectConsumer.accept(ratelimitObject)));
-        onSuccess.accept(entity);
+        durations.put(id, cooldown);
+        intercept(interceptorExecution, user, server, command);
+        onSuccess.accept(new RatelimitEntity(user, id, cooldown, cooldowns));
     }
 
     /**
@@ -140,16 +146,8 @@ public class VelenRatelimiter {
      * @param command The command that the user used.
      */
     public void release(long user, long server, String command) {
-        Pair<String, Long> pair = Pair.of(command, user);
-        if (!ratelimits.containsKey(pair))
-            ratelimits.put(pair, new RatelimitEntity(user));
-
-        if (!interceptorRelease.isEmpty())
-            interceptorExecution.forEach(ratelimitObjectConsumer ->
-                    VelenThreadPool.executorService.submit(() -> ratelimitObjectConsumer
-                            .accept(new RatelimitObject(user, server, command))));
-
-        ratelimits.get(pair).release(server);
+        intercept(interceptorRelease, user, server, command);
+        cooldowns.release(intern(command), user, server);
     }
 
     /**
@@ -161,24 +159,83 @@ public class VelenRatelimiter {
      * @return Is the user rate-limited?
      */
     public boolean isRatelimited(long user, long server, String command) {
-        Pair<String, Long> pair = Pair.of(command, user);
-        if (!ratelimits.containsKey(pair)) {
-            ratelimits.put(pair, new RatelimitEntity(user));
-            return false;
-        }
-
-        return ratelimits.get(pair).isRatelimited(server);
+        Integer id = commands.get(command);
+        return id != null && cooldowns.isActive(id, user, server, System.currentTimeMillis());
     }
 
     /**
-     * Returns a full map containing a key of (Command Name, Server ID) and a value of
-     * the user's rate-limit entity.
+     * Returns a snapshot map containing a key of (Command Name, User ID) and a value of
+     * the user's rate-limit entity. This walks the entire cooldown table and should not
+     * be called on hot paths.
      *
-     * @return A map containing a key of (Command Name, Server ID) and a value of
+     * @return A map containing a key of (Command Name, User ID) and a value of
      * the user's rate-limit entity.
      */
     public Map<Pair<String, Long>, RatelimitEntity> getRatelimitedUsers() {
-        return ratelimits;
+        Map<Pair<String, Long>, RatelimitEntity> snapshot = new HashMap<>();
+        cooldowns.forEach(System.currentTimeMillis(), (command, user, server, since, notified) ->
+                snapshot.computeIfAbsent(Pair.of(names.get(command), user),
+                        pair -> new RatelimitEntity(user, command, durations.getOrDefault(command, duration.toMillis()), cooldowns)));
+
+        return snapshot;
+    }
+
+    /**
+     * Checks whether the user should be notified that they were denied by a rate-limit
+     * policy, this will only return true once until the duration has passed so users are not
+     * spammed with the same message for every attempt.
+     *
+     * @param user     The user who was denied.
+     * @param server   The server where the user was denied.
+     * @param command  The command that the user used.
+     * @param duration The amount of time in milliseconds until the user can try again.
+     * @return Should the user be notified?
+     */
+    public boolean shouldNotify(long user, long server, String command, long duration) {
+        long now = System.currentTimeMillis();
+        boolean notify = notifications.acquire(intern(command), user, server, now, now + duration) == VelenCooldownTable.ACQUIRED;
+
+        if (notify)
+            intercept(interceptorNotification, user, server, command);
+
+        return notify;
+    }
+
+    /**
+     * Retrieves the interned id of the command, the rate-limiter stores every
+     * command as an integer to avoid hashing the command name on every check.
+     *
+     * @param command The name (or identifier) of the command.
+     * @return The interned id of the command.
+     */
+    public int intern(String command) {
+        Integer id = commands.get(command);
+        if (id != null)
+            return id;
+
+        return commands.computeIfAbsent(command, key -> {
+            int next = counter.getAndIncrement();
+            names.put(next, key);
+            return next;
+        });
+    }
+
+    /**
+     * Retrieves the cooldown table that is used by this rate-limiter.
+     *
+     * @return The cooldown table of this rate-limiter.
+     */
+    public VelenCooldownTable getCooldownTable() {
+        return cooldowns;
+    }
+
+    private void intercept(List<Consumer<RatelimitObject>> interceptors, long user, long server, String command) {
+        if (interceptors.isEmpty())
+            return;
+
+        RatelimitObject ratelimitObject = new RatelimitObject(user, server, command);
+        interceptors.forEach(ratelimitObjectConsumer ->
+                executor.submit(() -> ratelimitObjectConsumer.accept(ratelimitObject)));
     }
 
     /**
@@ -0,0 +1,375 @@
+package pw.mihou.velen.ratelimiter.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cooldown table that stores (command, user, server) cooldowns in primitive
+ * open-addressing tables, split into segments to keep contention low. Entries expire
+ * lazily: an expired entry is treated as free by every operation and is purged whenever
+ * its segment is rebuilt or swept, which keeps memory bounded by the amount of users that are
+ * currently on cooldown.
+ * <br><br>
+ * This is internally used by {@link pw.mihou.velen.ratelimiter.VelenRatelimiter}, you should not
+ * need to touch this unless you are writing your own rate-limiter.
+ */
+public class VelenCooldownTable {
+
+    /**
+     * Returned by {@link VelenCooldownTable#acquire(int, long, long, long, long)} when
+     * the cooldown was acquired.
+     */
+    public static final long ACQUIRED = 0L;
+
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long SWEEP_INTERVAL = 30_000L;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    public VelenCooldownTable() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Attempts to place the user on cooldown for the specified command and server.
+     *
+     * @param command The interned id of the command.
+     * @param user The user to place on cooldown.
+     * @param server The server where the cooldown applies.
+     * @param now The current time in milliseconds.
+     * @param expiresAt The time in milliseconds when the cooldown should expire.
+     * @return {@link VelenCooldownTable#ACQUIRED} if the user was placed on cooldown, otherwise the remaining
+     * milliseconds of the cooldown; this is positive the first time the user hits the cooldown (the user should be
+     * notified) and negative for every other attempt until the cooldown expires.
+     */
+    public long acquire(int command, long user, long server, long now, long expiresAt) {
+        sweepIfDue(now);
+
+        long hash = hash(command, user, server);
+        return segmentFor(hash).acquire(hash, command, user, server, now, expiresAt);
+    }
+
+    /**
+     * Removes the cooldown of the user for the specified command and server.
+     *
+     * @param command The interned id of the command.
+     * @param user The user to release.
+     * @param server The server where the cooldown applies.
+     * @return Was there an active entry to remove?
+     */
+    public boolean release(int command, long user, long server) {
+        long hash = hash(command, user, server);
+        return segmentFor(hash).release(hash, command, user, server);
+    }
+
+    /**
+     * Retrieves the time in milliseconds when the cooldown of the user started.
+     *
+     * @param command The interned id of the command.
+     * @param user The user to check.
+     * @param server The server where the cooldown applies.
+     * @param now The current time in milliseconds.
+     * @return The time the cooldown started or zero if there is no active cooldown.
+     */
+    public long getSince(int command, long user, long server, long now) {
+        long hash = hash(command, user, server);
+        return segmentFor(hash).since(hash, command, user, server, now);
+    }
+
+    /**
+     * Checks whether the user was already notified about the active cooldown.
+     *
+     * @param command The interned id of the command.
+     * @param user The user to check.
+     * @param server The server where the cooldown applies.
+     * @param now The current time in milliseconds.
+     * @return Was the user notified about the cooldown?
+     */
+    public boolean isNotified(int command, long user, long server, long now) {
+        long hash = hash(command, user, server);
+        return segmentFor(hash).notified(hash, command, user, server, now);
+    }
+
+    /**
+     * Marks the active cooldown of the user as notified.
+     *
+     * @param command The interned id of the command.
+     * @param user The user to mark.
+     * @param server The server where the cooldown applies.
+     * @param now The current time in milliseconds.
+     */
+    public void markNotified(int command, long user, long server, long now) {
+        long hash = hash(command, user, server);
+        segmentFor(hash).markNotified(hash, command, user, server, now);
+    }
+
+    /**
+     * Checks whether the user is currently on cooldown.
+     *
+     * @param command The interned id of the command.
+     * @param user The user to check.
+     * @param server The server where the cooldown applies.
+     * @param now The current time in milliseconds.
+     * @return Is the user on cooldown?
+     */
+    public boolean isActive(int command, long user, long server, long now) {
+        return getSince(command, user, server, now) != 0L;
+    }
+
+    /**
+     * Iterates over every active cooldown, this locks each segment while
+     * it is being visited and should not be used on hot paths.
+     *
+     * @param now The current time in milliseconds.
+     * @param visitor The visitor to call for every active cooldown.
+     */
+    public void forEach(long now, Visitor visitor) {
+        for (Segment segment : segments) {
+            segment.forEach(now, visitor);
+        }
+    }
+
+    /**
+     * Purges every expired entry from all the segments.
+     *
+     * @param now The current time in milliseconds.
+     */
+    public void sweep(long now) {
+        for (Segment segment : segments) {
+            segment.sweep(now);
+        }
+    }
+
+    /**
+     * Counts the amount of entries that are currently stored, this
+     * includes entries that have expired but are not yet purged.
+     *
+     * @return The amount of stored entries.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now >= due && nextSweep.compareAndSet(due, now + SWEEP_INTERVAL)) {
+            sweep(now);
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 58)];
+    }
+
+    private static long hash(int command, long user, long server) {
+        long h = user * 0x9E3779B97F4A7C15L;
+        h ^= server * 0xC2B2AE3D27D4EB4FL;
+        h ^= command * 0x165667B19E3779F9L;
+        h ^= (h >>> 31);
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 29);
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * Visits an active cooldown.
+         *
+         * @param command The interned id of the command.
+         * @param user The user on cooldown.
+         * @param server The server where the cooldown applies.
+         * @param since The time in milliseconds when the cooldown started.
+         * @param notified Was the user notified about the cooldown?
+         */
+        void visit(int command, long user, long server, long since, boolean notified);
+
+    }
+
+    private static final class Segment {
+
+        private static final byte EMPTY = 0;
+        private static final byte USED = 1;
+        private static final byte DELETED = 2;
+
+        private byte[] states;
+        private int[] commands;
+        private long[] users;
+        private long[] servers;
+        private long[] since;
+        private long[] expiry;
+        private boolean[] notified;
+
+        // The amount of slots that are not empty, this includes deleted slots.
+        private int occupied;
+        private int size;
+
+        private Segment() {
+            allocate(INITIAL_CAPACITY);
+        }
+
+        private void allocate(int capacity) {
+            states = new byte[capacity];
+            commands = new int[capacity];
+            users = new long[capacity];
+            servers = new long[capacity];
+            since = new long[capacity];
+            expiry = new long[capacity];
+            notified = new boolean[capacity];
+            occupied = 0;
+            size = 0;
+        }
+
+        private int find(long hash, int command, long user, long server) {
+            int mask = states.length - 1;
+            int slot = (int) hash & mask;
+
+            while (states[slot] != EMPTY) {
+                if (states[slot] == USED && commands[slot] == command && users[slot] == user && servers[slot] == server)
+                    return slot;
+
+                slot = (slot + 1) & mask;
+            }
+
+            return -1;
+        }
+
+        synchronized long acquire(long hash, int command, long user, long server, long now, long expiresAt) {
+            int slot = find(hash, command, user, server);
+
+            if (slot != -1) {
+                long remaining = expiry[slot] - now;
+                if (remaining > 0) {
+                    if (notified[slot])
+                        return -remaining;
+
+                    notified[slot] = true;
+                    return remaining;
+                }
+
+                since[slot] = now;
+                expiry[slot] = expiresAt;
+                notified[slot] = false;
+                return ACQUIRED;
+            }
+
+            if (occupied + 1 > (states.length >> 1) + (states.length >> 2)) {
+                rebuild(now);
+            }
+
+            insert(hash, command, user, server, now, expiresAt, false);
+            return ACQUIRED;
+        }
+
+        private void insert(long hash, int command, long user, long server, long start, long expiresAt, boolean wasNotified) {
+            int mask = states.length - 1;
+            int slot = (int) hash & mask;
+
+            while (states[slot] == USED) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (states[slot] == EMPTY)
+                occupied++;
+
+            states[slot] = USED;
+            commands[slot] = command;
+            users[slot] = user;
+            servers[slot] = server;
+            since[slot] = start;
+            expiry[slot] = expiresAt;
+            notified[slot] = wasNotified;
+            size++;
+        }
+
+        synchronized boolean release(long hash, int command, long user, long server) {
+            int slot = find(hash, command, user, server);
+            if (slot == -1)
+                return false;
+
+            states[slot] = DELETED;
+            size--;
+            return true;
+        }
+
+        synchronized long since(long hash, int command, long user, long server, long now) {
+            int slot = find(hash, command, user, server);
+            return slot == -1 || expiry[slot] <= now ? 0L : since[slot];
+        }
+
+        synchronized boolean notified(long hash, int command, long user, long server, long now) {
+            int slot = find(hash, command, user, server);
+            return slot != -1 && expiry[slot] > now && notified[slot];
+        }
+
+        synchronized void markNotified(long hash, int command, long user, long server, long now) {
+            int slot = find(hash, command, user, server);
+            if (slot != -1 && expiry[slot] > now)
+                notified[slot] = true;
+        }
+
+        synchronized void forEach(long now, Visitor visitor) {
+            for (int i = 0; i < states.length; i++) {
+                if (states[i] == USED && expiry[i] > now)
+                    visitor.visit(commands[i], users[i], servers[i], since[i], notified[i]);
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void sweep(long now) {
+            if (occupied == 0)
+                return;
+
+            rebuild(now);
+        }
+
+        /**
+         * Rebuilds the segment without any expired or deleted entries, the new
+         * capacity fits the amount of live entries which allows the segment to shrink again
+         * after a traffic spike.
+         *
+         * @param now The current time in milliseconds.
+         */
+        private void rebuild(long now) {
+            byte[] oldStates = states;
+            int[] oldCommands = commands;
+            long[] oldUsers = users;
+            long[] oldServers = servers;
+            long[] oldSince = since;
+            long[] oldExpiry = expiry;
+            boolean[] oldNotified = notified;
+
+            int live = 0;
+            for (int i = 0; i < oldStates.length; i++) {
+                if (oldStates[i] == USED && oldExpiry[i] > now)
+                    live++;
+            }
+
+            int capacity = INITIAL_CAPACITY;
+            while (capacity < (live + 1) * 2) {
+                capacity <<= 1;
+            }
+
+            allocate(capacity);
+            for (int i = 0; i < oldStates.length; i++) {
+                if (oldStates[i] == USED && oldExpiry[i] > now) {
+                    insert(hash(oldCommands[i], oldUsers[i], oldServers[i]), oldCommands[i], oldUsers[i], oldServers[i],
+                            oldSince[i], oldExpiry[i], oldNotified[i]);
+                }
+            }
+        }
+
+    }
+
+}
@@ -1,19 +1,28 @@
 package pw.mihou.velen.ratelimiter.entities;
 
-import pw.mihou.velen.utils.Pair;
-
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
+import pw.mihou.velen.ratelimiter.engine.VelenCooldownTable;
 
 public class RatelimitEntity {
 
     private final long user;
-    private final Map<Long, Pair<AtomicBoolean, Long>> servers;
-
-    public RatelimitEntity(long user) {
+    private final int command;
+    private final long cooldown;
+    private final VelenCooldownTable table;
+
+    /**
+     * Creates a view of the cooldowns of a user on a specific command, this
+     * does not hold any state of its own and reads everything from the cooldown table.
+     *
+     * @param user The user that this entity represents.
+     * @param command The interned id of the command.
+     * @param cooldown The cooldown of the command in milliseconds.
+     * @param table The cooldown table to read from.
+     */
+    public RatelimitEntity(long user, int command, long cooldown, VelenCooldownTable table) {
         this.user = user;
-        this.servers = new ConcurrentHashMap<>();
+        this.command = command;
+        this.cooldown = cooldown;
+        this.table = table;
     }
 
     public long getUser() {
@@ -21,29 +30,29 @@ public class RatelimitEntity {
     }
 
     public void ratelimit(long server) {
-        this.servers.put(server, Pair.of(new AtomicBoolean(false), System.currentTimeMillis()));
+        long now = System.currentTimeMillis();
+        table.release(command, user, server);
+        table.acquire(command, user, server, now, now + cooldown);
     }
 
     public long getRemainingTime(long server) {
-        return this.servers.containsKey(server) ? this.servers.get(server).getRight() : 0L;
+        return table.getSince(command, user, server, System.currentTimeMillis());
     }
 
     public boolean isNotified(long server) {
-        return this.servers.containsKey(server) && this.servers.get(server).getLeft().get();
+        return table.isNotified(command, user, server, System.currentTimeMillis());
     }
 
     public void notified(long server) {
-        if (isRatelimited(server)) {
-            this.servers.get(server).getLeft().set(true);
-        }
+        table.markNotified(command, user, server, System.currentTimeMillis());
     }
 
     public boolean isRatelimited(long server) {
-        return this.servers.containsKey(server);
+        return table.isActive(command, user, server, System.currentTimeMillis());
     }
 
     public void release(long server) {
-        this.servers.remove(server);
+        table.release(command, user, server);
     }
 
 }
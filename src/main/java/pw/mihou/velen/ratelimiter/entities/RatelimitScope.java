@@ -0,0 +1,20 @@
+package pw.mihou.velen.ratelimiter.entities;
+
+public enum RatelimitScope {
+
+    /**
+     * Every user has their own limit in every server (or private channel).
+     */
+    USER,
+
+    /**
+     * Every server shares one limit, private channels are limited per user.
+     */
+    SERVER,
+
+    /**
+     * Everyone shares one limit regardless of where the command is used.
+     */
+    GLOBAL
+
+}
@@ -0,0 +1,110 @@
+package pw.mihou.velen.ratelimiter.policies;
+
+import pw.mihou.velen.ratelimiter.entities.RatelimitScope;
+import pw.mihou.velen.ratelimiter.policies.types.VelenConcurrencyPolicy;
+import pw.mihou.velen.ratelimiter.policies.types.VelenSlidingWindowCounterPolicy;
+import pw.mihou.velen.ratelimiter.policies.types.VelenSlidingWindowLogPolicy;
+import pw.mihou.velen.ratelimiter.policies.types.VelenTokenBucketPolicy;
+
+import java.time.Duration;
+
+/**
+ * A rate-limit policy that is evaluated before a command is executed, these are evaluated
+ * after the cooldown of the command and can be attached to both commands and categories.
+ * <br><br>
+ * Policies hold their own state, which means a policy that is attached to a category is shared
+ * between every command of the category, if you want separate limits for every command then
+ * attach a separate policy to every command instead.
+ */
+public interface VelenRatelimitPolicy {
+
+    /**
+     * Creates a token bucket policy which allows bursts of up to {@code capacity} uses
+     * and refills the entire bucket over the refill period, for example, a capacity of 5 with a
+     * refill period of 30 seconds allows 5 uses per 30 seconds.
+     *
+     * @param capacity The maximum amount of tokens in the bucket.
+     * @param refillPeriod The time it takes to refill an empty bucket.
+     * @param scope Who shares the same bucket.
+     * @return A new token bucket policy.
+     */
+    static VelenRatelimitPolicy ofTokenBucket(int capacity, Duration refillPeriod, RatelimitScope scope) {
+        return new VelenTokenBucketPolicy(capacity, refillPeriod, scope);
+    }
+
+    /**
+     * Creates a sliding window policy that keeps a log of every use, this allows exactly
+     * {@code limit} uses in any window but stores one timestamp per allowed use.
+     *
+     * @param limit The maximum amount of uses in the window.
+     * @param window The length of the window.
+     * @param scope Who shares the same window.
+     * @return A new sliding window log policy.
+     */
+    static VelenRatelimitPolicy ofSlidingWindowLog(int limit, Duration window, RatelimitScope scope) {
+        return new VelenSlidingWindowLogPolicy(limit, window, scope);
+    }
+
+    /**
+     * Creates a sliding window policy that approximates the window with the counters of
+     * the current and the previous window, this uses constant memory regardless of the limit.
+     *
+     * @param limit The maximum amount of uses in the window.
+     * @param window The length of the window.
+     * @param scope Who shares the same window.
+     * @return A new sliding window counter policy.
+     */
+    static VelenRatelimitPolicy ofSlidingWindowCounter(int limit, Duration window, RatelimitScope scope) {
+        return new VelenSlidingWindowCounterPolicy(limit, window, scope);
+    }
+
+    /**
+     * Creates a policy that limits how many executions of the command can run
+     * at the same time.
+     *
+     * @param permits The maximum amount of executions that can run at the same time.
+     * @param scope Who shares the same permits.
+     * @return A new concurrency policy.
+     */
+    static VelenRatelimitPolicy ofConcurrency(int permits, RatelimitScope scope) {
+        return new VelenConcurrencyPolicy(permits, scope);
+    }
+
+    /**
+     * Attempts to acquire a use of the command for the user.
+     *
+     * @param user The user who is executing the command.
+     * @param server The server where the command is executed, this is the user's id in private channels.
+     * @return Zero if the command can be executed, otherwise the amount of milliseconds
+     * until the user can try again.
+     */
+    long acquire(long user, long server);
+
+    /**
+     * This is called once the command that acquired a use has finished executing, policies
+     * that limit concurrent executions release their permits here.
+     *
+     * @param user The user who executed the command.
+     * @param server The server where the command was executed.
+     */
+    default void complete(long user, long server) {
+        // Only concurrency policies need to know when a command has finished.
+    }
+
+    /**
+     * This is called when a use was acquired but the command was denied by a
+     * policy that was evaluated afterwards, policies should give back the use.
+     *
+     * @param user The user who tried to execute the command.
+     * @param server The server where the command was executed.
+     */
+    void cancel(long user, long server);
+
+    /**
+     * Retrieves the scope of this policy.
+     *
+     * @return The scope of this policy.
+     */
+    RatelimitScope getScope();
+
+}
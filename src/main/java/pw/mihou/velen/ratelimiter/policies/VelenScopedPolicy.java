@@ -0,0 +1,162 @@
+package pw.mihou.velen.ratelimiter.policies;
+
+import pw.mihou.velen.ratelimiter.entities.RatelimitScope;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The base of all the built-in policies, this keeps one state for every key of the
+ * scope and removes idle states periodically so memory only grows with active users.
+ *
+ * @param <S> The type of state this policy keeps.
+ */
+public abstract class VelenScopedPolicy<S extends VelenScopedPolicy.State> implements VelenRatelimitPolicy {
+
+    private static final long SWEEP_INTERVAL = 60_000L;
+    private static final Key GLOBAL_KEY = new Key(0L, 0L);
+
+    private final Map<Key, S> states = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+    private final RatelimitScope scope;
+
+    protected VelenScopedPolicy(RatelimitScope scope) {
+        if (scope == null)
+            throw new IllegalArgumentException("The scope of a rate-limit policy cannot be null.");
+
+        this.scope = scope;
+    }
+
+    /**
+     * Creates a new state for a key that has no state yet.
+     *
+     * @param now The current time in milliseconds.
+     * @return A new state.
+     */
+    protected abstract S create(long now);
+
+    /**
+     * Attempts to acquire a use from the state, this is always called
+     * while holding the monitor of the state.
+     *
+     * @param state The state to acquire from.
+     * @param now The current time in milliseconds.
+     * @return Zero if acquired, otherwise the milliseconds until the next attempt.
+     */
+    protected abstract long acquire(S state, long now);
+
+    /**
+     * Gives back a use to the state, this is always called while
+     * holding the monitor of the state.
+     *
+     * @param state The state to give back to.
+     * @param now The current time in milliseconds.
+     */
+    protected abstract void giveBack(S state, long now);
+
+    /**
+     * Checks whether the state is back to its initial state and can be
+     * removed, this is always called while holding the monitor of the state.
+     *
+     * @param state The state to check.
+     * @param now The current time in milliseconds.
+     * @return Can this state be removed?
+     */
+    protected abstract boolean isIdle(S state, long now);
+
+    @Override
+    public long acquire(long user, long server) {
+        long now = System.currentTimeMillis();
+        sweepIfDue(now);
+
+        Key key = key(user, server);
+        while (true) {
+            S state = states.computeIfAbsent(key, k -> create(now));
+
+            synchronized (state) {
+                // The state was removed by a sweep after we retrieved it, try again with a fresh one.
+                if (state.retired)
+                    continue;
+
+                return acquire(state, now);
+            }
+        }
+    }
+
+    @Override
+    public void cancel(long user, long server) {
+        S state = states.get(key(user, server));
+        if (state == null)
+            return;
+
+        synchronized (state) {
+            if (!state.retired)
+                giveBack(state, System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public RatelimitScope getScope() {
+        return scope;
+    }
+
+    private Key key(long user, long server) {
+        switch (scope) {
+            case USER:
+                return new Key(user, server);
+            case SERVER:
+                return new Key(0L, server);
+            default:
+                return GLOBAL_KEY;
+        }
+    }
+
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now < due || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL))
+            return;
+
+        states.forEach((key, state) -> {
+            synchronized (state) {
+                if (isIdle(state, now)) {
+                    state.retired = true;
+                    states.remove(key, state);
+                }
+            }
+        });
+    }
+
+    public abstract static class State {
+
+        boolean retired;
+
+    }
+
+    private static final class Key {
+
+        private final long user;
+        private final long server;
+
+        private Key(long user, long server) {
+            this.user = user;
+            this.server = server;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return user == key.user && server == key.server;
+        }
+
+        @Override
+        public int hashCode() {
+            long hash = user * 31 + server;
+            return (int) (hash ^ (hash >>> 32));
+        }
+
+    }
+
+}
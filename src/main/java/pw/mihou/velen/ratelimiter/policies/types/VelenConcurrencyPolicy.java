@@ -0,0 +1,68 @@
+package pw.mihou.velen.ratelimiter.policies.types;
+
+import pw.mihou.velen.ratelimiter.entities.RatelimitScope;
+import pw.mihou.velen.ratelimiter.policies.VelenScopedPolicy;
+
+public class VelenConcurrencyPolicy extends VelenScopedPolicy<VelenConcurrencyPolicy.Permits> {
+
+    /**
+     * The amount of milliseconds that is reported to the user when there are no
+     * permits left, there is no way to know when the running executions will finish.
+     */
+    public static final long RETRY_AFTER = 1000L;
+
+    private final int permits;
+
+    /**
+     * Creates a new concurrency policy.
+     *
+     * @param permits The maximum amount of executions that can run at the same time.
+     * @param scope Who shares the same permits.
+     */
+    public VelenConcurrencyPolicy(int permits, RatelimitScope scope) {
+        super(scope);
+
+        if (permits < 1)
+            throw new IllegalArgumentException("The amount of permits must be at least one.");
+
+        this.permits = permits;
+    }
+
+    @Override
+    protected Permits create(long now) {
+        return new Permits();
+    }
+
+    @Override
+    protected long acquire(Permits state, long now) {
+        if (state.inFlight < permits) {
+            state.inFlight++;
+            return 0;
+        }
+
+        return RETRY_AFTER;
+    }
+
+    @Override
+    protected void giveBack(Permits state, long now) {
+        if (state.inFlight > 0)
+            state.inFlight--;
+    }
+
+    @Override
+    protected boolean isIdle(Permits state, long now) {
+        return state.inFlight == 0;
+    }
+
+    @Override
+    public void complete(long user, long server) {
+        cancel(user, server);
+    }
+
+    public static class Permits extends VelenScopedPolicy.State {
+
+        private int inFlight;
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package pw.mihou.velen.ratelimiter.policies.types;
+
+import pw.mihou.velen.ratelimiter.entities.RatelimitScope;
+import pw.mihou.velen.ratelimiter.policies.VelenScopedPolicy;
+
+import java.time.Duration;
+
+public class VelenSlidingWindowCounterPolicy extends VelenScopedPolicy<VelenSlidingWindowCounterPolicy.Counter> {
+
+    private final int limit;
+    private final long window;
+
+    /**
+     * Creates a new sliding window counter policy.
+     *
+     * @param limit The maximum amount of uses in the window.
+     * @param window The length of the window.
+     * @param scope Who shares the same window.
+     */
+    public VelenSlidingWindowCounterPolicy(int limit, Duration window, RatelimitScope scope) {
+        super(scope);
+
+        if (limit < 1)
+            throw new IllegalArgumentException("The limit of a sliding window must be at least one.");
+
+        if (window == null || window.toMillis() < 1)
+            throw new IllegalArgumentException("The window of a sliding window must be at least one millisecond.");
+
+        this.limit = limit;
+        this.window = window.toMillis();
+    }
+
+    @Override
+    protected Counter create(long now) {
+        return new Counter(now - now % window);
+    }
+
+    @Override
+    protected long acquire(Counter counter, long now) {
+        advance(counter, now);
+
+        long elapsed = now - counter.start;
+        double weight = (double) (window - elapsed) / window;
+
+        if (counter.previous * weight + counter.current < limit) {
+            counter.current++;
+            return 0;
+        }
+
+        // The current window is full on its own, nothing frees up until the next window.
+        if (counter.current >= limit || counter.previous == 0)
+            return Math.max(1, window - elapsed);
+
+        // Otherwise, wait until the weight of the previous window drops enough for another use.
+        double threshold = window * (1 - (double) (limit - counter.current) / counter.previous);
+        return Math.max(1, (long) Math.ceil(threshold) - elapsed);
+    }
+
+    @Override
+    protected void giveBack(Counter counter, long now) {
+        advance(counter, now);
+
+        if (counter.current > 0)
+            counter.current--;
+    }
+
+    @Override
+    protected boolean isIdle(Counter counter, long now) {
+        return counter.start + window * 2 <= now;
+    }
+
+    private void advance(Counter counter, long now) {
+        long start = now - now % window;
+        if (start == counter.start)
+            return;
+
+        counter.previous = start - counter.start == window ? counter.current : 0;
+        counter.current = 0;
+        counter.start = start;
+    }
+
+    public static class Counter extends VelenScopedPolicy.State {
+
+        private long start;
+        private int previous;
+        private int current;
+
+        private Counter(long start) {
+            this.start = start;
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package pw.mihou.velen.ratelimiter.policies.types;
+
+import pw.mihou.velen.ratelimiter.entities.RatelimitScope;
+import pw.mihou.velen.ratelimiter.policies.VelenScopedPolicy;
+
+import java.time.Duration;
+
+public class VelenSlidingWindowLogPolicy extends VelenScopedPolicy<VelenSlidingWindowLogPolicy.Log> {
+
+    private final int limit;
+    private final long window;
+
+    /**
+     * Creates a new sliding window log policy.
+     *
+     * @param limit The maximum amount of uses in the window.
+     * @param window The length of the window.
+     * @param scope Who shares the same window.
+     */
+    public VelenSlidingWindowLogPolicy(int limit, Duration window, RatelimitScope scope) {
+        super(scope);
+
+        if (limit < 1)
+            throw new IllegalArgumentException("The limit of a sliding window must be at least one.");
+
+        if (window == null || window.toMillis() < 1)
+            throw new IllegalArgumentException("The window of a sliding window must be at least one millisecond.");
+
+        this.limit = limit;
+        this.window = window.toMillis();
+    }
+
+    @Override
+    protected Log create(long now) {
+        return new Log(limit);
+    }
+
+    @Override
+    protected long acquire(Log log, long now) {
+        evict(log, now);
+
+        if (log.count < limit) {
+            log.timestamps[(log.head + log.count) % limit] = now;
+            log.count++;
+            return 0;
+        }
+
+        return Math.max(1, log.timestamps[log.head] + window - now);
+    }
+
+    @Override
+    protected void giveBack(Log log, long now) {
+        // The use that is given back is always the newest one.
+        if (log.count > 0)
+            log.count--;
+    }
+
+    @Override
+    protected boolean isIdle(Log log, long now) {
+        evict(log, now);
+        return log.count == 0;
+    }
+
+    private void evict(Log log, long now) {
+        while (log.count > 0 && log.timestamps[log.head] <= now - window) {
+            log.head = (log.head + 1) % limit;
+            log.count--;
+        }
+    }
+
+    public static class Log extends VelenScopedPolicy.State {
+
+        // A ring buffer of the timestamps of every use inside the window, oldest first.
+        private final long[] timestamps;
+        private int head;
+        private int count;
+
+        private Log(int limit) {
+            this.timestamps = new long[limit];
+        }
+
+    }
+
+}
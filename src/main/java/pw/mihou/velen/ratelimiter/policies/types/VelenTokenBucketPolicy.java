@@ -0,0 +1,80 @@
+package pw.mihou.velen.ratelimiter.policies.types;
+
+import pw.mihou.velen.ratelimiter.entities.RatelimitScope;
+import pw.mihou.velen.ratelimiter.policies.VelenScopedPolicy;
+
+import java.time.Duration;
+
+public class VelenTokenBucketPolicy extends VelenScopedPolicy<VelenTokenBucketPolicy.Bucket> {
+
+    private final int capacity;
+    private final double tokensPerMillisecond;
+
+    /**
+     * Creates a new token bucket policy.
+     *
+     * @param capacity The maximum amount of tokens in the bucket.
+     * @param refillPeriod The time it takes to refill an empty bucket.
+     * @param scope Who shares the same bucket.
+     */
+    public VelenTokenBucketPolicy(int capacity, Duration refillPeriod, RatelimitScope scope) {
+        super(scope);
+
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity of a token bucket must be at least one.");
+
+        if (refillPeriod == null || refillPeriod.toMillis() < 1)
+            throw new IllegalArgumentException("The refill period of a token bucket must be at least one millisecond.");
+
+        this.capacity = capacity;
+        this.tokensPerMillisecond = (double) capacity / refillPeriod.toMillis();
+    }
+
+    @Override
+    protected Bucket create(long now) {
+        return new Bucket(capacity, now);
+    }
+
+    @Override
+    protected long acquire(Bucket bucket, long now) {
+        refill(bucket, now);
+
+        if (bucket.tokens >= 1) {
+            bucket.tokens -= 1;
+            return 0;
+        }
+
+        return Math.max(1, (long) Math.ceil((1 - bucket.tokens) / tokensPerMillisecond));
+    }
+
+    @Override
+    protected void giveBack(Bucket bucket, long now) {
+        bucket.tokens = Math.min(capacity, bucket.tokens + 1);
+    }
+
+    @Override
+    protected boolean isIdle(Bucket bucket, long now) {
+        refill(bucket, now);
+        return bucket.tokens >= capacity;
+    }
+
+    private void refill(Bucket bucket, long now) {
+        if (now > bucket.updatedAt) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerMillisecond);
+            bucket.updatedAt = now;
+        }
+    }
+
+    public static class Bucket extends VelenScopedPolicy.State {
+
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,182 @@
+package pw.mihou.velen.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous tasks with a limit on how many of them are running at the same time, this is
+ * used to keep bursts of REST requests (for example, fetching the slash commands of every server) within
+ * a reasonable size without blocking any thread while waiting.
+ * <br><br>
+ * A limiter can either run a known list of items at once through {@link VelenLimiter#all(Collection, int, Function)}
+ * or be shared by tasks that arrive over time through {@link VelenLimiter#submit(Supplier)}, a task
+ * that is waiting for a permit is started in place by the task that gives its permit back.
+ */
+public class VelenLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger("Velen - Limiter");
+
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private int permits;
+    private boolean draining = false;
+
+    /**
+     * Creates a new limiter for tasks that are submitted over time.
+     *
+     * @param permits The maximum amount of tasks that are running at the same time.
+     */
+    public VelenLimiter(int permits) {
+        if (permits <= 0)
+            throw new IllegalArgumentException("The permits of the limiter must be greater than zero.");
+
+        this.permits = permits;
+    }
+
+    /**
+     * Runs the task once a permit is available, the permit is given back once
+     * the future of the task completes.
+     *
+     * @param task The task to run.
+     * @param <T> The type of the result of the task.
+     * @return The future of the result of the task.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> start(task, result);
+
+        synchronized (this) {
+            if (permits == 0) {
+                waiting.add(start);
+                return result;
+            }
+
+            permits--;
+        }
+
+        start.run();
+        return result;
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> task, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (Throwable throwable) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(throwable);
+        }
+
+        future.whenComplete((value, throwable) -> {
+            release();
+
+            if (throwable != null)
+                result.completeExceptionally(throwable);
+            else
+                result.complete(value);
+        });
+    }
+
+    private void release() {
+        synchronized (this) {
+            permits++;
+
+            // Tasks that complete in place give their permit back while the waiting tasks are being
+            // started, the loop that is already running starts the next task instead of recursing.
+            if (draining)
+                return;
+
+            draining = true;
+        }
+
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                if (permits == 0 || waiting.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+
+                permits--;
+                next = waiting.poll();
+            }
+
+            next.run();
+        }
+    }
+
+    /**
+     * Runs the task for every item with at most the specified amount of tasks running at the same time,
+     * the next item is started as soon as a running task completes. A failed task doesn't stop the other tasks,
+     * failures should be handled by the task itself and tasks that throw instead of returning a future are logged.
+     *
+     * @param items The items to run the task for.
+     * @param concurrency The maximum amount of tasks that are running at the same time.
+     * @param task The task to run for every item.
+     * @param <T> The type of the items.
+     * @return A future that completes once the task of every item has completed.
+     */
+    public static <T> CompletableFuture<Void> all(Collection<T> items, int concurrency, Function<T, CompletableFuture<?>> task) {
+        if (concurrency <= 0)
+            throw new IllegalArgumentException("The concurrency of the limiter must be greater than zero.");
+
+        List<T> queue = new ArrayList<>(items);
+        if (queue.isEmpty())
+            return CompletableFuture.completedFuture(null);
+
+        AtomicInteger cursor = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(queue.size());
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        for (int i = 0; i < Math.min(concurrency, queue.size()); i++) {
+            work(queue, cursor, remaining, done, task);
+        }
+
+        return done;
+    }
+
+    private static <T> void work(List<T> queue, AtomicInteger cursor, AtomicInteger remaining,
+                                 CompletableFuture<Void> done, Function<T, CompletableFuture<?>> task) {
+        // Tasks that complete in place are handled in this loop instead of recursing.
+        while (true) {
+            int index = cursor.getAndIncrement();
+            if (index >= queue.size())
+                return;
+
+            CompletableFuture<?> future;
+            try {
+                future = task.apply(queue.get(index));
+            } catch (Throwable throwable) {
+                logger.error("A task of the limiter failed for the item " + queue.get(index) + ".", throwable);
+                future = null;
+            }
+
+            if (future == null || future.isDone()) {
+                if (remaining.decrementAndGet() == 0) {
+                    done.complete(null);
+                    return;
+                }
+
+                continue;
+            }
+
+            future.whenComplete((result, throwable) -> {
+                if (remaining.decrementAndGet() == 0)
+                    done.complete(null);
+                else
+                    work(queue, cursor, remaining, done, task);
+            });
+            return;
+        }
+    }
+
+}
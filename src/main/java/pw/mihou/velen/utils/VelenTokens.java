@@ -0,0 +1,270 @@
+package pw.mihou.velen.utils;
+
+import java.util.Arrays;
+
+/**
+ * An immutable view of the tokens of a message, this is created once per message by splitting the content
+ * in a single pass with the same rules as {@link VelenUtils#splitContent(String)} (double quotes group words
+ * and backslashes escape the next character). The tokens are kept as offsets into the original content and
+ * are only turned into strings when they are requested.
+ */
+public class VelenTokens {
+
+    private static final VelenTokens EMPTY = new VelenTokens("", new int[0], new int[0], new boolean[0], 0, 0);
+
+    private final CharSequence source;
+    private final int[] starts;
+    private final int[] ends;
+    private final boolean[] escaped;
+    private final String[] values;
+    private final int offset;
+    private final int size;
+
+    private VelenTokens(CharSequence source, int[] starts, int[] ends, boolean[] escaped, int offset, int size) {
+        this(source, starts, ends, escaped, new String[starts.length], offset, size);
+    }
+
+    private VelenTokens(CharSequence source, int[] starts, int[] ends, boolean[] escaped, String[] values, int offset, int size) {
+        this.source = source;
+        this.starts = starts;
+        this.ends = ends;
+        this.escaped = escaped;
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Tokenizes the content.
+     *
+     * @param source The content to tokenize.
+     * @return The tokens of the content.
+     */
+    public static VelenTokens of(CharSequence source) {
+        int length = source.length();
+        if (length == 0)
+            return EMPTY;
+
+        int[] starts = new int[8];
+        int[] ends = new int[8];
+        boolean[] escaped = new boolean[8];
+        int size = 0;
+
+        int start = -1;
+        int characters = 0;
+        boolean special = false;
+        boolean inDoubleQuotes = false;
+        boolean currentCharEscaped = false;
+
+        for (int i = 0; i < length; i++) {
+            char ch = source.charAt(i);
+
+            if (!inDoubleQuotes && !currentCharEscaped && Character.isWhitespace(ch)) {
+                if (characters > 0) {
+                    if (size == starts.length) {
+                        starts = Arrays.copyOf(starts, size * 2);
+                        ends = Arrays.copyOf(ends, size * 2);
+                        escaped = Arrays.copyOf(escaped, size * 2);
+                    }
+
+                    starts[size] = start;
+                    ends[size] = i;
+                    escaped[size] = special;
+                    size++;
+                }
+
+                start = -1;
+                characters = 0;
+                special = false;
+                continue;
+            }
+
+            if (start == -1)
+                start = i;
+
+            if (ch == '\\' && !currentCharEscaped) {
+                currentCharEscaped = true;
+                special = true;
+                continue;
+            }
+
+            if (ch == '"' && !currentCharEscaped) {
+                inDoubleQuotes = !inDoubleQuotes;
+                special = true;
+                continue;
+            }
+
+            currentCharEscaped = false;
+            characters++;
+        }
+
+        if (characters > 0) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size + 1);
+                ends = Arrays.copyOf(ends, size + 1);
+                escaped = Arrays.copyOf(escaped, size + 1);
+            }
+
+            starts[size] = start;
+            ends[size] = length;
+            escaped[size] = special;
+            size++;
+        }
+
+        return new VelenTokens(source, starts, ends, escaped, 0, size);
+    }
+
+    /**
+     * Retrieves the amount of tokens in this view.
+     *
+     * @return The amount of tokens.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether there are no tokens in this view.
+     *
+     * @return Are there no tokens?
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retrieves the token at the index, quotes and escapes are already resolved.
+     *
+     * @param index The index of the token.
+     * @return The token at the index.
+     */
+    public String get(int index) {
+        int position = position(index);
+
+        // Tokens are immutable, the worst case of a race is creating the same string twice.
+        String value = values[position];
+        if (value == null) {
+            value = escaped[position] ? unescape(position) : source.subSequence(starts[position], ends[position]).toString();
+            values[position] = value;
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks whether the token at the index starts with the prefix without
+     * creating the token.
+     *
+     * @param index The index of the token.
+     * @param prefix The prefix to check.
+     * @return Does the token start with the prefix?
+     */
+    public boolean startsWith(int index, String prefix) {
+        int position = position(index);
+
+        if (escaped[position])
+            return get(index).startsWith(prefix);
+
+        if (ends[position] - starts[position] < prefix.length())
+            return false;
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (source.charAt(starts[position] + i) != prefix.charAt(i))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Retrieves the position where the token at the index starts in the original content.
+     *
+     * @param index The index of the token.
+     * @return The position of the token in the content.
+     */
+    public int start(int index) {
+        return starts[position(index)];
+    }
+
+    /**
+     * Retrieves the position where the token at the index ends (exclusive) in the original content.
+     *
+     * @param index The index of the token.
+     * @return The end position of the token in the content.
+     */
+    public int end(int index) {
+        return ends[position(index)];
+    }
+
+    /**
+     * Creates a view that skips the first tokens of this view, this doesn't copy
+     * anything and shares the tokens that were already created.
+     *
+     * @param from The index of the first token of the new view.
+     * @return A view starting from the index.
+     */
+    public VelenTokens from(int from) {
+        if (from < 0 || from > size)
+            throw new IndexOutOfBoundsException("Index: " + from + ", Size: " + size);
+
+        return new VelenTokens(source, starts, ends, escaped, values, offset + from, size - from);
+    }
+
+    /**
+     * Creates an array of all the tokens in this view.
+     *
+     * @return An array of the tokens.
+     */
+    public String[] toArray() {
+        String[] array = new String[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = get(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * Retrieves the original content that was tokenized.
+     *
+     * @return The original content.
+     */
+    public CharSequence getSource() {
+        return source;
+    }
+
+    private int position(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        return offset + index;
+    }
+
+    private String unescape(int position) {
+        StringBuilder builder = new StringBuilder(ends[position] - starts[position]);
+        boolean currentCharEscaped = false;
+
+        for (int i = starts[position]; i < ends[position]; i++) {
+            char ch = source.charAt(i);
+
+            if (ch == '\\' && !currentCharEscaped) {
+                currentCharEscaped = true;
+                continue;
+            }
+
+            if (ch == '"' && !currentCharEscaped)
+                continue;
+
+            currentCharEscaped = false;
+            builder.append(ch);
+        }
+
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -164,10 +164,12 @@ public class VelenUtils {
      * @return whether the content starts with the mention
      */
     public static boolean startsWithMention(String content, String mentionId) {
-        return content.startsWith("<@") && (
-                content.startsWith(String.format("<@%s>", mentionId))
-                        || content.startsWith(String.format("<@!%s>", mentionId))
-        );
+        if (!content.startsWith("<@"))
+            return false;
+
+        // The mention is either <@id> or <@!id>, this avoids creating both forms.
+        int start = content.startsWith("<@!") ? 3 : 2;
+        return content.startsWith(mentionId, start) && content.startsWith(">", start + mentionId.length());
     }
 
     /**